@@ -0,0 +1,130 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinitionCache;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecJsonWrapper;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** ContractCodec and ContractCodecJsonWrapper encoding the same call in ABI or SCALE */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractCodecBenchmark {
+    private static final String METHOD = "set";
+
+    @Param({"false", "true"})
+    private boolean isWasm;
+
+    private String abi;
+    private ContractCodec contractCodec;
+    private final ContractCodecJsonWrapper jsonWrapper = new ContractCodecJsonWrapper();
+
+    private List<Object> params;
+    private List<String> stringParams;
+    private byte[] methodId;
+    private byte[] output;
+    private ABIObject inputTemplate;
+    private ABIObject outputTemplate;
+
+    @Setup
+    public void setup() throws ContractCodecException {
+        CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+        this.abi = BenchmarkResources.readString("Benchmark.abi");
+        this.contractCodec = new ContractCodec(cryptoSuite, this.isWasm);
+
+        List<BigInteger> values = new ArrayList<>();
+        StringBuilder valuesString = new StringBuilder("[");
+        for (int i = 0; i < 16; i++) {
+            values.add(BigInteger.valueOf(i * 1000));
+            valuesString.append(i == 0 ? "" : ",").append(i * 1000);
+        }
+        valuesString.append("]");
+        byte[] data = new byte[100];
+        this.params = Arrays.asList("benchmark item name", BigInteger.valueOf(-12345), values, data);
+        this.stringParams =
+                Arrays.asList(
+                        "benchmark item name",
+                        "-12345",
+                        valuesString.toString(),
+                        ContractCodecJsonWrapper.HexEncodedDataPrefix + Hex.toHexString(data));
+
+        ContractABIDefinition contractABIDefinition =
+                ContractABIDefinitionCache.getInstance(cryptoSuite).loadABI(this.abi);
+        ABIDefinition abiDefinition = contractABIDefinition.getFunctions().get(METHOD).get(0);
+        this.methodId = contractABIDefinition.getMethodId(abiDefinition);
+        this.inputTemplate = contractABIDefinition.getInputObject(abiDefinition);
+        this.outputTemplate = contractABIDefinition.getOutputObject(abiDefinition);
+        // the outputs of the method are the same as the inputs
+        byte[] encoded = this.contractCodec.encodeMethod(this.abi, METHOD, this.params);
+        this.output = Arrays.copyOfRange(encoded, this.methodId.length, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encodeMethod() throws ContractCodecException {
+        return this.contractCodec.encodeMethod(this.abi, METHOD, this.params);
+    }
+
+    @Benchmark
+    public byte[] encodeMethodFromString() throws ContractCodecException {
+        return this.contractCodec.encodeMethodFromString(this.abi, METHOD, this.stringParams);
+    }
+
+    @Benchmark
+    public List<Object> decodeMethodById() throws ContractCodecException {
+        return this.contractCodec.decodeMethodById(this.abi, this.methodId, this.output);
+    }
+
+    @Benchmark
+    public List<String> decodeMethodToString() throws ContractCodecException {
+        return this.contractCodec.decodeMethodToString(this.abi, METHOD, this.output);
+    }
+
+    @Benchmark
+    public byte[] jsonWrapperEncode() throws IOException {
+        return this.jsonWrapper.encode(this.inputTemplate, this.stringParams).encode(this.isWasm);
+    }
+
+    @Benchmark
+    public List<String> jsonWrapperDecode() throws ClassNotFoundException {
+        return this.jsonWrapper.decode(this.outputTemplate, this.output, this.isWasm);
+    }
+}
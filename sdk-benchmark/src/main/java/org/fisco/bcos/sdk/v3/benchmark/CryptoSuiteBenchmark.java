@@ -0,0 +1,78 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** CryptoSuite hash, sign and verify, the cryptoType is CryptoType.ECDSA_TYPE or SM_TYPE */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoSuiteBenchmark {
+    @Param({"0", "1"})
+    private int cryptoType;
+
+    private CryptoSuite cryptoSuite;
+    private CryptoKeyPair keyPair;
+    private byte[] message;
+    private byte[] digest;
+    private String hexDigest;
+    private String signature;
+
+    @Setup
+    public void setup() {
+        this.cryptoSuite = new CryptoSuite(this.cryptoType);
+        this.keyPair = this.cryptoSuite.getCryptoKeyPair();
+        this.message =
+                "transfer(address,uint256) from the benchmark".getBytes(StandardCharsets.UTF_8);
+        this.digest = this.cryptoSuite.hash(this.message);
+        this.hexDigest = Hex.toHexString(this.digest);
+        this.signature = this.cryptoSuite.sign(this.digest, this.keyPair).convertToString();
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        return this.cryptoSuite.hash(this.message);
+    }
+
+    @Benchmark
+    public SignatureResult sign() {
+        return this.cryptoSuite.sign(this.digest, this.keyPair);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return this.cryptoSuite.verify(
+                this.keyPair.getHexPublicKey(), this.hexDigest, this.signature);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compare the native hash implementations with the ones calculated inside the JVM */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+    @Param({"keccak256", "sm3"})
+    private String algorithm;
+
+    @Param({"32", "1024", "65536"})
+    private int inputSize;
+
+    private Hash nativeHash;
+    private Hash javaHash;
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        if ("sm3".equals(this.algorithm)) {
+            this.nativeHash = new SM3Hash();
+            this.javaHash = new JavaSM3Hash();
+        } else {
+            this.nativeHash = new Keccak256();
+            this.javaHash = new JavaKeccak256();
+        }
+        this.input = new byte[this.inputSize];
+        new Random(this.inputSize).nextBytes(this.input);
+    }
+
+    @Benchmark
+    public byte[] nativeHash() {
+        return this.nativeHash.hash(this.input);
+    }
+
+    @Benchmark
+    public byte[] javaHash() {
+        return this.javaHash.hash(this.input);
+    }
+
+    @Benchmark
+    public String nativeHashToHex() {
+        return this.nativeHash.hashBytes(this.input);
+    }
+
+    @Benchmark
+    public String javaHashToHex() {
+        return this.javaHash.hashBytes(this.input);
+    }
+}
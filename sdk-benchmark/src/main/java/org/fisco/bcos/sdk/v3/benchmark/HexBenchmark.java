@@ -0,0 +1,90 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Hex and Numeric conversions used when building requests and decoding responses */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexBenchmark {
+    @Param({"32", "1024"})
+    private int size;
+
+    private byte[] bytes;
+    private String hex;
+    private String prefixedHex;
+    private BigInteger value;
+    private String quantity;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(this.size);
+        this.bytes = new byte[this.size];
+        random.nextBytes(this.bytes);
+        this.hex = Hex.toHexString(this.bytes);
+        this.prefixedHex = Hex.toHexStringWithPrefix(this.bytes);
+        this.value = new BigInteger(256, random);
+        this.quantity = Numeric.encodeQuantity(this.value);
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return Hex.toHexString(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return Hex.decode(this.hex);
+    }
+
+    @Benchmark
+    public byte[] numericHexStringToByteArray() {
+        return Numeric.hexStringToByteArray(this.prefixedHex);
+    }
+
+    @Benchmark
+    public BigInteger numericToBigInt() {
+        return Numeric.toBigInt(this.bytes);
+    }
+
+    @Benchmark
+    public String numericZeroPadded() {
+        return Numeric.toHexStringWithPrefixZeroPadded(this.value, 64);
+    }
+
+    @Benchmark
+    public BigInteger numericDecodeQuantity() {
+        return Numeric.decodeQuantity(this.quantity);
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Deserialize the json-rpc responses of the block and the receipt */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonResponseBenchmark {
+    /** the count of the full transactions in the block */
+    @Param({"1", "100"})
+    private int transactionCount;
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final JsonResponseDecoder responseDecoder = new JsonResponseDecoder();
+    private final JsonResponseDecoder lazyResponseDecoder = new JsonResponseDecoder();
+
+    private byte[] block;
+    private String blockString;
+    private byte[] receipt;
+
+    @Setup
+    public void setup() throws IOException {
+        JsonNode blockNode = this.objectMapper.readTree(BenchmarkResources.readBytes("block.json"));
+        ArrayNode transactions = (ArrayNode) blockNode.get("result").get("transactions");
+        JsonNode transaction = transactions.get(0);
+        for (int i = 1; i < this.transactionCount; i++) {
+            ObjectNode copy = transaction.deepCopy();
+            copy.put("nonce", transaction.path("nonce").asText() + i);
+            transactions.add(copy);
+        }
+        this.block = this.objectMapper.writeValueAsBytes(blockNode);
+        this.blockString = new String(this.block, StandardCharsets.UTF_8);
+        this.receipt = BenchmarkResources.readBytes("receipt.json");
+        this.lazyResponseDecoder.setLazyDecode(true);
+    }
+
+    @Benchmark
+    public BcosBlock decodeBlockFromString() throws IOException {
+        return this.objectMapper.readValue(this.blockString, BcosBlock.class);
+    }
+
+    @Benchmark
+    public BcosBlock decodeBlock() throws IOException {
+        return this.responseDecoder.decode(this.block, BcosBlock.class);
+    }
+
+    @Benchmark
+    public BcosBlock decodeBlockLazily() throws IOException {
+        return this.lazyResponseDecoder.decode(this.block, BcosBlock.class);
+    }
+
+    @Benchmark
+    public BcosTransactionReceipt decodeReceipt() throws IOException {
+        return this.responseDecoder.decode(this.receipt, BcosTransactionReceipt.class);
+    }
+}
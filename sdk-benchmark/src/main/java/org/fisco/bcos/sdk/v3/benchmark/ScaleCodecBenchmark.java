@@ -0,0 +1,81 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.scale.ScaleCodecReader;
+import org.fisco.bcos.sdk.v3.codec.scale.ScaleCodecWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** ScaleCodecWriter and ScaleCodecReader over records of compact, int64, int256 and string */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScaleCodecBenchmark {
+    @Param({"1", "64"})
+    private int recordCount;
+
+    private BigInteger int64Value;
+    private BigInteger int256Value;
+    private byte[] stringValue;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        this.int64Value = BigInteger.valueOf(-1234567890123L);
+        this.int256Value = BigInteger.ONE.shiftLeft(200).add(BigInteger.TEN);
+        this.stringValue = "benchmark item name".getBytes(StandardCharsets.UTF_8);
+        this.encoded = this.write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ScaleCodecWriter writer = new ScaleCodecWriter();
+        for (int i = 0; i < this.recordCount; i++) {
+            writer.writeCompact(i);
+            writer.writeInteger(this.int64Value, 8);
+            writer.writeBigInt256(true, this.int256Value);
+            writer.writeAsList(this.stringValue);
+        }
+        return writer.toByteArray();
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) {
+        ScaleCodecReader reader = new ScaleCodecReader(this.encoded);
+        for (int i = 0; i < this.recordCount; i++) {
+            blackhole.consume(reader.readCompact());
+            blackhole.consume(reader.decodeInteger(true, 8));
+            blackhole.consume(reader.decodeInt256());
+            blackhole.consume(reader.readString());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionData;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderService;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Encode the call and build the signed transaction, the same as TransactionProcessor does */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionBenchmark {
+    private static final String GROUP = "group0";
+    private static final String CHAIN = "chain0";
+    private static final String TO = "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6";
+    private static final long BLOCK_LIMIT = 500;
+
+    /** CryptoType.ECDSA_TYPE or SM_TYPE */
+    @Param({"0", "1"})
+    private int cryptoType;
+
+    private FunctionEncoder functionEncoder;
+    private TransactionEncoderService transactionEncoder;
+    private CryptoKeyPair keyPair;
+    private Function function;
+    private String encodedFunction;
+
+    @Setup
+    public void setup() {
+        CryptoSuite cryptoSuite = new CryptoSuite(this.cryptoType);
+        this.functionEncoder = new FunctionEncoder(cryptoSuite);
+        this.transactionEncoder = new TransactionEncoderService(cryptoSuite);
+        this.keyPair = cryptoSuite.getCryptoKeyPair();
+        this.function =
+                new Function(
+                        "transfer",
+                        Arrays.<Type>asList(
+                                new Address(TO), new Uint256(BigInteger.valueOf(1000000))),
+                        Collections.emptyList());
+        this.encodedFunction = Hex.toHexString(this.functionEncoder.encode(this.function));
+    }
+
+    @Benchmark
+    public byte[] encodeFunction() {
+        return this.functionEncoder.encode(this.function);
+    }
+
+    @Benchmark
+    public TxPair createSignedTransaction() throws JniException {
+        return TransactionBuilderJniObj.createSignedTransaction(
+                this.keyPair.getJniKeyPair(),
+                GROUP,
+                CHAIN,
+                TO,
+                this.encodedFunction,
+                "",
+                BLOCK_LIMIT,
+                0);
+    }
+
+    @Benchmark
+    public TxPair encodeAndCreateSignedTransaction() throws JniException {
+        return TransactionBuilderJniObj.createSignedTransaction(
+                this.keyPair.getJniKeyPair(),
+                GROUP,
+                CHAIN,
+                TO,
+                Hex.toHexString(this.functionEncoder.encode(this.function)),
+                "",
+                BLOCK_LIMIT,
+                0);
+    }
+
+    @Benchmark
+    public TxPair encodeAndCreateSignedTransactionInJava() throws JniException {
+        return this.transactionEncoder.createSignedTransaction(
+                new TransactionData(
+                        GROUP,
+                        CHAIN,
+                        TO,
+                        this.functionEncoder.encode(this.function),
+                        "",
+                        BLOCK_LIMIT),
+                this.keyPair,
+                0);
+    }
+}
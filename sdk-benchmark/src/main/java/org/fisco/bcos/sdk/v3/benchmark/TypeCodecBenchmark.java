@@ -0,0 +1,124 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.benchmark;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionReturnDecoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicBytes;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int256;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode the parameters of typical function signatures with the typed ABI and SCALE
+ * codecs, run with "-prof gc" to get the allocation per call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeCodecBenchmark {
+    private static final byte[] METHOD_ID = {0x12, 0x34, 0x56, 0x78};
+
+    /** transfer(address,uint256) or set(string,int256,uint256[],bytes) */
+    @Param({"transfer", "set"})
+    private String signature;
+
+    private List<Type> parameters;
+    private List<TypeReference<Type>> outputTypes;
+    private String abiEncoded;
+    private String scaleEncoded;
+
+    private final FunctionReturnDecoder abiDecoder = new FunctionReturnDecoder();
+    private final org.fisco.bcos.sdk.v3.codec.scale.FunctionReturnDecoder scaleDecoder =
+            new org.fisco.bcos.sdk.v3.codec.scale.FunctionReturnDecoder();
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        List<String> types;
+        if ("transfer".equals(this.signature)) {
+            this.parameters =
+                    Arrays.asList(
+                            new Address("0x8e72f7411887bdd218487437d3af29ce6fb5f3e6"),
+                            new Uint256(BigInteger.valueOf(1000000)));
+            types = Arrays.asList("address", "uint256");
+        } else {
+            List<Uint256> values = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                values.add(new Uint256(BigInteger.valueOf(i).shiftLeft(i * 8)));
+            }
+            this.parameters =
+                    Arrays.asList(
+                            new Utf8String("benchmark item name"),
+                            new Int256(BigInteger.valueOf(-12345)),
+                            new DynamicArray<>(Uint256.class, values),
+                            new DynamicBytes(new byte[100]));
+            types = Arrays.asList("string", "int256", "uint256[]", "bytes");
+        }
+        this.outputTypes = new ArrayList<>();
+        for (String type : types) {
+            this.outputTypes.add(TypeReference.makeTypeReference(type, false));
+        }
+        this.abiEncoded = Hex.toHexString(FunctionEncoder.encodeConstructor(this.parameters));
+        this.scaleEncoded =
+                Hex.toHexString(
+                        org.fisco.bcos.sdk.v3.codec.scale.FunctionEncoder.encodeConstructor(
+                                this.parameters));
+    }
+
+    @Benchmark
+    public byte[] abiEncode() {
+        return FunctionEncoder.encodeParameters(this.parameters, METHOD_ID);
+    }
+
+    @Benchmark
+    public List<Type> abiDecode() {
+        return this.abiDecoder.decode(this.abiEncoded, this.outputTypes);
+    }
+
+    @Benchmark
+    public byte[] scaleEncode() {
+        return org.fisco.bcos.sdk.v3.codec.scale.FunctionEncoder.encodeParameters(
+                this.parameters, METHOD_ID);
+    }
+
+    @Benchmark
+    public List<Type> scaleDecode() {
+        return this.scaleDecoder.decode(this.scaleEncoded, this.outputTypes);
+    }
+}
@@ -40,10 +40,10 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint8;
 import org.fisco.bcos.sdk.v3.codec.scale.FunctionEncoder;
 import org.fisco.bcos.sdk.v3.codec.scale.FunctionReturnDecoder;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObjectFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinitionCache;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecJsonWrapper;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
@@ -64,7 +64,7 @@ public class ContractCodec {
     private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
     private FunctionEncoderInterface functionEncoder = null;
     private FunctionReturnDecoderInterface functionReturnDecoder = null;
-    private final ABIDefinitionFactory abiDefinitionFactory;
+    private final ContractABIDefinitionCache abiDefinitionCache;
     private final ContractCodecJsonWrapper contractCodecJsonWrapper =
             new ContractCodecJsonWrapper();
 
@@ -79,7 +79,7 @@ public class ContractCodec {
             this.functionReturnDecoder =
                     new org.fisco.bcos.sdk.v3.codec.abi.FunctionReturnDecoder();
         }
-        this.abiDefinitionFactory = new ABIDefinitionFactory(cryptoSuite);
+        this.abiDefinitionCache = ContractABIDefinitionCache.getInstance(cryptoSuite);
     }
 
     public boolean isWasm() {
@@ -93,9 +93,9 @@ public class ContractCodec {
     public byte[] encodeConstructor(String abi, String bin, List<Object> params)
             throws ContractCodecException {
 
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getConstructor();
-        ABIObject inputABIObject = ABIObjectFactory.createInputObject(abiDefinition);
+        ABIObject inputABIObject = contractABIDefinition.getInputObject(abiDefinition);
         try {
             byte[] encodeParams =
                     ContractCodecTools.encode(
@@ -318,7 +318,7 @@ public class ContractCodec {
 
     public byte[] encodeConstructorFromString(String abi, String bin, List<String> params)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getConstructor();
         List<ABIDefinition.NamedType> inputTypes = abiDefinition.getInputs();
         if (inputTypes.size() != params.size()) {
@@ -385,17 +385,17 @@ public class ContractCodec {
 
     public byte[] encodeMethod(String abi, String methodName, List<Object> params)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> methods = contractABIDefinition.getFunctions().get(methodName);
         if (methods == null || methods.isEmpty()) {
             throw new ContractCodecException(Constant.NO_APPROPRIATE_ABI_METHOD);
         }
         for (ABIDefinition abiDefinition : methods) {
             if (abiDefinition.getInputs().size() == params.size()) {
-                ABIObject inputABIObject = ABIObjectFactory.createInputObject(abiDefinition);
+                ABIObject inputABIObject = contractABIDefinition.getInputObject(abiDefinition);
                 try {
                     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                    outputStream.write(abiDefinition.getMethodId(this.cryptoSuite));
+                    outputStream.write(contractABIDefinition.getMethodId(abiDefinition));
                     outputStream.write(
                             ContractCodecTools.encode(
                                     ContractCodecTools.decodeABIObjectValue(inputABIObject, params),
@@ -412,12 +412,12 @@ public class ContractCodec {
 
     public byte[] encodeMethodById(String abi, byte[] methodId, List<Object> params)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getABIDefinitionByMethodId(methodId);
         if (abiDefinition == null) {
             throw new ContractCodecException(Constant.NO_APPROPRIATE_ABI_METHOD);
         }
-        ABIObject inputABIObject = ABIObjectFactory.createInputObject(abiDefinition);
+        ABIObject inputABIObject = contractABIDefinition.getInputObject(abiDefinition);
         Exception cause;
         try {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -485,7 +485,7 @@ public class ContractCodec {
 
     public byte[] encodeMethodFromString(String abi, String methodName, List<String> params)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> methods = contractABIDefinition.getFunctions().get(methodName);
         if (methods == null) {
             logger.debug(
@@ -515,9 +515,8 @@ public class ContractCodec {
                     if (this.isWasm) {
                         outputStream.write(FunctionEncoder.encodeParameters(inputTypes, methodID));
                     } else {
-                        outputStream.write(
-                                org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder.encodeParameters(
-                                        inputTypes, methodID));
+                        org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder.encodeParameters(
+                                inputTypes, methodID, outputStream);
                     }
                     return outputStream.toByteArray();
                 } catch (IOException e) {
@@ -534,7 +533,7 @@ public class ContractCodec {
 
     public byte[] encodeMethodByIdFromString(String abi, byte[] methodId, List<String> params)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getABIDefinitionByMethodId(methodId);
         if (abiDefinition == null) {
             logger.error(Constant.NO_APPROPRIATE_ABI_METHOD);
@@ -554,9 +553,8 @@ public class ContractCodec {
             if (this.isWasm) {
                 outputStream.write(FunctionEncoder.encodeParameters(inputTypes, methodID));
             } else {
-                outputStream.write(
-                        org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder.encodeParameters(
-                                inputTypes, methodID));
+                org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder.encodeParameters(
+                        inputTypes, methodID, outputStream);
             }
             return outputStream.toByteArray();
         } catch (IOException e) {
@@ -608,7 +606,7 @@ public class ContractCodec {
 
     public List<Type> decodeMethodAndGetOutputObject(String abi, String methodName, String output)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> methods = contractABIDefinition.getFunctions().get(methodName);
         for (ABIDefinition abiDefinition : methods) {
             List<ABIDefinition.NamedType> outputs = abiDefinition.getOutputs();
@@ -643,14 +641,14 @@ public class ContractCodec {
 
     public List<Object> decodeMethodById(String abi, byte[] methodId, byte[] output)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getABIDefinitionByMethodId(methodId);
         if (abiDefinition == null) {
             String errorMsg = " methodId " + methodId + " is invalid";
             logger.error(errorMsg);
             throw new ContractCodecException(errorMsg);
         }
-        ABIObject outputABIObject = ABIObjectFactory.createOutputObject(abiDefinition);
+        ABIObject outputABIObject = contractABIDefinition.getOutputObject(abiDefinition);
         try {
             return ContractCodecTools.decodeJavaObject(
                     outputABIObject, Hex.toHexString(output), isWasm);
@@ -671,7 +669,7 @@ public class ContractCodec {
 
     public List<String> decodeMethodToString(String abi, String methodName, byte[] output)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> methods = contractABIDefinition.getFunctions().get(methodName);
         if (methods == null) {
             throw new ContractCodecException(
@@ -681,7 +679,7 @@ public class ContractCodec {
                             + contractABIDefinition.getFunctions().keySet());
         }
         for (ABIDefinition abiDefinition : methods) {
-            ABIObject outputABIObject = ABIObjectFactory.createOutputObject(abiDefinition);
+            ABIObject outputABIObject = contractABIDefinition.getOutputObject(abiDefinition);
             try {
                 return contractCodecJsonWrapper.decode(outputABIObject, output, isWasm);
             } catch (Exception e) {
@@ -696,14 +694,14 @@ public class ContractCodec {
 
     public List<String> decodeMethodByIdToString(String abi, byte[] methodId, byte[] output)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition = contractABIDefinition.getABIDefinitionByMethodId(methodId);
         if (abiDefinition == null) {
             String errorMsg = " methodId " + methodId + " is invalid";
             logger.error(errorMsg);
             throw new ContractCodecException(errorMsg);
         }
-        ABIObject outputABIObject = ABIObjectFactory.createOutputObject(abiDefinition);
+        ABIObject outputABIObject = contractABIDefinition.getOutputObject(abiDefinition);
         try {
             return contractCodecJsonWrapper.decode(outputABIObject, output, isWasm);
         } catch (UnsupportedOperationException | ClassNotFoundException e) {
@@ -724,7 +722,7 @@ public class ContractCodec {
 
     public List<Object> decodeEvent(String abi, String eventName, EventLog log)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> events = contractABIDefinition.getEvents().get(eventName);
         if (events == null) {
             throw new ContractCodecException(
@@ -734,7 +732,7 @@ public class ContractCodec {
                             + contractABIDefinition.getEvents().keySet());
         }
         for (ABIDefinition abiDefinition : events) {
-            ABIObject inputObject = ABIObjectFactory.createEventInputObject(abiDefinition);
+            ABIObject inputObject = contractABIDefinition.getEventInputObject(abiDefinition);
             try {
                 List<Object> params = new ArrayList<>();
                 if (!log.getData().equals("0x")) {
@@ -755,10 +753,10 @@ public class ContractCodec {
 
     public List<Object> decodeEventByTopic(String abi, String eventTopic, EventLog log)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition =
                 contractABIDefinition.getABIDefinitionByEventTopic(eventTopic);
-        ABIObject inputObject = ABIObjectFactory.createEventInputObject(abiDefinition);
+        ABIObject inputObject = contractABIDefinition.getEventInputObject(abiDefinition);
         try {
             List<Object> params = new ArrayList<>();
             if (!log.getData().equals("0x")) {
@@ -784,7 +782,7 @@ public class ContractCodec {
 
     public List<String> decodeEventToString(String abi, String eventName, EventLog log)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         List<ABIDefinition> events = contractABIDefinition.getEvents().get(eventName);
         if (events == null) {
             throw new ContractCodecException(
@@ -794,7 +792,7 @@ public class ContractCodec {
                             + contractABIDefinition.getEvents().keySet());
         }
         for (ABIDefinition abiDefinition : events) {
-            ABIObject inputObject = ABIObjectFactory.createEventInputObject(abiDefinition);
+            ABIObject inputObject = contractABIDefinition.getEventInputObject(abiDefinition);
             try {
                 List<String> params = new ArrayList<>();
                 if (!log.getData().equals("0x")) {
@@ -816,10 +814,10 @@ public class ContractCodec {
 
     public List<String> decodeEventByTopicToString(String abi, String eventTopic, EventLog log)
             throws ContractCodecException {
-        ContractABIDefinition contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
         ABIDefinition abiDefinition =
                 contractABIDefinition.getABIDefinitionByEventTopic(eventTopic);
-        ABIObject inputObject = ABIObjectFactory.createEventInputObject(abiDefinition);
+        ABIObject inputObject = contractABIDefinition.getEventInputObject(abiDefinition);
         try {
             List<String> params = new ArrayList<>();
             if (!log.getData().equals("0x")) {
@@ -6,7 +6,6 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Event;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
-import org.fisco.bcos.sdk.v3.utils.Numeric;
 
 /**
  * Ethereum filter encoding. Further limited details are available <a
@@ -38,8 +37,6 @@ public class EventEncoder {
     }
 
     public String buildEventSignature(String methodSignature) {
-        byte[] input = methodSignature.getBytes();
-        byte[] hash = this.cryptoSuite.hash(input);
-        return Numeric.toHexString(hash);
+        return SignatureHashCache.getInstance(this.cryptoSuite).getEventTopic(methodSignature);
     }
 }
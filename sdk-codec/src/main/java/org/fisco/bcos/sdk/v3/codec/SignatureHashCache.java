@@ -0,0 +1,149 @@
+package org.fisco.bcos.sdk.v3.codec;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+
+/**
+ * Memo of the hashes of the function and event signatures, such as "transfer(address,uint256)",
+ * so that the method ids and the event topics are hashed once for each crypto type.
+ *
+ * <p>The signatures of the loaded contract ABIs are added when the ABI definitions are built. The
+ * memo stops growing after reaching the capacity, the signatures out of it are hashed every time.
+ * Only the hash implementation is kept, the memo never holds the cryptoSuite and its account.
+ */
+public class SignatureHashCache {
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int METHOD_ID_LENGTH = 4;
+
+    // crypto type => cache
+    private static final Map<Integer, SignatureHashCache> cryptoTypeToCache =
+            new ConcurrentHashMap<>();
+
+    private final Hash hashImpl;
+    private final int capacity;
+    // signature => hash
+    private final Map<String, byte[]> signatureToHash = new ConcurrentHashMap<>();
+    // signature => hex string hash with 0x prefix
+    private final Map<String, String> signatureToTopic = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public SignatureHashCache(CryptoSuite cryptoSuite, int capacity) {
+        this(cryptoSuite.getHashImpl(), capacity);
+    }
+
+    public SignatureHashCache(Hash hashImpl, int capacity) {
+        this.hashImpl = hashImpl;
+        this.capacity = capacity;
+    }
+
+    /**
+     * get the cache shared by all the encoders with the same crypto type of the given cryptoSuite
+     *
+     * @param cryptoSuite the crypto suite used for hash calculation
+     * @return the shared cache
+     */
+    public static SignatureHashCache getInstance(CryptoSuite cryptoSuite) {
+        return getInstance(cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl());
+    }
+
+    /**
+     * get the cache shared by all the encoders with the same crypto type
+     *
+     * @param cryptoType the crypto type, e.g. ECDSA_TYPE or SM_TYPE
+     * @param hashImpl the hash implementation of the crypto type, used if the cache is created
+     * @return the shared cache
+     */
+    public static SignatureHashCache getInstance(int cryptoType, Hash hashImpl) {
+        return cryptoTypeToCache.computeIfAbsent(
+                cryptoType, type -> new SignatureHashCache(hashImpl, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * get the method id of the function signature
+     *
+     * @param methodSignature the function signature, such as "transfer(address,uint256)"
+     * @return the first 4 bytes of the signature hash
+     */
+    public byte[] getMethodId(String methodSignature) {
+        byte[] hash = this.signatureToHash.get(methodSignature);
+        if (hash != null) {
+            this.hitCount.incrementAndGet();
+        } else {
+            this.missCount.incrementAndGet();
+            hash = this.hash(methodSignature);
+        }
+        return Arrays.copyOf(hash, METHOD_ID_LENGTH);
+    }
+
+    /**
+     * get the topic of the event signature
+     *
+     * @param eventSignature the event signature, such as "Transfer(address,address,uint256)"
+     * @return the hex string hash of the signature with 0x prefix
+     */
+    public String getEventTopic(String eventSignature) {
+        String topic = this.signatureToTopic.get(eventSignature);
+        if (topic != null) {
+            this.hitCount.incrementAndGet();
+            return topic;
+        }
+        this.missCount.incrementAndGet();
+        byte[] hash = this.signatureToHash.get(eventSignature);
+        topic = Numeric.toHexString(hash != null ? hash : this.hash(eventSignature));
+        if (this.signatureToTopic.size() < this.capacity) {
+            this.signatureToTopic.put(eventSignature, topic);
+        }
+        return topic;
+    }
+
+    // hash and memo the signature, the returned hash is shared and must not be modified
+    private byte[] hash(String signature) {
+        byte[] hash = this.hashImpl.hash(signature.getBytes());
+        if (this.signatureToHash.size() < this.capacity) {
+            this.signatureToHash.put(signature, hash);
+        }
+        return hash;
+    }
+
+    public void clear() {
+        this.signatureToHash.clear();
+        this.signatureToTopic.clear();
+    }
+
+    public int size() {
+        return this.signatureToHash.size();
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SignatureHashCache{"
+                + "size="
+                + this.size()
+                + ", capacity="
+                + this.capacity
+                + ", hitCount="
+                + this.hitCount
+                + ", missCount="
+                + this.missCount
+                + '}';
+    }
+}
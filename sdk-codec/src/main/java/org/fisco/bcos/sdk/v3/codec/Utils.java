@@ -185,7 +185,9 @@ public class Utils {
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static <T extends Type> Class<T> getClassType(java.lang.reflect.Type type)
             throws ClassNotFoundException {
-        if (type instanceof ParameterizedType) {
+        if (type instanceof Class) {
+            return (Class<T>) type;
+        } else if (type instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) type).getRawType();
         } else {
             return (Class<T>) Class.forName(type.getTypeName());
@@ -1,14 +1,14 @@
 package org.fisco.bcos.sdk.v3.codec.abi;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.math.BigInteger;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
 import org.fisco.bcos.sdk.v3.codec.FunctionEncoderInterface;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
-import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 
 /**
@@ -35,32 +35,89 @@ public class FunctionEncoder extends FunctionEncoderInterface {
     }
 
     public static byte[] encodeParameters(List<Type> parameters, byte[] methodID) {
-        int dynamicDataOffset = Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            if (methodID != null) {
-                result.write(methodID);
-            }
-            ByteArrayOutputStream dynamicData = new ByteArrayOutputStream();
-            for (Type parameter : parameters) {
-                byte[] encodedValue = TypeEncoder.encode(parameter);
+        int methodIDLength = methodID == null ? 0 : methodID.length;
+        // the lengths are computed once, for the buffer size and then for the offsets
+        Map<Type, Integer> lengths = TypeEncoder.newLengths();
+        ByteBuffer buffer =
+                ByteBuffer.allocate(methodIDLength + encodedParametersLength(parameters, lengths));
+        if (methodID != null) {
+            buffer.put(methodID);
+        }
+        encodeParametersToBuffer(parameters, buffer, lengths);
+        return buffer.array();
+    }
+
+    /**
+     * write the encoded parameters into the stream through the buffer reused by the calling thread,
+     * without the intermediate result array
+     *
+     * @param parameters the parameters to encode
+     * @param methodID the method id written before the parameters, null if constructor
+     * @param outputStream the stream, which must not encode on the calling thread when written
+     * @throws IOException throw when the stream fails
+     */
+    public static void encodeParameters(
+            List<Type> parameters, byte[] methodID, OutputStream outputStream)
+            throws IOException {
+        int methodIDLength = methodID == null ? 0 : methodID.length;
+        Map<Type, Integer> lengths = TypeEncoder.newLengths();
+        ByteBuffer buffer =
+                TypeEncoder.reusedBuffer(
+                        methodIDLength + encodedParametersLength(parameters, lengths));
+        if (methodID != null) {
+            buffer.put(methodID);
+        }
+        encodeParametersToBuffer(parameters, buffer, lengths);
+        outputStream.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * write the encoded parameters into the buffer, the heads first and then the dynamic tails
+     *
+     * @param parameters the parameters to encode
+     * @param buffer the buffer with at least encodedParametersLength(parameters) bytes remaining
+     */
+    public static void encodeParametersToBuffer(List<Type> parameters, ByteBuffer buffer) {
+        encodeParametersToBuffer(parameters, buffer, TypeEncoder.newLengths());
+    }
 
-                if (TypeEncoder.isDynamic(parameter)) {
-                    byte[] encodedDataOffset =
-                            TypeEncoder.encodeNumeric(
-                                    new Uint(BigInteger.valueOf(dynamicDataOffset)));
-                    result.write(encodedDataOffset);
-                    dynamicData.write(encodedValue);
-                    dynamicDataOffset += encodedValue.length;
-                } else {
-                    result.write(encodedValue);
-                }
+    private static void encodeParametersToBuffer(
+            List<Type> parameters, ByteBuffer buffer, Map<Type, Integer> lengths) {
+        long dynamicDataOffset = (long) Utils.getLength(parameters) * Type.MAX_BYTE_LENGTH;
+        for (Type parameter : parameters) {
+            if (TypeEncoder.isDynamic(parameter)) {
+                TypeEncoder.writeUint(dynamicDataOffset, buffer);
+                dynamicDataOffset += TypeEncoder.encodedLength(parameter, lengths);
+            } else {
+                TypeEncoder.encode(parameter, buffer, lengths);
             }
-            result.write(dynamicData.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
         }
+        for (Type parameter : parameters) {
+            if (TypeEncoder.isDynamic(parameter)) {
+                TypeEncoder.encode(parameter, buffer, lengths);
+            }
+        }
+    }
 
-        return result.toByteArray();
+    /**
+     * compute the length of the encoded parameters without encoding them
+     *
+     * @param parameters the parameters to encode
+     * @return the length in bytes
+     */
+    public static int encodedParametersLength(List<Type> parameters) {
+        return encodedParametersLength(parameters, TypeEncoder.newLengths());
+    }
+
+    private static int encodedParametersLength(
+            List<Type> parameters, Map<Type, Integer> lengths) {
+        int length = 0;
+        for (Type parameter : parameters) {
+            if (TypeEncoder.isDynamic(parameter)) {
+                length += Type.MAX_BYTE_LENGTH;
+            }
+            length += TypeEncoder.encodedLength(parameter, lengths);
+        }
+        return length;
     }
 }
@@ -1,10 +1,14 @@
 package org.fisco.bcos.sdk.v3.codec.abi;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Field;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.AbiTypes;
@@ -29,6 +33,7 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Ufixed;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
+import org.fisco.bcos.sdk.v3.utils.Hex;
 
 /**
  * Ethereum Contract Application Binary Interface (ABI) decoding for types. Decoding is not
@@ -36,17 +41,31 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
  * href="https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
  */
 public class TypeDecoder {
+    // the reflection results are resolved once for each type and cached
+    private static final Map<Class<?>, MethodHandle> numericConstructors =
+            new ConcurrentHashMap<>();
+    private static final Map<Class<?>, MethodHandle> bytesConstructors = new ConcurrentHashMap<>();
+    // the constructors of the integer types taking a long, NO_LONG_CONSTRUCTOR if not found
+    private static final Map<Class<?>, MethodHandle> numericLongConstructors =
+            new ConcurrentHashMap<>();
+    private static final MethodHandle NO_LONG_CONSTRUCTOR =
+            MethodHandles.constant(Object.class, null);
+    private static final Map<Class<?>, Integer> numericTypeLengths = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Integer> bytesTypeLengths = new ConcurrentHashMap<>();
+    private static final Map<Integer, MethodHandle> staticArrayConstructors =
+            new ConcurrentHashMap<>();
+    private static final Map<String, Class<? extends Type>> arrayComponentTypes =
+            new ConcurrentHashMap<>();
+    private static final Map<Class<?>, StructPlan> structPlans = new ConcurrentHashMap<>();
+
     @SuppressWarnings("unchecked")
     public static <T extends Type> T decode(byte[] input, int offset, TypeReference<T> type)
             throws ClassNotFoundException {
         Class<T> cls = type.getClassType();
         if (NumericType.class.isAssignableFrom(cls)) {
-            return (T)
-                    decodeNumeric(
-                            Arrays.copyOfRange(input, offset, input.length),
-                            (Class<NumericType>) cls);
+            return (T) decodeNumeric(input, offset, (Class<NumericType>) cls);
         } else if (Address.class.isAssignableFrom(cls)) {
-            return (T) decodeAddress(Arrays.copyOfRange(input, offset, input.length));
+            return (T) new Address(decodeNumeric(input, offset, Uint160.class));
         } else if (Bool.class.isAssignableFrom(cls)) {
             return (T) decodeBool(input, offset);
         } else if (Bytes.class.isAssignableFrom(cls)) {
@@ -70,34 +89,88 @@ public class TypeDecoder {
     }
 
     public static <T extends NumericType> T decodeNumeric(byte[] inputByteArray, Class<T> type) {
-        try {
-            int typeLengthAsBytes = getTypeLengthInBytes(type);
-
-            byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        return decodeNumeric(inputByteArray, 0, type);
+    }
 
-            if (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type)) {
-                resultByteArray[0] = inputByteArray[0]; // take MSB as sign bit
+    @SuppressWarnings("unchecked")
+    static <T extends NumericType> T decodeNumeric(
+            byte[] inputByteArray, int offset, Class<T> type) {
+        int typeLengthAsBytes = getTypeLengthInBytes(type);
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+        // take MSB as sign bit
+        byte paddingValue =
+                (Int.class.isAssignableFrom(type) || Fixed.class.isAssignableFrom(type))
+                                && inputByteArray[offset] < 0
+                        ? (byte) 0xff
+                        : 0;
+        MethodHandle longConstructor = getLongConstructor(type);
+        if (longConstructor != NO_LONG_CONSTRUCTOR
+                && fitsInLong(inputByteArray, offset, valueOffset, paddingValue)) {
+            // fast path: create the value from a long without the BigInteger
+            long value = paddingValue;
+            int longOffset = Math.max(valueOffset, offset + Type.MAX_BYTE_LENGTH - Long.BYTES);
+            for (int i = longOffset; i < offset + Type.MAX_BYTE_LENGTH; i++) {
+                value = (value << 8) | (inputByteArray[i] & 0xff);
             }
+            try {
+                return (T) (Object) longConstructor.invokeExact(value);
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(
+                        "Unable to create instance of " + type.getName(), e);
+            }
+        }
 
-            int valueOffset = Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
-            System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        // the sign byte extended from the MSB
+        resultByteArray[0] = paddingValue;
 
-            BigInteger numericValue = new BigInteger(resultByteArray);
-            return type.getConstructor(BigInteger.class).newInstance(numericValue);
+        System.arraycopy(inputByteArray, valueOffset, resultByteArray, 1, typeLengthAsBytes);
 
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
+        BigInteger numericValue = new BigInteger(resultByteArray);
+        return newInstance(
+                type, numericConstructors, BigInteger.class, numericValue);
+    }
+
+    // the value bytes from valueOffset are sign extended by the padding value
+    private static boolean fitsInLong(
+            byte[] inputByteArray, int offset, int valueOffset, byte paddingValue) {
+        int longOffset = offset + Type.MAX_BYTE_LENGTH - Long.BYTES;
+        for (int i = valueOffset; i < longOffset; i++) {
+            if (inputByteArray[i] != paddingValue) {
+                return false;
+            }
+        }
+        return valueOffset > longOffset
+                || (inputByteArray[longOffset] & 0x80) == (paddingValue & 0x80);
+    }
+
+    private static MethodHandle getLongConstructor(Class<?> type) {
+        MethodHandle constructor = numericLongConstructors.get(type);
+        if (constructor == null) {
+            constructor = NO_LONG_CONSTRUCTOR;
+            if (IntType.class.isAssignableFrom(type)) {
+                try {
+                    constructor =
+                            MethodHandles.publicLookup()
+                                    .findConstructor(
+                                            type, MethodType.methodType(void.class, long.class))
+                                    .asType(MethodType.methodType(Object.class, long.class));
+                } catch (ReflectiveOperationException e) {
+                    // decode as BigInteger
+                }
+            }
+            numericLongConstructors.put(type, constructor);
         }
+        return constructor;
     }
 
     static <T extends NumericType> int getTypeLengthInBytes(Class<T> type) {
-        return getTypeLength(type) >> 3; // divide by 8
+        Integer typeLengthInBytes = numericTypeLengths.get(type);
+        if (typeLengthInBytes == null) {
+            typeLengthInBytes = getTypeLength(type) >> 3; // divide by 8
+            numericTypeLengths.put(type, typeLengthInBytes);
+        }
+        return typeLengthInBytes;
     }
 
     static <T extends NumericType> int getTypeLength(Class<T> type) {
@@ -120,21 +193,85 @@ public class TypeDecoder {
     }
 
     public static int decodeUintAsInt(byte[] rawInput, int offset) {
-        byte[] input = Arrays.copyOfRange(rawInput, offset, offset + Type.MAX_BYTE_LENGTH);
+        // the int value is kept in the lowest 4 bytes, same as BigInteger.intValue()
         int result = 0;
-        try {
-            result = decode(input, 0, TypeReference.create(Uint.class)).getValue().intValue();
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+        int end = offset + Type.MAX_BYTE_LENGTH;
+        for (int i = end - Integer.BYTES; i < end; i++) {
+            result = (result << 8) | (i < rawInput.length ? rawInput[i] & 0xff : 0);
         }
         return result;
     }
 
+    /**
+     * decode the uintN value without creating the Uint type
+     *
+     * @param input the encoded data
+     * @param offset the offset of the value
+     * @param bitSize the size N of the uintN type
+     * @return the value
+     */
+    public static BigInteger decodeUintValue(byte[] input, int offset, int bitSize) {
+        return decodeIntegerValue(input, offset, bitSize, (byte) 0);
+    }
+
+    /**
+     * decode the intN value without creating the Int type
+     *
+     * @param input the encoded data
+     * @param offset the offset of the value
+     * @param bitSize the size N of the intN type
+     * @return the value
+     */
+    public static BigInteger decodeIntValue(byte[] input, int offset, int bitSize) {
+        // take MSB as sign bit
+        return decodeIntegerValue(input, offset, bitSize, input[offset] < 0 ? (byte) 0xff : 0);
+    }
+
+    private static BigInteger decodeIntegerValue(
+            byte[] input, int offset, int bitSize, byte paddingValue) {
+        int typeLengthAsBytes = bitSize >> 3;
+        int valueOffset = offset + Type.MAX_BYTE_LENGTH - typeLengthAsBytes;
+        if (fitsInLong(input, offset, valueOffset, paddingValue)) {
+            long value = paddingValue;
+            int longOffset = Math.max(valueOffset, offset + Type.MAX_BYTE_LENGTH - Long.BYTES);
+            for (int i = longOffset; i < offset + Type.MAX_BYTE_LENGTH; i++) {
+                value = (value << 8) | (input[i] & 0xff);
+            }
+            return BigInteger.valueOf(value);
+        }
+        byte[] resultByteArray = new byte[typeLengthAsBytes + 1];
+        resultByteArray[0] = paddingValue;
+        System.arraycopy(input, valueOffset, resultByteArray, 1, typeLengthAsBytes);
+        return new BigInteger(resultByteArray);
+    }
+
+    /**
+     * decode the address without creating the Address type
+     *
+     * @param input the encoded data
+     * @param offset the offset of the value
+     * @return the hex address with the 0x prefix, the same as Address.toString()
+     */
+    public static String decodeAddressValue(byte[] input, int offset) {
+        int addressLength = Address.LENGTH >> 3;
+        return Hex.addPrefix(
+                Hex.toHexString(
+                        input, offset + Type.MAX_BYTE_LENGTH - addressLength, addressLength));
+    }
+
+    public static boolean decodeBoolValue(byte[] rawInput, int offset) {
+        // true only if the value is 1
+        int end = offset + Type.MAX_BYTE_LENGTH - 1;
+        for (int i = offset; i < end; i++) {
+            if (rawInput[i] != 0) {
+                return false;
+            }
+        }
+        return rawInput[end] == 1;
+    }
+
     public static Bool decodeBool(byte[] rawInput, int offset) {
-        BigInteger numericValue =
-                new BigInteger(Arrays.copyOfRange(rawInput, offset, offset + Type.MAX_BYTE_LENGTH));
-        boolean value = numericValue.equals(BigInteger.ONE);
-        return new Bool(value);
+        return new Bool(decodeBoolValue(rawInput, offset));
     }
 
     public static <T extends Bytes> T decodeBytes(byte[] input, Class<T> type) {
@@ -142,35 +279,40 @@ public class TypeDecoder {
     }
 
     public static <T extends Bytes> T decodeBytes(byte[] input, int offset, Class<T> type) {
-        try {
+        Integer length = bytesTypeLengths.get(type);
+        if (length == null) {
             String simpleName = type.getSimpleName();
             String[] splitName = simpleName.split(Bytes.class.getSimpleName());
-            int length = Integer.parseInt(splitName[1]);
-            byte[] bytes = Arrays.copyOfRange(input, offset, offset + length);
-            return type.getConstructor(byte[].class).newInstance(bytes);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
-            throw new UnsupportedOperationException(
-                    "Unable to create instance of " + type.getName(), e);
+            length = Integer.parseInt(splitName[1]);
+            bytesTypeLengths.put(type, length);
         }
+        byte[] bytes = Arrays.copyOfRange(input, offset, offset + length);
+        return newInstance(type, bytesConstructors, byte[].class, bytes);
     }
 
-    public static DynamicBytes decodeDynamicBytes(byte[] input, int offset) {
+    /**
+     * decode the value of the bytes type without creating the DynamicBytes type
+     *
+     * @param input the encoded data
+     * @param offset the offset of the length of the bytes
+     * @return the value
+     */
+    public static byte[] decodeDynamicBytesValue(byte[] input, int offset) {
         int encodedLength = decodeUintAsInt(input, offset);
         int valueOffset = offset + Type.MAX_BYTE_LENGTH;
-        byte[] bytes = Arrays.copyOfRange(input, valueOffset, valueOffset + encodedLength);
-        return new DynamicBytes(bytes);
+        return Arrays.copyOfRange(input, valueOffset, valueOffset + encodedLength);
     }
 
-    public static Utf8String decodeUtf8String(byte[] input, int offset) {
-        DynamicBytes dynamicBytesResult = decodeDynamicBytes(input, offset);
-        byte[] bytes = dynamicBytesResult.getValue();
+    public static DynamicBytes decodeDynamicBytes(byte[] input, int offset) {
+        return new DynamicBytes(decodeDynamicBytesValue(input, offset));
+    }
+
+    public static String decodeUtf8StringValue(byte[] input, int offset) {
+        return new String(decodeDynamicBytesValue(input, offset), StandardCharsets.UTF_8);
+    }
 
-        return new Utf8String(new String(bytes, StandardCharsets.UTF_8));
+    public static Utf8String decodeUtf8String(byte[] input, int offset) {
+        return new Utf8String(decodeUtf8StringValue(input, offset));
     }
 
     public static <T extends Type> T decodeStaticArray(
@@ -190,14 +332,22 @@ public class TypeDecoder {
 
     @SuppressWarnings("unchecked")
     public static <T extends Type> T instantiateStaticArray(List<T> elements, int length) {
+        MethodHandle constructor = staticArrayConstructors.get(length);
+        if (constructor == null) {
+            try {
+                Class<?> arrayClass =
+                        Class.forName(
+                                "org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray"
+                                        + length);
+                constructor = findConstructor(arrayClass, List.class);
+            } catch (ReflectiveOperationException e) {
+                throw new UnsupportedOperationException(e);
+            }
+            staticArrayConstructors.put(length, constructor);
+        }
         try {
-            Class<? extends StaticArray> arrayClass =
-                    (Class<? extends StaticArray>)
-                            Class.forName(
-                                    "org.fisco.bcos.sdk.v3.codec.datatypes.generated.StaticArray"
-                                            + length);
-            return (T) arrayClass.getConstructor(List.class).newInstance(elements);
-        } catch (ReflectiveOperationException e) {
+            return (T) (Object) constructor.invokeExact((Object) elements);
+        } catch (Throwable e) {
             throw new UnsupportedOperationException(e);
         }
     }
@@ -207,7 +357,8 @@ public class TypeDecoder {
         int length = decodeUintAsInt(input, offset);
 
         BiFunction<List<T>, String, T> function =
-                (elements, typeName) -> (T) new DynamicArray(AbiTypes.getType(typeName), elements);
+                (elements, typeName) ->
+                        (T) new DynamicArray(getArrayComponentType(typeName), elements);
 
         int valueOffset = offset + Type.MAX_BYTE_LENGTH;
 
@@ -238,11 +389,11 @@ public class TypeDecoder {
                                         offset
                                                 + FunctionReturnDecoder.getDataOffset(
                                                         input, currOffset, typeReference),
-                                        TypeReference.create(cls));
+                                        structTypeReference(cls));
                     } else {
                         value =
                                 TypeDecoder.decodeStaticStruct(
-                                        input, currOffset, TypeReference.create(cls));
+                                        input, currOffset, structTypeReference(cls));
                     }
                     elements.add(value);
                 }
@@ -255,16 +406,17 @@ public class TypeDecoder {
             } else {
                 List<T> elements = new ArrayList<>(length);
                 int currOffset = offset;
+                TypeReference<T> elementTypeReference = TypeReference.create(cls);
                 for (int i = 0; i < length; i++) {
                     T value;
                     if (isDynamic(cls)) {
                         int getOffset =
                                 FunctionReturnDecoder.getDataOffset(
                                         input, currOffset, typeReference);
-                        value = decode(input, offset + getOffset, TypeReference.create(cls));
+                        value = decode(input, offset + getOffset, elementTypeReference);
                         currOffset += Type.MAX_BYTE_LENGTH;
                     } else {
-                        value = decode(input, currOffset, TypeReference.create(cls));
+                        value = decode(input, currOffset, elementTypeReference);
                         currOffset +=
                                 getSingleElementLength(input, currOffset, cls)
                                         * Type.MAX_BYTE_LENGTH;
@@ -297,7 +449,7 @@ public class TypeDecoder {
             // length field + data value
             return (decodeUintAsInt(input, offset) / Type.MAX_BYTE_LENGTH) + 2;
         } else if (StaticStruct.class.isAssignableFrom(type)) {
-            return Utils.staticStructNestedPublicFieldsFlatList((Class<Type>) type).size();
+            return getStructPlan(type).flatFieldCount;
         } else {
             return 1;
         }
@@ -322,23 +474,8 @@ public class TypeDecoder {
     private static <T extends Type> T instantiateStruct(
             final TypeReference<T> typeReference, final List<T> parameters) {
         try {
-            Constructor ctor =
-                    Arrays.stream(typeReference.getClassType().getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReference struct must contain a constructor with types that extend Type"));
-            ctor.setAccessible(true);
-            return (T) ctor.newInstance(parameters.toArray());
-        } catch (ReflectiveOperationException e) {
+            return (T) getStructPlan(typeReference.getClassType()).newInstance(parameters);
+        } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Constructor cannot accept" + Arrays.toString(parameters.toArray()), e);
         }
@@ -352,98 +489,67 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             final Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
+            final StructPlan plan = getStructPlan(classType);
 
-            final int length = constructor.getParameterCount();
-            final Map<Integer, T> parameters = new HashMap<>();
+            final int length = plan.parameterClasses.length;
+            final Object[] parameters = new Object[length];
             int staticOffset = 0;
-            final List<Integer> parameterOffsets = new ArrayList<>();
+            final int[] parameterOffsets = new int[plan.dynamicParameterCount];
+            int dynamicParameterIndex = 0;
             for (int i = 0; i < length; ++i) {
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
-                TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
+                final Class<T> declaredField = (Class<T>) plan.parameterClasses[i];
                 final T value;
                 final int beginIndex = offset + staticOffset;
-                if (isDynamic(declaredField)) {
-                    final int parameterOffset =
-                            (decodeDynamicStructDynamicParameterOffset(
-                                            Arrays.copyOfRange(
-                                                    input,
-                                                    beginIndex,
-                                                    beginIndex + Type.MAX_BYTE_LENGTH)))
-                                    + offset;
-                    parameterOffsets.add(parameterOffset);
+                if (plan.dynamicParameters[i]) {
+                    parameterOffsets[dynamicParameterIndex++] =
+                            decodeUintAsInt(input, beginIndex) + offset;
                     staticOffset += Type.MAX_BYTE_LENGTH;
                 } else {
                     if (StaticStruct.class.isAssignableFrom(declaredField)) {
                         value =
                                 decodeStaticStruct(
-                                        Arrays.copyOfRange(input, beginIndex, input.length),
-                                        0,
-                                        TypeReference.create(declaredField));
-                        staticOffset +=
-                                Utils.staticStructNestedPublicFieldsFlatList(
-                                                        (Class<Type>) classType)
-                                                .size()
-                                        * Type.MAX_BYTE_LENGTH;
+                                        input,
+                                        beginIndex,
+                                        (TypeReference<T>) plan.parameterTypeReferences[i]);
+                        staticOffset += plan.flatFieldCount * Type.MAX_BYTE_LENGTH;
                     } else {
                         value =
                                 decode(
-                                        Arrays.copyOfRange(input, beginIndex, input.length),
-                                        0,
-                                        typeReferenceElement);
+                                        input,
+                                        beginIndex,
+                                        (TypeReference<T>) plan.parameterTypeReferences[i]);
                         staticOffset += value.bytes32PaddedLength();
                     }
-                    parameters.put(i, value);
+                    parameters[i] = value;
                 }
             }
             int dynamicParametersProcessed = 0;
-            int dynamicParametersToProcess =
-                    getDynamicStructDynamicParametersCount(constructor.getParameterTypes());
+            int dynamicParametersToProcess = plan.dynamicParameterCount;
             for (int i = 0; i < length; ++i) {
-                TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
-                if (isDynamic(typeReferenceElement.getClassType())) {
+                if (plan.dynamicParameters[i]) {
                     final boolean isLastParameterInStruct =
                             dynamicParametersProcessed == (dynamicParametersToProcess - 1);
                     final int parameterLength =
                             isLastParameterInStruct
-                                    ? input.length
-                                            - parameterOffsets.get(dynamicParametersProcessed)
-                                    : parameterOffsets.get(dynamicParametersProcessed + 1)
-                                            - parameterOffsets.get(dynamicParametersProcessed);
-                    parameters.put(
-                            i,
+                                    ? input.length - parameterOffsets[dynamicParametersProcessed]
+                                    : parameterOffsets[dynamicParametersProcessed + 1]
+                                            - parameterOffsets[dynamicParametersProcessed];
+                    parameters[i] =
                             decodeDynamicParameterFromStruct(
                                     input,
-                                    parameterOffsets.get(dynamicParametersProcessed),
+                                    parameterOffsets[dynamicParametersProcessed],
                                     parameterLength,
-                                    typeReferenceElement));
+                                    (TypeReference<T>) plan.parameterTypeReferences[i]);
                     dynamicParametersProcessed++;
                 }
             }
 
-            String typeName = Utils.getSimpleTypeName(classType);
-
-            final List<T> elements = new ArrayList<>();
+            final List<T> elements = new ArrayList<>(length);
             for (int i = 0; i < length; ++i) {
-                elements.add(parameters.get(i));
+                elements.add((T) parameters[i]);
             }
 
-            return consumer.apply(elements, typeName);
+            return consumer.apply(elements, plan.typeName);
         } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Unable to access parameterized type " + typeReference.getType().getTypeName(),
@@ -451,16 +557,6 @@ public class TypeDecoder {
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends Type> int getDynamicStructDynamicParametersCount(
-            final Class<?>[] cls) {
-        return (int) Arrays.stream(cls).filter(c -> isDynamic((Class<T>) c)).count();
-    }
-
-    private static int decodeDynamicStructDynamicParameterOffset(final byte[] input) {
-        return decodeUintAsInt(input, 0);
-    }
-
     private static <T extends Type> T decodeDynamicParameterFromStruct(
             final byte[] input,
             final int parameterOffset,
@@ -504,62 +600,171 @@ public class TypeDecoder {
             final BiFunction<List<T>, String, T> consumer) {
         try {
             Class<T> classType = typeReference.getClassType();
-            Constructor<?> constructor =
-                    Arrays.stream(classType.getDeclaredConstructors())
-                            .filter(
-                                    declaredConstructor ->
-                                            Arrays.stream(declaredConstructor.getParameterTypes())
-                                                            .allMatch(Type.class::isAssignableFrom)
-                                                    && declaredConstructor.getParameterTypes()
-                                                                    .length
-                                                            > 0)
-                            .findAny()
-                            .orElseThrow(
-                                    () ->
-                                            new RuntimeException(
-                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
-            final int length = constructor.getParameterCount();
+            final StructPlan plan = getStructPlan(classType);
+            final int length = plan.parameterClasses.length;
             List<T> elements = new ArrayList<>(length);
 
             for (int i = 0, currOffset = offset; i < length; i++) {
                 T value;
-                final Class<T> declaredField = (Class<T>) constructor.getParameterTypes()[i];
                 TypeReference<T> typeReferenceElement =
-                        TypeReference.create(constructor.getGenericParameterTypes()[i]);
-                if (StaticStruct.class.isAssignableFrom(declaredField)) {
-                    final int nestedStructLength =
-                            classType
-                                            .getDeclaredFields()[i]
-                                            .getType()
-                                            .getConstructors()[0]
-                                            .getParameters()
-                                            .length
-                                    * Type.MAX_BYTE_LENGTH;
-                    value =
-                            decodeStaticStruct(
-                                    Arrays.copyOfRange(
-                                            input, currOffset, currOffset + nestedStructLength),
-                                    0,
-                                    TypeReference.create(declaredField));
+                        (TypeReference<T>) plan.parameterTypeReferences[i];
+                if (StaticStruct.class.isAssignableFrom(plan.parameterClasses[i])) {
+                    final int nestedStructLength = plan.nestedStructLengths[i];
+                    value = decodeStaticStruct(input, currOffset, typeReferenceElement);
                     currOffset += nestedStructLength;
                 } else {
-                    value =
-                            decode(
-                                    Arrays.copyOfRange(
-                                            input, currOffset, currOffset + Type.MAX_BYTE_LENGTH),
-                                    0,
-                                    typeReferenceElement);
+                    value = decode(input, currOffset, typeReferenceElement);
                     currOffset += Type.MAX_BYTE_LENGTH;
                 }
                 elements.add(value);
             }
 
-            String typeName = Utils.getSimpleTypeName(classType);
-            return consumer.apply(elements, typeName);
+            return consumer.apply(elements, plan.typeName);
         } catch (ClassNotFoundException e) {
             throw new UnsupportedOperationException(
                     "Unable to access parameterized type " + typeReference.getType().getTypeName(),
                     e);
         }
     }
+
+    private static Class<? extends Type> getArrayComponentType(String typeName) {
+        Class<? extends Type> componentType = arrayComponentTypes.get(typeName);
+        if (componentType == null) {
+            componentType = AbiTypes.getType(typeName);
+            arrayComponentTypes.put(typeName, componentType);
+        }
+        return componentType;
+    }
+
+    private static MethodHandle findConstructor(Class<?> type, Class<?> parameterType)
+            throws ReflectiveOperationException {
+        return MethodHandles.publicLookup()
+                .findConstructor(type, MethodType.methodType(void.class, parameterType))
+                .asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newInstance(
+            Class<T> type,
+            Map<Class<?>, MethodHandle> constructors,
+            Class<?> parameterType,
+            Object parameter) {
+        try {
+            MethodHandle constructor = constructors.get(type);
+            if (constructor == null) {
+                constructor = findConstructor(type, parameterType);
+                constructors.put(type, constructor);
+            }
+            return (T) (Object) constructor.invokeExact(parameter);
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException(
+                    "Unable to create instance of " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Type> TypeReference<T> structTypeReference(Class<T> structType) {
+        return (TypeReference<T>) (TypeReference<?>) getStructPlan(structType).typeReference;
+    }
+
+    static StructPlan getStructPlan(Class<?> structType) {
+        StructPlan plan = structPlans.get(structType);
+        if (plan == null) {
+            plan = new StructPlan(structType);
+            structPlans.put(structType, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * The decode plan of the struct type, resolved by reflection once and reused by the later
+     * decoding: the constructor handle, the parameter types and the flattened layout.
+     */
+    static final class StructPlan {
+        private final TypeReference<Type> typeReference;
+        private final String typeName;
+        private final MethodHandle constructor;
+        private final Class<?>[] parameterClasses;
+        private final TypeReference<?>[] parameterTypeReferences;
+        private final boolean[] dynamicParameters;
+        private final int dynamicParameterCount;
+        // the encoded length of the nested static struct parameters
+        private final int[] nestedStructLengths;
+        // the count of the flattened public fields of the static struct
+        private final int flatFieldCount;
+
+        @SuppressWarnings("unchecked")
+        private StructPlan(Class<?> structType) {
+            Constructor<?> ctor =
+                    Arrays.stream(structType.getDeclaredConstructors())
+                            .filter(
+                                    declaredConstructor ->
+                                            Arrays.stream(declaredConstructor.getParameterTypes())
+                                                            .allMatch(Type.class::isAssignableFrom)
+                                                    && declaredConstructor.getParameterTypes()
+                                                                    .length
+                                                            > 0)
+                            .findAny()
+                            .orElseThrow(
+                                    () ->
+                                            new RuntimeException(
+                                                    "TypeReferenced struct must contain a constructor with types that extend Type"));
+            this.typeReference = TypeReference.create((Class<Type>) structType);
+            this.typeName = Utils.getSimpleTypeName(structType);
+            this.parameterClasses = ctor.getParameterTypes();
+            int length = this.parameterClasses.length;
+            java.lang.reflect.Type[] genericParameterTypes = ctor.getGenericParameterTypes();
+            this.parameterTypeReferences = new TypeReference<?>[length];
+            this.dynamicParameters = new boolean[length];
+            this.nestedStructLengths = new int[length];
+            int dynamicCount = 0;
+            for (int i = 0; i < length; i++) {
+                Class<Type> parameterClass = (Class<Type>) this.parameterClasses[i];
+                if (StaticStruct.class.isAssignableFrom(parameterClass)) {
+                    this.parameterTypeReferences[i] = TypeReference.create(parameterClass);
+                    this.nestedStructLengths[i] = getNestedStructLength(structType, i);
+                } else {
+                    this.parameterTypeReferences[i] =
+                            TypeReference.create(genericParameterTypes[i]);
+                }
+                this.dynamicParameters[i] = isDynamic(parameterClass);
+                if (this.dynamicParameters[i]) {
+                    dynamicCount++;
+                }
+            }
+            this.dynamicParameterCount = dynamicCount;
+            this.flatFieldCount =
+                    Utils.staticStructNestedPublicFieldsFlatList((Class<Type>) structType).size();
+            try {
+                ctor.setAccessible(true);
+                this.constructor =
+                        MethodHandles.lookup()
+                                .unreflectConstructor(ctor)
+                                .asFixedArity()
+                                .asSpreader(Object[].class, length)
+                                .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new UnsupportedOperationException(
+                        "Unable to access the constructor of " + structType.getName(), e);
+            }
+        }
+
+        private static int getNestedStructLength(Class<?> structType, int index) {
+            Field[] declaredFields = structType.getDeclaredFields();
+            if (index >= declaredFields.length) {
+                return Type.MAX_BYTE_LENGTH;
+            }
+            return declaredFields[index].getType().getConstructors()[0].getParameters().length
+                    * Type.MAX_BYTE_LENGTH;
+        }
+
+        private Object newInstance(List<?> parameters) {
+            try {
+                return this.constructor.invokeExact(parameters.toArray());
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException(
+                        "Constructor cannot accept" + Arrays.toString(parameters.toArray()), e);
+            }
+        }
+    }
 }
@@ -2,13 +2,12 @@ package org.fisco.bcos.sdk.v3.codec.abi;
 
 import static org.fisco.bcos.sdk.v3.codec.datatypes.Type.MAX_BYTE_LENGTH;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Array;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bool;
@@ -23,38 +22,171 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Ufixed;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
 
 /**
  * Ethereum Contract Application Binary Interface (ABI) encoding for types. Further details are
  * available <a href= "https://github.com/ethereum/wiki/wiki/Ethereum-Contract-ABI">here</a>.
+ *
+ * <p>The encoded length of a type is computed up front by {@link #encodedLength(Type)}, and every
+ * element is written into a single ByteBuffer by {@link #encode(Type, ByteBuffer)} without the
+ * intermediate byte arrays. The length of each array, struct and string is computed once per
+ * encoding and kept in an identity map, the offsets of the dynamic elements reuse it.
+ *
+ * <p>The encoders returning a byte[] allocate the exact result once. The ones copying the result
+ * anyway, to a hex string or a stream, encode into a buffer reused by the calling thread instead.
  */
 public class TypeEncoder {
+    private static final int LONG_PADDING_LENGTH = MAX_BYTE_LENGTH - Long.BYTES;
+    // the larger buffers are not kept by the thread after the encoding
+    static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> reusedBuffers =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
+
     private TypeEncoder() {}
 
     public static byte[] encode(Type parameter) {
+        Map<Type, Integer> lengths = newLengths();
+        ByteBuffer buffer = ByteBuffer.allocate(encodedLength(parameter, lengths));
+        encode(parameter, buffer, lengths);
+        return buffer.array();
+    }
+
+    /**
+     * encode the parameter into hex through the buffer reused by the calling thread
+     *
+     * @param parameter the parameter to encode
+     * @return the hex string without the 0x prefix
+     */
+    public static String encodeToHex(Type parameter) {
+        Map<Type, Integer> lengths = newLengths();
+        int length = encodedLength(parameter, lengths);
+        ByteBuffer buffer = reusedBuffer(length);
+        encode(parameter, buffer, lengths);
+        return Hex.toHexString(buffer.array(), 0, length);
+    }
+
+    /**
+     * get the buffer of the calling thread, the content is valid until the next call on the thread
+     *
+     * @param capacity the bytes needed
+     * @return the cleared buffer with at least capacity bytes remaining, backed by an array
+     */
+    static ByteBuffer reusedBuffer(int capacity) {
+        ByteBuffer buffer = reusedBuffers.get();
+        if (buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocate(capacity);
+            if (capacity <= MAX_REUSED_BUFFER_SIZE) {
+                reusedBuffers.set(buffer);
+            }
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /** @return the map to share the computed lengths between the length and the encode pass */
+    static Map<Type, Integer> newLengths() {
+        return new IdentityHashMap<>();
+    }
+
+    /**
+     * write the encoded parameter into the buffer
+     *
+     * @param parameter the parameter to encode
+     * @param buffer the buffer with at least encodedLength(parameter) bytes remaining
+     */
+    public static void encode(Type parameter, ByteBuffer buffer) {
+        encode(parameter, buffer, newLengths());
+    }
+
+    static void encode(Type parameter, ByteBuffer buffer, Map<Type, Integer> lengths) {
         if (parameter instanceof NumericType) {
-            return encodeNumeric(((NumericType) parameter));
+            writeNumeric((NumericType) parameter, buffer);
         } else if (parameter instanceof Address) {
-            return encodeAddress((Address) parameter);
+            writeNumeric(((Address) parameter).toUint160(), buffer);
         } else if (parameter instanceof Bool) {
-            return encodeBool((Bool) parameter);
+            writeBool((Bool) parameter, buffer);
         } else if (parameter instanceof Bytes) {
-            return encodeBytes((Bytes) parameter);
+            writeBytes(((Bytes) parameter).getValue(), buffer);
         } else if (parameter instanceof DynamicBytes) {
-            return encodeDynamicBytes((DynamicBytes) parameter);
+            writeDynamicBytes(((DynamicBytes) parameter).getValue(), buffer);
         } else if (parameter instanceof Utf8String) {
-            return encodeString((Utf8String) parameter);
+            writeDynamicBytes(
+                    ((Utf8String) parameter).getValue().getBytes(StandardCharsets.UTF_8), buffer);
         } else if (parameter instanceof StaticArray) {
             if (DynamicStruct.class.isAssignableFrom(
                     ((StaticArray) parameter).getComponentType())) {
-                return encodeStaticArrayWithDynamicStruct((StaticArray) parameter);
+                writeStaticArrayWithDynamicStruct((StaticArray) parameter, buffer, lengths);
             } else {
-                return encodeArrayValues((StaticArray) parameter);
+                writeArrayValues((StaticArray) parameter, buffer, lengths);
             }
         } else if (parameter instanceof DynamicStruct) {
-            return encodeDynamicStruct((DynamicStruct) parameter);
+            writeDynamicStructValues((DynamicStruct) parameter, buffer, lengths);
         } else if (parameter instanceof DynamicArray) {
-            return encodeDynamicArray((DynamicArray) parameter);
+            writeDynamicArray((DynamicArray) parameter, buffer, lengths);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Type cannot be encoded: " + parameter.getClass());
+        }
+    }
+
+    /**
+     * compute the length of the encoded parameter without encoding it
+     *
+     * @param parameter the parameter to encode
+     * @return the length in bytes
+     */
+    public static int encodedLength(Type parameter) {
+        return encodedLength(parameter, newLengths());
+    }
+
+    /**
+     * compute the length of the encoded parameter, the lengths of the arrays, structs and strings
+     * are looked up in and added to the lengths map
+     */
+    static int encodedLength(Type parameter, Map<Type, Integer> lengths) {
+        if (parameter instanceof NumericType
+                || parameter instanceof Address
+                || parameter instanceof Bool) {
+            return MAX_BYTE_LENGTH;
+        } else if (parameter instanceof Bytes) {
+            return paddedLength(((Bytes) parameter).getValue().length);
+        } else if (parameter instanceof DynamicBytes) {
+            return MAX_BYTE_LENGTH + paddedLength(((DynamicBytes) parameter).getValue().length);
+        }
+        Integer length = lengths.get(parameter);
+        if (length == null) {
+            length = computeLength(parameter, lengths);
+            lengths.put(parameter, length);
+        }
+        return length;
+    }
+
+    private static int computeLength(Type parameter, Map<Type, Integer> lengths) {
+        if (parameter instanceof Utf8String) {
+            return MAX_BYTE_LENGTH + paddedLength(utf8Length(((Utf8String) parameter).getValue()));
+        } else if (parameter instanceof StaticArray) {
+            StaticArray<?> staticArray = (StaticArray<?>) parameter;
+            int length = arrayValuesLength(staticArray, lengths);
+            if (DynamicStruct.class.isAssignableFrom(staticArray.getComponentType())) {
+                length += staticArray.getValue().size() * MAX_BYTE_LENGTH;
+            }
+            return length;
+        } else if (parameter instanceof DynamicStruct) {
+            int length = 0;
+            for (Type type : ((DynamicStruct) parameter).getValue()) {
+                length += isDynamic(type) ? MAX_BYTE_LENGTH : 0;
+                length += encodedLength(type, lengths);
+            }
+            return length;
+        } else if (parameter instanceof DynamicArray) {
+            DynamicArray<?> dynamicArray = (DynamicArray<?>) parameter;
+            int length = dynamicArray.isFixed() ? 0 : MAX_BYTE_LENGTH;
+            if (hasValuesOffsets(dynamicArray)) {
+                length += dynamicArray.getValue().size() * MAX_BYTE_LENGTH;
+            }
+            return length + arrayValuesLength(dynamicArray, lengths);
         } else {
             throw new UnsupportedOperationException(
                     "Type cannot be encoded: " + parameter.getClass());
@@ -66,25 +198,91 @@ public class TypeEncoder {
     }
 
     public static byte[] encodeNumeric(NumericType numericType) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_BYTE_LENGTH);
+        writeNumeric(numericType, buffer);
+        return buffer.array();
+    }
+
+    private static void writeNumeric(NumericType numericType, ByteBuffer buffer) {
+        if (numericType.fitsInLong()) {
+            // fast path: the value fits in a long, write it without the BigInteger byte array
+            long value = numericType.longValue();
+            writePadding(value < 0 ? (byte) 0xff : 0, LONG_PADDING_LENGTH, buffer);
+            buffer.putLong(value);
+            return;
+        }
+        BigInteger value = numericType.getValue();
+        byte paddingValue = value.signum() == -1 ? (byte) 0xff : 0;
         byte[] rawValue = toByteArray(numericType);
-        byte paddingValue = getPaddingValue(numericType);
-        byte[] paddedRawValue = new byte[MAX_BYTE_LENGTH];
-        if (paddingValue != 0) {
-            for (int i = 0; i < paddedRawValue.length; i++) {
-                paddedRawValue[i] = paddingValue;
-            }
+        writePadding(paddingValue, MAX_BYTE_LENGTH - rawValue.length, buffer);
+        buffer.put(rawValue);
+    }
+
+    /**
+     * write the unsigned long value, such as the offset or the length of the dynamic parameter
+     *
+     * @param value the value, unsigned
+     * @param buffer the buffer with at least 32 bytes remaining
+     */
+    public static void writeUint(long value, ByteBuffer buffer) {
+        writePadding((byte) 0, LONG_PADDING_LENGTH, buffer);
+        buffer.putLong(value);
+    }
+
+    /**
+     * write the uint value without creating the Uint type, the value is checked as the Uint type
+     *
+     * @param value the value in range 0 ~ MAX_UINT256
+     * @param buffer the buffer with at least 32 bytes remaining
+     */
+    public static void writeUint(BigInteger value, ByteBuffer buffer) {
+        if (value.signum() == -1 || value.compareTo(Constant.MAX_UINT256) > 0) {
+            throw new UnsupportedOperationException("Value out of the range of uint256: " + value);
+        }
+        writeInteger(value, buffer);
+    }
+
+    /**
+     * write the int value without creating the Int type, the value is checked as the Int type
+     *
+     * @param value the value in range MIN_INT256 ~ MAX_INT256
+     * @param buffer the buffer with at least 32 bytes remaining
+     */
+    public static void writeInt(BigInteger value, ByteBuffer buffer) {
+        if (value.compareTo(Constant.MIN_INT256) < 0 || value.compareTo(Constant.MAX_INT256) > 0) {
+            throw new UnsupportedOperationException("Value out of the range of int256: " + value);
         }
+        writeInteger(value, buffer);
+    }
 
-        System.arraycopy(
-                rawValue, 0, paddedRawValue, MAX_BYTE_LENGTH - rawValue.length, rawValue.length);
-        return paddedRawValue;
+    private static void writeInteger(BigInteger value, ByteBuffer buffer) {
+        if (value.bitLength() < Long.SIZE) {
+            long longValue = value.longValue();
+            writePadding(longValue < 0 ? (byte) 0xff : 0, LONG_PADDING_LENGTH, buffer);
+            buffer.putLong(longValue);
+            return;
+        }
+        byte[] rawValue = value.toByteArray();
+        // skip the sign byte of the 256 bit uint
+        int offset = rawValue.length > MAX_BYTE_LENGTH ? 1 : 0;
+        int length = rawValue.length - offset;
+        writePadding(value.signum() == -1 ? (byte) 0xff : 0, MAX_BYTE_LENGTH - length, buffer);
+        buffer.put(rawValue, offset, length);
     }
 
-    private static byte getPaddingValue(NumericType numericType) {
-        if (numericType.getValue().signum() == -1) {
-            return (byte) 0xff;
-        } else {
-            return 0;
+    /**
+     * write the address in hex without creating the Address type
+     *
+     * @param address the hex address, with or without the 0x prefix
+     * @param buffer the buffer with at least 32 bytes remaining
+     */
+    public static void writeAddress(String address, ByteBuffer buffer) {
+        writeUint(Numeric.toBigInt(address), buffer);
+    }
+
+    private static void writePadding(byte paddingValue, int length, ByteBuffer buffer) {
+        for (int i = 0; i < length; i++) {
+            buffer.put(paddingValue);
         }
     }
 
@@ -104,85 +302,124 @@ public class TypeEncoder {
     }
 
     public static byte[] encodeBool(Bool value) {
-        byte[] rawValue = new byte[MAX_BYTE_LENGTH];
-        if (value.getValue()) {
-            rawValue[rawValue.length - 1] = 1;
-        }
-        return rawValue;
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_BYTE_LENGTH);
+        writeBool(value, buffer);
+        return buffer.array();
+    }
+
+    private static void writeBool(Bool value, ByteBuffer buffer) {
+        writeBool(value.getValue(), buffer);
+    }
+
+    public static void writeBool(boolean value, ByteBuffer buffer) {
+        writePadding((byte) 0, MAX_BYTE_LENGTH - 1, buffer);
+        buffer.put(value ? (byte) 1 : 0);
     }
 
     public static byte[] encodeBytes(BytesType bytesType) {
         byte[] value = bytesType.getValue();
-        int length = value.length;
-        int mod = length % MAX_BYTE_LENGTH;
-
-        byte[] dest;
-        if (mod != 0) {
-            int padding = MAX_BYTE_LENGTH - mod;
-            dest = new byte[length + padding];
-            System.arraycopy(value, 0, dest, 0, length);
-        } else {
-            dest = value;
+        if (value.length % MAX_BYTE_LENGTH == 0) {
+            return value;
         }
-        return dest;
+        ByteBuffer buffer = ByteBuffer.allocate(paddedLength(value.length));
+        writeBytes(value, buffer);
+        return buffer.array();
     }
 
-    public static byte[] encodeDynamicBytes(DynamicBytes dynamicBytes) {
-        int size = dynamicBytes.getValue().length;
-        byte[] encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        byte[] encodedValue = encodeBytes(dynamicBytes);
-
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        try {
-            byteArrayOutputStream.write(encodedLength);
-            byteArrayOutputStream.write(encodedValue);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+    private static void writeBytes(byte[] value, ByteBuffer buffer) {
+        buffer.put(value);
+        writePadding((byte) 0, paddedLength(value.length) - value.length, buffer);
+    }
+
+    /**
+     * write the value of the bytesN type without creating the Bytes type
+     *
+     * @param value the value with byteSize bytes
+     * @param byteSize the size N of the bytesN type
+     * @param buffer the buffer with at least 32 bytes remaining
+     */
+    public static void writeBytes(byte[] value, int byteSize, ByteBuffer buffer) {
+        if (value.length == 0 || value.length > MAX_BYTE_LENGTH || value.length != byteSize) {
+            throw new UnsupportedOperationException(
+                    "Input byte array must be in range 0 < M <= 32 and length must match type");
         }
-        return byteArrayOutputStream.toByteArray();
+        writeBytes(value, buffer);
+    }
+
+    public static byte[] encodeDynamicBytes(DynamicBytes dynamicBytes) {
+        return encode(dynamicBytes);
+    }
+
+    /**
+     * write the value of the bytes or string type, the string is written by its UTF-8 bytes
+     *
+     * @param value the value
+     * @param buffer the buffer with at least dynamicBytesLength(value.length) bytes remaining
+     */
+    public static void writeDynamicBytes(byte[] value, ByteBuffer buffer) {
+        writeUint(value.length, buffer);
+        writeBytes(value, buffer);
     }
 
     public static byte[] encodeString(Utf8String string) {
-        byte[] utfEncoded = string.getValue().getBytes(StandardCharsets.UTF_8);
-        return encodeDynamicBytes(new DynamicBytes(utfEncoded));
+        return encode(string);
     }
 
     public static <T extends Type> byte[] encodeArrayValues(Array<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            for (Type type : value.getValue()) {
-                result.write(encode(type));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+        Map<Type, Integer> lengths = newLengths();
+        ByteBuffer buffer = ByteBuffer.allocate(arrayValuesLength(value, lengths));
+        writeArrayValues(value, buffer, lengths);
+        return buffer.array();
+    }
+
+    private static <T extends Type> void writeArrayValues(
+            Array<T> value, ByteBuffer buffer, Map<Type, Integer> lengths) {
+        for (Type type : value.getValue()) {
+            encode(type, buffer, lengths);
         }
-        return result.toByteArray();
+    }
+
+    private static <T extends Type> int arrayValuesLength(
+            Array<T> value, Map<Type, Integer> lengths) {
+        int length = 0;
+        for (Type type : value.getValue()) {
+            length += encodedLength(type, lengths);
+        }
+        return length;
     }
 
     public static <T extends Type> byte[] encodeDynamicArray(DynamicArray<T> value) {
-        int size = value.getValue().size();
-        byte[] encodedLength = encode(new Uint(BigInteger.valueOf(size)));
-        byte[] valuesOffsets = encodeArrayValuesOffsets(value);
-        byte[] encodedValues = encodeArrayValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            if (!value.isFixed()) {
-                result.write(encodedLength);
-            }
-            result.write(valuesOffsets);
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+        return encode(value);
+    }
+
+    private static <T extends Type> void writeDynamicArray(
+            DynamicArray<T> value, ByteBuffer buffer, Map<Type, Integer> lengths) {
+        if (!value.isFixed()) {
+            writeUint(value.getValue().size(), buffer);
         }
-        return result.toByteArray();
+        writeArrayValuesOffsets(value, buffer, lengths);
+        writeArrayValues(value, buffer, lengths);
     }
 
     static <T extends Type> byte[] encodeArrayValuesOffsets(DynamicArray<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int length = hasValuesOffsets(value) ? value.getValue().size() * MAX_BYTE_LENGTH : 0;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        writeArrayValuesOffsets(value, buffer, newLengths());
+        return buffer.array();
+    }
+
+    private static <T extends Type> boolean hasValuesOffsets(DynamicArray<T> value) {
+        if (value.getValue().isEmpty()) {
+            return false;
+        }
+        Type first = value.getValue().get(0);
+        return first instanceof DynamicBytes
+                || first instanceof Utf8String
+                || first instanceof DynamicArray;
+    }
+
+    private static <T extends Type> void writeArrayValuesOffsets(
+            DynamicArray<T> value, ByteBuffer buffer, Map<Type, Integer> lengths) {
         boolean arrayOfBytes =
                 !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicBytes;
         boolean arrayOfString =
@@ -191,54 +428,41 @@ public class TypeEncoder {
                 !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicStruct;
         boolean arrayOfDynamicArray =
                 !value.getValue().isEmpty() && value.getValue().get(0) instanceof DynamicArray;
-        try {
-            if (arrayOfBytes || arrayOfString) {
-                long offset = 0;
-                for (int i = 0; i < value.getValue().size(); i++) {
-                    if (i == 0) {
-                        offset = value.getValue().size() * MAX_BYTE_LENGTH;
-                    } else {
-                        int bytesLength =
-                                arrayOfBytes
-                                        ? ((byte[]) value.getValue().get(i - 1).getValue()).length
-                                        : ((String) value.getValue().get(i - 1).getValue())
-                                                .length();
-                        int numberOfWords = (bytesLength + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH;
-                        int totalBytesLength = numberOfWords * MAX_BYTE_LENGTH;
-                        offset += totalBytesLength + MAX_BYTE_LENGTH;
-                    }
-                    result.write(
-                            toBytesPadded(new BigInteger(Long.toString(offset)), MAX_BYTE_LENGTH));
+        if (arrayOfBytes || arrayOfString) {
+            long offset = 0;
+            for (int i = 0; i < value.getValue().size(); i++) {
+                if (i == 0) {
+                    offset = value.getValue().size() * MAX_BYTE_LENGTH;
+                } else {
+                    int bytesLength =
+                            arrayOfBytes
+                                    ? ((byte[]) value.getValue().get(i - 1).getValue()).length
+                                    : ((String) value.getValue().get(i - 1).getValue()).length();
+                    offset += paddedLength(bytesLength) + MAX_BYTE_LENGTH;
                 }
-            } else if (arrayOfDynamicStructs || arrayOfDynamicArray) {
-                result.write(encodeStructsArraysOffsets(value));
+                writeUint(offset, buffer);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+        } else if (arrayOfDynamicStructs || arrayOfDynamicArray) {
+            writeStructsArraysOffsets(value, buffer, lengths);
         }
-        return result.toByteArray();
     }
 
     static <T extends Type> byte[] encodeStructsArraysOffsets(Array<T> value) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        long offset = value.getValue().size();
-        List<byte[]> tailsEncoding =
-                value.getValue().stream().map(TypeEncoder::encode).collect(Collectors.toList());
-        for (int i = 0; i < value.getValue().size(); i++) {
-            if (i == 0) {
-                offset = offset * MAX_BYTE_LENGTH;
-            } else {
-                offset += tailsEncoding.get(i - 1).length;
-            }
-            try {
-                result.write(toBytesPadded(new BigInteger(Long.toString(offset)), MAX_BYTE_LENGTH));
-            } catch (IOException e) {
-                e.printStackTrace();
-                return null;
+        ByteBuffer buffer = ByteBuffer.allocate(value.getValue().size() * MAX_BYTE_LENGTH);
+        writeStructsArraysOffsets(value, buffer, newLengths());
+        return buffer.array();
+    }
+
+    private static <T extends Type> void writeStructsArraysOffsets(
+            Array<T> value, ByteBuffer buffer, Map<Type, Integer> lengths) {
+        List<T> values = value.getValue();
+        long offset = (long) values.size() * MAX_BYTE_LENGTH;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                offset += encodedLength(values.get(i - 1), lengths);
             }
+            writeUint(offset, buffer);
         }
-        return result.toByteArray();
     }
 
     static byte[] toBytesPadded(BigInteger value, int length) {
@@ -265,35 +489,27 @@ public class TypeEncoder {
     }
 
     static <T extends Type> byte[] encodeStaticArrayWithDynamicStruct(Array<T> value) {
-        byte[] valuesOffsets = encodeStructsArraysOffsets(value);
-        byte[] encodedValues = encodeArrayValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
+        Map<Type, Integer> lengths = newLengths();
+        ByteBuffer buffer =
+                ByteBuffer.allocate(
+                        value.getValue().size() * MAX_BYTE_LENGTH
+                                + arrayValuesLength(value, lengths));
+        writeStaticArrayWithDynamicStruct(value, buffer, lengths);
+        return buffer.array();
+    }
 
-            result.write(valuesOffsets);
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-        return result.toByteArray();
+    private static <T extends Type> void writeStaticArrayWithDynamicStruct(
+            Array<T> value, ByteBuffer buffer, Map<Type, Integer> lengths) {
+        writeStructsArraysOffsets(value, buffer, lengths);
+        writeArrayValues(value, buffer, lengths);
     }
 
     public static byte[] encodeDynamicStruct(final DynamicStruct value) {
-        byte[] encodedValues = encodeDynamicStructValues(value);
-
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            result.write(encodedValues);
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-        return result.toByteArray();
+        return encode(value);
     }
 
-    private static byte[] encodeDynamicStructValues(final DynamicStruct value) {
+    private static void writeDynamicStructValues(
+            final DynamicStruct value, ByteBuffer buffer, Map<Type, Integer> lengths) {
         int staticSize = 0;
         for (int i = 0; i < value.getValue().size(); ++i) {
             final Type type = value.getValue().get(i);
@@ -303,35 +519,57 @@ public class TypeEncoder {
                 staticSize += type.bytes32PaddedLength();
             }
         }
-        int dynamicOffset = staticSize;
-        final List<byte[]> offsetsAndStaticValues = new ArrayList<>();
-        final List<byte[]> dynamicValues = new ArrayList<>();
+        long dynamicOffset = staticSize;
         for (int i = 0; i < value.getValue().size(); ++i) {
             final Type type = value.getValue().get(i);
             if (isDynamic(type)) {
-                offsetsAndStaticValues.add(
-                        toBytesPadded(
-                                new BigInteger(Long.toString(dynamicOffset)), MAX_BYTE_LENGTH));
-                byte[] encodedValue = encode(type);
-                dynamicValues.add(encodedValue);
-                dynamicOffset += encodedValue.length;
+                writeUint(dynamicOffset, buffer);
+                dynamicOffset += encodedLength(type, lengths);
             } else {
-                offsetsAndStaticValues.add(encode(value.getValue().get(i)));
+                encode(type, buffer, lengths);
             }
         }
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        try {
-            for (byte[] offsetsAndStaticValue : offsetsAndStaticValues) {
-                result.write(offsetsAndStaticValue);
+        for (int i = 0; i < value.getValue().size(); ++i) {
+            final Type type = value.getValue().get(i);
+            if (isDynamic(type)) {
+                encode(type, buffer, lengths);
             }
-            for (byte[] dynamicValue : dynamicValues) {
-                result.write(dynamicValue);
+        }
+    }
+
+    private static int paddedLength(int length) {
+        return (length + MAX_BYTE_LENGTH - 1) / MAX_BYTE_LENGTH * MAX_BYTE_LENGTH;
+    }
+
+    /**
+     * @param length the length of the bytes or the UTF-8 bytes of the string
+     * @return the encoded length of the bytes or the string
+     */
+    public static int dynamicBytesLength(int length) {
+        return MAX_BYTE_LENGTH + paddedLength(length);
+    }
+
+    /** the length of String.getBytes(UTF_8), the malformed surrogate is replaced by one byte */
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
         }
-        return result.toByteArray();
+        return length;
     }
 
     static boolean isDynamic(Type parameter) {
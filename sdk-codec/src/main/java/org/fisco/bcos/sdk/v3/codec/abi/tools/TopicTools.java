@@ -66,6 +66,6 @@ public class TopicTools {
             throw new IllegalArgumentException("byteN can't be more than 32 byte");
         }
         Bytes bs = new Bytes(b.length, b);
-        return "0x" + Hex.toHexString(TypeEncoder.encode(bs));
+        return "0x" + TypeEncoder.encodeToHex(bs);
     }
 }
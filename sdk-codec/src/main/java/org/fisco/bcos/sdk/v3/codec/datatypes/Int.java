@@ -33,4 +33,8 @@ public class Int extends IntType {
     protected Int(int bitSize, BigInteger value) {
         super(TYPE_NAME, bitSize, value);
     }
+
+    protected Int(int bitSize, long value) {
+        super(TYPE_NAME, bitSize, value);
+    }
 }
@@ -18,10 +18,25 @@ public abstract class IntType extends NumericType {
         }
     }
 
+    public IntType(String typePrefix, int bitSize, long value) {
+        super(typePrefix + bitSize, value, bitSize);
+        if (!valid(bitSize, value)) {
+            throw new UnsupportedOperationException(
+                    "Bit size must be 8 bit aligned, and the bitLength must be no larger than "
+                            + bitSize
+                            + ", value:"
+                            + value);
+        }
+    }
+
     boolean valid(int bitSize, BigInteger value) {
         return isValidBitSize(bitSize);
     }
 
+    boolean valid(int bitSize, long value) {
+        return isValidBitSize(bitSize);
+    }
+
     static boolean isValidBitSize(int bitSize) {
         return bitSize % 8 == 0 && bitSize > 0 && bitSize <= MAX_BIT_LENGTH;
     }
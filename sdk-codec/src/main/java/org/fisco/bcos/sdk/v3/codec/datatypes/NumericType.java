@@ -3,16 +3,32 @@ package org.fisco.bcos.sdk.v3.codec.datatypes;
 import java.math.BigInteger;
 import java.util.Objects;
 
-/** Common numeric type. */
+/**
+ * Common numeric type.
+ *
+ * <p>The value fits in a long is kept as a long, the BigInteger of the value is created only when
+ * {@link #getValue()} is called, the codecs read and write it by {@link #longValue()}.
+ */
 public abstract class NumericType implements Type<BigInteger> {
 
     private String type;
     BigInteger value;
+    private final long longValue;
+    private final boolean fitsInLong;
     private int bitSize;
 
     public NumericType(String type, BigInteger value, int bitSize) {
         this.type = type;
         this.value = value;
+        this.fitsInLong = value != null && value.bitLength() < Long.SIZE;
+        this.longValue = this.fitsInLong ? value.longValue() : 0;
+        this.bitSize = bitSize;
+    }
+
+    public NumericType(String type, long value, int bitSize) {
+        this.type = type;
+        this.longValue = value;
+        this.fitsInLong = true;
         this.bitSize = bitSize;
     }
 
@@ -23,7 +39,30 @@ public abstract class NumericType implements Type<BigInteger> {
 
     @Override
     public BigInteger getValue() {
-        return value;
+        BigInteger result = value;
+        if (result == null && fitsInLong) {
+            result = BigInteger.valueOf(longValue);
+            value = result;
+        }
+        return result;
+    }
+
+    /** @return true if the value fits in a long */
+    public boolean fitsInLong() {
+        return fitsInLong;
+    }
+
+    /**
+     * get the value as a long without creating the BigInteger
+     *
+     * @return the value
+     * @throws ArithmeticException if the value does not fit in a long
+     */
+    public long longValue() {
+        if (!fitsInLong) {
+            throw new ArithmeticException("The value does not fit in a long: " + value);
+        }
+        return longValue;
     }
 
     @Override
@@ -40,6 +79,9 @@ public abstract class NumericType implements Type<BigInteger> {
         if (!type.equals(that.type)) {
             return false;
         }
+        if (fitsInLong || that.fitsInLong) {
+            return fitsInLong == that.fitsInLong && longValue == that.longValue;
+        }
 
         return Objects.equals(value, that.value);
     }
@@ -47,6 +89,9 @@ public abstract class NumericType implements Type<BigInteger> {
     @Override
     public int hashCode() {
         int result = type.hashCode();
+        if (fitsInLong) {
+            return 31 * result + Long.hashCode(longValue);
+        }
         result = 31 * result + (value != null ? value.hashCode() : 0);
         return result;
     }
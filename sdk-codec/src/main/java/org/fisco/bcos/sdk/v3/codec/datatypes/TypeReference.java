@@ -69,7 +69,9 @@ public abstract class TypeReference<T extends org.fisco.bcos.sdk.v3.codec.dataty
     public Class<T> getClassType() throws ClassNotFoundException {
         Type clsType = getType();
 
-        if (clsType instanceof ParameterizedType) {
+        if (clsType instanceof Class) {
+            return (Class<T>) clsType;
+        } else if (clsType instanceof ParameterizedType) {
             return (Class<T>) ((ParameterizedType) clsType).getRawType();
         } else {
             return (Class<T>) Class.forName(clsType.getTypeName());
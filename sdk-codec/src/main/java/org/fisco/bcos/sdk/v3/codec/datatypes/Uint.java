@@ -17,6 +17,14 @@ public class Uint extends IntType {
         this(TYPE_NAME, bitSize, value);
     }
 
+    Uint(String typePrefix, int bitSize, long value) {
+        super(typePrefix, bitSize, value);
+    }
+
+    protected Uint(int bitSize, long value) {
+        this(TYPE_NAME, bitSize, value);
+    }
+
     public Uint(BigInteger value) {
         // "int" values should be declared as int256 in computing function selectors
         this(MAX_BIT_LENGTH, value);
@@ -36,4 +44,9 @@ public class Uint extends IntType {
     boolean valid(int bitSize, BigInteger value) {
         return super.valid(bitSize, value) && value.signum() != -1 && validUint(value);
     }
+
+    @Override
+    boolean valid(int bitSize, long value) {
+        return super.valid(bitSize, value) && value >= 0;
+    }
 }
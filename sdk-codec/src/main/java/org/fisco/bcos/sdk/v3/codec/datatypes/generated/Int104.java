@@ -19,6 +19,6 @@ public class Int104 extends Int {
     }
 
     public Int104(long value) {
-        this(BigInteger.valueOf(value));
+        super(104, value);
     }
 }
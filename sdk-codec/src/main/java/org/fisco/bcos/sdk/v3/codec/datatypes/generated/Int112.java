@@ -19,6 +19,6 @@ public class Int112 extends Int {
     }
 
     public Int112(long value) {
-        this(BigInteger.valueOf(value));
+        super(112, value);
     }
 }
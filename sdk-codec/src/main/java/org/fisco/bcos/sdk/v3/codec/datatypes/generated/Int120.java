@@ -19,6 +19,6 @@ public class Int120 extends Int {
     }
 
     public Int120(long value) {
-        this(BigInteger.valueOf(value));
+        super(120, value);
     }
 }
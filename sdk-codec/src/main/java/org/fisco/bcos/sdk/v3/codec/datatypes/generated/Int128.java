@@ -19,6 +19,6 @@ public class Int128 extends Int {
     }
 
     public Int128(long value) {
-        this(BigInteger.valueOf(value));
+        super(128, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int136 extends Int {
     }
 
     public Int136(long value) {
-        this(BigInteger.valueOf(value));
+        super(136, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int144 extends Int {
     }
 
     public Int144(long value) {
-        this(BigInteger.valueOf(value));
+        super(144, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int152 extends Int {
     }
 
     public Int152(long value) {
-        this(BigInteger.valueOf(value));
+        super(152, value);
     }
 }
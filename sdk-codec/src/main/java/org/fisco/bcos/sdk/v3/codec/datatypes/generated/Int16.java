@@ -19,6 +19,6 @@ public class Int16 extends Int {
     }
 
     public Int16(long value) {
-        this(BigInteger.valueOf(value));
+        super(16, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int160 extends Int {
     }
 
     public Int160(long value) {
-        this(BigInteger.valueOf(value));
+        super(160, value);
     }
 }
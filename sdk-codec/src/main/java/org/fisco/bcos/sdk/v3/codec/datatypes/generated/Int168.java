@@ -19,6 +19,6 @@ public class Int168 extends Int {
     }
 
     public Int168(long value) {
-        this(BigInteger.valueOf(value));
+        super(168, value);
     }
 }
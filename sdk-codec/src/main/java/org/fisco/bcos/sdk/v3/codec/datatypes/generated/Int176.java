@@ -19,6 +19,6 @@ public class Int176 extends Int {
     }
 
     public Int176(long value) {
-        this(BigInteger.valueOf(value));
+        super(176, value);
     }
 }
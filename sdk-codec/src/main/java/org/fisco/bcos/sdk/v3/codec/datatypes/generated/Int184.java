@@ -19,6 +19,6 @@ public class Int184 extends Int {
     }
 
     public Int184(long value) {
-        this(BigInteger.valueOf(value));
+        super(184, value);
     }
 }
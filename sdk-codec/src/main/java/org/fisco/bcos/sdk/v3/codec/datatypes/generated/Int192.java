@@ -19,6 +19,6 @@ public class Int192 extends Int {
     }
 
     public Int192(long value) {
-        this(BigInteger.valueOf(value));
+        super(192, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int200 extends Int {
     }
 
     public Int200(long value) {
-        this(BigInteger.valueOf(value));
+        super(200, value);
     }
 }
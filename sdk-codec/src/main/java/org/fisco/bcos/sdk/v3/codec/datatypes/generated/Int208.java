@@ -19,6 +19,6 @@ public class Int208 extends Int {
     }
 
     public Int208(long value) {
-        this(BigInteger.valueOf(value));
+        super(208, value);
     }
 }
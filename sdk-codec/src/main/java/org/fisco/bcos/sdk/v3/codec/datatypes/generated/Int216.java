@@ -19,6 +19,6 @@ public class Int216 extends Int {
     }
 
     public Int216(long value) {
-        this(BigInteger.valueOf(value));
+        super(216, value);
     }
 }
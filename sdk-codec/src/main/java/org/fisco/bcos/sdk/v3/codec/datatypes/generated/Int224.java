@@ -19,6 +19,6 @@ public class Int224 extends Int {
     }
 
     public Int224(long value) {
-        this(BigInteger.valueOf(value));
+        super(224, value);
     }
 }
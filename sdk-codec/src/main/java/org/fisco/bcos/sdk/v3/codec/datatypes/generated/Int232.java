@@ -19,6 +19,6 @@ public class Int232 extends Int {
     }
 
     public Int232(long value) {
-        this(BigInteger.valueOf(value));
+        super(232, value);
     }
 }
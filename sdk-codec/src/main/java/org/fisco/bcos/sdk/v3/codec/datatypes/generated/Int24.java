@@ -19,6 +19,6 @@ public class Int24 extends Int {
     }
 
     public Int24(long value) {
-        this(BigInteger.valueOf(value));
+        super(24, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int240 extends Int {
     }
 
     public Int240(long value) {
-        this(BigInteger.valueOf(value));
+        super(240, value);
     }
 }
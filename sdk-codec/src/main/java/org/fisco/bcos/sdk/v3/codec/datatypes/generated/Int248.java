@@ -19,6 +19,6 @@ public class Int248 extends Int {
     }
 
     public Int248(long value) {
-        this(BigInteger.valueOf(value));
+        super(248, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int256 extends Int {
     }
 
     public Int256(long value) {
-        this(BigInteger.valueOf(value));
+        super(256, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int40 extends Int {
     }
 
     public Int40(long value) {
-        this(BigInteger.valueOf(value));
+        super(40, value);
     }
 }
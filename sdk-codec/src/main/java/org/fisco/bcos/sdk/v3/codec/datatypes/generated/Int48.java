@@ -19,6 +19,6 @@ public class Int48 extends Int {
     }
 
     public Int48(long value) {
-        this(BigInteger.valueOf(value));
+        super(48, value);
     }
 }
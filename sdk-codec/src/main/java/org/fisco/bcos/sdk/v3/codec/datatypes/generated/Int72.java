@@ -19,6 +19,6 @@ public class Int72 extends Int {
     }
 
     public Int72(long value) {
-        this(BigInteger.valueOf(value));
+        super(72, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int8 extends Int {
     }
 
     public Int8(long value) {
-        this(BigInteger.valueOf(value));
+        super(8, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int80 extends Int {
     }
 
     public Int80(long value) {
-        this(BigInteger.valueOf(value));
+        super(80, value);
     }
 }
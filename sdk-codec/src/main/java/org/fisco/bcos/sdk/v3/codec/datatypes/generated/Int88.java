@@ -19,6 +19,6 @@ public class Int88 extends Int {
     }
 
     public Int88(long value) {
-        this(BigInteger.valueOf(value));
+        super(88, value);
     }
 }
@@ -19,6 +19,6 @@ public class Int96 extends Int {
     }
 
     public Int96(long value) {
-        this(BigInteger.valueOf(value));
+        super(96, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint104 extends Uint {
     }
 
     public Uint104(long value) {
-        this(BigInteger.valueOf(value));
+        super(104, value);
     }
 }
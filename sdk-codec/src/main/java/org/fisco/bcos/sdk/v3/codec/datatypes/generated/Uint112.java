@@ -19,6 +19,6 @@ public class Uint112 extends Uint {
     }
 
     public Uint112(long value) {
-        this(BigInteger.valueOf(value));
+        super(112, value);
     }
 }
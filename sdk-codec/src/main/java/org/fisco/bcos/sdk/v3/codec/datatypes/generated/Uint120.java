@@ -19,6 +19,6 @@ public class Uint120 extends Uint {
     }
 
     public Uint120(long value) {
-        this(BigInteger.valueOf(value));
+        super(120, value);
     }
 }
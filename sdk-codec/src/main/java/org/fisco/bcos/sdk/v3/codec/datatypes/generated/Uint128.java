@@ -19,6 +19,6 @@ public class Uint128 extends Uint {
     }
 
     public Uint128(long value) {
-        this(BigInteger.valueOf(value));
+        super(128, value);
     }
 }
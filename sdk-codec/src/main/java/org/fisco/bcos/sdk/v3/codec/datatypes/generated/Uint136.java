@@ -19,6 +19,6 @@ public class Uint136 extends Uint {
     }
 
     public Uint136(long value) {
-        this(BigInteger.valueOf(value));
+        super(136, value);
     }
 }
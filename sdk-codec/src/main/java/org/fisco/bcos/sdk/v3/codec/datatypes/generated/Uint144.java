@@ -19,6 +19,6 @@ public class Uint144 extends Uint {
     }
 
     public Uint144(long value) {
-        this(BigInteger.valueOf(value));
+        super(144, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint152 extends Uint {
     }
 
     public Uint152(long value) {
-        this(BigInteger.valueOf(value));
+        super(152, value);
     }
 }
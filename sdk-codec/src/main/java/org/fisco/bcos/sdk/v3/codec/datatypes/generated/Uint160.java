@@ -19,6 +19,6 @@ public class Uint160 extends Uint {
     }
 
     public Uint160(long value) {
-        this(BigInteger.valueOf(value));
+        super(160, value);
     }
 }
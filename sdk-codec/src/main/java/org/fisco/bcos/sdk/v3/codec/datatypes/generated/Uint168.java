@@ -19,6 +19,6 @@ public class Uint168 extends Uint {
     }
 
     public Uint168(long value) {
-        this(BigInteger.valueOf(value));
+        super(168, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint176 extends Uint {
     }
 
     public Uint176(long value) {
-        this(BigInteger.valueOf(value));
+        super(176, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint184 extends Uint {
     }
 
     public Uint184(long value) {
-        this(BigInteger.valueOf(value));
+        super(184, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint192 extends Uint {
     }
 
     public Uint192(long value) {
-        this(BigInteger.valueOf(value));
+        super(192, value);
     }
 }
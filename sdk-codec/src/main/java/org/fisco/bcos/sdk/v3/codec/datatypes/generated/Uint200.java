@@ -19,6 +19,6 @@ public class Uint200 extends Uint {
     }
 
     public Uint200(long value) {
-        this(BigInteger.valueOf(value));
+        super(200, value);
     }
 }
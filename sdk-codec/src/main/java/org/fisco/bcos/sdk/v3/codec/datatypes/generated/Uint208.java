@@ -19,6 +19,6 @@ public class Uint208 extends Uint {
     }
 
     public Uint208(long value) {
-        this(BigInteger.valueOf(value));
+        super(208, value);
     }
 }
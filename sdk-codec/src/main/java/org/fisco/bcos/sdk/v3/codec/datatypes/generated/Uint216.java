@@ -19,6 +19,6 @@ public class Uint216 extends Uint {
     }
 
     public Uint216(long value) {
-        this(BigInteger.valueOf(value));
+        super(216, value);
     }
 }
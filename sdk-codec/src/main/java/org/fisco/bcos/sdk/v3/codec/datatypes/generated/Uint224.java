@@ -19,6 +19,6 @@ public class Uint224 extends Uint {
     }
 
     public Uint224(long value) {
-        this(BigInteger.valueOf(value));
+        super(224, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint232 extends Uint {
     }
 
     public Uint232(long value) {
-        this(BigInteger.valueOf(value));
+        super(232, value);
     }
 }
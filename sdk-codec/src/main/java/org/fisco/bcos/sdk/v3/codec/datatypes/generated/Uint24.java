@@ -19,6 +19,6 @@ public class Uint24 extends Uint {
     }
 
     public Uint24(long value) {
-        this(BigInteger.valueOf(value));
+        super(24, value);
     }
 }
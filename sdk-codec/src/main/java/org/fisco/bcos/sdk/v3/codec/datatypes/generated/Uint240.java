@@ -19,6 +19,6 @@ public class Uint240 extends Uint {
     }
 
     public Uint240(long value) {
-        this(BigInteger.valueOf(value));
+        super(240, value);
     }
 }
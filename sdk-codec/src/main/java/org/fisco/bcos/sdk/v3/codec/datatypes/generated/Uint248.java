@@ -19,6 +19,6 @@ public class Uint248 extends Uint {
     }
 
     public Uint248(long value) {
-        this(BigInteger.valueOf(value));
+        super(248, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint256 extends Uint {
     }
 
     public Uint256(long value) {
-        this(BigInteger.valueOf(value));
+        super(256, value);
     }
 }
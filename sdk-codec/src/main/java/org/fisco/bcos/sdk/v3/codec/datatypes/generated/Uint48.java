@@ -19,6 +19,6 @@ public class Uint48 extends Uint {
     }
 
     public Uint48(long value) {
-        this(BigInteger.valueOf(value));
+        super(48, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint56 extends Uint {
     }
 
     public Uint56(long value) {
-        this(BigInteger.valueOf(value));
+        super(56, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint72 extends Uint {
     }
 
     public Uint72(long value) {
-        this(BigInteger.valueOf(value));
+        super(72, value);
     }
 }
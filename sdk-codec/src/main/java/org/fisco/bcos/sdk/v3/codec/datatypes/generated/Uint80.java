@@ -19,6 +19,6 @@ public class Uint80 extends Uint {
     }
 
     public Uint80(long value) {
-        this(BigInteger.valueOf(value));
+        super(80, value);
     }
 }
@@ -19,6 +19,6 @@ public class Uint88 extends Uint {
     }
 
     public Uint88(long value) {
-        this(BigInteger.valueOf(value));
+        super(88, value);
     }
 }
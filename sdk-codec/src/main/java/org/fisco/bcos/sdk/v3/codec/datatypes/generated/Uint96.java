@@ -19,6 +19,6 @@ public class Uint96 extends Uint {
     }
 
     public Uint96(long value) {
-        this(BigInteger.valueOf(value));
+        super(96, value);
     }
 }
@@ -1,6 +1,5 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import org.fisco.bcos.sdk.v3.codec.FunctionEncoderInterface;
@@ -27,12 +26,11 @@ public class FunctionEncoder extends FunctionEncoderInterface {
     }
 
     public static byte[] encodeParameters(List<Type> parameters, byte[] methodID) {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        ScaleCodecWriter writer = new ScaleCodecWriter();
         // when wasm call, input first byte is 1; when wasm deploy, input first byte is 0
         try {
-            ScaleCodecWriter writer = new ScaleCodecWriter(result);
             if (methodID != null) {
-                result.write(methodID);
+                writer.writeByteArray(methodID);
             }
             for (Type parameter : parameters) {
                 TypeEncoder.encode(parameter, writer);
@@ -40,6 +38,6 @@ public class FunctionEncoder extends FunctionEncoderInterface {
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return result.toByteArray();
+        return writer.toByteArray();
     }
 }
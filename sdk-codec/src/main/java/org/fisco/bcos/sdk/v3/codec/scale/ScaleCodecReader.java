@@ -1,40 +1,75 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
 import java.math.BigInteger;
-import org.apache.commons.lang3.ArrayUtils;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.BoolReader;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.CompactUIntReader;
 import org.fisco.bcos.sdk.v3.codec.scale.reader.UByteReader;
 
+/**
+ * Reader of the SCALE encoded data over a little-endian {@link ByteBuffer} view, the integers up
+ * to 64 bits are read as primitives and the byte fields can be read as slices of the source
+ * without copy.
+ */
 public class ScaleCodecReader {
     public static final UByteReader UBYTE = new UByteReader();
     public static final CompactUIntReader COMPACT_UINT = new CompactUIntReader();
     public static final BoolReader BOOL = new BoolReader();
 
-    private final byte[] source;
-    private int pos = 0;
+    private static final BigInteger TWO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private final ByteBuffer source;
 
     public ScaleCodecReader(byte[] source) {
-        this.source = source;
+        this(ByteBuffer.wrap(source));
+    }
+
+    /**
+     * read from the remaining bytes of the buffer, the position of the given buffer is not changed
+     *
+     * @param source the SCALE encoded data
+     */
+    public ScaleCodecReader(ByteBuffer source) {
+        this.source = source.slice().order(ByteOrder.LITTLE_ENDIAN);
     }
 
     /** @return true if has more elements */
     public boolean hasNext() {
-        return pos < source.length;
+        return source.hasRemaining();
     }
 
     public boolean hasMore(int size) {
-        if (size == 0) {
-            return true;
+        return source.remaining() >= size;
+    }
+
+    /** @return the count of the bytes has been read */
+    public int position() {
+        return source.position();
+    }
+
+    /** @return the count of the bytes left */
+    public int remaining() {
+        return source.remaining();
+    }
+
+    private void checkRemaining(int size) {
+        if (size < 0 || source.remaining() < size) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot read "
+                            + size
+                            + " bytes at "
+                            + source.position()
+                            + " of "
+                            + source.limit());
         }
-        return (pos + size - 1) < source.length;
     }
+
     /** @return a next single byte from reader */
     public byte readByte() {
-        if (!hasNext()) {
-            throw new IndexOutOfBoundsException("Cannot read " + pos + " of " + source.length);
-        }
-        return source[pos++];
+        checkRemaining(1);
+        return source.get();
     }
 
     /**
@@ -52,11 +87,107 @@ public class ScaleCodecReader {
     }
 
     public int readUByte() {
-        return UBYTE.read(this);
+        return readByte() & 0xff;
+    }
+
+    public int readUInt16() {
+        checkRemaining(2);
+        return source.getShort() & 0xffff;
+    }
+
+    public long readUInt32() {
+        checkRemaining(4);
+        return source.getInt() & 0xffffffffL;
+    }
+
+    /** @return the 64 bits of the u64 value, use {@link Long#toUnsignedString(long)} to print it */
+    public long readUInt64() {
+        checkRemaining(8);
+        return source.getLong();
+    }
+
+    public byte readInt8() {
+        return readByte();
+    }
+
+    public short readInt16() {
+        checkRemaining(2);
+        return source.getShort();
+    }
+
+    public int readInt32() {
+        checkRemaining(4);
+        return source.getInt();
+    }
+
+    public long readInt64() {
+        checkRemaining(8);
+        return source.getLong();
+    }
+
+    /**
+     * read the little-endian integer of at most 8 bytes
+     *
+     * @param signed sign extend the value or not
+     * @param bytesSize the size of the encoded integer
+     * @return the value, the bits of the u64 value if not signed
+     */
+    public long readLong(boolean signed, int bytesSize) {
+        checkRemaining(bytesSize);
+        long value;
+        switch (bytesSize) {
+            case 1:
+                value = source.get();
+                break;
+            case 2:
+                value = source.getShort();
+                break;
+            case 4:
+                value = source.getInt();
+                break;
+            case 8:
+                return source.getLong();
+            default:
+                if (bytesSize <= 0 || bytesSize > 8) {
+                    throw new UnsupportedOperationException(
+                            "readLong exception for unsupported size: " + bytesSize);
+                }
+                value = 0;
+                for (int i = 0; i < bytesSize; i++) {
+                    value |= (source.get() & 0xffL) << (i * 8);
+                }
+                int shift = 64 - bytesSize * 8;
+                value = (value << shift) >> shift;
+                break;
+        }
+        if (!signed) {
+            value &= -1L >>> (64 - bytesSize * 8);
+        }
+        return value;
     }
 
     public int readCompact() {
-        return COMPACT_UINT.read(this);
+        int first = readUByte();
+        switch (first & 0b11) {
+            case 0b00:
+                return first >>> 2;
+            case 0b01:
+                return (first | (readUByte() << 8)) >>> 2;
+            case 0b10:
+                return (first | (readUByte() << 8) | (readUInt16() << 16)) >>> 2;
+            default:
+                // only the int value written in 4 bytes is supported
+                if ((first >>> 2) != 0) {
+                    throw new UnsupportedOperationException(
+                            "Mode " + CompactMode.BIGINT + " is not implemented");
+                }
+                long value = readUInt32();
+                if (value > Integer.MAX_VALUE) {
+                    throw new UnsupportedOperationException(
+                            "readCompact exception for overflow, value: " + value);
+                }
+                return (int) value;
+        }
     }
 
     public boolean readBoolean() {
@@ -69,24 +200,67 @@ public class ScaleCodecReader {
     }
 
     public byte[] readByteArray(int len) {
+        checkRemaining(len);
         byte[] result = new byte[len];
-        System.arraycopy(source, pos, result, 0, result.length);
-        pos += len;
+        source.get(result);
         return result;
     }
 
+    /**
+     * read the length prefixed bytes as a slice of the source without copy
+     *
+     * @return the read-only little-endian slice
+     */
+    public ByteBuffer readSlice() {
+        int len = readCompact();
+        return readSlice(len);
+    }
+
+    /**
+     * read the bytes as a slice of the source without copy
+     *
+     * @param len the size of the bytes
+     * @return the read-only little-endian slice
+     */
+    public ByteBuffer readSlice(int len) {
+        checkRemaining(len);
+        ByteBuffer slice = source.slice();
+        slice.limit(len);
+        source.position(source.position() + len);
+        return slice.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * skip the bytes
+     *
+     * @param len the size of the bytes
+     */
+    public void skip(int len) {
+        checkRemaining(len);
+        source.position(source.position() + len);
+    }
+
     public BigInteger decodeInteger(boolean signed, int bytesSize) {
         if (hasMore(bytesSize) == false) {
             throw new UnsupportedOperationException("decodeInteger exception for not enough data");
         }
-        byte[] resultBytes = readByteArray(bytesSize);
-        ArrayUtils.reverse(resultBytes);
-        BigInteger value = new BigInteger(resultBytes);
-        if (value.compareTo(BigInteger.ZERO) < 0 && signed == false) {
-            BigInteger minOverflowUnsignedValue = BigInteger.valueOf((1 << (bytesSize * 8)));
-            return value.add(minOverflowUnsignedValue);
+        if (bytesSize < 8) {
+            return BigInteger.valueOf(readLong(signed, bytesSize));
         }
-        return value;
+        long low = source.getLong();
+        if (bytesSize == 8) {
+            return toBigInteger(signed, low);
+        }
+        // read the high bytes of u128/s128 sign extended, and add the unsigned low 64 bits
+        long high = readLong(signed, bytesSize - 8);
+        return toBigInteger(signed, high).shiftLeft(64).add(toBigInteger(false, low));
+    }
+
+    private static BigInteger toBigInteger(boolean signed, long value) {
+        if (signed || value >= 0) {
+            return BigInteger.valueOf(value);
+        }
+        return BigInteger.valueOf(value).add(TWO_64);
     }
 
     public BigInteger decodeInt256() {
@@ -98,50 +272,26 @@ public class ScaleCodecReader {
     }
 
     public BigInteger decodeCompactInteger() {
-        byte firstByte = readByte();
-        int flag = ((int) (firstByte) & 0b00000011);
-        if (flag == 0b00) {
-            return BigInteger.valueOf(firstByte >> 2);
+        int first = readUByte();
+        int flag = first & 0b11;
+        if (flag != 0b11) {
+            source.position(source.position() - 1);
+            return BigInteger.valueOf(readCompact());
         }
-        if (flag == 0b01) {
-            byte secondByte = readByte();
-            int value = ((firstByte & 0b11111100) + (secondByte * 256)) >> 2;
-            return BigInteger.valueOf(value);
+        int bytesCount = (first >>> 2) + 4;
+        if (!hasMore(bytesCount)) {
+            throw new UnsupportedOperationException(
+                    "decodeCompactInteger exception for not enough data");
         }
-        if (flag == 0b10) {
-            long number = firstByte;
-            long multiplier = 256;
-            if (!hasNext()) {
-                throw new UnsupportedOperationException(
-                        "decodeCompactInteger exception for not enough data");
-            }
-            for (int i = 0; i < 3; i++) {
-                // we assured that there are 3 more bytes,
-                // no need to make checks in a loop
-                number += readByte() * multiplier;
-                multiplier = multiplier << 8;
-            }
-            number = number >> 2;
-            return BigInteger.valueOf(number);
+        if (bytesCount <= 8) {
+            return toBigInteger(false, readLong(false, bytesCount));
         }
-        if (flag == 0b11) {
-            int bytesCount = (firstByte >> 2) + 4;
-            if (!hasNext()) {
-                throw new UnsupportedOperationException(
-                        "decodeCompactInteger exception for not enough data");
-            }
-            BigInteger multiplier = BigInteger.valueOf(1);
-            BigInteger value = BigInteger.valueOf(0);
-            // we assured that there are m more bytes,
-            // no need to make checks in a loop
-            for (int i = 0; i < bytesCount; i++) {
-                value.add(multiplier.multiply(BigInteger.valueOf(readByte())));
-                multiplier.multiply(BigInteger.valueOf(256));
-            }
-            return value;
+        // little-endian magnitude
+        byte[] magnitude = new byte[bytesCount];
+        for (int i = bytesCount - 1; i >= 0; i--) {
+            magnitude[i] = source.get();
         }
-        throw new UnsupportedOperationException(
-                "decodeCompactInteger exception for not supported flag, flag:" + flag);
+        return new BigInteger(1, magnitude);
     }
 
     /**
@@ -150,6 +300,20 @@ public class ScaleCodecReader {
      * @return string value
      */
     public String readString() {
-        return new String(readByteArray());
+        int len = readCompact();
+        checkRemaining(len);
+        String value;
+        if (source.hasArray()) {
+            value =
+                    new String(
+                            source.array(),
+                            source.arrayOffset() + source.position(),
+                            len,
+                            StandardCharsets.UTF_8);
+            source.position(source.position() + len);
+        } else {
+            value = new String(readByteArray(len), StandardCharsets.UTF_8);
+        }
+        return value;
     }
 }
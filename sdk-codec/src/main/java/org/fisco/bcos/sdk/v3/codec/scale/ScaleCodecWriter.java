@@ -4,8 +4,18 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import org.fisco.bcos.sdk.v3.codec.scale.writer.CompactUIntWriter;
 
+/**
+ * Writer of the SCALE encoded data into a growing little-endian {@link ByteBuffer}, the integers up
+ * to 64 bits are written as primitives.
+ *
+ * <p>Get the encoded data by {@link #toByteArray()}. If created with an output stream, the encoded
+ * data is written through to the stream after each write.
+ */
 public class ScaleCodecWriter implements Closeable {
     public static class EncodingCategoryLimits {
         public static final BigInteger kMinUint16 = BigInteger.valueOf(1 << 6);
@@ -14,20 +24,72 @@ public class ScaleCodecWriter implements Closeable {
     };
 
     public static final CompactUIntWriter COMPACT_UINT = new CompactUIntWriter();
+    public static final int DEFAULT_CAPACITY = 256;
 
     private final OutputStream out;
+    private ByteBuffer buffer;
+
+    public ScaleCodecWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ScaleCodecWriter(int initialCapacity) {
+        this.out = null;
+        this.buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
 
     public ScaleCodecWriter(OutputStream out) {
         this.out = out;
+        this.buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void ensureCapacity(int size) {
+        if (buffer.remaining() >= size) {
+            return;
+        }
+        int capacity = Math.max(buffer.capacity() << 1, buffer.position() + size);
+        ByteBuffer newBuffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        newBuffer.put(buffer);
+        buffer = newBuffer;
+    }
+
+    // write the encoded data through if created with an output stream
+    private void flushToStream() throws IOException {
+        if (out != null && buffer.position() > 0) {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+    }
+
+    /** @return the size of the encoded data */
+    public int size() {
+        return buffer.position();
+    }
+
+    /** @return copy of the encoded data */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /** discard the encoded data to reuse the writer */
+    public void reset() {
+        buffer.clear();
     }
 
     public void writeByteArray(byte[] value) throws IOException {
-        out.write(value, 0, value.length);
+        writeByteArray(value, 0, value.length);
+    }
+
+    public void writeByteArray(byte[] value, int offset, int length) throws IOException {
+        ensureCapacity(length);
+        buffer.put(value, offset, length);
+        flushToStream();
     }
 
     public void writeAsList(byte[] value) throws IOException {
         writeCompact(value.length);
-        out.write(value, 0, value.length);
+        writeByteArray(value);
     }
 
     /**
@@ -37,12 +99,17 @@ public class ScaleCodecWriter implements Closeable {
      * @throws IOException if failed to write
      */
     public void directWrite(int b) throws IOException {
-        out.write(b);
+        ensureCapacity(1);
+        buffer.put((byte) b);
+        flushToStream();
     }
 
     @Override
     public void close() throws IOException {
-        out.close();
+        if (out != null) {
+            flushToStream();
+            out.close();
+        }
     }
 
     public <T> void write(ScaleWriter<T> writer, T value) throws IOException {
@@ -53,6 +120,83 @@ public class ScaleCodecWriter implements Closeable {
         directWrite(value);
     }
 
+    public void writeUInt16(int value) throws IOException {
+        checkUnsigned(value, 0xffffL);
+        writeLong(value, 2);
+    }
+
+    public void writeUInt32(long value) throws IOException {
+        checkUnsigned(value, 0xffffffffL);
+        writeLong(value, 4);
+    }
+
+    /**
+     * write the u64 value
+     *
+     * @param value the 64 bits of the value, the values larger than Long.MAX_VALUE are negative
+     * @throws IOException if failed to write
+     */
+    public void writeUInt64(long value) throws IOException {
+        writeLong(value, 8);
+    }
+
+    public void writeInt16(short value) throws IOException {
+        writeLong(value, 2);
+    }
+
+    public void writeInt32(int value) throws IOException {
+        writeLong(value, 4);
+    }
+
+    public void writeInt64(long value) throws IOException {
+        writeLong(value, 8);
+    }
+
+    private static void checkUnsigned(long value, long max) {
+        if (value < 0 || value > max) {
+            throw new UnsupportedOperationException(
+                    "writeInteger exception for overflow, value: " + value);
+        }
+    }
+
+    /**
+     * write the lowest bytes of the value in little-endian
+     *
+     * @param value the value
+     * @param valueByteSize the size of the encoded integer, at most 8 bytes
+     * @throws IOException if failed to write
+     */
+    public void writeLong(long value, int valueByteSize) throws IOException {
+        ensureCapacity(valueByteSize);
+        putLong(value, valueByteSize);
+        flushToStream();
+    }
+
+    private void putLong(long value, int valueByteSize) {
+        switch (valueByteSize) {
+            case 1:
+                buffer.put((byte) value);
+                break;
+            case 2:
+                buffer.putShort((short) value);
+                break;
+            case 4:
+                buffer.putInt((int) value);
+                break;
+            case 8:
+                buffer.putLong(value);
+                break;
+            default:
+                if (valueByteSize <= 0 || valueByteSize > 8) {
+                    throw new UnsupportedOperationException(
+                            "writeLong exception for unsupported size: " + valueByteSize);
+                }
+                for (int i = 0; i < valueByteSize; i++) {
+                    buffer.put((byte) (value >> (i * 8)));
+                }
+        }
+    }
+
     public void writeCompactInteger(BigInteger value) throws IOException {
         if (value.compareTo(EncodingCategoryLimits.kMinUint16) < 0) {
             directWrite((byte) (value.longValue() << 2));
@@ -72,46 +216,89 @@ public class ScaleCodecWriter implements Closeable {
     private void encodeThirdCategory(BigInteger value) throws IOException {
         long v = value.longValue();
         v = (v << 2) + 2;
-        writeInteger(BigInteger.valueOf(v), 32);
+        writeLong(v, 4);
     }
 
     public void writeUnsignedInteger(BigInteger value, int valueByteSize) throws IOException {
-        BigInteger maxSignedValue =
-                BigInteger.ONE.shiftLeft((valueByteSize * 8 - 1)).subtract(BigInteger.ONE);
-        if (value.compareTo(maxSignedValue) <= 0) {
+        if (value.signum() < 0) {
             writeInteger(value, valueByteSize);
             return;
         }
-        // the highest bit is 1, convert to the negative
-        BigInteger minOverflowUnsignedValue = BigInteger.ONE.shiftLeft(valueByteSize * 8);
-        if (value.compareTo(minOverflowUnsignedValue) >= 0) {
+        // the highest bit can be 1
+        if (value.bitLength() > valueByteSize * 8) {
             throw new UnsupportedOperationException(
                     "writeInteger exception for overflow, value: " + value);
         }
-        BigInteger convertedValue =
-                BigInteger.ZERO.subtract((minOverflowUnsignedValue.subtract(value)));
-        writeInteger(convertedValue, valueByteSize);
+        writeTwosComplement(value, valueByteSize);
     }
 
     public void writeInteger(BigInteger value, int valueByteSize) throws IOException {
-        byte[] byteArray = new byte[valueByteSize];
-        BigInteger v = value;
-        byte[] byteValue = v.toByteArray();
-        if (byteArray.length < byteValue.length) {
+        // the size of value.toByteArray() must not be larger than valueByteSize
+        if (value.bitLength() >= valueByteSize * 8) {
+            throw new UnsupportedOperationException(
+                    "writeInteger exception for overflow, value: " + value);
+        }
+        writeTwosComplement(value, valueByteSize);
+    }
+
+    public void writeUnsignedInteger(long value, int valueByteSize) throws IOException {
+        if (value < 0) {
+            writeInteger(value, valueByteSize);
+            return;
+        }
+        if (bitLength(value) > valueByteSize * 8) {
+            throw new UnsupportedOperationException(
+                    "writeInteger exception for overflow, value: " + value);
+        }
+        writeTwosComplement(value, valueByteSize);
+    }
+
+    public void writeInteger(long value, int valueByteSize) throws IOException {
+        if (bitLength(value) >= valueByteSize * 8) {
             throw new UnsupportedOperationException(
                     "writeInteger exception for overflow, value: " + value);
         }
+        writeTwosComplement(value, valueByteSize);
+    }
+
+    // the same as BigInteger.bitLength
+    private static int bitLength(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(value < 0 ? ~value : value);
+    }
 
-        for (int i = 0; i < byteValue.length; ++i) {
-            byteArray[i] = byteValue[byteValue.length - i - 1];
+    private void writeTwosComplement(long value, int valueByteSize) throws IOException {
+        ensureCapacity(valueByteSize);
+        if (valueByteSize <= 8) {
+            putLong(value, valueByteSize);
+        } else {
+            buffer.putLong(value);
+            byte fill = value < 0 ? (byte) 0xff : 0;
+            for (int i = 8; i < valueByteSize; i++) {
+                buffer.put(fill);
+            }
         }
-        // negative value(fill 0xff: -1)
-        if (value.compareTo(BigInteger.ZERO) < 0) {
+        flushToStream();
+    }
+
+    // little-endian two's complement, filled with 0xff for the negative value
+    private void writeTwosComplement(BigInteger value, int valueByteSize) throws IOException {
+        ensureCapacity(valueByteSize);
+        if (valueByteSize <= 8) {
+            putLong(value.longValue(), valueByteSize);
+        } else if (valueByteSize <= 16) {
+            putLong(value.longValue(), 8);
+            putLong(value.shiftRight(64).longValue(), valueByteSize - 8);
+        } else {
+            byte[] byteValue = value.toByteArray();
+            for (int i = 0; i < byteValue.length; ++i) {
+                buffer.put(byteValue[byteValue.length - i - 1]);
+            }
+            byte fill = value.signum() < 0 ? (byte) 0xff : 0;
             for (int i = byteValue.length; i < valueByteSize; i++) {
-                byteArray[i] = (byte) 0xff;
+                buffer.put(fill);
             }
         }
-        writeByteArray(byteArray);
+        flushToStream();
     }
 
     public void writeBigInt256(boolean signed, BigInteger value) throws IOException {
@@ -119,24 +306,43 @@ public class ScaleCodecWriter implements Closeable {
             throw new UnsupportedOperationException(
                     "Must provide positive data when using unsigned type");
         }
-        // get bytes size
-        byte[] valueBytes = value.toByteArray();
-        byte size = (byte) (valueBytes.length);
-        // when byteSize more than 16, encode as u256
-        if (size > 32) {
+        // the size of value.toByteArray() must not be larger than 32 bytes
+        if (value.bitLength() >= 256) {
             throw new UnsupportedOperationException(
                     "Unsupported unsigned type with length more than 32 bytes");
         }
-        byte[] encodedData = new byte[32];
-        System.arraycopy(valueBytes, 0, encodedData, (32 - valueBytes.length), valueBytes.length);
+        ensureCapacity(32);
         // extend 0xff
-        if (signed && value.compareTo(BigInteger.ZERO) < 0) {
+        byte fill = (signed && value.signum() < 0) ? (byte) 0xff : 0;
+        if (value.bitLength() < 64) {
+            for (int i = 0; i < 24; i++) {
+                buffer.put(fill);
+            }
+            buffer.putLong(Long.reverseBytes(value.longValue()));
+        } else {
+            byte[] valueBytes = value.toByteArray();
             for (int i = 0; i < (32 - valueBytes.length); i++) {
-                encodedData[i] = (byte) 0xff;
+                buffer.put(fill);
             }
+            buffer.put(valueBytes);
+        }
+        // write the big-endian data
+        flushToStream();
+    }
+
+    public void writeBigInt256(boolean signed, long value) throws IOException {
+        if (value < 0 && !signed) {
+            throw new UnsupportedOperationException(
+                    "Must provide positive data when using unsigned type");
+        }
+        ensureCapacity(32);
+        byte fill = value < 0 ? (byte) 0xff : 0;
+        for (int i = 0; i < 24; i++) {
+            buffer.put(fill);
         }
         // write the big-endian data
-        writeByteArray(encodedData);
+        buffer.putLong(Long.reverseBytes(value));
+        flushToStream();
     }
 
     private void writeSecondCategory(BigInteger value) throws IOException {
@@ -144,11 +350,7 @@ public class ScaleCodecWriter implements Closeable {
         long v = value.longValue();
         v <<= 2; // v *= 4
         v += 1; // set 0b01 flag
-        byte minorByte = (byte) (v & 0xff);
-        v >>= 8;
-        byte majorByte = (byte) (v & 0xff);
-        directWrite(minorByte);
-        directWrite(majorByte);
+        writeLong(v, 2);
     }
 
     private void writeBigInteger(BigInteger value) throws IOException {
@@ -165,6 +367,20 @@ public class ScaleCodecWriter implements Closeable {
     }
 
     public void writeCompact(int value) throws IOException {
-        COMPACT_UINT.write(this, value);
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative numbers are not supported");
+        }
+        ensureCapacity(5);
+        if (value <= 0x3f) {
+            buffer.put((byte) (value << 2));
+        } else if (value <= 0x3fff) {
+            buffer.putShort((short) ((value << 2) | CompactMode.TWO.getValue()));
+        } else if (value <= 0x3fffffff) {
+            buffer.putInt((value << 2) | CompactMode.FOUR.getValue());
+        } else {
+            buffer.put(CompactMode.BIGINT.getValue());
+            buffer.putInt(value);
+        }
+        flushToStream();
     }
 }
@@ -1,5 +1,8 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
@@ -7,6 +10,8 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.AbiTypes;
@@ -32,6 +37,17 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint160;
 import org.fisco.bcos.sdk.v3.utils.Hex;
 
 public class TypeDecoder {
+    // the bit size of each numeric type is parsed once
+    private static final Map<Class<?>, Integer> numericBitSizes = new ConcurrentHashMap<>();
+    // the constructors of the numeric types are resolved once for each type and cached
+    private static final Map<Class<?>, MethodHandle> numericConstructors =
+            new ConcurrentHashMap<>();
+    // the constructors of the integer types taking a long, NO_LONG_CONSTRUCTOR if not found
+    private static final Map<Class<?>, MethodHandle> numericLongConstructors =
+            new ConcurrentHashMap<>();
+    private static final MethodHandle NO_LONG_CONSTRUCTOR =
+            MethodHandles.constant(Object.class, null);
+
     @SuppressWarnings("unchecked")
     public static <T extends Type> T decode(ScaleCodecReader reader, TypeReference<T> typeReference)
             throws ClassNotFoundException {
@@ -73,53 +89,103 @@ public class TypeDecoder {
     }
 
     public static Address decodeAddress(ScaleCodecReader reader) {
-        return new Address(decodeNumeric(reader, Uint160.class));
+        // uint160 is encoded in 32 bytes
+        return new Address(new Uint160(reader.decodeInt256()));
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends NumericType> T decodeNumeric(ScaleCodecReader reader, Class<T> type) {
-        try {
-            int bitSize = 256;
-            // TODO: optimize here(duplicated code with abi)
-            if (IntType.class.isAssignableFrom(type)) {
-                String regex =
-                        "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
-                String[] splitName = type.getSimpleName().split(regex);
-                if (splitName.length == 2) {
-                    bitSize = Integer.parseInt(splitName[1]);
-                }
-            } else if (FixedPointType.class.isAssignableFrom(type)) {
-                String regex =
-                        "("
-                                + Ufixed.class.getSimpleName()
-                                + "|"
-                                + Fixed.class.getSimpleName()
-                                + ")";
-                String[] splitName = type.getSimpleName().split(regex);
-                if (splitName.length == 2) {
-                    String[] bitsCounts = splitName[1].split("x");
-                    bitSize = Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
+        int bytesSize = getBitSize(type) >> 3;
+        BigInteger value;
+        boolean signedValue = type.toString().contains("Uint") ? false : true;
+        if (bytesSize >= 1 && bytesSize <= 8) {
+            long longValue = reader.readLong(signedValue, bytesSize);
+            MethodHandle longConstructor = getLongConstructor(type);
+            if (longConstructor != NO_LONG_CONSTRUCTOR && (signedValue || longValue >= 0)) {
+                // fast path: create the value from a long without the BigInteger
+                try {
+                    return (T) (Object) longConstructor.invokeExact(longValue);
+                } catch (Throwable e) {
+                    throw new UnsupportedOperationException(
+                            "Unable to create instance of " + type.getName(), e);
                 }
             }
-            int bytesSize = bitSize >> 3;
-            BigInteger value;
-            boolean signedValue = type.toString().contains("Uint") ? false : true;
-            if (bytesSize >= 1 && bytesSize <= 16) {
-                value = reader.decodeInteger(signedValue, bytesSize);
-            } else {
-                value = reader.decodeInt256();
+            value = BigInteger.valueOf(longValue);
+            if (longValue < 0 && !signedValue) {
+                // u64 larger than Long.MAX_VALUE
+                value = value.add(BigInteger.ONE.shiftLeft(Long.SIZE));
             }
-            return type.getConstructor(BigInteger.class).newInstance(value);
-        } catch (NoSuchMethodException
-                | SecurityException
-                | InstantiationException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException e) {
+        } else if (bytesSize >= 1 && bytesSize <= 16) {
+            value = reader.decodeInteger(signedValue, bytesSize);
+        } else {
+            value = reader.decodeInt256();
+        }
+        try {
+            return (T) (Object) getConstructor(type).invokeExact(value);
+        } catch (Throwable e) {
             throw new UnsupportedOperationException(
                     "Unable to create instance of " + type.getName() + ": " + e.getMessage(), e);
         }
     }
 
+    private static MethodHandle getConstructor(Class<?> type) throws ReflectiveOperationException {
+        MethodHandle constructor = numericConstructors.get(type);
+        if (constructor == null) {
+            constructor =
+                    MethodHandles.publicLookup()
+                            .findConstructor(
+                                    type, MethodType.methodType(void.class, BigInteger.class))
+                            .asType(MethodType.methodType(Object.class, BigInteger.class));
+            numericConstructors.put(type, constructor);
+        }
+        return constructor;
+    }
+
+    private static MethodHandle getLongConstructor(Class<?> type) {
+        MethodHandle constructor = numericLongConstructors.get(type);
+        if (constructor == null) {
+            constructor = NO_LONG_CONSTRUCTOR;
+            if (IntType.class.isAssignableFrom(type)) {
+                try {
+                    constructor =
+                            MethodHandles.publicLookup()
+                                    .findConstructor(
+                                            type, MethodType.methodType(void.class, long.class))
+                                    .asType(MethodType.methodType(Object.class, long.class));
+                } catch (ReflectiveOperationException e) {
+                    // decode as BigInteger
+                }
+            }
+            numericLongConstructors.put(type, constructor);
+        }
+        return constructor;
+    }
+
+    private static int getBitSize(Class<?> type) {
+        Integer bitSize = numericBitSizes.get(type);
+        if (bitSize != null) {
+            return bitSize;
+        }
+        bitSize = 256;
+        if (IntType.class.isAssignableFrom(type)) {
+            String regex = "(" + Uint.class.getSimpleName() + "|" + Int.class.getSimpleName() + ")";
+            String[] splitName = type.getSimpleName().split(regex);
+            if (splitName.length == 2) {
+                bitSize = Integer.parseInt(splitName[1]);
+            }
+        } else if (FixedPointType.class.isAssignableFrom(type)) {
+            String regex =
+                    "(" + Ufixed.class.getSimpleName() + "|" + Fixed.class.getSimpleName() + ")";
+            String[] splitName = type.getSimpleName().split(regex);
+            if (splitName.length == 2) {
+                String[] bitsCounts = splitName[1].split("x");
+                bitSize = Integer.parseInt(bitsCounts[0]) + Integer.parseInt(bitsCounts[1]);
+            }
+        }
+        numericBitSizes.put(type, bitSize);
+        return bitSize;
+    }
+
     public static Bool decodeBool(ScaleCodecReader reader) {
         boolean boolValue = reader.readBoolean();
         return new Bool(boolValue);
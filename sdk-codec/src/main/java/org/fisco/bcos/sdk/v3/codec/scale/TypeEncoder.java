@@ -1,6 +1,5 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -14,6 +13,7 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.NumericType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StaticArray;
 import org.fisco.bcos.sdk.v3.codec.datatypes.StructType;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 
 public class TypeEncoder {
@@ -43,10 +43,9 @@ public class TypeEncoder {
     }
 
     public static byte[] encode(Type parameter) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ScaleCodecWriter scaleCodecWriter = new ScaleCodecWriter(outputStream);
+        ScaleCodecWriter scaleCodecWriter = new ScaleCodecWriter();
         encode(parameter, scaleCodecWriter);
-        return outputStream.toByteArray();
+        return scaleCodecWriter.toByteArray();
     }
 
     public static void encodeAddress(Address address, ScaleCodecWriter writer) throws IOException {
@@ -57,7 +56,21 @@ public class TypeEncoder {
             throws IOException {
         int bitSize = numericType.getBitSize();
         int byteSize = bitSize / 8;
-        boolean signedInteger = (numericType.getTypeAsString().contains("uint")) ? false : true;
+        boolean signedInteger = !(numericType instanceof Uint);
+        if (numericType.fitsInLong()) {
+            // fast path: write the long value without the BigInteger
+            long value = numericType.longValue();
+            if (byteSize >= 1 && byteSize <= 16) {
+                if (!signedInteger) {
+                    writer.writeUnsignedInteger(value, byteSize);
+                    return;
+                }
+                writer.writeInteger(value, byteSize);
+                return;
+            }
+            writer.writeBigInt256(signedInteger, value);
+            return;
+        }
         if (byteSize >= 1 && byteSize <= 16) {
             if (!signedInteger) {
                 writer.writeUnsignedInteger(numericType.getValue(), byteSize);
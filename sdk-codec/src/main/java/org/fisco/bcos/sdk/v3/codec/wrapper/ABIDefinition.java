@@ -7,6 +7,7 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import org.fisco.bcos.sdk.v3.codec.SignatureHashCache;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 
 /**
@@ -121,9 +122,8 @@ public class ABIDefinition {
      * @return the method id
      */
     public byte[] getMethodId(CryptoSuite cryptoSuite) {
-        org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder encoder =
-                new org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder(cryptoSuite);
-        return encoder.buildMethodId(this.getMethodSignatureAsString());
+        return SignatureHashCache.getInstance(cryptoSuite)
+                .getMethodId(this.getMethodSignatureAsString());
     }
 
     public boolean isConstant() {
@@ -1,6 +1,7 @@
 package org.fisco.bcos.sdk.v3.codec.wrapper;
 
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
 import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,10 +10,16 @@ public class ABIDefinitionFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ABIDefinitionFactory.class);
 
-    private CryptoSuite cryptoSuite;
+    private final int cryptoType;
+    private final Hash hashImpl;
 
     public ABIDefinitionFactory(CryptoSuite cryptoSuite) {
-        this.cryptoSuite = cryptoSuite;
+        this(cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl());
+    }
+
+    public ABIDefinitionFactory(int cryptoType, Hash hashImpl) {
+        this.cryptoType = cryptoType;
+        this.hashImpl = hashImpl;
     }
 
     /**
@@ -26,7 +33,8 @@ public class ABIDefinitionFactory {
             ABIDefinition[] abiDefinitions =
                     ObjectMapperFactory.getObjectMapper().readValue(abi, ABIDefinition[].class);
 
-            ContractABIDefinition contractABIDefinition = new ContractABIDefinition(cryptoSuite);
+            ContractABIDefinition contractABIDefinition =
+                    new ContractABIDefinition(this.cryptoType, this.hashImpl);
             for (ABIDefinition abiDefinition : abiDefinitions) {
                 if (abiDefinition.getType().equals("constructor")) {
                     contractABIDefinition.setConstructor(abiDefinition);
@@ -176,12 +176,19 @@ public class ABIObject {
         abiObject.setValueType(this.getValueType());
         abiObject.setName(this.getName());
 
-        if (this.getNumericValue() != null) {
+        NumericType templateValue = this.getNumericValue();
+        if (templateValue != null && templateValue.fitsInLong()) {
             abiObject.setNumericValue(
                     new NumericType(
-                            this.getNumericValue().getTypeAsString(),
-                            this.getNumericValue().getValue(),
-                            this.getNumericValue().getBitSize()) {});
+                            templateValue.getTypeAsString(),
+                            templateValue.longValue(),
+                            templateValue.getBitSize()) {});
+        } else if (templateValue != null) {
+            abiObject.setNumericValue(
+                    new NumericType(
+                            templateValue.getTypeAsString(),
+                            templateValue.getValue(),
+                            templateValue.getBitSize()) {});
         }
 
         if (this.getBoolValue() != null) {
@@ -2,10 +2,14 @@ package org.fisco.bcos.sdk.v3.codec.wrapper;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import org.fisco.bcos.sdk.v3.codec.SignatureHashCache;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
 import org.fisco.bcos.sdk.v3.utils.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,10 +25,27 @@ public class ContractABIDefinition {
     private Map<ByteBuffer, ABIDefinition> methodIDToFunctions = new HashMap<>();
     // event topic => topic
     private Map<ByteBuffer, ABIDefinition> eventTopicToEvents = new HashMap<>();
-    private final CryptoSuite cryptoSuite;
+    // abi definition => method id, filled when the function is added
+    private final Map<ABIDefinition, byte[]> methodIds = new IdentityHashMap<>();
+    // abi definition => pre-built codec templates and event topic, filled by compile()
+    private final Map<ABIDefinition, ABIObject> inputObjects = new IdentityHashMap<>();
+    private final Map<ABIDefinition, ABIObject> outputObjects = new IdentityHashMap<>();
+    private final Map<ABIDefinition, ABIObject> eventInputObjects = new IdentityHashMap<>();
+    private final Map<ABIDefinition, String> eventTopics = new IdentityHashMap<>();
+    private final Map<ABIDefinition, List<ABIObject>> eventTopicObjects = new IdentityHashMap<>();
+    // the whole event topic => event, filled by compile(), the anonymous events are excluded
+    private final Map<String, ABIDefinition> topicToEvents = new HashMap<>();
+    private volatile boolean compiled = false;
+    private final int cryptoType;
+    private final Hash hashImpl;
 
     public ContractABIDefinition(CryptoSuite cryptoSuite) {
-        this.cryptoSuite = cryptoSuite;
+        this(cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl());
+    }
+
+    public ContractABIDefinition(int cryptoType, Hash hashImpl) {
+        this.cryptoType = cryptoType;
+        this.hashImpl = hashImpl;
     }
 
     public ABIDefinition getConstructor() {
@@ -79,8 +100,9 @@ public class ContractABIDefinition {
         abiDefinitions.add(abiDefinition);
 
         // calculate method id and add abiDefinition to methodIdToFunctions
-        byte[] methodId = abiDefinition.getMethodId(this.cryptoSuite);
+        byte[] methodId = this.calculateMethodId(abiDefinition);
         this.methodIDToFunctions.put(ByteBuffer.wrap(methodId), abiDefinition);
+        this.methodIds.put(abiDefinition, methodId);
 
         logger.debug(
                 " name: {}, methodId: {}, methodSignature: {}, abi: {}",
@@ -97,7 +119,7 @@ public class ContractABIDefinition {
         logger.debug(" name: {}, abi: {}", name, abiDefinition);
 
         // calculate method id and add abiDefinition to eventTopicToEvents
-        byte[] methodId = abiDefinition.getMethodId(this.cryptoSuite);
+        byte[] methodId = this.calculateMethodId(abiDefinition);
         this.eventTopicToEvents.put(ByteBuffer.wrap(methodId), abiDefinition);
     }
 
@@ -107,6 +129,192 @@ public class ContractABIDefinition {
 
     public ABIDefinition getABIDefinitionByEventTopic(String topic) {
         // FIXME: check topic string is hex
-        return this.eventTopicToEvents.get(Hex.decode(topic));
+        byte[] topicBytes = Hex.decode(topic);
+        if (topicBytes.length > 4) {
+            // the events are indexed by the 4 bytes prefix of the topic
+            topicBytes = Arrays.copyOfRange(topicBytes, 0, 4);
+        }
+        return this.eventTopicToEvents.get(ByteBuffer.wrap(topicBytes));
+    }
+
+    /**
+     * get the event by the whole topic, which is the first topic of the non-anonymous event logs
+     *
+     * @param topic the hex string topic, with or without 0x prefix
+     * @return the event definition, null if not found
+     */
+    public ABIDefinition getEventByTopic(String topic) {
+        if (topic == null) {
+            return null;
+        }
+        String eventTopic = (topic.startsWith("0x") ? topic : "0x" + topic).toLowerCase();
+        if (this.compiled) {
+            return this.topicToEvents.get(eventTopic);
+        }
+        ABIDefinition abiDefinition = this.getABIDefinitionByEventTopic(eventTopic);
+        if (abiDefinition == null
+                || abiDefinition.isAnonymous()
+                || !eventTopic.equals(this.getEventTopic(abiDefinition))) {
+            return null;
+        }
+        return abiDefinition;
+    }
+
+    /**
+     * pre-build the input/output ABIObject templates and the event topics of all the functions
+     * and events, the definition should be treated as read-only after compiled.
+     */
+    public synchronized void compile() {
+        if (this.compiled) {
+            return;
+        }
+        if (this.constructor != null) {
+            this.inputObjects.put(
+                    this.constructor, ABIObjectFactory.createInputObject(this.constructor));
+        }
+        for (List<ABIDefinition> abiDefinitions : this.functions.values()) {
+            for (ABIDefinition abiDefinition : abiDefinitions) {
+                this.inputObjects.put(
+                        abiDefinition, ABIObjectFactory.createInputObject(abiDefinition));
+                this.outputObjects.put(
+                        abiDefinition, ABIObjectFactory.createOutputObject(abiDefinition));
+            }
+        }
+        for (List<ABIDefinition> abiDefinitions : this.events.values()) {
+            for (ABIDefinition abiDefinition : abiDefinitions) {
+                this.eventInputObjects.put(
+                        abiDefinition, ABIObjectFactory.createEventInputObject(abiDefinition));
+                String eventTopic = this.calculateEventTopic(abiDefinition);
+                this.eventTopics.put(abiDefinition, eventTopic);
+                this.eventTopicObjects.put(abiDefinition, createEventTopicObjects(abiDefinition));
+                if (!abiDefinition.isAnonymous()) {
+                    this.topicToEvents.put(eventTopic, abiDefinition);
+                }
+            }
+        }
+        this.compiled = true;
+    }
+
+    public boolean isCompiled() {
+        return this.compiled;
+    }
+
+    /**
+     * get the method id of the function, use the precomputed one if exists
+     *
+     * @param abiDefinition the function definition of this contract
+     * @return the method id
+     */
+    public byte[] getMethodId(ABIDefinition abiDefinition) {
+        byte[] methodId = this.methodIds.get(abiDefinition);
+        if (methodId == null) {
+            return this.calculateMethodId(abiDefinition);
+        }
+        return Arrays.copyOf(methodId, methodId.length);
+    }
+
+    /**
+     * get the hex string topic of the event, use the precomputed one if exists
+     *
+     * @param abiDefinition the event definition of this contract
+     * @return the event topic, the whole hash of the event signature
+     */
+    public String getEventTopic(ABIDefinition abiDefinition) {
+        String eventTopic = this.eventTopics.get(abiDefinition);
+        if (eventTopic == null) {
+            return this.calculateEventTopic(abiDefinition);
+        }
+        return eventTopic;
+    }
+
+    /**
+     * get the input template of the function or constructor, the template is shared and should
+     * only be used through ABIObject.newObject()
+     *
+     * @param abiDefinition the function definition of this contract
+     * @return the input ABIObject template
+     */
+    public ABIObject getInputObject(ABIDefinition abiDefinition) {
+        ABIObject abiObject = this.inputObjects.get(abiDefinition);
+        if (abiObject == null) {
+            return ABIObjectFactory.createInputObject(abiDefinition);
+        }
+        return abiObject;
+    }
+
+    /**
+     * get the output template of the function, the template is shared and should only be used
+     * through ABIObject.newObject()
+     *
+     * @param abiDefinition the function definition of this contract
+     * @return the output ABIObject template
+     */
+    public ABIObject getOutputObject(ABIDefinition abiDefinition) {
+        ABIObject abiObject = this.outputObjects.get(abiDefinition);
+        if (abiObject == null) {
+            return ABIObjectFactory.createOutputObject(abiDefinition);
+        }
+        return abiObject;
+    }
+
+    /**
+     * get the non-indexed input template of the event, the template is shared and should only be
+     * used through ABIObject.newObject()
+     *
+     * @param abiDefinition the event definition of this contract
+     * @return the event input ABIObject template
+     */
+    public ABIObject getEventInputObject(ABIDefinition abiDefinition) {
+        ABIObject abiObject = this.eventInputObjects.get(abiDefinition);
+        if (abiObject == null) {
+            return ABIObjectFactory.createEventInputObject(abiDefinition);
+        }
+        return abiObject;
+    }
+
+    /**
+     * get the templates to decode the indexed inputs of the event from the topics, in the order of
+     * the indexed inputs. The template of a static value type is a struct with the single value,
+     * the other types are stored in the topics as hashes and their templates are null.
+     *
+     * @param abiDefinition the event definition of this contract
+     * @return the templates of the indexed inputs
+     */
+    public List<ABIObject> getEventTopicObjects(ABIDefinition abiDefinition) {
+        List<ABIObject> topicObjects = this.eventTopicObjects.get(abiDefinition);
+        if (topicObjects == null) {
+            return createEventTopicObjects(abiDefinition);
+        }
+        return topicObjects;
+    }
+
+    private static List<ABIObject> createEventTopicObjects(ABIDefinition abiDefinition) {
+        List<ABIObject> topicObjects = new ArrayList<>();
+        for (ABIDefinition.NamedType namedType : abiDefinition.getInputs()) {
+            if (!namedType.isIndexed()) {
+                continue;
+            }
+            ABIObject valueObject = ABIObjectFactory.buildTypeObject(namedType);
+            if (valueObject == null
+                    || valueObject.getType() != ABIObject.ObjectType.VALUE
+                    || valueObject.isDynamic()) {
+                topicObjects.add(null);
+                continue;
+            }
+            ABIObject topicObject = new ABIObject(ABIObject.ObjectType.STRUCT);
+            topicObject.getStructFields().add(valueObject);
+            topicObjects.add(topicObject);
+        }
+        return topicObjects;
+    }
+
+    private byte[] calculateMethodId(ABIDefinition abiDefinition) {
+        return SignatureHashCache.getInstance(this.cryptoType, this.hashImpl)
+                .getMethodId(abiDefinition.getMethodSignatureAsString());
+    }
+
+    private String calculateEventTopic(ABIDefinition abiDefinition) {
+        return SignatureHashCache.getInstance(this.cryptoType, this.hashImpl)
+                .getEventTopic(abiDefinition.getMethodSignatureAsString());
     }
 }
@@ -0,0 +1,199 @@
+package org.fisco.bcos.sdk.v3.codec.wrapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded LRU cache of the compiled ContractABIDefinition, keyed by the content of the ABI string.
+ *
+ * <p>The method ids and event topics only depend on the hash algorithm, so one cache is shared by
+ * all the codecs working on the same crypto type, only the hash implementation is kept and never
+ * the cryptoSuite with its account. The cached definitions are shared between threads and must not
+ * be modified.
+ */
+public class ContractABIDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractABIDefinitionCache.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // crypto type => cache
+    private static final Map<Integer, ContractABIDefinitionCache> cryptoTypeToCache =
+            new ConcurrentHashMap<>();
+
+    private final ABIDefinitionFactory abiDefinitionFactory;
+    private final Map<String, ContractABIDefinition> abiToDefinition;
+    private volatile int capacity;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public ContractABIDefinitionCache(CryptoSuite cryptoSuite, int capacity) {
+        this(cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl(), capacity);
+    }
+
+    public ContractABIDefinitionCache(int cryptoType, Hash hashImpl, int capacity) {
+        this.abiDefinitionFactory = new ABIDefinitionFactory(cryptoType, hashImpl);
+        this.capacity = capacity;
+        this.abiToDefinition =
+                new LinkedHashMap<String, ContractABIDefinition>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<String, ContractABIDefinition> eldest) {
+                        if (size() > ContractABIDefinitionCache.this.capacity) {
+                            evictionCount.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * get the cache shared by all the codecs with the same crypto type of the given cryptoSuite
+     *
+     * @param cryptoSuite the crypto suite used for hash calculation
+     * @return the shared cache
+     */
+    public static ContractABIDefinitionCache getInstance(CryptoSuite cryptoSuite) {
+        return getInstance(cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl());
+    }
+
+    /**
+     * get the cache shared by all the codecs with the same crypto type
+     *
+     * @param cryptoType the crypto type, e.g. ECDSA_TYPE or SM_TYPE
+     * @param hashImpl the hash implementation of the crypto type, used if the cache is created
+     * @return the shared cache
+     */
+    public static ContractABIDefinitionCache getInstance(int cryptoType, Hash hashImpl) {
+        return cryptoTypeToCache.computeIfAbsent(
+                cryptoType,
+                type -> new ContractABIDefinitionCache(type, hashImpl, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * load the compiled ContractABIDefinition of the abi, parse and compile it when not cached
+     *
+     * @param abi the abi need to be loaded
+     * @return the shared contract definition, null if the abi is invalid
+     */
+    public ContractABIDefinition loadABI(String abi) {
+        if (abi == null) {
+            return null;
+        }
+        ContractABIDefinition contractABIDefinition;
+        synchronized (this.abiToDefinition) {
+            contractABIDefinition = this.abiToDefinition.get(abi);
+        }
+        if (contractABIDefinition != null) {
+            this.hitCount.incrementAndGet();
+            return contractABIDefinition;
+        }
+        this.missCount.incrementAndGet();
+        // parse outside the lock, the concurrent loading of the same abi is harmless
+        contractABIDefinition = this.abiDefinitionFactory.loadABI(abi);
+        if (contractABIDefinition == null) {
+            return null;
+        }
+        contractABIDefinition.compile();
+        synchronized (this.abiToDefinition) {
+            ContractABIDefinition existed =
+                    this.abiToDefinition.putIfAbsent(abi, contractABIDefinition);
+            if (existed != null) {
+                return existed;
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "cache compiled abi, functions: {}, events: {}",
+                    contractABIDefinition.getFunctions().keySet(),
+                    contractABIDefinition.getEvents().keySet());
+        }
+        return contractABIDefinition;
+    }
+
+    /**
+     * remove the cached definition of the abi
+     *
+     * @param abi the abi to be removed
+     */
+    public void invalidate(String abi) {
+        synchronized (this.abiToDefinition) {
+            this.abiToDefinition.remove(abi);
+        }
+    }
+
+    public void clear() {
+        synchronized (this.abiToDefinition) {
+            this.abiToDefinition.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.abiToDefinition) {
+            return this.abiToDefinition.size();
+        }
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * set the max count of the cached definitions, the least recently used ones are evicted when
+     * exceeded
+     *
+     * @param capacity the max count of the cached definitions
+     */
+    public void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, capacity: " + capacity);
+        }
+        synchronized (this.abiToDefinition) {
+            this.capacity = capacity;
+            Iterator<String> iterator = this.abiToDefinition.keySet().iterator();
+            while (this.abiToDefinition.size() > capacity && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                this.evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ContractABIDefinitionCache{"
+                + "size="
+                + this.size()
+                + ", capacity="
+                + this.capacity
+                + ", hitCount="
+                + this.hitCount
+                + ", missCount="
+                + this.missCount
+                + ", evictionCount="
+                + this.evictionCount
+                + '}';
+    }
+}
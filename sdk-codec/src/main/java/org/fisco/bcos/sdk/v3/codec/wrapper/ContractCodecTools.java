@@ -619,23 +619,17 @@ public class ContractCodecTools {
                     switch (abiObject.getValueType()) {
                         case BOOL:
                             {
-                                abiObject.setBoolValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Bool.class)));
+                                abiObject.setBoolValue(new Bool(reader.readBoolean()));
                                 break;
                             }
                         case UINT:
                             {
-                                abiObject.setNumericValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Uint256.class)));
+                                abiObject.setNumericValue(new Uint256(reader.decodeInt256()));
                                 break;
                             }
                         case INT:
                             {
-                                abiObject.setNumericValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Int256.class)));
+                                abiObject.setNumericValue(new Int256(reader.decodeInt256()));
                                 break;
                             }
                         case FIXED:
@@ -646,30 +640,25 @@ public class ContractCodecTools {
                             }
                         case BYTES:
                             {
-                                abiObject.setBytesValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Bytes32.class)));
+                                abiObject.setBytesValue(new Bytes32(reader.readByteArray(32)));
                                 break;
                             }
                         case ADDRESS:
                             {
                                 abiObject.setAddressValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Address.class)));
+                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder
+                                                .decodeAddress(reader));
                                 break;
                             }
                         case DBYTES:
                             {
                                 abiObject.setDynamicBytesValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(DynamicBytes.class)));
+                                        new DynamicBytes(reader.readByteArray()));
                                 break;
                             }
                         case STRING:
                             {
-                                abiObject.setStringValue(
-                                        org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Utf8String.class)));
+                                abiObject.setStringValue(new Utf8String(reader.readString()));
                                 break;
                             }
                     }
@@ -690,11 +679,7 @@ public class ContractCodecTools {
                     int listLength;
                     if (abiObject.getListType() == ListType.DYNAMIC) {
                         // dynamic list length
-                        listLength =
-                                org.fisco.bcos.sdk.v3.codec.scale.TypeDecoder.decode(
-                                                reader, TypeReference.create(Uint256.class))
-                                        .getValue()
-                                        .intValue();
+                        listLength = new Uint256(reader.decodeInt256()).getValue().intValue();
                     } else {
                         // fixed list length
                         listLength = abiObject.getListLength();
@@ -0,0 +1,58 @@
+package org.fisco.bcos.sdk.v3.codec;
+
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SignatureHashCacheTest {
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+
+    @Test
+    public void testMemoizedHashes() {
+        SignatureHashCache cache = new SignatureHashCache(cryptoSuite, 2);
+        Assert.assertEquals(
+                "a9059cbb", Hex.toHexString(cache.getMethodId("transfer(address,uint256)")));
+        // the returned method id is a copy
+        cache.getMethodId("transfer(address,uint256)")[0] = 0;
+        Assert.assertEquals(
+                "a9059cbb", Hex.toHexString(cache.getMethodId("transfer(address,uint256)")));
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(2, cache.getHitCount());
+
+        Assert.assertEquals(
+                "0x71e71a8458267085d5ab16980fd5f114d2d37f232479c245d523ce8d23ca40ed",
+                cache.getEventTopic("Notify(uint256,uint256)"));
+        Assert.assertEquals(2, cache.size());
+        // each lookup is counted once, whether the hash is memoized or not
+        cache.getEventTopic("Notify(uint256,uint256)");
+        cache.getEventTopic("transfer(address,uint256)");
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(3, cache.getHitCount());
+
+        // not memoized after reaching the capacity
+        Assert.assertEquals("70a08231", Hex.toHexString(cache.getMethodId("balanceOf(address)")));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testSharedByCryptoType() {
+        Assert.assertSame(
+                SignatureHashCache.getInstance(cryptoSuite),
+                SignatureHashCache.getInstance(new CryptoSuite(CryptoType.ECDSA_TYPE)));
+        Assert.assertSame(
+                SignatureHashCache.getInstance(cryptoSuite),
+                SignatureHashCache.getInstance(CryptoType.ECDSA_TYPE, cryptoSuite.getHashImpl()));
+        // the encoders share the memo
+        EventEncoder eventEncoder = new EventEncoder(cryptoSuite);
+        String topic = eventEncoder.buildEventSignature("Transfer(address,address,uint256)");
+        Assert.assertEquals(
+                topic,
+                SignatureHashCache.getInstance(cryptoSuite)
+                        .getEventTopic("Transfer(address,address,uint256)"));
+        Assert.assertEquals(
+                "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef", topic);
+    }
+}
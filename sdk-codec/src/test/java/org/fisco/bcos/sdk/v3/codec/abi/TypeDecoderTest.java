@@ -7,6 +7,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import static org.junit.Assert.*;
 
@@ -952,4 +953,126 @@ public class TypeDecoderTest {
                         new Utf8String("Hello, world!"),
                         new Utf8String("world! Hello,"))));
     }
+
+    @Test
+    public void testDecodeUintAsInt() {
+        BigInteger[] values = {
+            BigInteger.ZERO,
+            BigInteger.valueOf(32),
+            BigInteger.valueOf(Integer.MAX_VALUE),
+            BigInteger.valueOf(Long.MAX_VALUE),
+            BigInteger.ONE.shiftLeft(255)
+        };
+        for (BigInteger value : values) {
+            byte[] encoded = TypeEncoder.encode(new Uint256(value));
+            byte[] input = new byte[encoded.length + 32];
+            System.arraycopy(encoded, 0, input, 32, encoded.length);
+            assertEquals(value.intValue(), TypeDecoder.decodeUintAsInt(input, 32));
+        }
+    }
+
+    @Test
+    public void testDecodeWithCachedConstructors() throws Exception {
+        byte[] input =
+                TestUtils.stringToBytes(
+                        "00000000000000000000000000000000000000000000000000000000000000ff"
+                                + "6100000000000000000000000000000000000000000000000000000000000000");
+        // the second decoding uses the cached constructors
+        for (int i = 0; i < 2; i++) {
+            assertEquals(
+                    new Uint8(BigInteger.valueOf(255)),
+                    TypeDecoder.decode(input, 0, TypeReference.create(Uint8.class)));
+            assertEquals(
+                    new Int16(BigInteger.valueOf(255)),
+                    TypeDecoder.decode(input, 0, TypeReference.create(Int16.class)));
+            assertEquals(
+                    new Bytes1(new byte[] {0x61}),
+                    TypeDecoder.decode(input, 32, TypeReference.create(Bytes1.class)));
+        }
+    }
+
+    @Test
+    public void testLongBackedNumeric() throws Exception {
+        long[] values = {0, 1, -1, 255, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            Int64 int64 = new Int64(value);
+            assertTrue(int64.fitsInLong());
+            assertEquals(value, int64.longValue());
+            assertEquals(new Int64(BigInteger.valueOf(value)), int64);
+            assertEquals(BigInteger.valueOf(value), int64.getValue());
+            byte[] encoded = TypeEncoder.encode(int64);
+            assertArrayEquals(TypeEncoder.encode(new Int64(BigInteger.valueOf(value))), encoded);
+            Int64 decoded = TypeDecoder.decode(encoded, 0, TypeReference.create(Int64.class));
+            assertEquals(int64, decoded);
+            assertTrue(decoded.fitsInLong());
+        }
+        // the values out of the range of a long are kept as BigInteger
+        Uint64 maxUint64 = new Uint64(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+        assertFalse(maxUint64.fitsInLong());
+        assertThrows(ArithmeticException.class, maxUint64::longValue);
+        assertEquals(
+                maxUint64,
+                TypeDecoder.decode(
+                        TypeEncoder.encode(maxUint64), 0, TypeReference.create(Uint64.class)));
+        assertThrows(UnsupportedOperationException.class, () -> new Uint64(-1L));
+
+        // negative value with the high byte not 0xff
+        BigInteger negative = BigInteger.ONE.shiftLeft(250).negate();
+        assertEquals(
+                new Int256(negative),
+                TypeDecoder.decode(
+                        TypeEncoder.encode(new Int256(negative)),
+                        0,
+                        TypeReference.create(Int256.class)));
+    }
+
+    @Test
+    public void testDirectDecode() throws Exception {
+        BigInteger[] values = {
+            BigInteger.ZERO,
+            BigInteger.valueOf(255),
+            BigInteger.valueOf(-1),
+            BigInteger.valueOf(Long.MIN_VALUE),
+            BigInteger.ONE.shiftLeft(64),
+            BigInteger.ONE.shiftLeft(250).negate()
+        };
+        for (BigInteger value : values) {
+            byte[] encoded = TypeEncoder.encode(new Int256(value));
+            assertEquals(value, TypeDecoder.decodeIntValue(encoded, 0, 256));
+            assertEquals(
+                    TypeDecoder.decode(encoded, 0, TypeReference.create(Uint256.class)).getValue(),
+                    TypeDecoder.decodeUintValue(encoded, 0, 256));
+            assertEquals(
+                    TypeDecoder.decode(encoded, 0, TypeReference.create(Uint8.class)).getValue(),
+                    TypeDecoder.decodeUintValue(encoded, 0, 8));
+            assertEquals(
+                    TypeDecoder.decode(encoded, 0, TypeReference.create(Int16.class)).getValue(),
+                    TypeDecoder.decodeIntValue(encoded, 0, 16));
+        }
+
+        byte[] encoded =
+                FunctionEncoder.encodeConstructor(
+                        Arrays.asList(
+                                new Address("0x00005422d15f39373eb0a97ff8c10fbd0e40e293"),
+                                new Bool(true),
+                                new Utf8String("\u00e9hello"),
+                                new Bytes4(new byte[] {1, 2, 3, 4}),
+                                new DynamicBytes(new byte[33])));
+        assertEquals(
+                "0x00005422d15f39373eb0a97ff8c10fbd0e40e293",
+                TypeDecoder.decodeAddressValue(encoded, 0));
+        assertTrue(TypeDecoder.decodeBoolValue(encoded, 32));
+        assertFalse(TypeDecoder.decodeBoolValue(encoded, 0));
+        assertEquals(
+                "\u00e9hello",
+                TypeDecoder.decodeUtf8StringValue(
+                        encoded, TypeDecoder.decodeUintAsInt(encoded, 64)));
+        assertArrayEquals(
+                new byte[] {1, 2, 3, 4},
+                TypeDecoder.decodeBytes(encoded, 96, Bytes4.class).getValue());
+        assertArrayEquals(
+                new byte[33],
+                TypeDecoder.decodeDynamicBytesValue(
+                        encoded, TypeDecoder.decodeUintAsInt(encoded, 128)));
+    }
 }
@@ -9,6 +9,9 @@ import org.junit.Test;
 import org.fisco.bcos.sdk.v3.codec.TestFixture.*;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
@@ -1328,4 +1331,166 @@ public class TypeEncoderTest {
                         // length second string
                         + "0000000000000000000000000000000000000000000000000000000000000000"));
     }
+
+    @Test
+    public void testEncodeToBuffer() {
+        Foo foo = new Foo("id", "\u4e2d\u6587\ud83d\ude00");
+        DynamicArray<Foo> foos = new DynamicArray<>(Foo.class, foo, new Foo("", "name"));
+        java.util.List<Type> parameters =
+                Arrays.asList(
+                        new Uint256(BigInteger.ONE.shiftLeft(255)),
+                        new Int64(BigInteger.valueOf(-1)),
+                        new Utf8String("\u00e9\ud800"),
+                        foos,
+                        new Bar(BigInteger.ONE, BigInteger.TEN));
+        // the encoder writes into a buffer with the remaining bytes untouched
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        buffer.put((byte) 1);
+        for (Type parameter : parameters) {
+            byte[] encoded = TypeEncoder.encode(parameter);
+            assertEquals(encoded.length, TypeEncoder.encodedLength(parameter));
+
+            int position = buffer.position();
+            TypeEncoder.encode(parameter, buffer);
+            assertEquals(position + encoded.length, buffer.position());
+            Assert.assertArrayEquals(
+                    encoded, Arrays.copyOfRange(buffer.array(), position, buffer.position()));
+        }
+        assertEquals(
+                TestUtils.bytesToString(TypeEncoder.encode(new Utf8String("\u00e9\ud800"))),
+                "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "c3a93f0000000000000000000000000000000000000000000000000000000000");
+
+        int length = FunctionEncoder.encodedParametersLength(parameters);
+        ByteBuffer parametersBuffer = ByteBuffer.allocate(length);
+        FunctionEncoder.encodeParametersToBuffer(parameters, parametersBuffer);
+        assertEquals(0, parametersBuffer.remaining());
+        Assert.assertArrayEquals(
+                FunctionEncoder.encodeConstructor(parameters), parametersBuffer.array());
+    }
+
+    @Test
+    public void testEncodeThroughReusedBuffer() throws Exception {
+        Foo foo = new Foo("id", "name");
+        java.util.List<Type> parameters =
+                Arrays.asList(
+                        new Uint256(BigInteger.TEN),
+                        new DynamicArray<>(Foo.class, foo, foo),
+                        // larger than the buffer kept by the thread
+                        new DynamicBytes(new byte[TypeEncoder.MAX_REUSED_BUFFER_SIZE]),
+                        new Utf8String("\u4e2d\u6587"));
+        for (Type parameter : parameters) {
+            assertEquals(
+                    TestUtils.bytesToString(TypeEncoder.encode(parameter)),
+                    TypeEncoder.encodeToHex(parameter));
+        }
+
+        byte[] methodID = {1, 2, 3, 4};
+        java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
+        outputStream.write(0);
+        FunctionEncoder.encodeParameters(parameters, methodID, outputStream);
+        byte[] encoded = FunctionEncoder.encodeParameters(parameters, methodID);
+        assertEquals(1 + encoded.length, outputStream.size());
+        Assert.assertArrayEquals(
+                encoded, Arrays.copyOfRange(outputStream.toByteArray(), 1, outputStream.size()));
+        // the buffer of the thread is reused by the next encoding
+        outputStream.reset();
+        FunctionEncoder.encodeParameters(parameters.subList(0, 2), null, outputStream);
+        Assert.assertArrayEquals(
+                FunctionEncoder.encodeConstructor(parameters.subList(0, 2)),
+                outputStream.toByteArray());
+    }
+
+    @Test
+    public void testDirectWrite() {
+        BigInteger[] uints = {
+            BigInteger.ZERO,
+            BigInteger.valueOf(255),
+            BigInteger.valueOf(Long.MAX_VALUE),
+            BigInteger.ONE.shiftLeft(64),
+            Constant.MAX_UINT256
+        };
+        for (BigInteger value : uints) {
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+            TypeEncoder.writeUint(value, buffer);
+            Assert.assertArrayEquals(TypeEncoder.encode(new Uint256(value)), buffer.array());
+        }
+        BigInteger[] ints = {
+            BigInteger.valueOf(-1),
+            BigInteger.valueOf(Long.MIN_VALUE),
+            BigInteger.ONE.shiftLeft(250).negate(),
+            Constant.MIN_INT256,
+            Constant.MAX_INT256
+        };
+        for (BigInteger value : ints) {
+            ByteBuffer buffer = ByteBuffer.allocate(32);
+            TypeEncoder.writeInt(value, buffer);
+            Assert.assertArrayEquals(TypeEncoder.encode(new Int256(value)), buffer.array());
+        }
+        // checked as the Uint and Int types
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> TypeEncoder.writeUint(BigInteger.valueOf(-1), ByteBuffer.allocate(32)));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> TypeEncoder.writeInt(Constant.MAX_UINT256, ByteBuffer.allocate(32)));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> TypeEncoder.writeBytes(new byte[3], 4, ByteBuffer.allocate(32)));
+
+        // the parameters of a function written one by one
+        String address = "0xbe5422d15f39373eb0a97ff8c10fbd0e40e29338";
+        byte[] bytes4 = {1, 2, 3, 4};
+        byte[] dynamicBytes = new byte[33];
+        byte[] string = "\u00e9hello".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer =
+                ByteBuffer.allocate(
+                        160
+                                + TypeEncoder.dynamicBytesLength(string.length)
+                                + TypeEncoder.dynamicBytesLength(dynamicBytes.length));
+        TypeEncoder.writeAddress(address, buffer);
+        TypeEncoder.writeBool(true, buffer);
+        TypeEncoder.writeUint(160, buffer);
+        TypeEncoder.writeBytes(bytes4, 4, buffer);
+        TypeEncoder.writeUint(160 + TypeEncoder.dynamicBytesLength(string.length), buffer);
+        TypeEncoder.writeDynamicBytes(string, buffer);
+        TypeEncoder.writeDynamicBytes(dynamicBytes, buffer);
+        assertEquals(0, buffer.remaining());
+        Assert.assertArrayEquals(
+                FunctionEncoder.encodeConstructor(
+                        Arrays.asList(
+                                new Address(address),
+                                new Bool(true),
+                                new Utf8String("\u00e9hello"),
+                                new Bytes4(bytes4),
+                                new DynamicBytes(dynamicBytes))),
+                buffer.array());
+    }
+
+    @Test
+    public void testNestedLengthsComputedOnce() {
+        java.util.concurrent.atomic.AtomicInteger reads =
+                new java.util.concurrent.atomic.AtomicInteger();
+        Type counted =
+                new Utf8String("name") {
+                    @Override
+                    public String getValue() {
+                        reads.incrementAndGet();
+                        return super.getValue();
+                    }
+                };
+        Type plain = new Utf8String("name");
+        for (int i = 0; i < 16; i++) {
+            counted = new DynamicStruct(new Uint256(i), counted);
+            plain = new DynamicStruct(new Uint256(i), plain);
+        }
+        byte[] encoded = TypeEncoder.encode(counted);
+        Assert.assertArrayEquals(TypeEncoder.encode(plain), encoded);
+        // the string is read once for the length and once for the bytes, at any depth
+        assertEquals(2, reads.get());
+
+        reads.set(0);
+        FunctionEncoder.encodeConstructor(Arrays.asList(counted, counted));
+        assertEquals(3, reads.get());
+    }
 }
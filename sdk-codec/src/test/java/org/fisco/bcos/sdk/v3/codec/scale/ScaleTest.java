@@ -1,5 +1,8 @@
 package org.fisco.bcos.sdk.v3.codec.scale;
 
+import org.fisco.bcos.sdk.v3.codec.datatypes.Uint;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Int32;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint64;
 import org.fisco.bcos.sdk.v3.utils.Hex;
 import org.junit.Assert;
 import org.junit.Test;
@@ -288,4 +291,84 @@ public class ScaleTest
         testFixedWidthInteger(new BigInteger("123123122147483649"), signed, valueByteSize, "00000000000000000000000000000000000000000000000001b56bd3c73ce001");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testPrimitiveAndSlice() throws IOException {
+        ScaleCodecWriter writer = new ScaleCodecWriter(1);
+        writer.writeByte((byte) -1);
+        writer.writeUInt16(65535);
+        writer.writeInt32(-2);
+        writer.writeUInt64(-1L);
+        writer.writeCompact(16384);
+        writer.writeAsList("scale".getBytes());
+        writer.writeLong(-3, 3);
+        Assert.assertEquals(28, writer.size());
+        Assert.assertEquals(
+                "ff" + "ffff" + "feffffff" + "ffffffffffffffff" + "02000100" + "147363616c65"
+                        + "fdffff",
+                Hex.toHexString(writer.toByteArray()));
+
+        ScaleCodecReader reader = new ScaleCodecReader(ByteBuffer.wrap(writer.toByteArray()));
+        Assert.assertEquals(255, reader.readUByte());
+        Assert.assertEquals(65535, reader.readUInt16());
+        Assert.assertEquals(-2, reader.readInt32());
+        Assert.assertEquals("18446744073709551615", Long.toUnsignedString(reader.readUInt64()));
+        Assert.assertEquals(16384, reader.readCompact());
+        ByteBuffer slice = reader.readSlice();
+        Assert.assertEquals(5, slice.remaining());
+        Assert.assertEquals('s', slice.get(0));
+        Assert.assertEquals(-3, reader.readLong(true, 3));
+        Assert.assertFalse(reader.hasNext());
+
+        // the writer created with a stream writes through
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ScaleCodecWriter streamWriter = new ScaleCodecWriter(outputStream);
+        streamWriter.writeAsList("scale".getBytes());
+        Assert.assertEquals("147363616c65", Hex.toHexString(outputStream.toByteArray()));
+        Assert.assertEquals("scale", new ScaleCodecReader(outputStream.toByteArray()).readString());
+    }
+
+    @Test
+    public void testCompactInteger() throws IOException {
+        long[] values = {0, 63, 64, 16383, 16384, (1L << 30) - 1, 1L << 30, 1L << 40};
+        for (long value : values) {
+            ScaleCodecWriter writer = new ScaleCodecWriter();
+            writer.writeCompactInteger(BigInteger.valueOf(value));
+            ScaleCodecReader reader = new ScaleCodecReader(writer.toByteArray());
+            Assert.assertEquals(BigInteger.valueOf(value), reader.decodeCompactInteger());
+            Assert.assertFalse(reader.hasNext());
+        }
+        ScaleCodecWriter writer = new ScaleCodecWriter();
+        writer.writeCompactInteger(BigInteger.valueOf(1L << 29));
+        Assert.assertEquals("02000080", Hex.toHexString(writer.toByteArray()));
+    }
+
+    // a user defined type without the long constructor
+    public static class Uint48 extends Uint {
+        public Uint48(BigInteger value) {
+            super(48, value);
+        }
+    }
+
+    @Test
+    public void testDecodeNumeric() throws IOException {
+        ScaleCodecWriter writer = new ScaleCodecWriter();
+        writer.writeLong(-5, 4);
+        writer.writeUInt64(-1L);
+        writer.writeUInt64(7);
+        writer.writeLong(1L << 40, 6);
+        ScaleCodecReader reader = new ScaleCodecReader(writer.toByteArray());
+        Assert.assertEquals(
+                BigInteger.valueOf(-5), TypeDecoder.decodeNumeric(reader, Int32.class).getValue());
+        // u64 larger than Long.MAX_VALUE
+        Assert.assertEquals(
+                "18446744073709551615",
+                TypeDecoder.decodeNumeric(reader, Uint64.class).getValue().toString());
+        Assert.assertEquals(
+                BigInteger.valueOf(7), TypeDecoder.decodeNumeric(reader, Uint64.class).getValue());
+        // falls back to the BigInteger constructor
+        Assert.assertEquals(
+                BigInteger.ONE.shiftLeft(40),
+                TypeDecoder.decodeNumeric(reader, Uint48.class).getValue());
+        Assert.assertFalse(reader.hasNext());
+    }
+}
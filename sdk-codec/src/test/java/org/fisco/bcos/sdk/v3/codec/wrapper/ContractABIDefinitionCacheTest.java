@@ -0,0 +1,92 @@
+package org.fisco.bcos.sdk.v3.codec.wrapper;
+
+import org.fisco.bcos.sdk.v3.codec.TestUtils;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.utils.Numeric;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContractABIDefinitionCacheTest {
+    private static final String abi =
+            "[{\"inputs\":[{\"name\":\"n\",\"type\":\"string\"}],\"name\":\"set\",\"outputs\":[],"
+                    + "\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"inputs\":[],\"name\":\"get\",\"outputs\":[{\"name\":\"\",\"type\":\"string\"}],"
+                    + "\"stateMutability\":\"view\",\"type\":\"function\"},"
+                    + "{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"name\":\"id\",\"type\":\"uint256\"},"
+                    + "{\"indexed\":false,\"name\":\"n\",\"type\":\"string\"}],\"name\":\"SetName\",\"type\":\"event\"}]";
+
+    @Test
+    public void testLoadAndHit() {
+        CryptoSuite cryptoSuite = TestUtils.getCryptoSuite();
+        ContractABIDefinitionCache cache = new ContractABIDefinitionCache(cryptoSuite, 4);
+        ContractABIDefinition first = cache.loadABI(abi);
+        ContractABIDefinition second = cache.loadABI(new String(abi));
+        Assert.assertSame(first, second);
+        Assert.assertTrue(first.isCompiled());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.size());
+        Assert.assertNull(cache.loadABI("invalid abi"));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSharedByCryptoType() {
+        CryptoSuite cryptoSuite = TestUtils.getCryptoSuite();
+        ContractABIDefinitionCache cache = ContractABIDefinitionCache.getInstance(cryptoSuite);
+        Assert.assertSame(
+                cache,
+                ContractABIDefinitionCache.getInstance(
+                        cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl()));
+        ContractABIDefinition contractABIDefinition =
+                new ContractABIDefinitionCache(
+                                cryptoSuite.getCryptoTypeConfig(), cryptoSuite.getHashImpl(), 4)
+                        .loadABI(abi);
+        ABIDefinition set = contractABIDefinition.getFunctions().get("set").get(0);
+        Assert.assertArrayEquals(
+                set.getMethodId(cryptoSuite), contractABIDefinition.getMethodId(set));
+    }
+
+    @Test
+    public void testPrecomputedSelectors() {
+        CryptoSuite cryptoSuite = TestUtils.getCryptoSuite();
+        ContractABIDefinition contractABIDefinition =
+                new ContractABIDefinitionCache(cryptoSuite, 4).loadABI(abi);
+
+        ABIDefinition set = contractABIDefinition.getFunctions().get("set").get(0);
+        Assert.assertArrayEquals(
+                set.getMethodId(cryptoSuite), contractABIDefinition.getMethodId(set));
+        Assert.assertSame(
+                contractABIDefinition.getInputObject(set),
+                contractABIDefinition.getInputObject(set));
+
+        ABIDefinition event = contractABIDefinition.getEvents().get("SetName").get(0);
+        String topic =
+                Numeric.toHexString(cryptoSuite.hash("SetName(uint256,string)".getBytes()));
+        Assert.assertEquals(topic, contractABIDefinition.getEventTopic(event));
+        Assert.assertSame(event, contractABIDefinition.getABIDefinitionByEventTopic(topic));
+        // only the non-indexed params are kept in the event template
+        Assert.assertEquals(
+                1, contractABIDefinition.getEventInputObject(event).getStructFields().size());
+    }
+
+    @Test
+    public void testEviction() {
+        ContractABIDefinitionCache cache =
+                new ContractABIDefinitionCache(TestUtils.getCryptoSuite(), 2);
+        String abi1 = abi.replace("SetName", "SetName1");
+        String abi2 = abi.replace("SetName", "SetName2");
+        cache.loadABI(abi);
+        cache.loadABI(abi1);
+        cache.loadABI(abi);
+        cache.loadABI(abi2);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        // abi is the most recently used one, abi1 was evicted
+        cache.loadABI(abi);
+        Assert.assertEquals(2, cache.getHitCount());
+        cache.setCapacity(1);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(2, cache.getEvictionCount());
+    }
+}
@@ -73,10 +73,23 @@ public class CodeGenMain {
                 required = true)
         private String packageName;
 
+        @Option(
+                names = {"-d", "--directCodec"},
+                description =
+                        "encode the inputs and decode the outputs of the functions "
+                                + "with the basic types without the reflection.")
+        private boolean directCodec;
+
         @Override
         public void run() {
             try {
-                new ContractGenerator(binFile, smBinFile, abiFile, destinationFileDir, packageName)
+                new ContractGenerator(
+                                binFile,
+                                smBinFile,
+                                abiFile,
+                                destinationFileDir,
+                                packageName,
+                                directCodec)
                         .generateJavaFiles();
             } catch (Exception e) {
                 CodeGenUtils.exitError(e);
@@ -27,7 +27,7 @@ public class ContractGenerator {
     public static final String COMMAND_PREFIX = COMMAND_SOLIDITY + " " + COMMAND_GENERATE;
 
     /*
-     * Usage: solidity generate [-hV] [-jt] [-st] -a=<abiFile> [-b=<binFile>]
+     * Usage: solidity generate [-hV] [-jt] [-st] [-d] -a=<abiFile> [-b=<binFile>]
      * -o=<destinationFileDir> -p=<packageName>
      * -h, --help                 Show this help message and exit.
      * -V, --version              Print version information and exit.
@@ -43,6 +43,8 @@ public class ContractGenerator {
      * -jt, --javaTypes       use native java types.
      * Default: true
      * -st, --solidityTypes   use solidity types.
+     * -d, --directCodec      encode the inputs and decode the outputs of the functions
+     * with the basic types without the reflection.
      */
 
     private final File binFile;
@@ -50,6 +52,7 @@ public class ContractGenerator {
     private final File abiFile;
     private final File destinationDir;
     private String basePackageName;
+    private final boolean directCodec;
 
     public ContractGenerator(
             File binFile,
@@ -57,11 +60,22 @@ public class ContractGenerator {
             File abiFile,
             File destinationDir,
             String basePackageName) {
+        this(binFile, smBinFile, abiFile, destinationDir, basePackageName, false);
+    }
+
+    public ContractGenerator(
+            File binFile,
+            File smBinFile,
+            File abiFile,
+            File destinationDir,
+            String basePackageName,
+            boolean directCodec) {
         this.binFile = binFile;
         this.smBinFile = smBinFile;
         this.abiFile = abiFile;
         this.destinationDir = destinationDir;
         this.basePackageName = basePackageName;
+        this.directCodec = directCodec;
     }
 
     public void generateJavaFiles() throws CodeGenException, IOException, ClassNotFoundException {
@@ -81,7 +95,7 @@ public class ContractGenerator {
             binary = calculateWasmBytes(binary);
             smBinary = calculateWasmBytes(smBinary);
         }
-        new ContractWrapper(isWasm)
+        new ContractWrapper(isWasm, directCodec)
                 .generateJavaFiles(
                         contractName,
                         new String(binary),
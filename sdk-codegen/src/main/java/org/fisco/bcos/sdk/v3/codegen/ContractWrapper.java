@@ -4,6 +4,8 @@ import com.squareup.javapoet.*;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -12,6 +14,8 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Modifier;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute;
+import org.fisco.bcos.sdk.v3.codec.abi.TypeDecoder;
+import org.fisco.bcos.sdk.v3.codec.abi.TypeEncoder;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Bool;
 import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
@@ -26,9 +30,14 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
 import org.fisco.bcos.sdk.v3.contract.Contract;
+import org.fisco.bcos.sdk.v3.contract.TypedEventSubCallback;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
-import org.fisco.bcos.sdk.v3.eventsub.EventSubCallback;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubParams;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubscribe;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
@@ -63,9 +72,13 @@ public class ContractWrapper {
     private static final String FROM_BLOCK = "fromBlock";
     private static final String TO_BLOCK = "toBlock";
     private static final String CALLBACK_VALUE = "callback";
-    private static final String OTHER_TOPICS = "otherTopics";
     private static final String FUNC_NAME_PREFIX = "FUNC_";
-    private static final String EVENT_ENCODER = "eventEncoder";
+    private static final String METHOD_ID_PREFIX = "METHOD_ID_";
+    private static final String SM_METHOD_ID_PREFIX = "SM_METHOD_ID_";
+    // the names of the locals of the direct codec, renamed if used by the parameters
+    private static final String CALL_DATA = "buffer";
+    private static final String CALL_OUTPUT = "output";
+    private static final String CALL_ERROR = "e";
 
     private static final String TUPLE_REGEX = "tuple\\.Tuple(\\d+)";
     private static final Pattern TUPLE_PATTERN = Pattern.compile(TUPLE_REGEX);
@@ -73,12 +86,30 @@ public class ContractWrapper {
     private static final String TUPLE_PACKAGE_NAME =
             "org.fisco.bcos.sdk.v3.codec.datatypes.generated.tuples.generated";
 
+    // the basic types encoded and decoded by the direct codec
+    private static final Pattern DIRECT_CODEC_TYPE_PATTERN =
+            Pattern.compile("u?int\\d*|address|bool|bytes\\d*|string");
+
     private final boolean isWasm;
+    private final boolean directCodec;
+    // function => name of its method id constants and encoder, generated by the direct codec
+    private final Map<ABIDefinition, String> directCodecFunctions = new IdentityHashMap<>();
     private static final HashMap<Integer, TypeName> structClassNameMap = new HashMap<>();
     private static final List<ABIDefinition.NamedType> structsNamedTypeList = new ArrayList<>();
 
     public ContractWrapper(boolean isWasm) {
+        this(isWasm, false);
+    }
+
+    /**
+     * @param isWasm whether the contract is a wasm contract
+     * @param directCodec generate the functions of the solidity contract encoding the inputs and
+     *     decoding the outputs directly, without the Function and the reflective codec, the
+     *     functions with the arrays or the structs still use the Function
+     */
+    public ContractWrapper(boolean isWasm, boolean directCodec) {
         this.isWasm = isWasm;
+        this.directCodec = directCodec && !isWasm;
     }
 
     public void generateJavaFiles(
@@ -113,6 +144,7 @@ public class ContractWrapper {
         classBuilder.addMethod(buildConstructor());
 
         classBuilder.addFields(this.buildFuncNameConstants(abiDefinitions));
+        classBuilder.addFields(this.buildMethodIdConstants(abiDefinitions));
         classBuilder.addTypes(this.buildStructTypes(abiDefinitions));
         structsNamedTypeList.addAll(
                 abiDefinitions.stream()
@@ -242,6 +274,9 @@ public class ContractWrapper {
             if (functionDefinition.getType().equals("function")) {
                 MethodSpec ms = this.buildFunction(functionDefinition);
                 methodSpecs.add(ms);
+                if (this.directCodecFunctions.containsKey(functionDefinition)) {
+                    methodSpecs.add(this.buildDirectInputEncoder(functionDefinition));
+                }
 
                 if (!functionDefinition.isConstant()) {
                     MethodSpec msCallback = this.buildFunctionWithCallback(functionDefinition);
@@ -540,6 +575,317 @@ public class ContractWrapper {
         return fields;
     }
 
+    private Iterable<FieldSpec> buildMethodIdConstants(List<ABIDefinition> functionDefinitions) {
+        List<FieldSpec> fields = new ArrayList<>();
+        if (!this.directCodec) {
+            return fields;
+        }
+        Hash hash = new JavaKeccak256();
+        Hash smHash = new JavaSM3Hash();
+        for (ABIDefinition functionDefinition : functionDefinitions) {
+            if (!functionDefinition.getType().equals("function")
+                    || !isDirectCodecFunction(functionDefinition)) {
+                continue;
+            }
+            String name =
+                    getInputOutputFunctionName(
+                            functionDefinition,
+                            isOverLoadFunction(functionDefinition.getName(), functionDefinitions));
+            this.directCodecFunctions.put(functionDefinition, name);
+            byte[] signature =
+                    functionDefinition
+                            .getMethodSignatureAsString()
+                            .getBytes(StandardCharsets.UTF_8);
+            fields.add(
+                    buildMethodIdConstant(
+                            METHOD_ID_PREFIX + name.toUpperCase(), hash.hash(signature)));
+            fields.add(
+                    buildMethodIdConstant(
+                            SM_METHOD_ID_PREFIX + name.toUpperCase(), smHash.hash(signature)));
+        }
+        return fields;
+    }
+
+    private static FieldSpec buildMethodIdConstant(String fieldName, byte[] hash) {
+        List<String> methodId = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            methodId.add(String.format(hash[i] < 0 ? "(byte) 0x%02x" : "0x%02x", hash[i] & 0xff));
+        }
+        return FieldSpec.builder(
+                        byte[].class, fieldName, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new byte[] {$L}", String.join(", ", methodId))
+                .build();
+    }
+
+    private static boolean isDirectCodecType(String type) {
+        return DIRECT_CODEC_TYPE_PATTERN.matcher(type).matches();
+    }
+
+    private static boolean isDirectCodecFunction(ABIDefinition functionDefinition) {
+        for (ABIDefinition.NamedType namedType : functionDefinition.getInputs()) {
+            if (!isDirectCodecType(namedType.getType())) {
+                return false;
+            }
+        }
+        if (!functionDefinition.isConstant()) {
+            return true;
+        }
+        // the constant function without outputs throws directly
+        if (functionDefinition.getOutputs().isEmpty()) {
+            return false;
+        }
+        for (ABIDefinition.NamedType namedType : functionDefinition.getOutputs()) {
+            if (!isDirectCodecType(namedType.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDynamicBytesType(String type) {
+        return type.equals("bytes") || type.equals("string");
+    }
+
+    // the bit size of uintN/intN, or the byte size of bytesN
+    private static int getTypeSize(String type, String prefix, int defaultSize) {
+        String size = type.substring(prefix.length());
+        return size.isEmpty() ? defaultSize : Integer.parseInt(size);
+    }
+
+    // the names of the inputs, which the locals of the generated method must not use
+    private static Set<String> getInputNames(ABIDefinition functionDefinition) {
+        Set<String> names = new HashSet<>();
+        for (ABIDefinition.NamedType namedType : functionDefinition.getInputs()) {
+            names.add(namedType.getName());
+        }
+        return names;
+    }
+
+    // the name of a local of the generated method, suffixed by a number if already used
+    private static String newLocalName(String name, Set<String> usedNames) {
+        String localName = name;
+        for (int i = 1; usedNames.contains(localName); i++) {
+            localName = name + i;
+        }
+        usedNames.add(localName);
+        return localName;
+    }
+
+    private static String getDirectInputEncoderName(String name) {
+        return "encode" + StringUtils.capitaliseFirstLetter(name) + "Input";
+    }
+
+    private String buildDirectInputEncoderCall(ABIDefinition functionDefinition) {
+        List<String> arguments = new ArrayList<>();
+        for (ABIDefinition.NamedType namedType : functionDefinition.getInputs()) {
+            arguments.add(namedType.getName());
+        }
+        return getDirectInputEncoderName(this.directCodecFunctions.get(functionDefinition))
+                + "("
+                + String.join(", ", arguments)
+                + ")";
+    }
+
+    /**
+     * build the encoder of the inputs writing the values one by one into the call data, the heads
+     * of the inputs are 32 bytes each, followed by the tails of the bytes and the string inputs in
+     * order, so the offsets of the tails are known at generation time except the lengths of the
+     * preceding tails
+     */
+    private MethodSpec buildDirectInputEncoder(ABIDefinition functionDefinition)
+            throws ClassNotFoundException {
+        String name = this.directCodecFunctions.get(functionDefinition);
+        MethodSpec.Builder methodBuilder =
+                MethodSpec.methodBuilder(getDirectInputEncoderName(name))
+                        .addModifiers(Modifier.PRIVATE)
+                        .returns(byte[].class);
+        this.addParameters(methodBuilder, functionDefinition.getInputs());
+
+        List<ABIDefinition.NamedType> inputs = functionDefinition.getInputs();
+        Set<String> usedNames = getInputNames(functionDefinition);
+        // the bytes of the dynamic inputs, and the offsets of their tails
+        Map<String, String> dynamicValues = new HashMap<>();
+        Map<String, CodeBlock> offsets = new HashMap<>();
+        CodeBlock length = CodeBlock.of("$L", inputs.size() * 32);
+        for (ABIDefinition.NamedType input : inputs) {
+            if (!isDynamicBytesType(input.getType())) {
+                continue;
+            }
+            String value = input.getName();
+            if (input.getType().equals("string")) {
+                value = newLocalName(input.getName() + "Bytes", usedNames);
+                methodBuilder.addStatement(
+                        "final byte[] $L = $L.getBytes($T.UTF_8)",
+                        value,
+                        input.getName(),
+                        StandardCharsets.class);
+            }
+            dynamicValues.put(input.getName(), value);
+            offsets.put(input.getName(), length);
+            length =
+                    CodeBlock.of(
+                            "$L + $T.dynamicBytesLength($L.length)",
+                            length,
+                            TypeEncoder.class,
+                            value);
+        }
+        String callData = newLocalName(CALL_DATA, usedNames);
+        methodBuilder.addStatement(
+                "final $T $L = newCallData($L, $L, $L)",
+                ByteBuffer.class,
+                callData,
+                METHOD_ID_PREFIX + name.toUpperCase(),
+                SM_METHOD_ID_PREFIX + name.toUpperCase(),
+                length);
+
+        for (ABIDefinition.NamedType input : inputs) {
+            String type = input.getType();
+            String value = input.getName();
+            if (isDynamicBytesType(type)) {
+                methodBuilder.addStatement(
+                        "$T.writeUint($L, $L)", TypeEncoder.class, offsets.get(value), callData);
+            } else if (type.startsWith("uint")) {
+                methodBuilder.addStatement(
+                        "$T.writeUint($L, $L)", TypeEncoder.class, value, callData);
+            } else if (type.startsWith("int")) {
+                methodBuilder.addStatement(
+                        "$T.writeInt($L, $L)", TypeEncoder.class, value, callData);
+            } else if (type.equals("address")) {
+                methodBuilder.addStatement(
+                        "$T.writeAddress($L, $L)", TypeEncoder.class, value, callData);
+            } else if (type.equals("bool")) {
+                methodBuilder.addStatement(
+                        "$T.writeBool($L, $L)", TypeEncoder.class, value, callData);
+            } else {
+                methodBuilder.addStatement(
+                        "$T.writeBytes($L, $L, $L)",
+                        TypeEncoder.class,
+                        value,
+                        getTypeSize(type, "bytes", 32),
+                        callData);
+            }
+        }
+        for (ABIDefinition.NamedType input : inputs) {
+            if (isDynamicBytesType(input.getType())) {
+                methodBuilder.addStatement(
+                        "$T.writeDynamicBytes($L, $L)",
+                        TypeEncoder.class,
+                        dynamicValues.get(input.getName()),
+                        callData);
+            }
+        }
+        methodBuilder.addStatement("return $L.array()", callData);
+        return methodBuilder.build();
+    }
+
+    // decode the output at the index from the returned data
+    private static CodeBlock buildDirectOutputDecoder(String type, int index, String output) {
+        int head = index * 32;
+        if (type.startsWith("uint")) {
+            return CodeBlock.of(
+                    "$T.decodeUintValue($L, $L, $L)",
+                    TypeDecoder.class,
+                    output,
+                    head,
+                    getTypeSize(type, "uint", 256));
+        } else if (type.startsWith("int")) {
+            return CodeBlock.of(
+                    "$T.decodeIntValue($L, $L, $L)",
+                    TypeDecoder.class,
+                    output,
+                    head,
+                    getTypeSize(type, "int", 256));
+        } else if (type.equals("address")) {
+            return CodeBlock.of(
+                    "$T.decodeAddressValue($L, $L)", TypeDecoder.class, output, head);
+        } else if (type.equals("bool")) {
+            return CodeBlock.of("$T.decodeBoolValue($L, $L)", TypeDecoder.class, output, head);
+        } else if (type.equals("bytes")) {
+            return CodeBlock.of(
+                    "$T.decodeDynamicBytesValue($L, $T.decodeUintAsInt($L, $L))",
+                    TypeDecoder.class,
+                    output,
+                    TypeDecoder.class,
+                    output,
+                    head);
+        } else if (type.equals("string")) {
+            return CodeBlock.of(
+                    "$T.decodeUtf8StringValue($L, $T.decodeUintAsInt($L, $L))",
+                    TypeDecoder.class,
+                    output,
+                    TypeDecoder.class,
+                    output,
+                    head);
+        } else {
+            return CodeBlock.of(
+                    "$T.copyOfRange($L, $L, $L)",
+                    Arrays.class,
+                    output,
+                    head,
+                    head + getTypeSize(type, "bytes", 32));
+        }
+    }
+
+    private void buildDirectConstantFunction(
+            ABIDefinition functionDefinition,
+            MethodSpec.Builder methodBuilder,
+            List<TypeName> outputParameterTypes) {
+        List<ABIDefinition.NamedType> outputs = functionDefinition.getOutputs();
+        Set<String> usedNames = getInputNames(functionDefinition);
+        String output = newLocalName(CALL_OUTPUT, usedNames);
+        methodBuilder.addException(ContractException.class);
+        methodBuilder.addStatement(
+                "final byte[] $L = executeCall($L, $N, $L)",
+                output,
+                this.buildDirectInputEncoderCall(functionDefinition),
+                funcNameToConst(functionDefinition.getName()),
+                outputs.size() * 32);
+
+        boolean hasDynamicOutput = false;
+        List<CodeBlock> values = new ArrayList<>();
+        for (int i = 0; i < outputs.size(); i++) {
+            hasDynamicOutput |= isDynamicBytesType(outputs.get(i).getType());
+            values.add(buildDirectOutputDecoder(outputs.get(i).getType(), i, output));
+        }
+        CodeBlock result;
+        if (outputs.size() == 1) {
+            methodBuilder.returns(getNativeType(outputParameterTypes.get(0)));
+            result = values.get(0);
+        } else {
+            List<TypeName> returnTypes = new ArrayList<>();
+            for (TypeName typeName : outputParameterTypes) {
+                returnTypes.add(getNativeType(typeName));
+            }
+            ParameterizedTypeName parameterizedTupleType =
+                    ParameterizedTypeName.get(
+                            ClassName.get(TUPLE_PACKAGE_NAME, "Tuple" + returnTypes.size()),
+                            returnTypes.toArray(new TypeName[0]));
+            methodBuilder.returns(parameterizedTupleType);
+            result =
+                    CodeBlock.of(
+                            "new $T(\n$L)",
+                            parameterizedTupleType,
+                            CodeBlock.join(values, ", \n"));
+        }
+        if (!hasDynamicOutput) {
+            methodBuilder.addStatement("return $L", result);
+            return;
+        }
+        // the offsets of the dynamic outputs may be out of the returned data
+        String error = newLocalName(CALL_ERROR, usedNames);
+        methodBuilder
+                .beginControlFlow("try")
+                .addStatement("return $L", result)
+                .nextControlFlow("catch ($T $L)", RuntimeException.class, error)
+                .addStatement(
+                        "throw new $T(\"decode callResult failed, error info: \" "
+                                + "+ $L.getMessage(), $L)",
+                        ContractException.class,
+                        error,
+                        error)
+                .endControlFlow();
+    }
+
     private static MethodSpec buildGetBinaryMethod() {
         MethodSpec.Builder toReturn =
                 MethodSpec.methodBuilder(GET_BINARY_FUNC)
@@ -1151,6 +1497,11 @@ public class ContractWrapper {
             MethodSpec.Builder methodBuilder,
             List<TypeName> outputParameterTypes,
             String inputParams) {
+        if (this.directCodecFunctions.containsKey(functionDefinition)) {
+            this.buildDirectConstantFunction(
+                    functionDefinition, methodBuilder, outputParameterTypes);
+            return;
+        }
         String functionName = functionDefinition.getName();
         methodBuilder.addException(ContractException.class);
         if (outputParameterTypes.isEmpty()) {
@@ -1243,6 +1594,14 @@ public class ContractWrapper {
 
         methodBuilder.returns(TypeName.get(TransactionReceipt.class));
         int dagAttribute = getDagAttribute(functionDefinition);
+        if (this.directCodecFunctions.containsKey(functionDefinition)) {
+            methodBuilder.addStatement(
+                    "return executeTransaction($L, $N, $L)",
+                    this.buildDirectInputEncoderCall(functionDefinition),
+                    funcNameToConst(functionName),
+                    dagAttribute);
+            return;
+        }
         methodBuilder.addStatement(
                 "final $T function = new $T(\n$N, \n$T.<$T>asList($L), \n$T"
                         + ".<$T<?>>emptyList(), $L)",
@@ -1279,6 +1638,14 @@ public class ContractWrapper {
 
         methodBuilder.returns(String.class);
         int dagAttribute = getDagAttribute(functionDefinition);
+        if (this.directCodecFunctions.containsKey(functionDefinition)) {
+            methodBuilder.addStatement(
+                    "return asyncExecuteTransaction($L, $N, callback, $L)",
+                    this.buildDirectInputEncoderCall(functionDefinition),
+                    funcNameToConst(functionName),
+                    dagAttribute);
+            return;
+        }
 
         methodBuilder.addStatement(
                 "final $T function = new $T(\n$N, \n$T.<$T>asList($L), \n$T"
@@ -1304,6 +1671,14 @@ public class ContractWrapper {
         TypeName returnType = TypeName.get(String.class);
         methodBuilder.returns(returnType);
         int dagAttribute = getDagAttribute(functionDefinition);
+        if (this.directCodecFunctions.containsKey(functionDefinition)) {
+            methodBuilder.addStatement(
+                    "return createSignedTransaction($L, $N, $L)",
+                    this.buildDirectInputEncoderCall(functionDefinition),
+                    funcNameToConst(functionName),
+                    dagAttribute);
+            return;
+        }
         methodBuilder.addStatement(
                 "final $T function = new $T(\n$N, \n$T.<$T>asList($L), \n$T"
                         + ".<$T<?>>emptyList(), $L)",
@@ -1358,57 +1733,72 @@ public class ContractWrapper {
         return builder.build();
     }
 
-    private MethodSpec buildSubscribeEventFunction(String eventName) throws ClassNotFoundException {
+    private MethodSpec buildEventResponseConverter(
+            String responseClassName,
+            String functionName,
+            List<NamedTypeName> indexedParameters,
+            List<NamedTypeName> nonIndexedParameters) {
         String generatedFunctionName =
-                "subscribe" + StringUtils.capitaliseFirstLetter(eventName) + "Event";
+                "to" + StringUtils.capitaliseFirstLetter(functionName) + "EventResponse";
+        return MethodSpec.methodBuilder(generatedFunctionName)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(Contract.EventValuesWithLog.class, "eventValues")
+                .returns(ClassName.get("", responseClassName))
+                .addStatement("$1T typedResponse = new $1T()", ClassName.get("", responseClassName))
+                .addCode(
+                        this.buildTypedResponse(
+                                "typedResponse", indexedParameters, nonIndexedParameters, false))
+                .addStatement("return typedResponse")
+                .build();
+    }
 
-        MethodSpec.Builder getEventMethodBuilder =
-                MethodSpec.methodBuilder(generatedFunctionName)
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(String.class, FROM_BLOCK)
-                        .addParameter(String.class, TO_BLOCK);
-
-        this.addParameter(getEventMethodBuilder, "string[]", OTHER_TOPICS);
-        // FIXME: implement event sub
-        //        getEventMethodBuilder.addParameter(EventCallback.class, CALLBACK_VALUE);
-        getEventMethodBuilder.addStatement(
-                "String topic0 = $N.encode(" + this.buildEventDefinitionName(eventName) + ")",
-                EVENT_ENCODER);
-
-        getEventMethodBuilder.addStatement(
-                "subscribeEvent(ABI,BINARY"
-                        + ","
-                        + "topic0"
-                        + ","
-                        + FROM_BLOCK
-                        + ","
-                        + TO_BLOCK
-                        + ","
-                        + OTHER_TOPICS
-                        + ","
-                        + CALLBACK_VALUE
-                        + ")");
-
-        return getEventMethodBuilder.build();
-    }
-
-    private MethodSpec buildDefaultSubscribeEventLog(String eventName) {
+    private MethodSpec buildSubscribeEventFunction(String responseClassName, String functionName) {
         String generatedFunctionName =
-                "subscribe" + StringUtils.capitaliseFirstLetter(eventName) + "Event";
-
-        MethodSpec.Builder getEventMethodBuilder =
-                MethodSpec.methodBuilder(generatedFunctionName)
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(EventSubCallback.class, CALLBACK_VALUE);
-
-        getEventMethodBuilder.addStatement(
-                "String topic0 = $N.encode(" + buildEventDefinitionName(eventName) + ")",
-                EVENT_ENCODER);
-
-        getEventMethodBuilder.addStatement(
-                "subscribeEvent(ABI,BINARY" + ",topic0" + "," + CALLBACK_VALUE + ")");
+                "subscribe" + StringUtils.capitaliseFirstLetter(functionName) + "Event";
+        return MethodSpec.methodBuilder(generatedFunctionName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(EventSubscribe.class, "eventSubscribe")
+                .addParameter(EventSubParams.class, "eventSubParams")
+                .addParameter(
+                        ParameterizedTypeName.get(
+                                ClassName.get(TypedEventSubCallback.class),
+                                ClassName.get("", responseClassName)),
+                        CALLBACK_VALUE)
+                .returns(String.class)
+                .addStatement(
+                        "return subscribeEvent(eventSubscribe, "
+                                + this.buildEventDefinitionName(functionName)
+                                + ", eventSubParams, this::to"
+                                + StringUtils.capitaliseFirstLetter(functionName)
+                                + "EventResponse, "
+                                + CALLBACK_VALUE
+                                + ")")
+                .build();
+    }
 
-        return getEventMethodBuilder.build();
+    private MethodSpec buildSubscribeEventFunctionWithBlockRange(
+            String responseClassName, String functionName) {
+        String generatedFunctionName =
+                "subscribe" + StringUtils.capitaliseFirstLetter(functionName) + "Event";
+        return MethodSpec.methodBuilder(generatedFunctionName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(EventSubscribe.class, "eventSubscribe")
+                .addParameter(BigInteger.class, FROM_BLOCK)
+                .addParameter(BigInteger.class, TO_BLOCK)
+                .addParameter(
+                        ParameterizedTypeName.get(
+                                ClassName.get(TypedEventSubCallback.class),
+                                ClassName.get("", responseClassName)),
+                        CALLBACK_VALUE)
+                .returns(String.class)
+                .addStatement("$1T eventSubParams = new $1T()", EventSubParams.class)
+                .addStatement("eventSubParams.setFromBlock($N)", FROM_BLOCK)
+                .addStatement("eventSubParams.setToBlock($N)", TO_BLOCK)
+                .addStatement(
+                        "return $N(eventSubscribe, eventSubParams, $N)",
+                        generatedFunctionName,
+                        CALLBACK_VALUE)
+                .build();
     }
 
     private MethodSpec buildEventTransactionReceiptFunction(
@@ -1513,6 +1903,12 @@ public class ContractWrapper {
         methods.add(
                 this.buildEventTransactionReceiptFunction(
                         responseClassName, functionName, indexedParameters, nonIndexedParameters));
+        methods.add(
+                this.buildEventResponseConverter(
+                        responseClassName, functionName, indexedParameters, nonIndexedParameters));
+        methods.add(this.buildSubscribeEventFunction(responseClassName, functionName));
+        methods.add(
+                this.buildSubscribeEventFunctionWithBlockRange(responseClassName, functionName));
 
         return methods;
     }
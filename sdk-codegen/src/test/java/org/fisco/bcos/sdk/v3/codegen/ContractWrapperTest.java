@@ -0,0 +1,62 @@
+package org.fisco.bcos.sdk.v3.codegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContractWrapperTest {
+    // the parameters are named after the locals of the direct codec
+    private static final String ABI =
+            "[{\"type\":\"function\",\"name\":\"set\",\"constant\":false,"
+                    + "\"stateMutability\":\"nonpayable\",\"inputs\":["
+                    + "{\"name\":\"data\",\"type\":\"string\"},"
+                    + "{\"name\":\"dataBytes\",\"type\":\"string\"},"
+                    + "{\"name\":\"buffer\",\"type\":\"uint256\"},"
+                    + "{\"name\":\"buffer1\",\"type\":\"bytes\"}],"
+                    + "\"outputs\":[]},"
+                    + "{\"type\":\"function\",\"name\":\"get\",\"constant\":true,"
+                    + "\"stateMutability\":\"view\",\"inputs\":["
+                    + "{\"name\":\"output\",\"type\":\"uint256\"},"
+                    + "{\"name\":\"e\",\"type\":\"address\"}],"
+                    + "\"outputs\":["
+                    + "{\"name\":\"\",\"type\":\"uint256\"},"
+                    + "{\"name\":\"\",\"type\":\"string\"}]}]";
+
+    @Test
+    public void testDirectCodecLocalNames() throws Exception {
+        File destination = Files.createTempDirectory("contract-wrapper").toFile();
+        new ContractWrapper(false, true)
+                .generateJavaFiles("Names", "", "", ABI, destination.getPath(), "org.example");
+        File javaFile = new File(destination, "org/example/Names.java");
+        String source = new String(Files.readAllBytes(javaFile.toPath()), StandardCharsets.UTF_8);
+
+        // the locals are renamed against the parameters
+        Assert.assertTrue(source.contains("private byte[] encodeSetInput("));
+        Assert.assertTrue(source.contains("final byte[] dataBytes1 = data.getBytes("));
+        Assert.assertTrue(source.contains("final byte[] dataBytesBytes = dataBytes.getBytes("));
+        Assert.assertTrue(source.contains("final ByteBuffer buffer2 = newCallData("));
+        Assert.assertTrue(source.contains("final byte[] output1 = executeCall("));
+        Assert.assertTrue(source.contains("catch (RuntimeException e1)"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertNotNull(compiler);
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int result =
+                compiler.run(
+                        null,
+                        null,
+                        errors,
+                        "-proc:none",
+                        "-cp",
+                        System.getProperty("java.class.path"),
+                        "-d",
+                        destination.getPath(),
+                        javaFile.getPath());
+        Assert.assertEquals(errors.toString(), 0, result);
+    }
+}
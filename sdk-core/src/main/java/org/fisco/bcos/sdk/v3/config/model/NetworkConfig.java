@@ -29,6 +29,11 @@ public class NetworkConfig {
     private List<String> peers;
     private String defaultGroup;
     private int timeout = -1;
+    // the max count of the in-flight rpc requests of one client, no limit if not positive
+    private int maxInflightRequests = 0;
+    // the policy when the in-flight requests reach the limit: reject/queue/block/caller-runs,
+    // block must not be used if the requests are sent from the callback threads
+    private String inflightOverflowPolicy = "reject";
 
     public NetworkConfig() {}
 
@@ -41,7 +46,20 @@ public class NetworkConfig {
             if (Objects.nonNull(value)) {
                 timeout = Integer.parseInt((String) value);
             }
-            logger.info("network config items, timeout: {}, peers: {}", timeout, peers);
+            value = networkProperty.get("maxInflightRequests");
+            if (Objects.nonNull(value)) {
+                maxInflightRequests = Integer.parseInt((String) value);
+            }
+            value = networkProperty.get("inflightOverflowPolicy");
+            if (Objects.nonNull(value)) {
+                inflightOverflowPolicy = (String) value;
+            }
+            logger.info(
+                    "network config items, timeout: {}, peers: {}, maxInflightRequests: {}, inflightOverflowPolicy: {}",
+                    timeout,
+                    peers,
+                    maxInflightRequests,
+                    inflightOverflowPolicy);
         }
     }
 
@@ -68,4 +86,20 @@ public class NetworkConfig {
     public void setTimeout(int timeout) {
         this.timeout = timeout;
     }
+
+    public int getMaxInflightRequests() {
+        return maxInflightRequests;
+    }
+
+    public void setMaxInflightRequests(int maxInflightRequests) {
+        this.maxInflightRequests = maxInflightRequests;
+    }
+
+    public String getInflightOverflowPolicy() {
+        return inflightOverflowPolicy;
+    }
+
+    public void setInflightOverflowPolicy(String inflightOverflowPolicy) {
+        this.inflightOverflowPolicy = inflightOverflowPolicy;
+    }
 }
@@ -58,6 +58,11 @@ public class TransactionReceipt {
 
         private String blockNumber;
 
+        // the position of the pushed event log, not in the receipt of the node
+        @JsonIgnore private String transactionHash;
+        @JsonIgnore private String transactionIndex;
+        @JsonIgnore private String logIndex;
+
         public String getAddress() {
             return this.address;
         }
@@ -90,12 +95,58 @@ public class TransactionReceipt {
             this.blockNumber = blockNumber;
         }
 
+        public String getTransactionHash() {
+            return this.transactionHash;
+        }
+
+        public void setTransactionHash(String transactionHash) {
+            this.transactionHash = transactionHash;
+        }
+
+        public String getTransactionIndex() {
+            return this.transactionIndex;
+        }
+
+        public void setTransactionIndex(String transactionIndex) {
+            this.transactionIndex = transactionIndex;
+        }
+
+        public String getLogIndex() {
+            return this.logIndex;
+        }
+
+        public void setLogIndex(String logIndex) {
+            this.logIndex = logIndex;
+        }
+
+        /**
+         * convert the pushed event log, the transaction hash and the indexes are kept to identify
+         * the log pushed more than once
+         *
+         * @param eventLog the event log
+         * @return the log
+         */
+        public static Logs fromEventLog(EventLog eventLog) {
+            Logs logs = new Logs();
+            logs.setAddress(eventLog.getAddress());
+            logs.setTopics(eventLog.getTopics());
+            logs.setData(eventLog.getData());
+            logs.setBlockNumber(eventLog.getBlockNumberRaw());
+            logs.setTransactionHash(eventLog.getTransactionHash());
+            logs.setTransactionIndex(eventLog.getTransactionIndexRaw());
+            logs.setLogIndex(eventLog.getLogIndexRaw());
+            return logs;
+        }
+
         public EventLog toEventLog() {
             EventLog eventLog = new EventLog();
             eventLog.setAddress(this.address);
             eventLog.setTopics(this.topics);
             eventLog.setData(this.data);
             eventLog.setBlockNumber(this.blockNumber);
+            eventLog.setTransactionHash(this.transactionHash);
+            eventLog.setTransactionIndex(this.transactionIndex);
+            eventLog.setLogIndex(this.logIndex);
             return eventLog;
         }
 
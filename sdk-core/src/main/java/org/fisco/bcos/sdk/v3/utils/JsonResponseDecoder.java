@@ -0,0 +1,169 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.utils;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decode the json payload returned from the native sdk in place, the bytes are fed into the
+ * streaming parser directly without creating the intermediate String, and the ObjectReader of each
+ * response type is cached by ObjectMapperFactory.
+ *
+ * <p>When lazyDecode is enabled, the deserializers checking LAZY_DECODE_ATTRIBUTE (e.g. the
+ * transactions of the block) keep the raw tokens and decode them on the first access.
+ */
+public class JsonResponseDecoder {
+    private static final Logger logger = LoggerFactory.getLogger(JsonResponseDecoder.class);
+
+    public static final String LAZY_DECODE_ATTRIBUTE = "fisco.bcos.lazyDecode";
+
+    private static final com.sun.management.ThreadMXBean threadMXBean = loadThreadMXBean();
+
+    private volatile boolean lazyDecode = false;
+    private volatile boolean allocationMetricsEnabled = false;
+
+    private final AtomicLong decodedCount = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong decodeTimeNanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    private static com.sun.management.ThreadMXBean loadThreadMXBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    return sunBean;
+                }
+            }
+        } catch (Throwable e) {
+            logger.debug("thread allocated memory is not supported, e: ", e);
+        }
+        return null;
+    }
+
+    /**
+     * decode the json bytes into the given type
+     *
+     * @param data the json bytes
+     * @param valueType the type to decode
+     * @param <T> the type to decode
+     * @return the decoded object
+     * @throws IOException the json is invalid
+     */
+    public <T> T decode(byte[] data, Class<T> valueType) throws IOException {
+        return this.decode(data, 0, data.length, valueType);
+    }
+
+    /**
+     * decode the json bytes into the given type
+     *
+     * @param data the buffer contains the json
+     * @param offset the offset of the json in the buffer
+     * @param length the length of the json
+     * @param valueType the type to decode
+     * @param <T> the type to decode
+     * @return the decoded object
+     * @throws IOException the json is invalid
+     */
+    public <T> T decode(byte[] data, int offset, int length, Class<T> valueType)
+            throws IOException {
+        ObjectReader objectReader = ObjectMapperFactory.getObjectReader(valueType);
+        if (this.lazyDecode) {
+            objectReader = objectReader.withAttribute(LAZY_DECODE_ATTRIBUTE, Boolean.TRUE);
+        }
+        boolean trackAllocation = this.allocationMetricsEnabled && threadMXBean != null;
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore =
+                trackAllocation ? threadMXBean.getThreadAllocatedBytes(threadId) : 0;
+        long start = System.nanoTime();
+
+        T value = objectReader.readValue(data, offset, length);
+
+        this.decodeTimeNanos.addAndGet(System.nanoTime() - start);
+        if (trackAllocation) {
+            this.allocatedBytes.addAndGet(
+                    threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore);
+        }
+        this.decodedCount.incrementAndGet();
+        this.decodedBytes.addAndGet(length);
+        return value;
+    }
+
+    public boolean isLazyDecode() {
+        return this.lazyDecode;
+    }
+
+    public void setLazyDecode(boolean lazyDecode) {
+        this.lazyDecode = lazyDecode;
+    }
+
+    public boolean isAllocationMetricsEnabled() {
+        return this.allocationMetricsEnabled;
+    }
+
+    /**
+     * record the bytes allocated by the decoding thread, only supported on the HotSpot based jvm
+     *
+     * @param allocationMetricsEnabled enable or disable
+     */
+    public void setAllocationMetricsEnabled(boolean allocationMetricsEnabled) {
+        this.allocationMetricsEnabled = allocationMetricsEnabled;
+    }
+
+    public long getDecodedCount() {
+        return this.decodedCount.get();
+    }
+
+    public long getDecodedBytes() {
+        return this.decodedBytes.get();
+    }
+
+    public long getDecodeTimeNanos() {
+        return this.decodeTimeNanos.get();
+    }
+
+    public long getAllocatedBytes() {
+        return this.allocatedBytes.get();
+    }
+
+    public void resetMetrics() {
+        this.decodedCount.set(0);
+        this.decodedBytes.set(0);
+        this.decodeTimeNanos.set(0);
+        this.allocatedBytes.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonResponseDecoder{"
+                + "lazyDecode="
+                + this.lazyDecode
+                + ", decodedCount="
+                + this.decodedCount
+                + ", decodedBytes="
+                + this.decodedBytes
+                + ", decodeTimeNanos="
+                + this.decodeTimeNanos
+                + ", allocatedBytes="
+                + this.allocatedBytes
+                + '}';
+    }
+}
@@ -17,11 +17,15 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /** Factory for managing our ObjectMapper instances. */
 public class ObjectMapperFactory {
 
     private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+    private static final ConcurrentMap<Class<?>, ObjectReader> OBJECT_READERS =
+            new ConcurrentHashMap<>();
 
     static {
         configureObjectMapper();
@@ -37,6 +41,22 @@ public class ObjectMapperFactory {
         return DEFAULT_OBJECT_MAPPER.reader();
     }
 
+    /**
+     * get the ObjectReader bound to the given type, the reader is immutable and cached per type,
+     * so the deserializer lookup is done only once for each type
+     *
+     * @param valueType the type to decode
+     * @return the cached ObjectReader
+     */
+    public static ObjectReader getObjectReader(Class<?> valueType) {
+        ObjectReader objectReader = OBJECT_READERS.get(valueType);
+        if (objectReader == null) {
+            objectReader =
+                    OBJECT_READERS.computeIfAbsent(valueType, DEFAULT_OBJECT_MAPPER::readerFor);
+        }
+        return objectReader;
+    }
+
     private static void configureObjectMapper() {
         ObjectMapperFactory.DEFAULT_OBJECT_MAPPER.configure(
                 JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
@@ -81,15 +81,26 @@ public class CryptoSuite {
      * @param cryptoTypeConfig the crypto type config number
      */
     public CryptoSuite(int cryptoTypeConfig) {
+        this(cryptoTypeConfig, (Hash) null);
+    }
+
+    /**
+     * Init the common crypto implementation according to the crypto type, with the given hash
+     * implementation, e.g. JavaKeccak256/JavaSM3Hash to calculate hash inside the JVM
+     *
+     * @param cryptoTypeConfig the crypto type config number
+     * @param hashImpl the hash implementation matches the crypto type, use the native one if null
+     */
+    public CryptoSuite(int cryptoTypeConfig, Hash hashImpl) {
         this.cryptoTypeConfig = cryptoTypeConfig;
         if (this.cryptoTypeConfig == CryptoType.ECDSA_TYPE) {
             this.signatureImpl = new ECDSASignature();
-            this.hashImpl = new Keccak256();
+            this.hashImpl = hashImpl != null ? hashImpl : new Keccak256();
             this.keyPairFactory = new ECDSAKeyPair();
 
         } else if (this.cryptoTypeConfig == CryptoType.SM_TYPE) {
             this.signatureImpl = new SM2Signature();
-            this.hashImpl = new SM3Hash();
+            this.hashImpl = hashImpl != null ? hashImpl : new SM3Hash();
             this.keyPairFactory = new SM2KeyPair();
 
         } else {
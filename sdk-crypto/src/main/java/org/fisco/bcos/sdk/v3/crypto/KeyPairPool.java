@@ -0,0 +1,275 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.fisco.bcos.sdk.v3.crypto.exceptions.KeyPairException;
+import org.fisco.bcos.sdk.v3.crypto.exceptions.LoadKeyStoreException;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.keystore.KeyTool;
+import org.fisco.bcos.sdk.v3.crypto.keystore.P12KeyStore;
+import org.fisco.bcos.sdk.v3.crypto.keystore.PEMKeyStore;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of the key pairs of many accounts, each account is pinned to a signing lane.
+ *
+ * <p>A lane is a single thread, so the tasks of an account run one by one in the submitted order,
+ * e.g. the transactions of an account are signed in the order of the nonce, while the accounts of
+ * the different lanes are signed in parallel. The accounts are assigned to the lanes round-robin.
+ */
+public class KeyPairPool {
+    private static final Logger logger = LoggerFactory.getLogger(KeyPairPool.class);
+
+    private final CryptoSuite cryptoSuite;
+    private final ThreadPoolExecutor[] lanes;
+    // address => the pooled key pair
+    private final Map<String, PooledKeyPair> keyPairs = new ConcurrentHashMap<>();
+    private final List<CryptoKeyPair> keyPairList = new ArrayList<>();
+
+    public KeyPairPool(CryptoSuite cryptoSuite) {
+        this(cryptoSuite, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param cryptoSuite the crypto suite to create the key pairs and sign
+     * @param laneCount the count of the signing lanes, usually the count of the cores
+     */
+    public KeyPairPool(CryptoSuite cryptoSuite, int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        }
+        this.cryptoSuite = cryptoSuite;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = createLane(i);
+        }
+    }
+
+    private static ThreadPoolExecutor createLane(int index) {
+        ThreadPoolExecutor lane =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "keypair-pool-lane-" + index);
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        lane.allowCoreThreadTimeOut(true);
+        return lane;
+    }
+
+    private static String normalizeAddress(String address) {
+        return Hex.addPrefix(address.toLowerCase());
+    }
+
+    /**
+     * add the key pair to the pool, the key pair of an added account is ignored
+     *
+     * @param keyPair the key pair
+     * @return the key pair of the account in the pool
+     */
+    public CryptoKeyPair addKeyPair(CryptoKeyPair keyPair) {
+        String address = normalizeAddress(keyPair.getAddress());
+        synchronized (this.keyPairList) {
+            PooledKeyPair pooledKeyPair = this.keyPairs.get(address);
+            if (pooledKeyPair != null) {
+                return pooledKeyPair.keyPair;
+            }
+            int lane = this.keyPairList.size() % this.lanes.length;
+            this.keyPairs.put(address, new PooledKeyPair(keyPair, lane));
+            this.keyPairList.add(keyPair);
+            return keyPair;
+        }
+    }
+
+    /**
+     * generate the random accounts
+     *
+     * @param count the count of the accounts
+     * @return the generated key pairs
+     */
+    public List<CryptoKeyPair> generateKeyPairs(int count) {
+        List<CryptoKeyPair> generated = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CryptoKeyPair keyPair = this.cryptoSuite.getKeyPairFactory().generateKeyPair();
+            keyPair.setConfig(this.cryptoSuite.getConfig());
+            generated.add(this.addKeyPair(keyPair));
+        }
+        return generated;
+    }
+
+    /**
+     * load the accounts of the p12 and pem files in the directory, the files failed to load are
+     * skipped, e.g. the public key files
+     *
+     * @param accountDir the directory of the account files
+     * @param password password of the p12 files
+     * @return the count of the loaded accounts
+     */
+    public int loadAccounts(String accountDir, String password) {
+        File[] files = new File(accountDir).listFiles();
+        if (files == null) {
+            throw new LoadKeyStoreException("the account directory " + accountDir + " not exists");
+        }
+        Arrays.sort(files);
+        int loaded = 0;
+        for (File file : files) {
+            String fileName = file.getName();
+            KeyTool keyTool;
+            try {
+                if (fileName.endsWith(CryptoKeyPair.P12_FILE_POSTFIX)) {
+                    keyTool = new P12KeyStore(file.getPath(), password);
+                } else if (fileName.endsWith(CryptoKeyPair.PEM_FILE_POSTFIX)) {
+                    keyTool = new PEMKeyStore(file.getPath());
+                } else {
+                    continue;
+                }
+                CryptoKeyPair keyPair =
+                        this.cryptoSuite.getKeyPairFactory().createKeyPair(keyTool.getKeyPair());
+                keyPair.setConfig(this.cryptoSuite.getConfig());
+                this.addKeyPair(keyPair);
+                loaded++;
+            } catch (LoadKeyStoreException | KeyPairException e) {
+                logger.warn("skip the account file {}, error: {}", file, e.getMessage());
+            }
+        }
+        logger.info("load {} accounts from {}, pool size: {}", loaded, accountDir, this.size());
+        return loaded;
+    }
+
+    /**
+     * @param address the address of the account
+     * @return the key pair, null if the account is not in the pool
+     */
+    public CryptoKeyPair getKeyPair(String address) {
+        PooledKeyPair pooledKeyPair = this.keyPairs.get(normalizeAddress(address));
+        return pooledKeyPair != null ? pooledKeyPair.keyPair : null;
+    }
+
+    /** @return the key pairs in the order added */
+    public List<CryptoKeyPair> getKeyPairs() {
+        synchronized (this.keyPairList) {
+            return new ArrayList<>(this.keyPairList);
+        }
+    }
+
+    public int size() {
+        return this.keyPairs.size();
+    }
+
+    public int getLaneCount() {
+        return this.lanes.length;
+    }
+
+    /**
+     * @param address the address of the account
+     * @return the index of the lane the account pinned to
+     */
+    public int getLane(String address) {
+        return this.getPooledKeyPair(address).lane;
+    }
+
+    /** @return the count of the tasks waiting in each lane */
+    public int[] getPendingTasks() {
+        int[] pendingTasks = new int[this.lanes.length];
+        for (int i = 0; i < this.lanes.length; i++) {
+            pendingTasks[i] = this.lanes[i].getQueue().size();
+        }
+        return pendingTasks;
+    }
+
+    private PooledKeyPair getPooledKeyPair(String address) {
+        PooledKeyPair pooledKeyPair = this.keyPairs.get(normalizeAddress(address));
+        if (pooledKeyPair == null) {
+            throw new KeyPairException("the account " + address + " is not in the pool");
+        }
+        return pooledKeyPair;
+    }
+
+    /**
+     * run the task with the key pair of the account on its lane, the tasks of an account run in
+     * the submitted order
+     *
+     * @param address the address of the account
+     * @param task the task, e.g. build and sign a transaction
+     * @param <T> the type of the result
+     * @return the future of the result
+     */
+    public <T> CompletableFuture<T> submit(String address, Function<CryptoKeyPair, T> task) {
+        PooledKeyPair pooledKeyPair = this.getPooledKeyPair(address);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.lanes[pooledKeyPair.lane].execute(
+                    () -> {
+                        try {
+                            future.complete(task.apply(pooledKeyPair.keyPair));
+                        } catch (Exception e) {
+                            future.completeExceptionally(e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * sign the hash by the account on its lane
+     *
+     * @param address the address of the account
+     * @param hash the hash to sign
+     * @return the future of the signature
+     */
+    public CompletableFuture<SignatureResult> sign(String address, byte[] hash) {
+        return this.submit(
+                address, keyPair -> this.cryptoSuite.getSignatureImpl().sign(hash, keyPair));
+    }
+
+    /** stop the lanes, the submitted tasks still run */
+    public void stop() {
+        for (ThreadPoolExecutor lane : this.lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private static class PooledKeyPair {
+        private final CryptoKeyPair keyPair;
+        private final int lane;
+
+        private PooledKeyPair(CryptoKeyPair keyPair, int lane) {
+            this.keyPair = Objects.requireNonNull(keyPair);
+            this.lane = lane;
+        }
+    }
+}
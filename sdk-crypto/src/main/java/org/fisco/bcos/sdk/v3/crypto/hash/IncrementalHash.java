@@ -0,0 +1,102 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto.hash;
+
+import java.nio.ByteBuffer;
+import org.bouncycastle.crypto.Digest;
+
+/**
+ * Stateful hash calculation which accepts the input in several parts, it is not thread safe and
+ * should be used by one thread at a time.
+ */
+public class IncrementalHash {
+    private static final int BUFFER_SIZE = 256;
+
+    private final Digest digest;
+    private byte[] buffer;
+
+    public IncrementalHash(Digest digest) {
+        this.digest = digest;
+    }
+
+    public IncrementalHash update(byte input) {
+        this.digest.update(input);
+        return this;
+    }
+
+    public IncrementalHash update(byte[] input) {
+        return this.update(input, 0, input.length);
+    }
+
+    public IncrementalHash update(byte[] input, int offset, int length) {
+        this.digest.update(input, offset, length);
+        return this;
+    }
+
+    /**
+     * Update with the remaining bytes of the buffer, the position of the buffer is moved to its
+     * limit
+     *
+     * @param input the input buffer
+     * @return this
+     */
+    public IncrementalHash update(ByteBuffer input) {
+        if (input.hasArray()) {
+            int length = input.remaining();
+            this.digest.update(input.array(), input.arrayOffset() + input.position(), length);
+            input.position(input.position() + length);
+            return this;
+        }
+        // direct buffer: copy through a small reusable buffer
+        if (this.buffer == null) {
+            this.buffer = new byte[BUFFER_SIZE];
+        }
+        while (input.hasRemaining()) {
+            int length = Math.min(input.remaining(), this.buffer.length);
+            input.get(this.buffer, 0, length);
+            this.digest.update(this.buffer, 0, length);
+        }
+        return this;
+    }
+
+    /**
+     * Finish the calculation and reset the state
+     *
+     * @return the hash of all the input since the last reset
+     */
+    public byte[] digest() {
+        byte[] result = new byte[this.digest.getDigestSize()];
+        this.digest.doFinal(result, 0);
+        return result;
+    }
+
+    /**
+     * Finish the calculation into the given array and reset the state
+     *
+     * @param output the output array
+     * @param offset the offset of the output array to write the hash
+     * @return the length of the hash
+     */
+    public int digest(byte[] output, int offset) {
+        return this.digest.doFinal(output, offset);
+    }
+
+    public void reset() {
+        this.digest.reset();
+    }
+
+    public int getDigestSize() {
+        return this.digest.getDigestSize();
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto.hash;
+
+import java.nio.ByteBuffer;
+import org.bouncycastle.crypto.Digest;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Hash calculated inside the JVM, which works on the bytes directly without the hex string
+ * conversions of the native implementations. The digest state is reused per thread.
+ */
+public abstract class JavaDigestHash implements Hash {
+    private final ThreadLocal<IncrementalHash> hasher =
+            ThreadLocal.withInitial(() -> new IncrementalHash(this.createDigest()));
+
+    /**
+     * Create a new digest instance of the hash algorithm
+     *
+     * @return the digest
+     */
+    protected abstract Digest createDigest();
+
+    /**
+     * Create a stateful hasher accepting the input in several parts
+     *
+     * @return the incremental hash, owned by the caller
+     */
+    public IncrementalHash newIncrementalHash() {
+        return new IncrementalHash(this.createDigest());
+    }
+
+    @Override
+    public String hash(final String inputData) {
+        return Hex.toHexString(this.hash(inputData.getBytes()));
+    }
+
+    @Override
+    public String hashBytes(byte[] inputBytes) {
+        return Hex.toHexString(this.hash(inputBytes));
+    }
+
+    @Override
+    public byte[] hash(final byte[] inputBytes) {
+        return this.hash(inputBytes, 0, inputBytes.length);
+    }
+
+    /**
+     * Generate the hash of a slice of the array
+     *
+     * @param inputBytes the input array
+     * @param offset the start offset of the slice
+     * @param length the length of the slice
+     * @return the hash
+     */
+    public byte[] hash(final byte[] inputBytes, int offset, int length) {
+        IncrementalHash incrementalHash = this.hasher.get();
+        incrementalHash.reset();
+        return incrementalHash.update(inputBytes, offset, length).digest();
+    }
+
+    /**
+     * Generate the hash of the remaining bytes of the buffer, the position of the buffer is moved
+     * to its limit
+     *
+     * @param input the input buffer
+     * @return the hash
+     */
+    public byte[] hash(final ByteBuffer input) {
+        IncrementalHash incrementalHash = this.hasher.get();
+        incrementalHash.reset();
+        return incrementalHash.update(input).digest();
+    }
+}
@@ -13,8 +13,14 @@
  */
 package org.fisco.bcos.sdk.v3.crypto;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
 import org.fisco.bcos.sdk.v3.crypto.exceptions.UnsupportedCryptoTypeException;
 import org.fisco.bcos.sdk.v3.crypto.hash.Hash;
+import org.fisco.bcos.sdk.v3.crypto.hash.IncrementalHash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaDigestHash;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaKeccak256;
+import org.fisco.bcos.sdk.v3.crypto.hash.JavaSM3Hash;
 import org.fisco.bcos.sdk.v3.crypto.hash.Keccak256;
 import org.fisco.bcos.sdk.v3.crypto.hash.SM3Hash;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
@@ -84,6 +90,66 @@ public class HashTest {
         testSM3(sm3Hasher);
     }
 
+    @Test
+    public void testJavaKeccak256() {
+        JavaKeccak256 hasher = new JavaKeccak256();
+        testKeccak256(hasher);
+        checkJavaHashWithNative(hasher, new Keccak256());
+    }
+
+    @Test
+    public void testJavaSM3() {
+        JavaSM3Hash hasher = new JavaSM3Hash();
+        testSM3(hasher);
+        checkJavaHashWithNative(hasher, new SM3Hash());
+    }
+
+    @Test
+    public void testCryptoSuiteWithJavaHash() {
+        CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.SM_TYPE, new JavaSM3Hash());
+        Assert.assertTrue(cryptoSuite.getHashImpl() instanceof JavaSM3Hash);
+        checkHashWithCryptoSuite(
+                cryptoSuite,
+                "abcde",
+                "afe4ccac5ab7d52bcae36373676215368baf52d3905e1fecbe369cc120e97628");
+        cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE, new JavaKeccak256());
+        checkHashWithCryptoSuite(
+                cryptoSuite,
+                "abcde",
+                "6377c7e66081cb65e473c1b95db5195a27d04a7108b468890224bedbe1a8a6eb");
+    }
+
+    private void checkJavaHashWithNative(JavaDigestHash javaHasher, Hash nativeHasher) {
+        Random random = new Random(1024);
+        for (int size : new int[] {1, 31, 32, 135, 136, 137, 1000, 10000}) {
+            byte[] input = new byte[size];
+            random.nextBytes(input);
+            byte[] expected = nativeHasher.hash(input);
+            Assert.assertArrayEquals(expected, javaHasher.hash(input));
+
+            // slice of array
+            byte[] padded = new byte[size + 10];
+            System.arraycopy(input, 0, padded, 5, size);
+            Assert.assertArrayEquals(expected, javaHasher.hash(padded, 5, size));
+
+            // heap and direct buffer
+            Assert.assertArrayEquals(expected, javaHasher.hash(ByteBuffer.wrap(input)));
+            ByteBuffer directBuffer = ByteBuffer.allocateDirect(size);
+            directBuffer.put(input);
+            directBuffer.flip();
+            Assert.assertArrayEquals(expected, javaHasher.hash(directBuffer));
+            Assert.assertFalse(directBuffer.hasRemaining());
+
+            // incremental
+            IncrementalHash incrementalHash = javaHasher.newIncrementalHash();
+            int half = size / 2;
+            incrementalHash.update(input, 0, half).update(input, half, size - half);
+            Assert.assertArrayEquals(expected, incrementalHash.digest());
+            // the state is reset after digest
+            Assert.assertArrayEquals(expected, incrementalHash.update(input).digest());
+        }
+    }
+
     private void testKeccak256(Hash hasher) {
 
         // check keccak256 for "abcde"
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.crypto;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.crypto.exceptions.KeyPairException;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.keystore.P12KeyStore;
+import org.fisco.bcos.sdk.v3.crypto.keystore.PEMKeyStore;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyPairPoolTest {
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+
+    @Test
+    public void testSignInLanes() throws Exception {
+        KeyPairPool keyPairPool = new KeyPairPool(cryptoSuite, 2);
+        List<CryptoKeyPair> keyPairs = keyPairPool.generateKeyPairs(5);
+        Assert.assertEquals(5, keyPairPool.size());
+        // added again
+        Assert.assertSame(keyPairs.get(0), keyPairPool.addKeyPair(keyPairs.get(0)));
+        Assert.assertEquals(5, keyPairPool.getKeyPairs().size());
+        for (int i = 0; i < keyPairs.size(); i++) {
+            String address = keyPairs.get(i).getAddress();
+            Assert.assertEquals(i % 2, keyPairPool.getLane(address));
+            Assert.assertSame(keyPairs.get(i), keyPairPool.getKeyPair(address.toUpperCase()));
+        }
+
+        byte[] hash = cryptoSuite.hash("abcde".getBytes(StandardCharsets.UTF_8));
+        List<CompletableFuture<SignatureResult>> signatures = new ArrayList<>();
+        for (CryptoKeyPair keyPair : keyPairs) {
+            signatures.add(keyPairPool.sign(keyPair.getAddress(), hash));
+        }
+        for (int i = 0; i < keyPairs.size(); i++) {
+            SignatureResult signatureResult = signatures.get(i).get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(
+                    cryptoSuite.verify(
+                            keyPairs.get(i).getHexPublicKey(),
+                            Hex.toHexString(hash),
+                            signatureResult.convertToString()));
+        }
+
+        try {
+            keyPairPool.sign("0x0000000000000000000000000000000000000000", hash);
+            Assert.fail();
+        } catch (KeyPairException e) {
+            // the account is not in the pool
+        }
+        keyPairPool.stop();
+    }
+
+    @Test
+    public void testTaskOrderOfAccount() throws Exception {
+        KeyPairPool keyPairPool = new KeyPairPool(cryptoSuite, 4);
+        String address = keyPairPool.generateKeyPairs(1).get(0).getAddress();
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int nonce = i;
+            futures.add(
+                    keyPairPool.submit(
+                            address,
+                            keyPair -> {
+                                executed.add(nonce);
+                                return nonce;
+                            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(Integer.valueOf(i), executed.get(i));
+        }
+
+        CompletableFuture<Object> failed =
+                keyPairPool.submit(
+                        address,
+                        keyPair -> {
+                            throw new IllegalStateException("failed");
+                        });
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        keyPairPool.stop();
+    }
+
+    @Test
+    public void testLoadAccounts() throws Exception {
+        File accountDir = Files.createTempDirectory("keypair-pool").toFile();
+        CryptoKeyPair pemKeyPair = cryptoSuite.generateRandomKeyPair();
+        PEMKeyStore.storeKeyPairWithPemFormat(
+                pemKeyPair.getHexPrivateKey(),
+                new File(accountDir, pemKeyPair.getAddress() + ".pem").getPath(),
+                CryptoKeyPair.ECDSA_CURVE_NAME);
+        CryptoKeyPair p12KeyPair = cryptoSuite.generateRandomKeyPair();
+        P12KeyStore.storeKeyPairWithP12Format(
+                p12KeyPair.getHexPrivateKey(),
+                "123456",
+                new File(accountDir, p12KeyPair.getAddress() + ".p12").getPath(),
+                CryptoKeyPair.ECDSA_CURVE_NAME,
+                "SHA256WITHECDSA");
+        // skipped
+        Files.write(
+                new File(accountDir, "invalid.pem").toPath(),
+                "invalid".getBytes(StandardCharsets.UTF_8));
+        Files.write(
+                new File(accountDir, "readme.txt").toPath(),
+                "readme".getBytes(StandardCharsets.UTF_8));
+
+        KeyPairPool keyPairPool = new KeyPairPool(cryptoSuite, 2);
+        Assert.assertEquals(2, keyPairPool.loadAccounts(accountDir.getPath(), "123456"));
+        Assert.assertEquals(
+                pemKeyPair.getHexPrivateKey(),
+                keyPairPool.getKeyPair(pemKeyPair.getAddress()).getHexPrivateKey());
+        Assert.assertEquals(
+                p12KeyPair.getHexPrivateKey(),
+                keyPairPool.getKeyPair(p12KeyPair.getAddress()).getHexPrivateKey());
+        keyPairPool.stop();
+    }
+}
@@ -0,0 +1,756 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
+import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
+import org.fisco.bcos.sdk.v3.utils.exceptions.DecoderException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only local archive of the blocks and their receipts, so that the replays and the analytics
+ * jobs read the history at the disk speed instead of fetching it from the node again.
+ *
+ * <p>The blocks are appended in the order of the block number without gaps, e.g. delivered by
+ * {@link BlockFetcher}, into the memory-mapped segment files of the directory. A record keeps the
+ * hashes of the transactions, the block and the receipts, the latter two are deflated json, and a
+ * crc of them. The block number to offset and the transaction hash to block number indexes are in
+ * memory, rebuilt by scanning the segments when opened. A broken tail, e.g. left by a crash while
+ * appending, is dropped with the records after it.
+ *
+ * <p>The transaction index keeps a 64-bit key folded from the hash bytes and the block number in
+ * two primitive arrays, at most half full, so it takes 32 to 64 bytes of the heap for each archived
+ * transaction, about 64MB for a million transactions at most. The hash is checked against the
+ * archived receipts, so the transactions of the same key are told apart.
+ *
+ * <p>The archive is used by a single process, the appends are serialized and the reads run
+ * concurrently.
+ */
+public class BlockArchive implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BlockArchive.class);
+
+    public static final int DEFAULT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "blocks-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // record length, block number and crc of the record body
+    private static final int RECORD_HEAD_LENGTH = 16;
+    private static final int NO_RECEIPTS = -1;
+
+    private static final ObjectReader blockReader =
+            ObjectMapperFactory.getObjectReader(BcosBlock.Block.class)
+                    .withAttribute(JsonResponseDecoder.LAZY_DECODE_ATTRIBUTE, Boolean.TRUE);
+    private static final ObjectReader receiptsReader =
+            ObjectMapperFactory.getObjectMapper()
+                    .readerFor(new TypeReference<List<TransactionReceipt>>() {});
+
+    private final File directory;
+    private final int segmentSize;
+
+    // guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    // transaction hash => block number
+    private final TransactionIndex transactionIndex = new TransactionIndex();
+    private long firstBlockNumber = -1;
+    private long lastBlockNumber = -1;
+    private boolean closed = false;
+
+    private final AtomicLong appendedBlockCount = new AtomicLong();
+    private final AtomicLong appendedBytes = new AtomicLong();
+    private final AtomicLong readBlockCount = new AtomicLong();
+    private final AtomicLong readReceiptCount = new AtomicLong();
+
+    public BlockArchive(String directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * open the archive in the directory, created if not exists
+     *
+     * @param directory the directory of the segment files
+     * @param segmentSize the size of the new segment files, a record must fit in a segment
+     * @throws IOException if the segments can not be opened
+     */
+    public BlockArchive(String directory, int segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEAD_LENGTH) {
+            throw new IllegalArgumentException("segmentSize is too small: " + segmentSize);
+        }
+        this.directory = new File(directory);
+        this.segmentSize = segmentSize;
+        Files.createDirectories(this.directory.toPath());
+        this.load();
+    }
+
+    private static long parseFirstBlockNumber(String fileName) {
+        try {
+            return Long.parseLong(
+                    fileName.substring(
+                            SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String normalizeHash(String hash) {
+        return Hex.addPrefix(hash.toLowerCase());
+    }
+
+    private void load() throws IOException {
+        File[] files =
+                this.directory.listFiles(
+                        (dir, name) ->
+                                name.startsWith(SEGMENT_PREFIX)
+                                        && name.endsWith(SEGMENT_SUFFIX)
+                                        && parseFirstBlockNumber(name) >= 0);
+        if (files == null) {
+            throw new IOException("list the segments of " + this.directory + " failed");
+        }
+        Arrays.sort(files, Comparator.comparingLong(file -> parseFirstBlockNumber(file.getName())));
+        boolean broken = false;
+        for (File file : files) {
+            if (broken) {
+                logger.warn("drop the segment after the broken record, segment: {}", file);
+                Files.delete(file.toPath());
+                continue;
+            }
+            long segmentFirstBlockNumber = parseFirstBlockNumber(file.getName());
+            if (this.lastBlockNumber >= 0 && segmentFirstBlockNumber != this.lastBlockNumber + 1) {
+                logger.warn(
+                        "drop the segment not following block {}, segment: {}",
+                        this.lastBlockNumber,
+                        file);
+                broken = true;
+                Files.delete(file.toPath());
+                continue;
+            }
+            int size = (int) Math.min(Math.max(file.length(), this.segmentSize), Integer.MAX_VALUE);
+            Segment segment = new Segment(file, segmentFirstBlockNumber, size);
+            broken = !this.scan(segment);
+            if (segment.count == 0) {
+                segment.close();
+                Files.delete(file.toPath());
+                continue;
+            }
+            this.segments.add(segment);
+        }
+        logger.info(
+                "open block archive {}, blocks: [{}, {}], segments: {}",
+                this.directory,
+                this.firstBlockNumber,
+                this.lastBlockNumber,
+                this.segments.size());
+    }
+
+    // index the records of the segment, return false if a broken record is found
+    private boolean scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int position = 0;
+        boolean intact = true;
+        while (position + RECORD_HEAD_LENGTH <= buffer.capacity()) {
+            int recordLength = buffer.getInt(position);
+            if (recordLength == 0) {
+                break;
+            }
+            long blockNumber = buffer.getLong(position + 4);
+            int crc = buffer.getInt(position + 12);
+            int bodyPosition = position + RECORD_HEAD_LENGTH;
+            if (recordLength < 0
+                    || recordLength > buffer.capacity() - bodyPosition
+                    || blockNumber != segment.firstBlockNumber + segment.count) {
+                intact = false;
+                break;
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.position(bodyPosition);
+            body.limit(bodyPosition + recordLength);
+            CRC32 crc32 = new CRC32();
+            crc32.update(body);
+            if ((int) crc32.getValue() != crc) {
+                intact = false;
+                break;
+            }
+            body.position(bodyPosition);
+            int hashCount = body.getInt();
+            for (int i = 0; i < hashCount; i++) {
+                byte[] hash = new byte[body.get() & 0xff];
+                body.get(hash);
+                this.transactionIndex.put(hash, blockNumber);
+            }
+            segment.addOffset(position);
+            if (this.firstBlockNumber < 0) {
+                this.firstBlockNumber = blockNumber;
+            }
+            this.lastBlockNumber = blockNumber;
+            position = bodyPosition + recordLength;
+        }
+        if (!intact) {
+            logger.warn(
+                    "drop the broken record and the records after it, segment: {}, position: {}",
+                    segment.file,
+                    position);
+            // the stale bytes must not be taken as the records following the new appended ones
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        segment.writePosition = position;
+        return intact;
+    }
+
+    /**
+     * append the fetched block and its receipts
+     *
+     * @param fetchedBlock the block delivered by BlockFetcher
+     * @return false if the block is already archived
+     */
+    public boolean append(BlockFetcher.FetchedBlock fetchedBlock) {
+        return this.append(fetchedBlock.getBlock(), fetchedBlock.getReceipts());
+    }
+
+    /**
+     * append the block and its receipts, the block number must follow the last archived block
+     *
+     * @param block the block
+     * @param receipts the receipts in the order of the transactions, null if not fetched
+     * @return false if the block is already archived
+     */
+    public synchronized boolean append(BcosBlock.Block block, List<TransactionReceipt> receipts) {
+        if (this.closed) {
+            throw new IllegalStateException("the block archive is closed");
+        }
+        long blockNumber = block.getNumber();
+        if (this.lastBlockNumber >= 0) {
+            if (blockNumber >= this.firstBlockNumber && blockNumber <= this.lastBlockNumber) {
+                return false;
+            }
+            if (blockNumber != this.lastBlockNumber + 1) {
+                throw new IllegalArgumentException(
+                        "block "
+                                + blockNumber
+                                + " does not follow the last archived block "
+                                + this.lastBlockNumber);
+            }
+        }
+        List<byte[]> transactionHashes = new ArrayList<>();
+        if (receipts != null) {
+            for (TransactionReceipt receipt : receipts) {
+                transactionHashes.add(Hex.decode(receipt.getTransactionHash()));
+            }
+        }
+        byte[] body = encodeBody(block, receipts, transactionHashes);
+        if (body.length > this.segmentSize - RECORD_HEAD_LENGTH) {
+            throw new IllegalArgumentException(
+                    "block "
+                            + blockNumber
+                            + " of "
+                            + body.length
+                            + " bytes does not fit in the segment of "
+                            + this.segmentSize
+                            + " bytes");
+        }
+        Segment segment =
+                this.segments.isEmpty() ? null : this.segments.get(this.segments.size() - 1);
+        if (segment == null
+                || segment.buffer.capacity() - segment.writePosition
+                        < RECORD_HEAD_LENGTH + body.length) {
+            segment = this.createSegment(blockNumber);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(body);
+        ByteBuffer buffer = segment.buffer.duplicate();
+        int position = segment.writePosition;
+        buffer.position(position + 4);
+        buffer.putLong(blockNumber);
+        buffer.putInt((int) crc32.getValue());
+        buffer.put(body);
+        // written at last, so a partially written record is taken as the end of the segment
+        buffer.putInt(position, body.length);
+        segment.writePosition = buffer.position();
+        segment.addOffset(position);
+
+        for (byte[] hash : transactionHashes) {
+            this.transactionIndex.put(hash, blockNumber);
+        }
+        if (this.firstBlockNumber < 0) {
+            this.firstBlockNumber = blockNumber;
+        }
+        this.lastBlockNumber = blockNumber;
+        this.appendedBlockCount.incrementAndGet();
+        this.appendedBytes.addAndGet(RECORD_HEAD_LENGTH + body.length);
+        return true;
+    }
+
+    private Segment createSegment(long firstBlockNumber) {
+        File file =
+                new File(
+                        this.directory,
+                        SEGMENT_PREFIX + String.format("%020d", firstBlockNumber) + SEGMENT_SUFFIX);
+        try {
+            Segment segment = new Segment(file, firstBlockNumber, this.segmentSize);
+            this.segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("create the segment " + file + " failed", e);
+        }
+    }
+
+    private static byte[] encodeBody(
+            BcosBlock.Block block, List<TransactionReceipt> receipts, List<byte[]> hashes) {
+        byte[] encodedBlock;
+        byte[] encodedReceipts;
+        try {
+            encodedBlock = deflate(ObjectMapperFactory.getObjectMapper().writeValueAsBytes(block));
+            encodedReceipts =
+                    receipts == null
+                            ? null
+                            : deflate(
+                                    ObjectMapperFactory.getObjectMapper()
+                                            .writeValueAsBytes(receipts));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(
+                    "encode block " + block.getNumber() + " failed, error: " + e.getMessage(), e);
+        }
+        int length = 4 + 4 + encodedBlock.length + 4;
+        for (byte[] hash : hashes) {
+            length += 1 + hash.length;
+        }
+        if (encodedReceipts != null) {
+            length += encodedReceipts.length;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.putInt(hashes.size());
+        for (byte[] hash : hashes) {
+            body.put((byte) hash.length);
+            body.put(hash);
+        }
+        body.putInt(encodedBlock.length);
+        body.put(encodedBlock);
+        if (encodedReceipts == null) {
+            body.putInt(NO_RECEIPTS);
+        } else {
+            body.putInt(encodedReceipts.length);
+            body.put(encodedReceipts);
+        }
+        return body.array();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static InputStream inflate(ByteBuffer body, int length) {
+        byte[] data = new byte[length];
+        body.get(data);
+        return new InflaterInputStream(new ByteArrayInputStream(data));
+    }
+
+    // the body of the record positioned after the transaction hashes, null if not archived
+    private synchronized ByteBuffer locate(long blockNumber) {
+        if (this.closed
+                || this.firstBlockNumber < 0
+                || blockNumber < this.firstBlockNumber
+                || blockNumber > this.lastBlockNumber) {
+            return null;
+        }
+        int low = 0;
+        int high = this.segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.segments.get(middle).firstBlockNumber <= blockNumber) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        Segment segment = this.segments.get(low);
+        int position = segment.offsets[(int) (blockNumber - segment.firstBlockNumber)];
+        ByteBuffer body = segment.buffer.duplicate();
+        body.position(position + RECORD_HEAD_LENGTH);
+        int hashCount = body.getInt();
+        for (int i = 0; i < hashCount; i++) {
+            int hashLength = body.get() & 0xff;
+            body.position(body.position() + hashLength);
+        }
+        return body;
+    }
+
+    private BcosBlock.Block readBlock(ByteBuffer body) {
+        try (InputStream in = inflate(body, body.getInt())) {
+            return blockReader.readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("read the archived block failed", e);
+        }
+    }
+
+    private List<TransactionReceipt> readReceipts(ByteBuffer body) {
+        int receiptsLength = body.getInt();
+        if (receiptsLength == NO_RECEIPTS) {
+            return null;
+        }
+        try (InputStream in = inflate(body, receiptsLength)) {
+            return receiptsReader.readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("read the archived receipts failed", e);
+        }
+    }
+
+    /**
+     * get the archived block, as {@link Client#getBlockByNumber(BigInteger, boolean, boolean)}
+     *
+     * @param blockNumber the block number
+     * @param onlyHeader if true, the transactions are not returned
+     * @param onlyTxHash if true, the hashes of the transactions are returned instead of the
+     *     transactions, the block archived with the hashes only is returned as is if false
+     * @return the block, null if not archived
+     */
+    public BcosBlock getBlockByNumber(
+            BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        ByteBuffer body = this.locate(blockNumber.longValueExact());
+        if (body == null) {
+            return null;
+        }
+        BcosBlock.Block block = this.readBlock(body);
+        if (onlyHeader) {
+            block.setTransactions(Collections.emptyList());
+        } else if (onlyTxHash && block.getTransactions() != null) {
+            List<BcosBlock.TransactionResult> transactionHashes =
+                    new ArrayList<>(block.getTransactions().size());
+            for (BcosBlock.TransactionResult transaction : block.getTransactions()) {
+                transactionHashes.add(
+                        transaction instanceof BcosBlock.TransactionHash
+                                ? transaction
+                                : new BcosBlock.TransactionHash(
+                                        ((JsonTransactionResponse) transaction.get()).getHash()));
+            }
+            block.setTransactions(transactionHashes);
+        }
+        this.readBlockCount.incrementAndGet();
+        BcosBlock bcosBlock = new BcosBlock();
+        bcosBlock.setResult(block);
+        return bcosBlock;
+    }
+
+    /**
+     * get the archived receipts of the block
+     *
+     * @param blockNumber the block number
+     * @return the receipts in the order of the transactions, null if not archived
+     */
+    public List<TransactionReceipt> getReceipts(long blockNumber) {
+        ByteBuffer body = this.locate(blockNumber);
+        if (body == null) {
+            return null;
+        }
+        body.position(body.position() + 4 + body.getInt(body.position()));
+        List<TransactionReceipt> receipts = this.readReceipts(body);
+        if (receipts != null) {
+            this.readReceiptCount.addAndGet(receipts.size());
+        }
+        return receipts;
+    }
+
+    /**
+     * get the archived receipt, as {@link Client#getTransactionReceipt(String, Boolean)} without
+     * the proof
+     *
+     * @param transactionHash the transaction hash
+     * @return the receipt, null if not archived
+     */
+    public BcosTransactionReceipt getTransactionReceipt(String transactionHash) {
+        String normalizedHash = normalizeHash(transactionHash);
+        long[] blockNumbers;
+        try {
+            byte[] hash = Hex.decode(normalizedHash);
+            synchronized (this) {
+                blockNumbers = this.transactionIndex.get(hash);
+            }
+        } catch (DecoderException e) {
+            return null;
+        }
+        for (long blockNumber : blockNumbers) {
+            List<TransactionReceipt> receipts = this.getReceipts(blockNumber);
+            if (receipts == null) {
+                continue;
+            }
+            for (TransactionReceipt receipt : receipts) {
+                if (normalizedHash.equals(normalizeHash(receipt.getTransactionHash()))) {
+                    BcosTransactionReceipt bcosTransactionReceipt = new BcosTransactionReceipt();
+                    bcosTransactionReceipt.setResult(receipt);
+                    return bcosTransactionReceipt;
+                }
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean contains(long blockNumber) {
+        return this.firstBlockNumber >= 0
+                && blockNumber >= this.firstBlockNumber
+                && blockNumber <= this.lastBlockNumber;
+    }
+
+    /** @return the first archived block number, -1 if empty */
+    public synchronized long getFirstBlockNumber() {
+        return this.firstBlockNumber;
+    }
+
+    /** @return the last archived block number, -1 if empty */
+    public synchronized long getLastBlockNumber() {
+        return this.lastBlockNumber;
+    }
+
+    public synchronized long getBlockCount() {
+        return this.firstBlockNumber < 0 ? 0 : this.lastBlockNumber - this.firstBlockNumber + 1;
+    }
+
+    public synchronized int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    public long getAppendedBlockCount() {
+        return this.appendedBlockCount.get();
+    }
+
+    /** @return the bytes of the records appended since opened */
+    public long getAppendedBytes() {
+        return this.appendedBytes.get();
+    }
+
+    public long getReadBlockCount() {
+        return this.readBlockCount.get();
+    }
+
+    public long getReadReceiptCount() {
+        return this.readReceiptCount.get();
+    }
+
+    /** @return the heap bytes taken by the transaction hash to block number index */
+    public synchronized long getTransactionIndexBytes() {
+        return this.transactionIndex.getBytes();
+    }
+
+    /** write the appended records to the disk */
+    public synchronized void flush() {
+        for (Segment segment : this.segments) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        for (Segment segment : this.segments) {
+            segment.buffer.force();
+            segment.close();
+        }
+        this.transactionIndex.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "BlockArchive{"
+                + "directory="
+                + this.directory
+                + ", firstBlockNumber="
+                + this.getFirstBlockNumber()
+                + ", lastBlockNumber="
+                + this.getLastBlockNumber()
+                + ", segmentCount="
+                + this.getSegmentCount()
+                + ", appendedBlockCount="
+                + this.appendedBlockCount
+                + ", appendedBytes="
+                + this.appendedBytes
+                + ", readBlockCount="
+                + this.readBlockCount
+                + ", readReceiptCount="
+                + this.readReceiptCount
+                + '}';
+    }
+
+    // open addressing table of the 64-bit keys folded from the transaction hashes, the
+    // transactions of the same key take their own slots
+    private static class TransactionIndex {
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final long EMPTY = -1;
+
+        private long[] keys;
+        // EMPTY if the slot is not used
+        private long[] blockNumbers;
+        private int size;
+
+        private TransactionIndex() {
+            this.clear();
+        }
+
+        private static long key(byte[] hash) {
+            long key = 0;
+            for (int i = 0; i < hash.length; i += Long.BYTES) {
+                long chunk = 0;
+                for (int j = i; j < i + Long.BYTES; j++) {
+                    chunk = (chunk << 8) | (j < hash.length ? hash[j] & 0xff : 0);
+                }
+                key = key * 31 + chunk;
+            }
+            return key;
+        }
+
+        private int slot(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & (this.keys.length - 1);
+        }
+
+        private void put(byte[] hash, long blockNumber) {
+            if ((this.size + 1) * 2 > this.keys.length) {
+                long[] oldKeys = this.keys;
+                long[] oldBlockNumbers = this.blockNumbers;
+                this.keys = new long[oldKeys.length * 2];
+                this.blockNumbers = new long[oldKeys.length * 2];
+                Arrays.fill(this.blockNumbers, EMPTY);
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldBlockNumbers[i] != EMPTY) {
+                        this.insert(oldKeys[i], oldBlockNumbers[i]);
+                    }
+                }
+            }
+            this.insert(key(hash), blockNumber);
+            this.size++;
+        }
+
+        private void insert(long key, long blockNumber) {
+            int slot = this.slot(key);
+            while (this.blockNumbers[slot] != EMPTY) {
+                slot = (slot + 1) & (this.keys.length - 1);
+            }
+            this.keys[slot] = key;
+            this.blockNumbers[slot] = blockNumber;
+        }
+
+        // the block numbers of the transactions of the same key as the hash
+        private long[] get(byte[] hash) {
+            long key = key(hash);
+            long[] found = new long[1];
+            int count = 0;
+            for (int slot = this.slot(key);
+                    this.blockNumbers[slot] != EMPTY;
+                    slot = (slot + 1) & (this.keys.length - 1)) {
+                if (this.keys[slot] == key) {
+                    if (count == found.length) {
+                        found = Arrays.copyOf(found, count * 2);
+                    }
+                    found[count++] = this.blockNumbers[slot];
+                }
+            }
+            return count == found.length ? found : Arrays.copyOf(found, count);
+        }
+
+        private long getBytes() {
+            return (long) this.keys.length * Long.BYTES * 2;
+        }
+
+        private void clear() {
+            this.keys = new long[INITIAL_CAPACITY];
+            this.blockNumbers = new long[INITIAL_CAPACITY];
+            Arrays.fill(this.blockNumbers, EMPTY);
+            this.size = 0;
+        }
+    }
+
+    private static class Segment {
+        private final File file;
+        private final long firstBlockNumber;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        // record offsets in the order of the block number
+        private int[] offsets = new int[64];
+        private int count = 0;
+        private int writePosition = 0;
+
+        private Segment(File file, long firstBlockNumber, int size) throws IOException {
+            this.file = file;
+            this.firstBlockNumber = firstBlockNumber;
+            this.channel =
+                    FileChannel.open(
+                            file.toPath(),
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        private void addOffset(int offset) {
+            if (this.count == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, this.count * 2);
+            }
+            this.offsets[this.count++] = offset;
+        }
+
+        private void close() {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                logger.warn("close the segment {} failed, error: {}", this.file, e.getMessage());
+            }
+        }
+    }
+}
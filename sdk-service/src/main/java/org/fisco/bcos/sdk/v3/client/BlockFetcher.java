@@ -0,0 +1,473 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetch a range of blocks, and optionally their receipts, concurrently through the async rpc of the
+ * client, and deliver them to the consumer strictly in the order of the block number.
+ *
+ * <p>At most window blocks are requested but not delivered, including the fetched ones waiting for
+ * the lower blocks. A failed block is fetched again after the retry interval, and the fetching
+ * fails once the retries of a block are used up. The consumer is called by one thread at a time.
+ *
+ * <p>The receipt requests of all the blocks go through one request window, so a window of large
+ * blocks sends at most maxInflightReceipts receipt requests at a time.
+ */
+public class BlockFetcher {
+    private static final Logger logger = LoggerFactory.getLogger(BlockFetcher.class);
+
+    public static final int DEFAULT_WINDOW = 16;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_RETRY_INTERVAL_MS = 1000;
+    public static final int DEFAULT_MAX_INFLIGHT_RECEIPTS = 256;
+
+    private static final ScheduledThreadPoolExecutor retryScheduler = createRetryScheduler();
+
+    private final Client client;
+    private final int window;
+    private boolean fetchReceipts = false;
+    private boolean onlyTxHash = true;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long retryIntervalMs = DEFAULT_RETRY_INTERVAL_MS;
+    private volatile RpcRequestWindow receiptWindow =
+            new RpcRequestWindow(
+                    DEFAULT_MAX_INFLIGHT_RECEIPTS, RpcRequestWindow.OverflowPolicy.QUEUE);
+
+    private final AtomicInteger inflightCount = new AtomicInteger();
+    private final AtomicLong fetchedBlockCount = new AtomicLong();
+    private final AtomicLong deliveredBlockCount = new AtomicLong();
+    private final AtomicLong fetchedReceiptCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile FetchTask lastTask;
+
+    public BlockFetcher(Client client) {
+        this(client, DEFAULT_WINDOW);
+    }
+
+    /**
+     * create the fetcher
+     *
+     * @param client the client to fetch the blocks
+     * @param window the max count of the blocks requested but not delivered
+     */
+    public BlockFetcher(Client client, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("the window should be positive, window: " + window);
+        }
+        this.client = client;
+        this.window = window;
+    }
+
+    private static ScheduledThreadPoolExecutor createRetryScheduler() {
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "block-fetcher-retry");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * fetch the blocks in [from, to] and deliver them to the consumer in order
+     *
+     * @param from the first block number
+     * @param to the last block number, included
+     * @param consumer called with each fetched block in the order of the block number
+     * @return the future completed after all the blocks delivered, failed if a block can not be
+     *     fetched after the retries or the consumer throws, cancel it to stop the fetching
+     */
+    public CompletableFuture<Void> fetch(
+            BigInteger from, BigInteger to, Consumer<FetchedBlock> consumer) {
+        FetchTask task = new FetchTask(from.longValueExact(), to.longValueExact(), consumer);
+        this.lastTask = task;
+        if (from.compareTo(to) > 0) {
+            task.finish(null);
+        } else {
+            task.requestMore();
+        }
+        return task.result;
+    }
+
+    private CompletableFuture<FetchedBlock> fetchBlock(long blockNumber) {
+        return this.client
+                .getBlockByNumberAsync(BigInteger.valueOf(blockNumber), false, this.onlyTxHash)
+                .thenCompose(
+                        response -> {
+                            BcosBlock.Block block = response.getBlock();
+                            if (block == null) {
+                                throw new ClientException("block " + blockNumber + " not found");
+                            }
+                            if (!this.fetchReceipts) {
+                                return CompletableFuture.completedFuture(
+                                        new FetchedBlock(blockNumber, block, null));
+                            }
+                            return this.fetchBlockReceipts(blockNumber, block);
+                        });
+    }
+
+    private CompletableFuture<FetchedBlock> fetchBlockReceipts(
+            long blockNumber, BcosBlock.Block block) {
+        List<BcosBlock.TransactionResult> transactions =
+                block.getTransactions() == null
+                        ? Collections.emptyList()
+                        : block.getTransactions();
+        RpcRequestWindow window = this.receiptWindow;
+        List<CompletableFuture<BcosTransactionReceipt>> receiptFutures =
+                new ArrayList<>(transactions.size());
+        for (BcosBlock.TransactionResult transaction : transactions) {
+            String transactionHash = getTransactionHash(transaction);
+            receiptFutures.add(
+                    window.submit(
+                            () -> this.client.getTransactionReceiptAsync(transactionHash, false),
+                            0));
+        }
+        return CompletableFuture.allOf(receiptFutures.toArray(new CompletableFuture[0]))
+                .thenApply(
+                        result -> {
+                            List<TransactionReceipt> receipts =
+                                    new ArrayList<>(receiptFutures.size());
+                            for (CompletableFuture<BcosTransactionReceipt> future :
+                                    receiptFutures) {
+                                receipts.add(future.join().getTransactionReceipt());
+                            }
+                            this.fetchedReceiptCount.addAndGet(receipts.size());
+                            return new FetchedBlock(blockNumber, block, receipts);
+                        });
+    }
+
+    private static String getTransactionHash(BcosBlock.TransactionResult transaction) {
+        if (transaction instanceof BcosBlock.TransactionHash) {
+            return ((BcosBlock.TransactionHash) transaction).get();
+        }
+        return ((JsonTransactionResponse) transaction.get()).getHash();
+    }
+
+    public int getWindow() {
+        return this.window;
+    }
+
+    public boolean isFetchReceipts() {
+        return this.fetchReceipts;
+    }
+
+    /** @param fetchReceipts whether fetch the receipts of the transactions in the blocks */
+    public void setFetchReceipts(boolean fetchReceipts) {
+        this.fetchReceipts = fetchReceipts;
+    }
+
+    public boolean isOnlyTxHash() {
+        return this.onlyTxHash;
+    }
+
+    /** @param onlyTxHash whether fetch the blocks with the transaction hashes only */
+    public void setOnlyTxHash(boolean onlyTxHash) {
+        this.onlyTxHash = onlyTxHash;
+    }
+
+    /**
+     * set the max count of the in-flight receipt requests, the requests exceeding the window are
+     * queued until the former receipts returned
+     *
+     * @param maxInflightReceipts the max count, no limit if not positive
+     */
+    public void setMaxInflightReceipts(int maxInflightReceipts) {
+        this.receiptWindow =
+                new RpcRequestWindow(maxInflightReceipts, RpcRequestWindow.OverflowPolicy.QUEUE);
+    }
+
+    public RpcRequestWindow getReceiptWindow() {
+        return this.receiptWindow;
+    }
+
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryIntervalMs() {
+        return this.retryIntervalMs;
+    }
+
+    public void setRetryIntervalMs(long retryIntervalMs) {
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    /** @return the count of the blocks waiting for the response */
+    public int getInflightCount() {
+        return this.inflightCount.get();
+    }
+
+    public long getFetchedBlockCount() {
+        return this.fetchedBlockCount.get();
+    }
+
+    public long getDeliveredBlockCount() {
+        return this.deliveredBlockCount.get();
+    }
+
+    public long getFetchedReceiptCount() {
+        return this.fetchedReceiptCount.get();
+    }
+
+    public long getRetryCount() {
+        return this.retryCount.get();
+    }
+
+    /** @return the count of the blocks failed after the retries */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /** @return the delivered blocks per second of the last fetching, till now if not finished */
+    public double getBlocksPerSecond() {
+        FetchTask task = this.lastTask;
+        if (task == null) {
+            return 0;
+        }
+        long endTime = task.endTime > 0 ? task.endTime : System.currentTimeMillis();
+        long elapsedMs = Math.max(endTime - task.startTime, 1);
+        return task.deliveredCount.get() * 1000.0 / elapsedMs;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockFetcher{"
+                + "window="
+                + this.window
+                + ", inflightCount="
+                + this.inflightCount
+                + ", fetchedBlockCount="
+                + this.fetchedBlockCount
+                + ", deliveredBlockCount="
+                + this.deliveredBlockCount
+                + ", fetchedReceiptCount="
+                + this.fetchedReceiptCount
+                + ", retryCount="
+                + this.retryCount
+                + ", failedCount="
+                + this.failedCount
+                + '}';
+    }
+
+    public static class FetchedBlock {
+        private final long blockNumber;
+        private final BcosBlock.Block block;
+        private final List<TransactionReceipt> receipts;
+
+        public FetchedBlock(
+                long blockNumber, BcosBlock.Block block, List<TransactionReceipt> receipts) {
+            this.blockNumber = blockNumber;
+            this.block = block;
+            this.receipts = receipts;
+        }
+
+        public long getBlockNumber() {
+            return this.blockNumber;
+        }
+
+        public BcosBlock.Block getBlock() {
+            return this.block;
+        }
+
+        /** @return the receipts in the order of the transactions, null if not fetched */
+        public List<TransactionReceipt> getReceipts() {
+            return this.receipts;
+        }
+    }
+
+    private class FetchTask {
+        private final long to;
+        private final Consumer<FetchedBlock> consumer;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final long startTime = System.currentTimeMillis();
+        private volatile long endTime = 0;
+        private final AtomicLong deliveredCount = new AtomicLong();
+
+        // guarded by this
+        private long nextToRequest;
+        private long nextToDeliver;
+        private boolean delivering = false;
+        private final Map<Long, FetchedBlock> fetchedBlocks = new HashMap<>();
+
+        private FetchTask(long from, long to, Consumer<FetchedBlock> consumer) {
+            this.to = to;
+            this.consumer = consumer;
+            this.nextToRequest = from;
+            this.nextToDeliver = from;
+        }
+
+        private void requestMore() {
+            List<Long> blockNumbers = new ArrayList<>();
+            synchronized (this) {
+                while (!this.result.isDone()
+                        && this.nextToRequest <= this.to
+                        && this.nextToRequest - this.nextToDeliver < BlockFetcher.this.window) {
+                    blockNumbers.add(this.nextToRequest++);
+                }
+            }
+            for (Long blockNumber : blockNumbers) {
+                this.fetch(blockNumber, 0);
+            }
+        }
+
+        private void fetch(long blockNumber, int retries) {
+            if (this.result.isDone()) {
+                return;
+            }
+            inflightCount.incrementAndGet();
+            CompletableFuture<FetchedBlock> future;
+            try {
+                future = fetchBlock(blockNumber);
+            } catch (Exception e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete(
+                    (fetchedBlock, e) -> {
+                        inflightCount.decrementAndGet();
+                        if (e != null) {
+                            this.onFailure(blockNumber, retries, e);
+                            return;
+                        }
+                        fetchedBlockCount.incrementAndGet();
+                        synchronized (this) {
+                            if (this.result.isDone()) {
+                                return;
+                            }
+                            this.fetchedBlocks.put(blockNumber, fetchedBlock);
+                        }
+                        this.deliver();
+                    });
+        }
+
+        private void onFailure(long blockNumber, int retries, Throwable e) {
+            if (this.result.isDone()) {
+                return;
+            }
+            if (retries >= maxRetries) {
+                failedCount.incrementAndGet();
+                logger.error(
+                        "fetch block failed, blockNumber: {}, retries: {}, e: ",
+                        blockNumber,
+                        retries,
+                        e);
+                this.finish(
+                        new ClientException(
+                                "fetch block "
+                                        + blockNumber
+                                        + " failed after "
+                                        + retries
+                                        + " retries",
+                                e));
+                return;
+            }
+            retryCount.incrementAndGet();
+            logger.warn(
+                    "fetch block failed, retry later, blockNumber: {}, retries: {}, e: {}",
+                    blockNumber,
+                    retries,
+                    e.getMessage());
+            retryScheduler.schedule(
+                    () -> this.fetch(blockNumber, retries + 1),
+                    retryIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        private void deliver() {
+            while (true) {
+                FetchedBlock fetchedBlock;
+                synchronized (this) {
+                    if (this.delivering || this.result.isDone()) {
+                        return;
+                    }
+                    fetchedBlock = this.fetchedBlocks.remove(this.nextToDeliver);
+                    if (fetchedBlock == null) {
+                        return;
+                    }
+                    this.delivering = true;
+                }
+                boolean consumed = false;
+                try {
+                    this.consumer.accept(fetchedBlock);
+                    consumed = true;
+                } catch (Exception e) {
+                    logger.error(
+                            "consume block failed, blockNumber: {}, e: ",
+                            fetchedBlock.getBlockNumber(),
+                            e);
+                    this.finish(e);
+                    return;
+                } finally {
+                    synchronized (this) {
+                        this.delivering = false;
+                        if (consumed) {
+                            this.nextToDeliver++;
+                        }
+                    }
+                }
+                deliveredBlockCount.incrementAndGet();
+                this.deliveredCount.incrementAndGet();
+                boolean finished;
+                synchronized (this) {
+                    finished = this.nextToDeliver > this.to;
+                }
+                if (finished) {
+                    this.finish(null);
+                    return;
+                }
+                this.requestMore();
+            }
+        }
+
+        private void finish(Throwable e) {
+            this.endTime = System.currentTimeMillis();
+            synchronized (this) {
+                this.fetchedBlocks.clear();
+            }
+            if (e == null) {
+                this.result.complete(null);
+            } else {
+                this.result.completeExceptionally(e);
+            }
+        }
+    }
+}
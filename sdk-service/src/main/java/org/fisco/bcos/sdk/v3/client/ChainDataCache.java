@@ -0,0 +1,423 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransaction;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+
+/**
+ * Read-through cache of the blocks, transactions and receipts in front of the client. The
+ * committed blocks, transactions and receipts never change, so they are cached until evicted, the
+ * least recently used first, once the count or the weight of the entries exceeds the limit. The
+ * weight of a block is the count of its transactions plus one, the others weigh one.
+ *
+ * <p>A block is cached by the number, and by the hash as an entry weighing one referring to the
+ * number, so the block is weighed once and the hash is not found once the block is evicted. A
+ * transaction or receipt not found, e.g. not mined yet, is cached as not found for the negative
+ * expire time only, and the error responses are never cached. The concurrent async misses of the
+ * same entry share one request.
+ *
+ * <p>The cached responses are shared by the callers and must not be modified.
+ */
+public class ChainDataCache {
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final long DEFAULT_MAX_WEIGHT = 1000000;
+    public static final long DEFAULT_NEGATIVE_EXPIRE_TIME = 1000;
+
+    private final Client client;
+    private final int maxSize;
+    private final long maxWeight;
+    private volatile long negativeExpireTime = DEFAULT_NEGATIVE_EXPIRE_TIME;
+
+    // key => entry, in the access order, guarded by itself
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+    // key => the response being requested
+    private final Map<String, CompletableFuture<? extends JsonRpcResponse<?>>> loadingResponses =
+            new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public ChainDataCache(Client client) {
+        this(client, DEFAULT_MAX_SIZE, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * create the cache
+     *
+     * @param client the client to request the missed entries
+     * @param maxSize the max count of the cached entries
+     * @param maxWeight the max total weight of the cached entries
+     */
+    public ChainDataCache(Client client, int maxSize, long maxWeight) {
+        if (maxSize <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException(
+                    "maxSize and maxWeight should be positive, maxSize: "
+                            + maxSize
+                            + ", maxWeight: "
+                            + maxWeight);
+        }
+        this.client = client;
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+    }
+
+    private static int flags(boolean first, boolean second) {
+        return (first ? 1 : 0) | (second ? 2 : 0);
+    }
+
+    private static String blockNumberKey(long blockNumber, int flags) {
+        return "n" + flags + ":" + blockNumber;
+    }
+
+    private static String blockHashKey(String blockHash, int flags) {
+        return "h" + flags + ":" + Hex.addPrefix(blockHash.toLowerCase());
+    }
+
+    private static String transactionKey(String transactionHash, boolean withProof) {
+        return "t" + flags(withProof, false) + ":" + Hex.addPrefix(transactionHash.toLowerCase());
+    }
+
+    private static String receiptKey(String transactionHash, boolean withProof) {
+        return "r" + flags(withProof, false) + ":" + Hex.addPrefix(transactionHash.toLowerCase());
+    }
+
+    public BcosBlock getBlockByNumber(
+            BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        int flags = flags(onlyHeader, onlyTxHash);
+        return this.get(
+                blockNumberKey(blockNumber.longValueExact(), flags),
+                () -> this.client.getBlockByNumber(blockNumber, onlyHeader, onlyTxHash),
+                flags);
+    }
+
+    public CompletableFuture<BcosBlock> getBlockByNumberAsync(
+            BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        int flags = flags(onlyHeader, onlyTxHash);
+        return this.getAsync(
+                blockNumberKey(blockNumber.longValueExact(), flags),
+                () -> this.client.getBlockByNumberAsync(blockNumber, onlyHeader, onlyTxHash),
+                flags);
+    }
+
+    public BcosBlock getBlockByHash(String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        int flags = flags(onlyHeader, onlyTxHash);
+        return this.get(
+                blockHashKey(blockHash, flags),
+                () -> this.client.getBlockByHash(blockHash, onlyHeader, onlyTxHash),
+                flags);
+    }
+
+    public CompletableFuture<BcosBlock> getBlockByHashAsync(
+            String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        int flags = flags(onlyHeader, onlyTxHash);
+        return this.getAsync(
+                blockHashKey(blockHash, flags),
+                () -> this.client.getBlockByHashAsync(blockHash, onlyHeader, onlyTxHash),
+                flags);
+    }
+
+    public BcosTransaction getTransaction(String transactionHash, boolean withProof) {
+        return this.get(
+                transactionKey(transactionHash, withProof),
+                () -> this.client.getTransaction(transactionHash, withProof),
+                0);
+    }
+
+    public CompletableFuture<BcosTransaction> getTransactionAsync(
+            String transactionHash, boolean withProof) {
+        return this.getAsync(
+                transactionKey(transactionHash, withProof),
+                () -> this.client.getTransactionAsync(transactionHash, withProof),
+                0);
+    }
+
+    public BcosTransactionReceipt getTransactionReceipt(String transactionHash, boolean withProof) {
+        return this.get(
+                receiptKey(transactionHash, withProof),
+                () -> this.client.getTransactionReceipt(transactionHash, withProof),
+                0);
+    }
+
+    public CompletableFuture<BcosTransactionReceipt> getTransactionReceiptAsync(
+            String transactionHash, boolean withProof) {
+        return this.getAsync(
+                receiptKey(transactionHash, withProof),
+                () -> this.client.getTransactionReceiptAsync(transactionHash, withProof),
+                0);
+    }
+
+    private <T extends JsonRpcResponse<?>> T get(String key, Supplier<T> loader, int flags) {
+        T response = this.getCached(key);
+        if (response != null) {
+            return response;
+        }
+        this.missCount.incrementAndGet();
+        response = loader.get();
+        this.put(key, response, flags);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends JsonRpcResponse<?>> CompletableFuture<T> getAsync(
+            String key, Supplier<CompletableFuture<T>> loader, int flags) {
+        T response = this.getCached(key);
+        if (response != null) {
+            return CompletableFuture.completedFuture(response);
+        }
+        this.missCount.incrementAndGet();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<T> loadingResponse =
+                (CompletableFuture<T>) this.loadingResponses.putIfAbsent(key, future);
+        if (loadingResponse != null) {
+            return loadingResponse;
+        }
+        CompletableFuture<T> requested;
+        try {
+            requested = loader.get();
+        } catch (Exception e) {
+            this.loadingResponses.remove(key, future);
+            future.completeExceptionally(e);
+            return future;
+        }
+        requested.whenComplete(
+                (result, e) -> {
+                    if (e == null) {
+                        this.put(key, result, flags);
+                    }
+                    this.loadingResponses.remove(key, future);
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(result);
+                    }
+                });
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends JsonRpcResponse<?>> T getCached(String key) {
+        synchronized (this.entries) {
+            CacheEntry entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.blockNumberKey != null) {
+                CacheEntry blockEntry = this.entries.get(entry.blockNumberKey);
+                if (blockEntry == null) {
+                    this.remove(key);
+                    return null;
+                }
+                entry = blockEntry;
+            }
+            if (entry.expireAt <= System.currentTimeMillis()) {
+                this.remove(key);
+                return null;
+            }
+            this.hitCount.incrementAndGet();
+            if (entry.response.getResult() == null) {
+                this.negativeHitCount.incrementAndGet();
+            }
+            return (T) entry.response;
+        }
+    }
+
+    private void put(String key, JsonRpcResponse<?> response, int flags) {
+        if (response == null || response.hasError()) {
+            return;
+        }
+        Object result = response.getResult();
+        if (result == null) {
+            long currentNegativeExpireTime = this.negativeExpireTime;
+            if (currentNegativeExpireTime > 0) {
+                long expireAt = System.currentTimeMillis() + currentNegativeExpireTime;
+                this.put(key, new CacheEntry(response, 1, expireAt));
+            }
+            return;
+        }
+        if (!(result instanceof BcosBlock.Block)) {
+            this.put(key, new CacheEntry(response, 1, Long.MAX_VALUE));
+            return;
+        }
+        BcosBlock.Block block = (BcosBlock.Block) result;
+        long blockWeight =
+                1 + (block.getTransactions() == null ? 0 : block.getTransactions().size());
+        String numberKey = blockNumberKey(block.getNumber(), flags);
+        synchronized (this.entries) {
+            this.put(numberKey, new CacheEntry(response, blockWeight, Long.MAX_VALUE));
+            if (block.getHash() != null) {
+                this.put(blockHashKey(block.getHash(), flags), new CacheEntry(numberKey));
+            }
+        }
+    }
+
+    private void put(String key, CacheEntry entry) {
+        synchronized (this.entries) {
+            CacheEntry previous = this.entries.put(key, entry);
+            if (previous != null) {
+                this.weight -= previous.weight;
+            }
+            this.weight += entry.weight;
+            Iterator<CacheEntry> iterator = this.entries.values().iterator();
+            while ((this.entries.size() > this.maxSize || this.weight > this.maxWeight)
+                    && iterator.hasNext()) {
+                this.weight -= iterator.next().weight;
+                iterator.remove();
+                this.evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    // guarded by entries
+    private void remove(String key) {
+        CacheEntry entry = this.entries.remove(key);
+        if (entry != null) {
+            this.weight -= entry.weight;
+        }
+    }
+
+    /**
+     * remove the cached transaction and receipt, e.g. to read the receipt with the proof again
+     *
+     * @param transactionHash the transaction hash
+     */
+    public void invalidateTransaction(String transactionHash) {
+        synchronized (this.entries) {
+            for (boolean withProof : new boolean[] {false, true}) {
+                this.remove(transactionKey(transactionHash, withProof));
+                this.remove(receiptKey(transactionHash, withProof));
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.weight = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public long getWeight() {
+        synchronized (this.entries) {
+            return this.weight;
+        }
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    public long getNegativeExpireTime() {
+        return this.negativeExpireTime;
+    }
+
+    /**
+     * set how long the not found transactions, receipts and blocks are cached, the negative caching
+     * is disabled if not positive
+     *
+     * @param negativeExpireTime the expire time in milliseconds
+     */
+    public void setNegativeExpireTime(long negativeExpireTime) {
+        this.negativeExpireTime = negativeExpireTime;
+    }
+
+    /** @return the count of the reads served by the cache, including the negative hits */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /** @return the count of the reads served by the cached not found responses */
+    public long getNegativeHitCount() {
+        return this.negativeHitCount.get();
+    }
+
+    /** @return the count of the reads served by the node */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    public double getHitRate() {
+        long hits = this.hitCount.get();
+        long total = hits + this.missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "ChainDataCache{"
+                + "size="
+                + this.size()
+                + ", weight="
+                + this.getWeight()
+                + ", hitCount="
+                + this.hitCount
+                + ", negativeHitCount="
+                + this.negativeHitCount
+                + ", missCount="
+                + this.missCount
+                + ", evictionCount="
+                + this.evictionCount
+                + '}';
+    }
+
+    private static class CacheEntry {
+        private final JsonRpcResponse<?> response;
+        private final long weight;
+        private final long expireAt;
+        // the key of the block cached by the number, if this entry is the block hash
+        private final String blockNumberKey;
+
+        private CacheEntry(JsonRpcResponse<?> response, long weight, long expireAt) {
+            this.response = response;
+            this.weight = weight;
+            this.expireAt = expireAt;
+            this.blockNumberKey = null;
+        }
+
+        private CacheEntry(String blockNumberKey) {
+            this.response = null;
+            this.weight = 1;
+            this.expireAt = Long.MAX_VALUE;
+            this.blockNumberKey = blockNumberKey;
+        }
+    }
+}
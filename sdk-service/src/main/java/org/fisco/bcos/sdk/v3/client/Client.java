@@ -16,6 +16,7 @@
 package org.fisco.bcos.sdk.v3.client;
 
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 import org.fisco.bcos.sdk.jni.BcosSDKJniObj;
 import org.fisco.bcos.sdk.v3.client.protocol.request.Transaction;
 import org.fisco.bcos.sdk.v3.client.protocol.response.Abi;
@@ -42,6 +43,7 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -177,6 +179,28 @@ public interface Client {
     void sendTransactionAsync(
             String signedTransactionData, boolean withProof, TransactionCallback callback);
 
+    /**
+     * Ledger operation: async send transaction
+     *
+     * @param signedTransactionData transaction string
+     * @param withProof whether contains merkle proof or not
+     * @return the future of the response
+     */
+    default CompletableFuture<TransactionReceipt> sendTransactionAsync(
+            String signedTransactionData, boolean withProof) {
+        CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        this.sendTransactionAsync(
+                signedTransactionData,
+                withProof,
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        future.complete(receipt);
+                    }
+                });
+        return future;
+    }
+
     /**
      * Ledger operation: async send transaction
      *
@@ -191,6 +215,30 @@ public interface Client {
             boolean withProof,
             TransactionCallback callback);
 
+    /**
+     * Ledger operation: async send transaction
+     *
+     * @param node the node rpc request send to
+     * @param signedTransactionData transaction string
+     * @param withProof whether contains merkle proof or not
+     * @return the future of the response
+     */
+    default CompletableFuture<TransactionReceipt> sendTransactionAsync(
+            String node, String signedTransactionData, boolean withProof) {
+        CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        this.sendTransactionAsync(
+                node,
+                signedTransactionData,
+                withProof,
+                new TransactionCallback() {
+                    @Override
+                    public void onResponse(TransactionReceipt receipt) {
+                        future.complete(receipt);
+                    }
+                });
+        return future;
+    }
+
     /**
      * Ledger operation: call contract functions without sending transaction
      *
@@ -216,6 +264,18 @@ public interface Client {
      */
     void callAsync(Transaction transaction, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param transaction transaction instance
+     * @return the future of the response
+     */
+    default CompletableFuture<Call> callAsync(Transaction transaction) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>();
+        this.callAsync(transaction, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async call contract functions without sending transaction
      *
@@ -225,6 +285,19 @@ public interface Client {
      */
     void callAsync(String node, Transaction transaction, RespCallback<Call> callback);
 
+    /**
+     * Ledger operation: async call contract functions without sending transaction
+     *
+     * @param node the node rpc request send to
+     * @param transaction transaction instance
+     * @return the future of the response
+     */
+    default CompletableFuture<Call> callAsync(String node, Transaction transaction) {
+        RespCallbackFuture<Call> future = new RespCallbackFuture<>();
+        this.callAsync(node, transaction, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block number
      *
@@ -247,6 +320,17 @@ public interface Client {
      */
     void getBlockNumberAsync(RespCallback<BlockNumber> callback);
 
+    /**
+     * Ledger operation: async get block number
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<BlockNumber> getBlockNumberAsync() {
+        RespCallbackFuture<BlockNumber> future = new RespCallbackFuture<>();
+        this.getBlockNumberAsync(future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block number
      *
@@ -255,6 +339,18 @@ public interface Client {
      */
     void getBlockNumberAsync(String node, RespCallback<BlockNumber> callback);
 
+    /**
+     * Ledger operation: async get block number
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<BlockNumber> getBlockNumberAsync(String node) {
+        RespCallbackFuture<BlockNumber> future = new RespCallbackFuture<>();
+        this.getBlockNumberAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get code
      *
@@ -280,6 +376,18 @@ public interface Client {
      */
     void getCodeAsync(String address, RespCallback<Code> callback);
 
+    /**
+     * Ledger operation: async get code
+     *
+     * @param address the address string
+     * @return the future of the response
+     */
+    default CompletableFuture<Code> getCodeAsync(String address) {
+        RespCallbackFuture<Code> future = new RespCallbackFuture<>();
+        this.getCodeAsync(address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get code
      *
@@ -289,6 +397,19 @@ public interface Client {
      */
     void getCodeAsync(String node, String address, RespCallback<Code> callback);
 
+    /**
+     * Ledger operation: async get code
+     *
+     * @param node the node rpc request send to
+     * @param address the address string
+     * @return the future of the response
+     */
+    default CompletableFuture<Code> getCodeAsync(String node, String address) {
+        RespCallbackFuture<Code> future = new RespCallbackFuture<>();
+        this.getCodeAsync(node, address, future);
+        return future;
+    }
+
     /**
      * Scheduler: get abi
      *
@@ -314,6 +435,18 @@ public interface Client {
      */
     void getABIAsync(String address, RespCallback<Abi> callback);
 
+    /**
+     * Ledger operation: async get abi
+     *
+     * @param address the address string
+     * @return the future of the response
+     */
+    default CompletableFuture<Abi> getABIAsync(String address) {
+        RespCallbackFuture<Abi> future = new RespCallbackFuture<>();
+        this.getABIAsync(address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get abi
      *
@@ -323,6 +456,19 @@ public interface Client {
      */
     void getABIAsync(String node, String address, RespCallback<Abi> callback);
 
+    /**
+     * Ledger operation: async get abi
+     *
+     * @param node the node rpc request send to
+     * @param address the address string
+     * @return the future of the response
+     */
+    default CompletableFuture<Abi> getABIAsync(String node, String address) {
+        RespCallbackFuture<Abi> future = new RespCallbackFuture<>();
+        this.getABIAsync(node, address, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get total transaction coun
      *
@@ -345,6 +491,17 @@ public interface Client {
      */
     void getTotalTransactionCountAsync(RespCallback<TotalTransactionCount> callback);
 
+    /**
+     * Ledger operation: async get total transaction count
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<TotalTransactionCount> getTotalTransactionCountAsync() {
+        RespCallbackFuture<TotalTransactionCount> future = new RespCallbackFuture<>();
+        this.getTotalTransactionCountAsync(future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get total transaction count
      *
@@ -353,6 +510,18 @@ public interface Client {
      */
     void getTotalTransactionCountAsync(String node, RespCallback<TotalTransactionCount> callback);
 
+    /**
+     * Ledger operation: async get total transaction count
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<TotalTransactionCount> getTotalTransactionCountAsync(String node) {
+        RespCallbackFuture<TotalTransactionCount> future = new RespCallbackFuture<>();
+        this.getTotalTransactionCountAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block by hash
      *
@@ -388,6 +557,21 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by hash
+     *
+     * @param blockHash the hashcode of the block
+     * @param onlyHeader if true then only return block header
+     * @param onlyTxHash the boolean define the tx is full or not
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosBlock> getBlockByHashAsync(
+            String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>();
+        this.getBlockByHashAsync(blockHash, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block by hash
      *
@@ -404,6 +588,22 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by hash
+     *
+     * @param node the node rpc request send to
+     * @param blockHash the hashcode of the block
+     * @param onlyHeader if true then only return block header
+     * @param onlyTxHash the boolean define the tx is full or not
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosBlock> getBlockByHashAsync(
+            String node, String blockHash, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>();
+        this.getBlockByHashAsync(node, blockHash, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get block by block number
      *
@@ -440,6 +640,21 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by block number
+     *
+     * @param blockNumber the number of the block
+     * @param onlyHeader the boolean if only need header
+     * @param onlyTxHash the boolean if you need all transactions
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosBlock> getBlockByNumberAsync(
+            BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>();
+        this.getBlockByNumberAsync(blockNumber, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block by block number
      *
@@ -456,6 +671,22 @@ public interface Client {
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback);
 
+    /**
+     * Ledger operation: async get block by block number
+     *
+     * @param node the node rpc request send to
+     * @param blockNumber the number of the block
+     * @param onlyHeader the boolean if only need header
+     * @param onlyTxHash the boolean if you need all transactions
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosBlock> getBlockByNumberAsync(
+            String node, BigInteger blockNumber, boolean onlyHeader, boolean onlyTxHash) {
+        RespCallbackFuture<BcosBlock> future = new RespCallbackFuture<>();
+        this.getBlockByNumberAsync(node, blockNumber, onlyHeader, onlyTxHash, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block hash by block number
      *
@@ -472,6 +703,18 @@ public interface Client {
      */
     void getBlockHashByNumberAsync(BigInteger blockNumber, RespCallback<BlockHash> callback);
 
+    /**
+     * Ledger operation: async get block hash by block number
+     *
+     * @param blockNumber the number of the block
+     * @return the future of the response
+     */
+    default CompletableFuture<BlockHash> getBlockHashByNumberAsync(BigInteger blockNumber) {
+        RespCallbackFuture<BlockHash> future = new RespCallbackFuture<>();
+        this.getBlockHashByNumberAsync(blockNumber, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get block hash by block number
      *
@@ -491,6 +734,20 @@ public interface Client {
     void getBlockHashByNumberAsync(
             String node, BigInteger blockNumber, RespCallback<BlockHash> callback);
 
+    /**
+     * Ledger operation: async get block hash by block number
+     *
+     * @param node the node rpc request send to
+     * @param blockNumber the number of the block
+     * @return the future of the response
+     */
+    default CompletableFuture<BlockHash> getBlockHashByNumberAsync(
+            String node, BigInteger blockNumber) {
+        RespCallbackFuture<BlockHash> future = new RespCallbackFuture<>();
+        this.getBlockHashByNumberAsync(node, blockNumber, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get transaction by hash
      *
@@ -520,6 +777,20 @@ public interface Client {
     void getTransactionAsync(
             String transactionHash, Boolean withProof, RespCallback<BcosTransaction> callback);
 
+    /**
+     * Ledger operation: async get trnasaction by hash
+     *
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction proof
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosTransaction> getTransactionAsync(
+            String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransaction> future = new RespCallbackFuture<>();
+        this.getTransactionAsync(transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get trnasaction by hash
      *
@@ -534,6 +805,21 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransaction> callback);
 
+    /**
+     * Ledger operation: async get trnasaction by hash
+     *
+     * @param node the node rpc request send to
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction proof
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosTransaction> getTransactionAsync(
+            String node, String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransaction> future = new RespCallbackFuture<>();
+        this.getTransactionAsync(node, transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get transaction receipt by transaction hash
      *
@@ -566,6 +852,20 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransactionReceipt> callback);
 
+    /**
+     * Ledger operation: async get transaction receipt by transaction hash
+     *
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction receipt proof
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosTransactionReceipt> getTransactionReceiptAsync(
+            String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransactionReceipt> future = new RespCallbackFuture<>();
+        this.getTransactionReceiptAsync(transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: async get transaction receipt by transaction hash
      *
@@ -580,6 +880,21 @@ public interface Client {
             Boolean withProof,
             RespCallback<BcosTransactionReceipt> callback);
 
+    /**
+     * Ledger operation: async get transaction receipt by transaction hash
+     *
+     * @param node the node rpc request send to
+     * @param transactionHash the hashcode of transaction
+     * @param withProof with the transaction receipt proof
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosTransactionReceipt> getTransactionReceiptAsync(
+            String node, String transactionHash, Boolean withProof) {
+        RespCallbackFuture<BcosTransactionReceipt> future = new RespCallbackFuture<>();
+        this.getTransactionReceiptAsync(node, transactionHash, withProof, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get pending transaction size
      *
@@ -596,6 +911,18 @@ public interface Client {
      */
     void getPendingTxSizeAsync(String node, RespCallback<PendingTxSize> callback);
 
+    /**
+     * Ledger operation: async get pending transaction size
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<PendingTxSize> getPendingTxSizeAsync(String node) {
+        RespCallbackFuture<PendingTxSize> future = new RespCallbackFuture<>();
+        this.getPendingTxSizeAsync(node, future);
+        return future;
+    }
+
     /**
      * Ledger operation: get pending transaction size
      *
@@ -610,6 +937,17 @@ public interface Client {
      */
     void getPendingTxSizeAsync(RespCallback<PendingTxSize> callback);
 
+    /**
+     * Ledger operation: async get pending transaction size
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<PendingTxSize> getPendingTxSizeAsync() {
+        RespCallbackFuture<PendingTxSize> future = new RespCallbackFuture<>();
+        this.getPendingTxSizeAsync(future);
+        return future;
+    }
+
     /**
      * Get cached block height
      *
@@ -633,6 +971,17 @@ public interface Client {
 
     void getGroupPeersAsync(RespCallback<GroupPeers> callback);
 
+    /**
+     * get the group peers
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<GroupPeers> getGroupPeersAsync() {
+        RespCallbackFuture<GroupPeers> future = new RespCallbackFuture<>();
+        this.getGroupPeersAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get connected peers
      *
@@ -640,6 +989,17 @@ public interface Client {
      */
     void getPeersAsync(RespCallback<Peers> callback);
 
+    /**
+     * Peer operation: async get connected peers
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<Peers> getPeersAsync() {
+        RespCallbackFuture<Peers> future = new RespCallbackFuture<>();
+        this.getPeersAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: get observer node list
      *
@@ -692,6 +1052,17 @@ public interface Client {
      */
     void getSealerListAsync(RespCallback<SealerList> callback);
 
+    /**
+     * Peer operation: async get sealer node list
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<SealerList> getSealerListAsync() {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>();
+        this.getSealerListAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get sealer node list
      *
@@ -700,6 +1071,18 @@ public interface Client {
      */
     void getSealerListAsync(String node, RespCallback<SealerList> callback);
 
+    /**
+     * Peer operation: async get sealer node list
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<SealerList> getSealerListAsync(String node) {
+        RespCallbackFuture<SealerList> future = new RespCallbackFuture<>();
+        this.getSealerListAsync(node, future);
+        return future;
+    }
+
     /**
      * Peer operation: get pbft view
      *
@@ -722,6 +1105,17 @@ public interface Client {
      */
     void getPbftViewAsync(RespCallback<PbftView> callback);
 
+    /**
+     * Peer operation: async get pbft view
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<PbftView> getPbftViewAsync() {
+        RespCallbackFuture<PbftView> future = new RespCallbackFuture<>();
+        this.getPbftViewAsync(future);
+        return future;
+    }
+
     /**
      * Peer operation: async get pbft view
      *
@@ -730,6 +1124,18 @@ public interface Client {
      */
     void getPbftViewAsync(String node, RespCallback<PbftView> callback);
 
+    /**
+     * Peer operation: async get pbft view
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<PbftView> getPbftViewAsync(String node) {
+        RespCallbackFuture<PbftView> future = new RespCallbackFuture<>();
+        this.getPbftViewAsync(node, future);
+        return future;
+    }
+
     /**
      * Peer operation: get system config
      *
@@ -755,6 +1161,18 @@ public interface Client {
      */
     void getSystemConfigByKeyAsync(String key, RespCallback<SystemConfig> callback);
 
+    /**
+     * Peer operation: async get system config
+     *
+     * @param key the string of key
+     * @return the future of the response
+     */
+    default CompletableFuture<SystemConfig> getSystemConfigByKeyAsync(String key) {
+        RespCallbackFuture<SystemConfig> future = new RespCallbackFuture<>();
+        this.getSystemConfigByKeyAsync(key, future);
+        return future;
+    }
+
     /**
      * Peer operation: async get system config
      *
@@ -764,6 +1182,19 @@ public interface Client {
      */
     void getSystemConfigByKeyAsync(String node, String key, RespCallback<SystemConfig> callback);
 
+    /**
+     * Peer operation: async get system config
+     *
+     * @param node the node rpc request send to
+     * @param key the string of key
+     * @return the future of the response
+     */
+    default CompletableFuture<SystemConfig> getSystemConfigByKeyAsync(String node, String key) {
+        RespCallbackFuture<SystemConfig> future = new RespCallbackFuture<>();
+        this.getSystemConfigByKeyAsync(node, key, future);
+        return future;
+    }
+
     /**
      * Peer operation: get sync status
      *
@@ -780,6 +1211,18 @@ public interface Client {
      */
     void getSyncStatusAsync(String node, RespCallback<SyncStatus> callback);
 
+    /**
+     * Peer operation: async get sync status
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<SyncStatus> getSyncStatusAsync(String node) {
+        RespCallbackFuture<SyncStatus> future = new RespCallbackFuture<>();
+        this.getSyncStatusAsync(node, future);
+        return future;
+    }
+
     /**
      * Peer operation: get sync status
      *
@@ -794,6 +1237,17 @@ public interface Client {
      */
     void getSyncStatusAsync(RespCallback<SyncStatus> callback);
 
+    /**
+     * Peer operation: async get sync status
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<SyncStatus> getSyncStatusAsync() {
+        RespCallbackFuture<SyncStatus> future = new RespCallbackFuture<>();
+        this.getSyncStatusAsync(future);
+        return future;
+    }
+
     /**
      * async get consensus status
      *
@@ -802,6 +1256,18 @@ public interface Client {
      */
     void getConsensusStatusAsync(String node, RespCallback<ConsensusStatus> callback);
 
+    /**
+     * async get consensus status
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<ConsensusStatus> getConsensusStatusAsync(String node) {
+        RespCallbackFuture<ConsensusStatus> future = new RespCallbackFuture<>();
+        this.getConsensusStatusAsync(node, future);
+        return future;
+    }
+
     /**
      * async get consensus status
      *
@@ -809,6 +1275,17 @@ public interface Client {
      */
     void getConsensusStatusAsync(RespCallback<ConsensusStatus> callback);
 
+    /**
+     * async get consensus status
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<ConsensusStatus> getConsensusStatusAsync() {
+        RespCallbackFuture<ConsensusStatus> future = new RespCallbackFuture<>();
+        this.getConsensusStatusAsync(future);
+        return future;
+    }
+
     /**
      * sync get consensus status
      *
@@ -833,6 +1310,17 @@ public interface Client {
 
     void getGroupListAsync(RespCallback<BcosGroupList> callback);
 
+    /**
+     * get group list
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosGroupList> getGroupListAsync() {
+        RespCallbackFuture<BcosGroupList> future = new RespCallbackFuture<>();
+        this.getGroupListAsync(future);
+        return future;
+    }
+
     /**
      * get group info
      *
@@ -842,6 +1330,17 @@ public interface Client {
 
     void getGroupInfoAsync(RespCallback<BcosGroupInfo> callback);
 
+    /**
+     * get group info
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosGroupInfo> getGroupInfoAsync() {
+        RespCallbackFuture<BcosGroupInfo> future = new RespCallbackFuture<>();
+        this.getGroupInfoAsync(future);
+        return future;
+    }
+
     /**
      * get group info list
      *
@@ -851,6 +1350,17 @@ public interface Client {
 
     void getGroupInfoListAsync(RespCallback<BcosGroupInfoList> callback);
 
+    /**
+     * get group info list
+     *
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosGroupInfoList> getGroupInfoListAsync() {
+        RespCallbackFuture<BcosGroupInfoList> future = new RespCallbackFuture<>();
+        this.getGroupInfoListAsync(future);
+        return future;
+    }
+
     /**
      * get group node info
      *
@@ -861,6 +1371,18 @@ public interface Client {
 
     void getGroupNodeInfoAsync(String node, RespCallback<BcosGroupNodeInfo> callback);
 
+    /**
+     * get group node info
+     *
+     * @param node the node rpc request send to
+     * @return the future of the response
+     */
+    default CompletableFuture<BcosGroupNodeInfo> getGroupNodeInfoAsync(String node) {
+        RespCallbackFuture<BcosGroupNodeInfo> future = new RespCallbackFuture<>();
+        this.getGroupNodeInfoAsync(node, future);
+        return future;
+    }
+
     // ------------------------- rpc interface end ------------------------------------------
 
     void start();
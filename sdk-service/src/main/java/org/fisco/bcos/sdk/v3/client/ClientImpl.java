@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import org.fisco.bcos.sdk.jni.BcosSDKJniObj;
 import org.fisco.bcos.sdk.jni.rpc.RpcJniObj;
@@ -53,6 +54,7 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.SyncStatus;
 import org.fisco.bcos.sdk.v3.client.protocol.response.SystemConfig;
 import org.fisco.bcos.sdk.v3.client.protocol.response.TotalTransactionCount;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
+import org.fisco.bcos.sdk.v3.config.model.NetworkConfig;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
@@ -60,6 +62,7 @@ import org.fisco.bcos.sdk.v3.model.Response;
 import org.fisco.bcos.sdk.v3.model.callback.ResponseCallback;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
 import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -86,8 +89,11 @@ public class ClientImpl implements Client {
     private GroupNodeIniConfig groupNodeIniConfig;
     private CryptoSuite cryptoSuite;
     private RpcJniObj rpcJniObj;
+    private final RpcRequestWindow requestWindow;
+    private final long defaultRequestTimeout;
 
     protected final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    protected final JsonResponseDecoder responseDecoder = new JsonResponseDecoder();
 
     protected void initGroupInfo() {
         this.groupInfo = getGroupInfo().getResult();
@@ -134,6 +140,13 @@ public class ClientImpl implements Client {
         this.groupID = groupID;
         this.configOption = configOption;
         this.rpcJniObj = RpcJniObj.build(nativePointer);
+        NetworkConfig networkConfig = configOption.getNetworkConfig();
+        this.requestWindow =
+                new RpcRequestWindow(
+                        networkConfig.getMaxInflightRequests(),
+                        RpcRequestWindow.OverflowPolicy.fromString(
+                                networkConfig.getInflightOverflowPolicy()));
+        this.defaultRequestTimeout = networkConfig.getTimeout();
 
         // start rpc
         start();
@@ -470,7 +483,7 @@ public class ClientImpl implements Client {
             boolean onlyHeader,
             boolean onlyTxHash,
             RespCallback<BcosBlock> callback) {
-        this.getBlockByHash("", blockHash, onlyHeader, onlyTxHash);
+        this.getBlockByHashAsync("", blockHash, onlyHeader, onlyTxHash, callback);
     }
 
     @Override
@@ -965,62 +978,23 @@ public class ClientImpl implements Client {
 
     @Override
     public BcosGroupInfo getGroupInfo() {
-        try {
-            CompletableFuture<Response> future = new CompletableFuture<>();
-
-            this.rpcJniObj.getGroupInfo(
-                    groupID,
-                    resp -> {
-                        Response response = new Response();
-                        response.setErrorCode(resp.getErrorCode());
-                        response.setErrorMessage(resp.getErrorMessage());
-                        response.setContent(resp.getData());
-
-                        if (logger.isDebugEnabled()) {
-                            logger.debug("getGroupInfo onResponse: {}", response);
-                        }
-
-                        future.complete(response);
-                    });
-            Response response = future.get();
-            return this.parseResponseIntoJsonRpcResponse(
-                    new JsonRpcRequest<>(
-                            JsonRpcMethods.GET_GROUP_INFO, Collections.singletonList(groupID)),
-                    response,
-                    BcosGroupInfo.class);
-        } catch (InterruptedException | ExecutionException e) {
-            logger.error("e: ", e);
-            throw new ClientException(
-                    "getGroupInfo failed for decode the message exception, error message:"
-                            + e.getMessage(),
-                    e);
-        }
+        JsonRpcRequest<?> request =
+                new JsonRpcRequest<>(
+                        JsonRpcMethods.GET_GROUP_INFO, Collections.singletonList(this.groupID));
+        return this.waitResponse(
+                this.sendGroupInfoRequest()
+                        .thenApply(
+                                response ->
+                                        this.parseResponseIntoJsonRpcResponse(
+                                                request, response, BcosGroupInfo.class)));
     }
 
     @Override
     public void getGroupInfoAsync(RespCallback<BcosGroupInfo> callback) {
-        rpcJniObj.getGroupInfo(
-                this.groupID,
-                resp -> {
-                    Response response = new Response();
-                    response.setErrorCode(resp.getErrorCode());
-                    response.setErrorMessage(resp.getErrorMessage());
-                    response.setContent(resp.getData());
-
-                    ResponseCallback responseCallback =
-                            createResponseCallback(
-                                    new JsonRpcRequest<>(
-                                            JsonRpcMethods.GET_GROUP_INFO,
-                                            Collections.singletonList(groupID)),
-                                    BcosGroupInfo.class,
-                                    callback);
-
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("getGroupInfo onResponse: {}", response);
-                    }
-
-                    responseCallback.onResponse(response);
-                });
+        JsonRpcRequest<?> request =
+                new JsonRpcRequest<>(
+                        JsonRpcMethods.GET_GROUP_INFO, Collections.singletonList(this.groupID));
+        this.handleResponse(this.sendGroupInfoRequest(), request, BcosGroupInfo.class, callback);
     }
 
     @Override
@@ -1107,74 +1081,205 @@ public class ClientImpl implements Client {
 
     public <T extends JsonRpcResponse<?>> T callRemoteMethod(
             String groupID, String node, JsonRpcRequest<?> request, Class<T> responseType) {
-        try {
-            CompletableFuture<Response> future = new CompletableFuture<>();
+        return this.waitResponse(
+                this.callRemoteMethodAsync(groupID, node, request, responseType));
+    }
 
-            String data = this.objectMapper.writeValueAsString(request);
-            this.rpcJniObj.genericMethod(
-                    groupID,
-                    node,
-                    data,
-                    resp -> {
-                        Response response = new Response();
-                        response.setErrorCode(resp.getErrorCode());
-                        response.setErrorMessage(resp.getErrorMessage());
-                        response.setContent(resp.getData());
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(
-                                    " callRemoteMethod ===>>> request: {}, response: {}",
-                                    request,
-                                    response);
-                        }
-
-                        future.complete(response);
-                    });
-            Response response = future.get();
-            return this.parseResponseIntoJsonRpcResponse(request, response, responseType);
-        } catch (JsonProcessingException | InterruptedException | ExecutionException e) {
-            logger.error("e: ", e);
+    // the deadline of the request is applied by the request window
+    private <T> T waitResponse(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientException(
+                    "callRemoteMethod interrupted, error message:" + e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ClientException) {
+                throw (ClientException) cause;
+            }
+            logger.error("e: ", cause);
             throw new ClientException(
                     "callRemoteMethod failed for decode the message exception, error message:"
-                            + e.getMessage(),
-                    e);
+                            + cause.getMessage(),
+                    cause);
         }
     }
 
+    /**
+     * call the remote method without blocking, with the default deadline
+     *
+     * @param groupID the group id
+     * @param node the node name, choose the node randomly if empty
+     * @param request the json rpc request
+     * @param responseType the type of the response
+     * @param <T> the type of the response
+     * @return the future of the response, failed with ClientException
+     */
+    public <T extends JsonRpcResponse<?>> CompletableFuture<T> callRemoteMethodAsync(
+            String groupID, String node, JsonRpcRequest<?> request, Class<T> responseType) {
+        return this.callRemoteMethodAsync(
+                groupID, node, request, responseType, this.defaultRequestTimeout);
+    }
+
+    /**
+     * call the remote method without blocking
+     *
+     * @param groupID the group id
+     * @param node the node name, choose the node randomly if empty
+     * @param request the json rpc request
+     * @param responseType the type of the response
+     * @param timeoutMs the deadline of the request in milliseconds, no deadline if not positive
+     * @param <T> the type of the response
+     * @return the future of the response, failed with ClientException
+     */
+    public <T extends JsonRpcResponse<?>> CompletableFuture<T> callRemoteMethodAsync(
+            String groupID,
+            String node,
+            JsonRpcRequest<?> request,
+            Class<T> responseType,
+            long timeoutMs) {
+        return this.sendRequest(groupID, node, request, timeoutMs)
+                .thenApply(
+                        response ->
+                                this.parseResponseIntoJsonRpcResponse(
+                                        request, response, responseType));
+    }
+
     public <T extends JsonRpcResponse<?>> void asyncCallRemoteMethod(
             String groupID,
             String node,
             JsonRpcRequest<?> request,
             Class<T> responseType,
             RespCallback<T> callback) {
+        this.handleResponse(
+                this.sendRequest(groupID, node, request, this.defaultRequestTimeout),
+                request,
+                responseType,
+                callback);
+    }
 
+    private <T extends JsonRpcResponse<?>> void handleResponse(
+            CompletableFuture<Response> future,
+            JsonRpcRequest<?> request,
+            Class<T> responseType,
+            RespCallback<T> callback) {
+        future.whenComplete(
+                (response, e) -> {
+                    if (e != null) {
+                        callback.onError(this.createErrorResponse(e));
+                        return;
+                    }
+                    ResponseCallback responseCallback =
+                            createResponseCallback(request, responseType, callback);
+                    responseCallback.onResponse(response);
+                });
+    }
+
+    /**
+     * send the request through the in-flight request window
+     *
+     * @param groupID the group id
+     * @param node the node name
+     * @param request the json rpc request
+     * @param timeoutMs the deadline of the request in milliseconds
+     * @return the future of the raw response
+     */
+    private CompletableFuture<Response> sendRequest(
+            String groupID, String node, JsonRpcRequest<?> request, long timeoutMs) {
+        String data;
         try {
-            this.rpcJniObj.genericMethod(
-                    groupID,
-                    node,
-                    this.objectMapper.writeValueAsString(request),
-                    resp -> {
-                        Response response = new Response();
-                        response.setErrorCode(resp.getErrorCode());
-                        response.setErrorMessage(resp.getErrorMessage());
-                        response.setContent(resp.getData());
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(
-                                    " ===>>> asyncCallRemoteMethod, group: {}, node: {}, request: {}, response: {}",
-                                    groupID,
-                                    node,
-                                    request,
-                                    response);
-                        }
-
-                        ResponseCallback responseCallback =
-                                createResponseCallback(request, responseType, callback);
-                        responseCallback.onResponse(response);
-                    });
+            data = this.objectMapper.writeValueAsString(request);
         } catch (JsonProcessingException e) {
             logger.error("e: ", e);
+            CompletableFuture<Response> future = new CompletableFuture<>();
+            future.completeExceptionally(
+                    new ClientException(
+                            "callRemoteMethod failed for encode the message exception, error message:"
+                                    + e.getMessage(),
+                            e));
+            return future;
+        }
+        return this.requestWindow.submit(
+                () -> {
+                    CompletableFuture<Response> future = new CompletableFuture<>();
+                    this.rpcJniObj.genericMethod(
+                            groupID,
+                            node,
+                            data,
+                            resp -> {
+                                Response response = new Response();
+                                response.setErrorCode(resp.getErrorCode());
+                                response.setErrorMessage(resp.getErrorMessage());
+                                response.setContent(resp.getData());
+
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace(
+                                            " ===>>> callRemoteMethod, group: {}, node: {}, request: {}, response: {}",
+                                            groupID,
+                                            node,
+                                            request,
+                                            response);
+                                }
+
+                                future.complete(response);
+                            });
+                    return future;
+                },
+                timeoutMs);
+    }
+
+    /**
+     * send the getGroupInfo request through the in-flight request window, the group info has its
+     * own jni method
+     *
+     * @return the future of the raw response
+     */
+    private CompletableFuture<Response> sendGroupInfoRequest() {
+        return this.requestWindow.submit(
+                () -> {
+                    CompletableFuture<Response> future = new CompletableFuture<>();
+                    this.rpcJniObj.getGroupInfo(
+                            this.groupID,
+                            resp -> {
+                                Response response = new Response();
+                                response.setErrorCode(resp.getErrorCode());
+                                response.setErrorMessage(resp.getErrorMessage());
+                                response.setContent(resp.getData());
+
+                                if (logger.isDebugEnabled()) {
+                                    logger.debug("getGroupInfo onResponse: {}", response);
+                                }
+
+                                future.complete(response);
+                            });
+                    return future;
+                },
+                this.defaultRequestTimeout);
+    }
+
+    private Response createErrorResponse(Throwable e) {
+        Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+        Response response = new Response();
+        response.setErrorMessage(cause.getMessage());
+        if (cause instanceof ClientException) {
+            ClientException clientException = (ClientException) cause;
+            response.setErrorCode(clientException.getErrorCode());
+            if (clientException.getErrorMessage() != null) {
+                response.setErrorMessage(clientException.getErrorMessage());
+            }
+        } else {
+            response.setErrorCode(-1);
         }
+        return response;
+    }
+
+    public RpcRequestWindow getRequestWindow() {
+        return this.requestWindow;
+    }
+
+    public JsonResponseDecoder getResponseDecoder() {
+        return this.responseDecoder;
     }
 
     protected <T extends JsonRpcResponse<?>> T parseResponseIntoJsonRpcResponse(
@@ -1183,7 +1288,8 @@ public class ClientImpl implements Client {
         try {
             if (response.getErrorCode() == 0) {
                 // parse the response into JsonRPCResponse
-                T jsonRpcResponse = objectMapper.readValue(response.getContent(), responseType);
+                T jsonRpcResponse =
+                        this.responseDecoder.decode(response.getContent(), responseType);
                 if (jsonRpcResponse.getError() != null) {
                     logger.error(
                             "parseResponseIntoJsonRpcResponse failed for non-empty error message, method: {}, group: {}, retErrorMessage: {}, retErrorCode: {}",
@@ -0,0 +1,350 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlockHeader;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.MerkleProofUnit;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.utils.exceptions.DecoderException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verify the merkle proofs of the transactions and the receipts against the roots of the block
+ * header, so that the result returned by one node could be trusted without asking the others.
+ *
+ * <p>A proof is the path from the leaf to the root of the tree of width 16 built by the node. The
+ * leaf node of a transaction is the RLP encoded index of the transaction in the block followed by
+ * the transaction hash or the receipt hash, and the index is the position of the leaf told by the
+ * proof. Each unit of the path lists the nodes on the left and on the right of the current node,
+ * and the parent is the hash of the concatenation of them in order, with the hash algorithm of the
+ * cryptoSuite.
+ *
+ * <p>The hash of a transaction is recalculated from the returned fields before its proof is walked,
+ * so the fields are proven with the hash. The receipt hash could not be recalculated by the sdk, so
+ * only the receipt hash is proven, not the status, the output or the logs returned with it.
+ *
+ * <p>The proofs of a block verified by one {@link Batch} share the verified nodes, a path stops at
+ * the first node already proved to be in the tree at the same level, e.g. the common upper levels
+ * of the sibling transactions are hashed once.
+ */
+public class MerkleProofVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(MerkleProofVerifier.class);
+
+    public static final int TREE_WIDTH = 16;
+
+    private final CryptoSuite cryptoSuite;
+
+    private final AtomicLong verifiedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong hashCount = new AtomicLong();
+    private final AtomicLong reusedNodeCount = new AtomicLong();
+
+    public MerkleProofVerifier(CryptoSuite cryptoSuite) {
+        this.cryptoSuite = cryptoSuite;
+    }
+
+    // lower case hex string without 0x prefix
+    private static String normalizeHash(String hash) {
+        return Hex.trimPrefix(hash.toLowerCase());
+    }
+
+    /**
+     * get the index of the leaf in the block from the positions of the nodes on the path
+     *
+     * @param proof the path from the leaf to the root
+     * @return the index of the transaction in the block
+     */
+    public static long getLeafIndex(List<MerkleProofUnit> proof) {
+        long index = 0;
+        long levelWidth = 1;
+        if (proof != null) {
+            for (MerkleProofUnit proofUnit : proof) {
+                if (proofUnit.getLeft() != null) {
+                    index += proofUnit.getLeft().size() * levelWidth;
+                }
+                levelWidth *= TREE_WIDTH;
+            }
+        }
+        return index;
+    }
+
+    // the RLP encoding of the non-negative integer
+    private static byte[] encodeIndex(long index) {
+        if (index == 0) {
+            return new byte[] {(byte) 0x80};
+        }
+        if (index < 0x80) {
+            return new byte[] {(byte) index};
+        }
+        int length = (Long.SIZE - Long.numberOfLeadingZeros(index) + 7) / 8;
+        byte[] encoded = new byte[length + 1];
+        encoded[0] = (byte) (0x80 + length);
+        for (int i = length; i > 0; i--) {
+            encoded[i] = (byte) index;
+            index >>>= 8;
+        }
+        return encoded;
+    }
+
+    /**
+     * verify the proof of the leaf
+     *
+     * @param leafHash the hash of the leaf
+     * @param proof the path from the leaf to the root, null or empty if the leaf is the root
+     * @param root the merkle root
+     * @return true if the proof leads to the root
+     */
+    public boolean verify(String leafHash, List<MerkleProofUnit> proof, String root) {
+        return this.newBatch(root).verify(leafHash, proof);
+    }
+
+    /**
+     * verify the transaction requested with the proof against the transactions root, the hash of
+     * the transaction is recalculated from the returned fields first
+     *
+     * @param transaction the transaction with the proof
+     * @param blockHeader the header of the block including the transaction
+     * @return true if the transaction is in the block
+     */
+    public boolean verifyTransaction(
+            JsonTransactionResponse transaction, BcosBlockHeader.BlockHeader blockHeader) {
+        Batch batch = this.newBatch(blockHeader.getTransactionsRoot());
+        return this.verifyTransaction(batch, transaction);
+    }
+
+    private boolean verifyTransaction(Batch batch, JsonTransactionResponse transaction) {
+        if (!this.checkTransactionHash(transaction)) {
+            this.failedCount.incrementAndGet();
+            return false;
+        }
+        return batch.verify(transaction.getHash(), transaction.getTransactionProof());
+    }
+
+    // the returned hash must be the hash of the returned fields, or the fields are not proven
+    private boolean checkTransactionHash(JsonTransactionResponse transaction) {
+        if (transaction.getHash() == null) {
+            return false;
+        }
+        try {
+            String hash = transaction.calculateHash(this.cryptoSuite);
+            if (hash != null && normalizeHash(hash).equals(normalizeHash(transaction.getHash()))) {
+                return true;
+            }
+            logger.warn(
+                    "the transaction hash mismatch, returned: {}, calculated: {}",
+                    transaction.getHash(),
+                    hash);
+        } catch (ClientException e) {
+            logger.warn(
+                    "calculate the transaction hash failed, hash: {}, error: {}",
+                    transaction.getHash(),
+                    e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * verify the receipt requested with the proof against the receipts root, only the receipt hash
+     * is proven, not the other fields of the receipt
+     *
+     * @param receipt the receipt with the proof
+     * @param blockHeader the header of the block including the transaction of the receipt
+     * @return true if the receipt is in the block
+     */
+    public boolean verifyReceipt(
+            TransactionReceipt receipt, BcosBlockHeader.BlockHeader blockHeader) {
+        return this.newBatch(blockHeader.getReceiptsRoot())
+                .verify(receipt.getReceiptHash(), receipt.getReceiptProof());
+    }
+
+    /**
+     * verify the transactions of a block, the shared nodes of the proofs are hashed once
+     *
+     * @param transactions the transactions with the proofs
+     * @param blockHeader the header of the block including the transactions
+     * @return the transactions failed to verify, empty if all are verified
+     */
+    public List<JsonTransactionResponse> verifyTransactions(
+            List<JsonTransactionResponse> transactions, BcosBlockHeader.BlockHeader blockHeader) {
+        Batch batch = this.newBatch(blockHeader.getTransactionsRoot());
+        List<JsonTransactionResponse> failedTransactions = new ArrayList<>();
+        for (JsonTransactionResponse transaction : transactions) {
+            if (!this.verifyTransaction(batch, transaction)) {
+                failedTransactions.add(transaction);
+            }
+        }
+        return failedTransactions;
+    }
+
+    /**
+     * verify the receipts of a block, the shared nodes of the proofs are hashed once, only the
+     * receipt hashes are proven
+     *
+     * @param receipts the receipts with the proofs
+     * @param blockHeader the header of the block including the transactions of the receipts
+     * @return the receipts failed to verify, empty if all are verified
+     */
+    public List<TransactionReceipt> verifyReceipts(
+            List<TransactionReceipt> receipts, BcosBlockHeader.BlockHeader blockHeader) {
+        Batch batch = this.newBatch(blockHeader.getReceiptsRoot());
+        List<TransactionReceipt> failedReceipts = new ArrayList<>();
+        for (TransactionReceipt receipt : receipts) {
+            if (!batch.verify(receipt.getReceiptHash(), receipt.getReceiptProof())) {
+                failedReceipts.add(receipt);
+            }
+        }
+        return failedReceipts;
+    }
+
+    /**
+     * create a batch to verify many proofs of the same root
+     *
+     * @param root the merkle root
+     * @return the batch sharing the verified nodes among its proofs
+     */
+    public Batch newBatch(String root) {
+        return new Batch(root);
+    }
+
+    public long getVerifiedCount() {
+        return this.verifiedCount.get();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /** @return the count of the nodes hashed */
+    public long getHashCount() {
+        return this.hashCount.get();
+    }
+
+    /** @return the count of the proofs stopped at a node verified by the previous proofs */
+    public long getReusedNodeCount() {
+        return this.reusedNodeCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "MerkleProofVerifier{"
+                + "verifiedCount="
+                + this.verifiedCount
+                + ", failedCount="
+                + this.failedCount
+                + ", hashCount="
+                + this.hashCount
+                + ", reusedNodeCount="
+                + this.reusedNodeCount
+                + '}';
+    }
+
+    public class Batch {
+        private final String root;
+        // the nodes proved to be in the tree, keyed by the level counted from the leaves
+        private final Set<String> verifiedNodes = new HashSet<>();
+
+        private Batch(String root) {
+            this.root = root == null ? null : normalizeHash(root);
+        }
+
+        /**
+         * verify the proof of the leaf
+         *
+         * @param leafHash the hash of the leaf
+         * @param proof the path from the leaf to the root, null or empty if the leaf is the root
+         * @return true if the proof leads to the root, or to a node verified before at the same
+         *     level
+         */
+        public synchronized boolean verify(String leafHash, List<MerkleProofUnit> proof) {
+            boolean verified = false;
+            if (this.root != null && leafHash != null) {
+                try {
+                    verified = this.verifyPath(normalizeHash(leafHash), proof);
+                } catch (DecoderException e) {
+                    logger.warn(
+                            "invalid merkle proof, leaf: {}, error: {}", leafHash, e.getMessage());
+                }
+            }
+            if (verified) {
+                verifiedCount.incrementAndGet();
+            } else {
+                failedCount.incrementAndGet();
+            }
+            return verified;
+        }
+
+        private boolean verifyPath(String leafHash, List<MerkleProofUnit> proof) {
+            int levels = proof == null ? 0 : proof.size();
+            // the leaf is the root if no proof, it is never one of the verified nodes
+            if (levels == 0) {
+                return leafHash.equals(this.root);
+            }
+            List<String> path = new ArrayList<>();
+            int level = 0;
+            String node = Hex.toHexString(encodeIndex(getLeafIndex(proof))) + leafHash;
+            // a node is reused at the level it was proved at only, an interior node is not a leaf
+            while (level < levels && !this.verifiedNodes.contains(nodeKey(level, node))) {
+                path.add(nodeKey(level, node));
+                node = this.hashParent(node, proof.get(level++));
+            }
+            if (level == levels && !node.equals(this.root)) {
+                return false;
+            }
+            if (level < levels) {
+                reusedNodeCount.incrementAndGet();
+            }
+            this.verifiedNodes.addAll(path);
+            return true;
+        }
+
+        private String nodeKey(int level, String node) {
+            return level + ":" + node;
+        }
+
+        private String hashParent(String node, MerkleProofUnit proofUnit) {
+            ByteArrayOutputStream input = new ByteArrayOutputStream();
+            writeHashes(input, proofUnit.getLeft());
+            byte[] nodeBytes = Hex.decode(node);
+            input.write(nodeBytes, 0, nodeBytes.length);
+            writeHashes(input, proofUnit.getRight());
+            hashCount.incrementAndGet();
+            return Hex.toHexString(cryptoSuite.hash(input.toByteArray()));
+        }
+
+        private void writeHashes(ByteArrayOutputStream input, List<String> hashes) {
+            if (hashes == null) {
+                return;
+            }
+            for (String hash : hashes) {
+                byte[] hashBytes = Hex.decode(hash);
+                input.write(hashBytes, 0, hashBytes.length);
+            }
+        }
+
+        public String getRoot() {
+            return this.root;
+        }
+    }
+}
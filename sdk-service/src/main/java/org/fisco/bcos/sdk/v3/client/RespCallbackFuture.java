@@ -0,0 +1,43 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.util.concurrent.CompletableFuture;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.model.Response;
+
+/**
+ * Adapt the RespCallback into CompletableFuture, the error response is completed exceptionally
+ * with ClientException carrying the error code and message of the response.
+ *
+ * @param <T> for the response data structures in package client/response
+ */
+public class RespCallbackFuture<T> extends CompletableFuture<T> implements RespCallback<T> {
+    @Override
+    public void onResponse(T t) {
+        this.complete(t);
+    }
+
+    @Override
+    public void onError(Response errorResponse) {
+        this.completeExceptionally(
+                new ClientException(
+                        errorResponse.getErrorCode(),
+                        errorResponse.getErrorMessage(),
+                        "request failed, error code: "
+                                + errorResponse.getErrorCode()
+                                + ", error message: "
+                                + errorResponse.getErrorMessage()));
+    }
+}
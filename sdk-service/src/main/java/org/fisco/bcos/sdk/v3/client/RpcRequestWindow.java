@@ -0,0 +1,327 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.client;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded window of the in-flight rpc requests of a client. The requests exceeding the window are
+ * handled according to the OverflowPolicy, and every request could carry its own deadline.
+ *
+ * <p>A slot is held until the response of the node arrives. A request reaching its deadline fails
+ * with REQUEST_TIMEOUT at once, but keeps its slot while the node is still working on it, so the
+ * requests sent to the node never exceed the window, except the ones sent by CALLER_RUNS.
+ */
+public class RpcRequestWindow {
+    private static final Logger logger = LoggerFactory.getLogger(RpcRequestWindow.class);
+
+    public static final int REQUEST_REJECTED = -5001;
+    public static final int REQUEST_TIMEOUT = -5002;
+
+    private static final ScheduledThreadPoolExecutor timeoutScheduler = createTimeoutScheduler();
+
+    public enum OverflowPolicy {
+        /** fail the request immediately */
+        REJECT,
+        /** keep the request in the pending queue, send it when a slot is released */
+        QUEUE,
+        /**
+         * block the calling thread until a slot is released or the deadline is reached, must not
+         * be used when the requests are sent from the callback threads, e.g. the nested requests
+         * sent when handling a response or an event, which would park the threads releasing the
+         * slots
+         */
+        BLOCK,
+        /** send the request on the calling thread at once, without taking a slot */
+        CALLER_RUNS;
+
+        /**
+         * parse the policy of the config
+         *
+         * @param policy reject/queue/block/caller-runs, REJECT if null
+         * @return the policy
+         */
+        public static OverflowPolicy fromString(String policy) {
+            if (policy == null) {
+                return REJECT;
+            }
+            switch (policy.trim().toLowerCase()) {
+                case "reject":
+                    return REJECT;
+                case "queue":
+                    return QUEUE;
+                case "block":
+                    return BLOCK;
+                case "caller-runs":
+                case "caller_runs":
+                    return CALLER_RUNS;
+                default:
+                    throw new IllegalArgumentException(
+                            "unsupported overflow policy: "
+                                    + policy
+                                    + ", supported are reject/queue/block/caller-runs");
+            }
+        }
+    }
+
+    private final int maxInflightRequests;
+    private final OverflowPolicy overflowPolicy;
+    private final Semaphore permits;
+    private final Queue<PendingRequest<?>> pendingRequests = new ConcurrentLinkedQueue<>();
+    // the count of the drain calls not handled yet, only one thread drains at a time
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private final AtomicLong inflightCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong lateResponseCount = new AtomicLong();
+
+    /**
+     * create the window
+     *
+     * @param maxInflightRequests the max count of the in-flight requests, no limit if not positive
+     * @param overflowPolicy the policy when the window is full
+     */
+    public RpcRequestWindow(int maxInflightRequests, OverflowPolicy overflowPolicy) {
+        this.maxInflightRequests = maxInflightRequests;
+        this.overflowPolicy = overflowPolicy;
+        this.permits = maxInflightRequests > 0 ? new Semaphore(maxInflightRequests) : null;
+    }
+
+    private static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "rpc-request-timeout");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * submit a request into the window
+     *
+     * @param sender send the request and return the future of the response, called once a slot
+     *     is acquired
+     * @param timeoutMs the deadline of the request in milliseconds, no deadline if not positive
+     * @param <T> the type of the response
+     * @return the future of the response, failed with ClientException when rejected or timeout
+     */
+    public <T> CompletableFuture<T> submit(
+            Supplier<CompletableFuture<T>> sender, long timeoutMs) {
+        PendingRequest<T> request = new PendingRequest<>(sender, true);
+        if (timeoutMs > 0) {
+            ScheduledFuture<?> timeoutTask =
+                    timeoutScheduler.schedule(
+                            () -> this.onTimeout(request, timeoutMs),
+                            timeoutMs,
+                            TimeUnit.MILLISECONDS);
+            request.result.whenComplete((r, e) -> timeoutTask.cancel(false));
+        }
+
+        if (this.permits == null || this.permits.tryAcquire()) {
+            this.dispatch(request);
+            return request.result;
+        }
+
+        switch (this.overflowPolicy) {
+            case REJECT:
+                this.rejectedCount.incrementAndGet();
+                request.result.completeExceptionally(
+                        new ClientException(
+                                REQUEST_REJECTED,
+                                "too many in-flight requests",
+                                "reject the request for the in-flight requests reach the limit "
+                                        + this.maxInflightRequests));
+                break;
+            case QUEUE:
+                this.pendingRequests.offer(request);
+                // the slots may be released before the request is queued
+                this.drain();
+                break;
+            case CALLER_RUNS:
+                this.callerRunsCount.incrementAndGet();
+                request.holdsSlot = false;
+                this.dispatch(request);
+                break;
+            case BLOCK:
+            default:
+                this.acquireAndDispatch(request, timeoutMs);
+                break;
+        }
+        return request.result;
+    }
+
+    private <T> void acquireAndDispatch(PendingRequest<T> request, long timeoutMs) {
+        try {
+            boolean acquired;
+            if (timeoutMs > 0) {
+                acquired = this.permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+            } else {
+                this.permits.acquire();
+                acquired = true;
+            }
+            if (!acquired) {
+                this.onTimeout(request, timeoutMs);
+                return;
+            }
+            this.dispatch(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.result.completeExceptionally(
+                    new ClientException("interrupted when waiting for the request window", e));
+        }
+    }
+
+    private <T> void dispatch(PendingRequest<T> request) {
+        // the request reached its deadline when waiting in the queue
+        if (request.result.isDone()) {
+            this.release(request);
+            return;
+        }
+        this.inflightCount.incrementAndGet();
+        this.sentCount.incrementAndGet();
+        CompletableFuture<T> response;
+        try {
+            response = request.sender.get();
+        } catch (Exception e) {
+            logger.error("send request failed, e: ", e);
+            this.onResponse(request, null, e);
+            return;
+        }
+        // release the slot when the node responds, even if the deadline was reached before
+        response.whenComplete((r, e) -> this.onResponse(request, r, e));
+    }
+
+    private <T> void onResponse(PendingRequest<T> request, T response, Throwable error) {
+        this.inflightCount.decrementAndGet();
+        boolean completed =
+                error != null
+                        ? request.result.completeExceptionally(error)
+                        : request.result.complete(response);
+        if (!completed) {
+            this.lateResponseCount.incrementAndGet();
+        }
+        this.release(request);
+    }
+
+    private void release(PendingRequest<?> request) {
+        if (this.permits == null || !request.holdsSlot) {
+            return;
+        }
+        this.permits.release();
+        this.drain();
+    }
+
+    private void drain() {
+        // the thread draining now loops once more for the calls made meanwhile, e.g. by the
+        // requests completed at once when dispatched, instead of draining recursively
+        if (this.drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!this.pendingRequests.isEmpty() && this.permits.tryAcquire()) {
+                PendingRequest<?> request = this.pendingRequests.poll();
+                if (request == null) {
+                    this.permits.release();
+                    break;
+                }
+                this.dispatch(request);
+            }
+            missed = this.drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void onTimeout(PendingRequest<?> request, long timeoutMs) {
+        // counted before the request fails, so the count is seen by the callers of the result
+        this.timeoutCount.incrementAndGet();
+        boolean completed =
+                request.result.completeExceptionally(
+                        new ClientException(
+                                REQUEST_TIMEOUT,
+                                "request timeout",
+                                "the request does not complete in " + timeoutMs + " ms"));
+        if (!completed) {
+            this.timeoutCount.decrementAndGet();
+        }
+    }
+
+    public int getMaxInflightRequests() {
+        return this.maxInflightRequests;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    public long getInflightCount() {
+        return this.inflightCount.get();
+    }
+
+    public int getPendingCount() {
+        return this.pendingRequests.size();
+    }
+
+    public long getSentCount() {
+        return this.sentCount.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+    /** @return the count of the requests sent by CALLER_RUNS when the window is full */
+    public long getCallerRunsCount() {
+        return this.callerRunsCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount.get();
+    }
+
+    /** @return the count of the responses arrived after the deadline of their requests */
+    public long getLateResponseCount() {
+        return this.lateResponseCount.get();
+    }
+
+    private static class PendingRequest<T> {
+        private final Supplier<CompletableFuture<T>> sender;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // false if sent by CALLER_RUNS out of the window
+        private boolean holdsSlot;
+
+        private PendingRequest(Supplier<CompletableFuture<T>> sender, boolean holdsSlot) {
+            this.sender = sender;
+            this.holdsSlot = holdsSlot;
+        }
+    }
+}
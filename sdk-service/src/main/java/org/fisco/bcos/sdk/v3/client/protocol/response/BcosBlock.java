@@ -22,17 +22,19 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
 import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
 import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -167,14 +169,13 @@ public class BcosBlock extends JsonRpcResponse<BcosBlock.Block> {
 
     // decode the block
     public static class BlockDeserializer extends JsonDeserializer<Block> {
-        private final ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public Block deserialize(
                 JsonParser jsonParser, DeserializationContext deserializationContext)
                 throws IOException {
             if (jsonParser.getCurrentToken() != JsonToken.VALUE_NULL) {
-                return this.objectReader.readValue(jsonParser, Block.class);
+                // decode with the current context to keep the decode attributes
+                return deserializationContext.readValue(jsonParser, Block.class);
             } else {
                 return null; // null is wrapped by Optional in above getter
             }
@@ -217,18 +218,29 @@ public class BcosBlock extends JsonRpcResponse<BcosBlock.Block> {
     public static class TransactionResultDeserializer
             extends JsonDeserializer<List<TransactionResult>> {
 
-        private final ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public List<TransactionResult> deserialize(
                 JsonParser jsonParser, DeserializationContext deserializationContext)
                 throws IOException {
+            if (Boolean.TRUE.equals(
+                    deserializationContext.getAttribute(
+                            JsonResponseDecoder.LAZY_DECODE_ATTRIBUTE))) {
+                TokenBuffer tokenBuffer = new TokenBuffer(jsonParser, deserializationContext);
+                tokenBuffer.copyCurrentStructure(jsonParser);
+                return new LazyTransactionResultList(tokenBuffer);
+            }
+            return readTransactionResults(jsonParser);
+        }
+
+        private static List<TransactionResult> readTransactionResults(JsonParser jsonParser)
+                throws IOException {
             List<TransactionResult> transactionResults = new ArrayList<>();
             JsonToken nextToken = jsonParser.nextToken();
 
             if (nextToken == JsonToken.START_OBJECT) {
                 Iterator<TransactionObject> transactionObjectIterator =
-                        objectReader.readValues(jsonParser, TransactionObject.class);
+                        ObjectMapperFactory.getObjectReader(TransactionObject.class)
+                                .readValues(jsonParser);
                 while (transactionObjectIterator.hasNext()) {
                     transactionResults.add(transactionObjectIterator.next());
                 }
@@ -236,7 +248,8 @@ public class BcosBlock extends JsonRpcResponse<BcosBlock.Block> {
                 jsonParser.getValueAsString();
 
                 Iterator<TransactionHash> transactionHashIterator =
-                        objectReader.readValues(jsonParser, TransactionHash.class);
+                        ObjectMapperFactory.getObjectReader(TransactionHash.class)
+                                .readValues(jsonParser);
                 while (transactionHashIterator.hasNext()) {
                     transactionResults.add(transactionHashIterator.next());
                 }
@@ -244,4 +257,55 @@ public class BcosBlock extends JsonRpcResponse<BcosBlock.Block> {
             return transactionResults;
         }
     }
+
+    /**
+     * The transactions of the block kept as the raw json tokens, decoded on the first access, the
+     * block header could be used without creating the transaction objects
+     */
+    public static class LazyTransactionResultList extends AbstractList<TransactionResult> {
+        private TokenBuffer tokenBuffer;
+        private volatile List<TransactionResult> transactionResults;
+
+        public LazyTransactionResultList(TokenBuffer tokenBuffer) {
+            this.tokenBuffer = tokenBuffer;
+        }
+
+        public boolean isDecoded() {
+            return this.transactionResults != null;
+        }
+
+        private List<TransactionResult> getTransactionResults() {
+            List<TransactionResult> results = this.transactionResults;
+            if (results != null) {
+                return results;
+            }
+            synchronized (this) {
+                if (this.transactionResults == null) {
+                    try (JsonParser jsonParser = this.tokenBuffer.asParser()) {
+                        // move to the START_ARRAY token
+                        jsonParser.nextToken();
+                        this.transactionResults =
+                                TransactionResultDeserializer.readTransactionResults(jsonParser);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(
+                                "decode the transactions of the block failed, error: "
+                                        + e.getMessage(),
+                                e);
+                    }
+                    this.tokenBuffer = null;
+                }
+                return this.transactionResults;
+            }
+        }
+
+        @Override
+        public TransactionResult get(int index) {
+            return this.getTransactionResults().get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.getTransactionResults().size();
+        }
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.eventsub;
+
+import java.util.List;
+import org.fisco.bcos.sdk.v3.model.EventLog;
+
+/** Callback of the checkpointed event subscription */
+public interface CheckpointedEventSubCallback {
+
+    /**
+     * onReceiveLogs called with the logs of the subscription in the order of the blocks, at most
+     * batch size logs each time. The logs are delivered at least once, the logs of the blocks
+     * after the checkpoint are delivered again after restarted.
+     *
+     * @param name the name of the subscription
+     * @param logs logs of the subscription
+     * @throws Exception the subscription stops and the checkpoint is not moved forward
+     */
+    void onReceiveLogs(String name, List<EventLog> logs) throws Exception;
+
+    /**
+     * onStatus called when the subscription ends, all the logs pushed or failed
+     *
+     * @param name the name of the subscription
+     * @param status the status that peer response to sdk, or the status of the sdk
+     */
+    default void onStatus(String name, int status) {}
+}
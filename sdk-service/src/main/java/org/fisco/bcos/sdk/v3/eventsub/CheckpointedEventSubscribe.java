@@ -0,0 +1,302 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.eventsub;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.fisco.bcos.sdk.v3.model.EventLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event subscription resuming from the checkpoint after restarted.
+ *
+ * <p>Each subscription is identified by a name which keeps the same across restarts. The last fully
+ * delivered block is saved into the checkpoint store after the logs of each push delivered, and the
+ * subscription of the same name starts from the next block of the checkpoint. The logs of the last
+ * block in a push may continue in the next push, so the checkpoint stays before that block until a
+ * later block is delivered, and the logs are delivered at least once.
+ */
+public class CheckpointedEventSubscribe {
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointedEventSubscribe.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final EventSubscribe eventSubscribe;
+    private final EventSubCheckpointStore checkpointStore;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    // name => active subscription
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    public CheckpointedEventSubscribe(
+            EventSubscribe eventSubscribe, EventSubCheckpointStore checkpointStore) {
+        this.eventSubscribe = eventSubscribe;
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * subscribe event from the next block of the checkpoint, or the fromBlock of the params if
+     * there is no checkpoint or the fromBlock is later
+     *
+     * @param name the name of the subscription, the same name resumes from the same checkpoint
+     * @param params the EventLogParams instance, the fromBlock is updated by the checkpoint
+     * @param callback the callback of the logs
+     * @return registerId of event, empty if all the logs have been delivered
+     * @throws IOException throw when load the checkpoint failed
+     */
+    public String subscribeEvent(
+            String name, EventSubParams params, CheckpointedEventSubCallback callback)
+            throws IOException {
+        // reserve the name first, two subscriptions of the same name never run at the same time
+        Subscription subscription = new Subscription(name, params, callback);
+        if (this.subscriptions.putIfAbsent(name, subscription) != null) {
+            throw new IllegalStateException("the subscription is already active, name: " + name);
+        }
+        BigInteger checkpoint;
+        try {
+            checkpoint = this.checkpointStore.load(name);
+        } catch (IOException e) {
+            this.subscriptions.remove(name, subscription);
+            throw e;
+        }
+        subscription.checkpoint = checkpoint;
+        if (checkpoint != null) {
+            BigInteger fromBlock = checkpoint.add(BigInteger.ONE);
+            if (fromBlock.compareTo(params.getFromBlock()) > 0) {
+                params.setFromBlock(fromBlock);
+            }
+            if (params.getToBlock().signum() >= 0
+                    && params.getFromBlock().compareTo(params.getToBlock()) > 0) {
+                logger.info("all the logs have been delivered, name: {}, params: {}", name, params);
+                this.subscriptions.remove(name, subscription);
+                callback.onStatus(name, EventSubStatus.PUSH_COMPLETED.getStatus());
+                return "";
+            }
+        }
+        logger.info(
+                "subscribe event from checkpoint, name: {}, checkpoint: {}, params: {}",
+                name,
+                checkpoint,
+                params);
+        String eventSubId;
+        try {
+            eventSubId = this.eventSubscribe.subscribeEvent(params, subscription::onReceiveLog);
+        } catch (RuntimeException e) {
+            this.subscriptions.remove(name, subscription);
+            throw e;
+        }
+        if (eventSubId == null || eventSubId.isEmpty()) {
+            this.subscriptions.remove(name, subscription);
+            return eventSubId;
+        }
+        subscription.eventSubId = eventSubId;
+        return eventSubId;
+    }
+
+    /**
+     * unsubscribe the event, the checkpoint is kept to resume later
+     *
+     * @param name the name of the subscription
+     */
+    public void unsubscribeEvent(String name) {
+        Subscription subscription = this.subscriptions.remove(name);
+        if (subscription == null) {
+            return;
+        }
+        subscription.stopped = true;
+        if (subscription.eventSubId != null) {
+            this.eventSubscribe.unsubscribeEvent(subscription.eventSubId);
+        }
+    }
+
+    /**
+     * remove the checkpoint, the next subscription of the name starts from the fromBlock of the
+     * params
+     *
+     * @param name the name of the subscription, should not be active
+     * @throws IOException throw when remove the checkpoint failed
+     */
+    public void resetCheckpoint(String name) throws IOException {
+        if (this.subscriptions.containsKey(name)) {
+            throw new IllegalStateException("the subscription is active, name: " + name);
+        }
+        this.checkpointStore.remove(name);
+    }
+
+    /**
+     * get the checkpoint of the subscription
+     *
+     * @param name the name of the subscription
+     * @return the last fully delivered block number, null if nothing delivered
+     * @throws IOException throw when load the checkpoint failed
+     */
+    public BigInteger getCheckpoint(String name) throws IOException {
+        Subscription subscription = this.subscriptions.get(name);
+        if (subscription != null) {
+            return subscription.checkpoint;
+        }
+        return this.checkpointStore.load(name);
+    }
+
+    /** @return the names of the active subscriptions */
+    public Set<String> getSubscriptions() {
+        return Collections.unmodifiableSet(new HashSet<>(this.subscriptions.keySet()));
+    }
+
+    /**
+     * get the count of the logs delivered by the active subscription
+     *
+     * @param name the name of the subscription
+     * @return the count of the delivered logs, 0 if the subscription is not active
+     */
+    public long getDeliveredLogCount(String name) {
+        Subscription subscription = this.subscriptions.get(name);
+        return subscription == null ? 0 : subscription.deliveredLogCount;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /** @param batchSize the max count of the logs delivered to the callback each time */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(
+                    "the batch size should be positive, batchSize: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public EventSubscribe getEventSubscribe() {
+        return this.eventSubscribe;
+    }
+
+    public EventSubCheckpointStore getCheckpointStore() {
+        return this.checkpointStore;
+    }
+
+    private class Subscription {
+        private final String name;
+        private final EventSubParams params;
+        private final CheckpointedEventSubCallback callback;
+        private volatile String eventSubId;
+        private volatile boolean stopped = false;
+        // the last fully delivered block
+        private volatile BigInteger checkpoint;
+        // the highest block delivered, guarded by this
+        private BigInteger lastBlock;
+        private volatile long deliveredLogCount = 0;
+
+        private Subscription(
+                String name, EventSubParams params, CheckpointedEventSubCallback callback) {
+            this.name = name;
+            this.params = params;
+            this.callback = callback;
+        }
+
+        private synchronized void onReceiveLog(String eventSubId, int status, List<EventLog> logs) {
+            if (this.stopped) {
+                return;
+            }
+            if (eventSubId != null && !eventSubId.isEmpty()) {
+                this.eventSubId = eventSubId;
+            }
+            if (logs != null && !logs.isEmpty() && !this.deliver(logs)) {
+                if (this.eventSubId != null) {
+                    eventSubscribe.unsubscribeEvent(this.eventSubId);
+                }
+                this.end(EventSubStatus.OTHER_ERROR.getStatus());
+                return;
+            }
+            if (status == EventSubStatus.SUCCESS.getStatus()) {
+                if (this.lastBlock != null) {
+                    this.saveCheckpoint(this.lastBlock.subtract(BigInteger.ONE));
+                }
+                return;
+            }
+            if (status == EventSubStatus.PUSH_COMPLETED.getStatus()) {
+                // all the logs before the toBlock are pushed
+                this.saveCheckpoint(
+                        this.params.getToBlock().signum() >= 0
+                                ? this.params.getToBlock()
+                                : this.lastBlock);
+            } else {
+                logger.warn(
+                        "event subscription failed, name: {}, status: {}, desc: {}",
+                        this.name,
+                        status,
+                        EventSubStatus.getDescMessage(status));
+            }
+            this.end(status);
+        }
+
+        private boolean deliver(List<EventLog> logs) {
+            try {
+                for (int i = 0; i < logs.size(); i += batchSize) {
+                    this.callback.onReceiveLogs(
+                            this.name, logs.subList(i, Math.min(logs.size(), i + batchSize)));
+                }
+            } catch (Exception e) {
+                logger.error(
+                        "deliver logs failed, stop the subscription, name: {}, checkpoint: {}, e: ",
+                        this.name,
+                        this.checkpoint,
+                        e);
+                return false;
+            }
+            this.deliveredLogCount += logs.size();
+            for (EventLog log : logs) {
+                BigInteger blockNumber = log.getBlockNumber();
+                if (blockNumber != null
+                        && (this.lastBlock == null || blockNumber.compareTo(this.lastBlock) > 0)) {
+                    this.lastBlock = blockNumber;
+                }
+            }
+            return true;
+        }
+
+        private void saveCheckpoint(BigInteger blockNumber) {
+            if (blockNumber == null
+                    || blockNumber.signum() < 0
+                    || (this.checkpoint != null && blockNumber.compareTo(this.checkpoint) <= 0)) {
+                return;
+            }
+            try {
+                checkpointStore.save(this.name, blockNumber);
+                this.checkpoint = blockNumber;
+            } catch (IOException e) {
+                // retried with the next push
+                logger.error(
+                        "save checkpoint failed, name: {}, blockNumber: {}, e: ",
+                        this.name,
+                        blockNumber,
+                        e);
+            }
+        }
+
+        private void end(int status) {
+            this.stopped = true;
+            subscriptions.remove(this.name, this);
+            this.callback.onStatus(this.name, status);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.eventsub;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/** Persist the checkpoints of the event subscriptions, the last fully delivered block of each. */
+public interface EventSubCheckpointStore {
+    /**
+     * load the checkpoint of the subscription
+     *
+     * @param name the name of the subscription
+     * @return the last fully delivered block number, null if not saved
+     * @throws IOException throw when read the store failed
+     */
+    BigInteger load(String name) throws IOException;
+
+    /**
+     * save the checkpoint of the subscription, replace the saved one
+     *
+     * @param name the name of the subscription
+     * @param blockNumber the last fully delivered block number
+     * @throws IOException throw when write the store failed
+     */
+    void save(String name, BigInteger blockNumber) throws IOException;
+
+    /**
+     * remove the checkpoint of the subscription
+     *
+     * @param name the name of the subscription
+     * @throws IOException throw when write the store failed
+     */
+    void remove(String name) throws IOException;
+}
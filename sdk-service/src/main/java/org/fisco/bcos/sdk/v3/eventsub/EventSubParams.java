@@ -30,6 +30,23 @@ public class EventSubParams {
     private final List<List<String>> topics =
             new ArrayList<>(Arrays.asList(null, null, null, null));
 
+    public EventSubParams() {}
+
+    /**
+     * copy the params, the later changes of either one do not affect the other
+     *
+     * @param params the params to copy
+     */
+    public EventSubParams(EventSubParams params) {
+        this.fromBlock = params.fromBlock;
+        this.toBlock = params.toBlock;
+        this.addresses.addAll(params.addresses);
+        for (int i = 0; i < params.topics.size(); i++) {
+            List<String> topic = params.topics.get(i);
+            this.topics.set(i, topic == null ? null : new ArrayList<>(topic));
+        }
+    }
+
     public BigInteger getFromBlock() {
         return fromBlock;
     }
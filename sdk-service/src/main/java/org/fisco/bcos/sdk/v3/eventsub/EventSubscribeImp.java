@@ -17,13 +17,19 @@ package org.fisco.bcos.sdk.v3.eventsub;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.fisco.bcos.sdk.jni.BcosSDKJniObj;
 import org.fisco.bcos.sdk.jni.common.JniException;
 import org.fisco.bcos.sdk.jni.event.EventSubJniObj;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.config.ConfigOption;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
 import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +44,9 @@ public class EventSubscribeImp implements EventSubscribe {
     private EventSubJniObj eventSubJniObj;
 
     private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final JsonResponseDecoder responseDecoder = new JsonResponseDecoder();
+    // the active subscriptions, registered before the native subscribe returns the eventSubId
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
 
     public EventSubscribeImp(Client client, ConfigOption configOption) throws JniException {
         this.groupId = client.getGroup();
@@ -65,6 +74,10 @@ public class EventSubscribeImp implements EventSubscribe {
         this.groupId = groupId;
     }
 
+    public JsonResponseDecoder getResponseDecoder() {
+        return responseDecoder;
+    }
+
     public ConfigOption getConfigOption() {
         return configOption;
     }
@@ -91,6 +104,27 @@ public class EventSubscribeImp implements EventSubscribe {
 
         logger.info("EventSub subscribeEvent, params: {}", params);
 
+        // the response may arrive before the native subscribe returns, register the subscription
+        // first and remove it on every error or terminal response
+        Subscription subscription = new Subscription(params);
+        subscriptions.add(subscription);
+        String eventSubId;
+        try {
+            eventSubId = nativeSubscribeEvent(strParams, subscription, callback);
+        } catch (RuntimeException e) {
+            subscriptions.remove(subscription);
+            throw e;
+        }
+        if (eventSubId == null || eventSubId.isEmpty()) {
+            subscriptions.remove(subscription);
+        } else {
+            subscription.eventSubId = eventSubId;
+        }
+        return eventSubId;
+    }
+
+    private String nativeSubscribeEvent(
+            String strParams, Subscription subscription, EventSubCallback callback) {
         return eventSubJniObj.subscribeEvent(
                 groupId,
                 strParams,
@@ -100,29 +134,38 @@ public class EventSubscribeImp implements EventSubscribe {
                                 "subscribeEvent response error, errorCode: {}, errorMessage: {}",
                                 response.getErrorCode(),
                                 response.getErrorMessage());
+                        subscriptions.remove(subscription);
                         callback.onReceiveLog("", response.getErrorCode(), null);
                         return;
                     }
 
-                    String strResp = new String(response.getData());
-                    logger.debug(
-                            "subscribeEvent response, errorCode: {}, errorMessage: {}, data: {}",
-                            response.getErrorCode(),
-                            response.getErrorMessage(),
-                            strResp);
+                    byte[] data = response.getData();
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(
+                                "subscribeEvent response, errorCode: {}, errorMessage: {}, data: {}",
+                                response.getErrorCode(),
+                                response.getErrorMessage(),
+                                new String(data, StandardCharsets.UTF_8));
+                    }
 
                     try {
                         EventSubResponse eventSubResponse =
-                                objectMapper.readValue(strResp, EventSubResponse.class);
+                                responseDecoder.decode(data, EventSubResponse.class);
+                        // the subscription ends when all the logs pushed or failed
+                        if (eventSubResponse.getStatus()
+                                != EventSubStatus.SUCCESS.getStatus()) {
+                            subscriptions.remove(subscription);
+                        }
                         callback.onReceiveLog(
                                 eventSubResponse.getId(),
                                 eventSubResponse.getStatus(),
                                 eventSubResponse.getLogs());
-                    } catch (JsonProcessingException e) {
+                    } catch (IOException e) {
                         logger.error(
                                 "subscribeEvent response parser json error, resp: {}, e: {}",
-                                strResp,
+                                new String(data, StandardCharsets.UTF_8),
                                 e);
+                        subscriptions.remove(subscription);
                     }
                 });
     }
@@ -130,11 +173,33 @@ public class EventSubscribeImp implements EventSubscribe {
     @Override
     public void unsubscribeEvent(String eventId) {
         eventSubJniObj.unsubscribeEvent(eventId);
+        subscriptions.removeIf(subscription -> eventId.equals(subscription.eventSubId));
     }
 
     @Override
     public Set<String> getAllSubscribedEvents() {
-        // TODO: impl
+        Set<String> eventSubIds = new HashSet<>();
+        for (Subscription subscription : subscriptions) {
+            String eventSubId = subscription.eventSubId;
+            if (eventSubId != null) {
+                eventSubIds.add(eventSubId);
+            }
+        }
+        return Collections.unmodifiableSet(eventSubIds);
+    }
+
+    /**
+     * get the params of the active subscription
+     *
+     * @param eventSubId the ID of event subscribe task
+     * @return the params, null if the subscription is not active
+     */
+    public EventSubParams getSubscribedEventParams(String eventSubId) {
+        for (Subscription subscription : subscriptions) {
+            if (eventSubId.equals(subscription.eventSubId)) {
+                return subscription.params;
+            }
+        }
         return null;
     }
 
@@ -155,4 +220,14 @@ public class EventSubscribeImp implements EventSubscribe {
             eventSubJniObj = null;
         }
     }
+
+    private static class Subscription {
+        private final EventSubParams params;
+        // null until the native subscribe returns
+        private volatile String eventSubId;
+
+        private Subscription(EventSubParams params) {
+            this.params = params;
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.eventsub;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Store the checkpoint of each subscription in the file named after the subscription under the
+ * directory. The checkpoint is written to a temp file and flushed to the disk before it replaces
+ * the file atomically, so that a crash never leaves a partially written checkpoint.
+ */
+public class FileEventSubCheckpointStore implements EventSubCheckpointStore {
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_.\\-]+");
+
+    private final Path directory;
+
+    public FileEventSubCheckpointStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public BigInteger load(String name) throws IOException {
+        Path file = this.getCheckpointFile(name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String checkpoint = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+        try {
+            return new BigInteger(checkpoint);
+        } catch (NumberFormatException e) {
+            throw new IOException("invalid checkpoint in " + file + ": " + checkpoint, e);
+        }
+    }
+
+    @Override
+    public void save(String name, BigInteger blockNumber) throws IOException {
+        Path file = this.getCheckpointFile(name);
+        Path tempFile = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        ByteBuffer content =
+                ByteBuffer.wrap(blockNumber.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel =
+                FileChannel.open(
+                        tempFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            // the rename may reach the disk before the content otherwise
+            channel.force(true);
+        }
+        try {
+            Files.move(
+                    tempFile,
+                    file,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void remove(String name) throws IOException {
+        Files.deleteIfExists(this.getCheckpointFile(name));
+    }
+
+    private Path getCheckpointFile(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException(
+                    "invalid subscription name: "
+                            + name
+                            + ", only letters, digits, '_', '.' and '-' are allowed");
+        }
+        return this.directory.resolve(name + CHECKPOINT_SUFFIX);
+    }
+}
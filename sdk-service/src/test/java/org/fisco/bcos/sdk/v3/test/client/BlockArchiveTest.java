@@ -0,0 +1,194 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.test.client;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.client.BlockArchive;
+import org.fisco.bcos.sdk.v3.client.BlockFetcher;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockArchiveTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static String transactionHash(long blockNumber, int index) {
+        return String.format("0x%064x", blockNumber * 1000 + index);
+    }
+
+    private static BcosBlock.Block block(
+            long blockNumber, int transactionCount, boolean onlyTxHash) {
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setNumber(blockNumber);
+        block.setHash("0xb" + blockNumber);
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        for (int i = 0; i < transactionCount; i++) {
+            if (onlyTxHash) {
+                transactions.add(new BcosBlock.TransactionHash(transactionHash(blockNumber, i)));
+            } else {
+                BcosBlock.TransactionObject transaction = new BcosBlock.TransactionObject();
+                transaction.setHash(transactionHash(blockNumber, i));
+                transaction.setInput("0x1234");
+                transactions.add(transaction);
+            }
+        }
+        block.setTransactions(transactions);
+        return block;
+    }
+
+    private static List<TransactionReceipt> receipts(long blockNumber, int transactionCount) {
+        List<TransactionReceipt> receipts = new ArrayList<>();
+        for (int i = 0; i < transactionCount; i++) {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(transactionHash(blockNumber, i));
+            receipt.setBlockNumber(String.valueOf(blockNumber));
+            receipt.setStatus(0);
+            receipts.add(receipt);
+        }
+        return receipts;
+    }
+
+    private static BlockArchive archive(File directory, long from, long to) throws Exception {
+        BlockArchive blockArchive = new BlockArchive(directory.getPath(), SEGMENT_SIZE);
+        for (long blockNumber = from; blockNumber <= to; blockNumber++) {
+            Assert.assertTrue(
+                    blockArchive.append(
+                            new BlockFetcher.FetchedBlock(
+                                    blockNumber,
+                                    block(blockNumber, 3, blockNumber % 2 == 0),
+                                    receipts(blockNumber, 3))));
+        }
+        return blockArchive;
+    }
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        File directory = Files.createTempDirectory("block-archive").toFile();
+        BlockArchive blockArchive = archive(directory, 5, 59);
+        Assert.assertEquals(55, blockArchive.getBlockCount());
+        Assert.assertTrue(blockArchive.getSegmentCount() > 1);
+        // already archived
+        Assert.assertFalse(blockArchive.append(block(10, 1, true), null));
+        try {
+            blockArchive.append(block(70, 1, true), null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // not following the last block
+        }
+
+        BcosBlock.Block block =
+                blockArchive.getBlockByNumber(BigInteger.valueOf(21), false, false).getBlock();
+        Assert.assertEquals(21, block.getNumber());
+        Assert.assertEquals("0xb21", block.getHash());
+        Assert.assertEquals(3, block.getTransactions().size());
+        Assert.assertTrue(block.getTransactions().get(0) instanceof BcosBlock.TransactionObject);
+        block = blockArchive.getBlockByNumber(BigInteger.valueOf(21), false, true).getBlock();
+        Assert.assertEquals(transactionHash(21, 1), block.getTransactions().get(1).get());
+        block = blockArchive.getBlockByNumber(BigInteger.valueOf(21), true, false).getBlock();
+        Assert.assertTrue(block.getTransactions().isEmpty());
+        Assert.assertNull(blockArchive.getBlockByNumber(BigInteger.valueOf(4), false, false));
+        Assert.assertNull(blockArchive.getBlockByNumber(BigInteger.valueOf(60), false, false));
+
+        Assert.assertEquals(3, blockArchive.getReceipts(59).size());
+        TransactionReceipt receipt =
+                blockArchive
+                        .getTransactionReceipt(transactionHash(33, 2).substring(2).toUpperCase())
+                        .getTransactionReceipt();
+        Assert.assertEquals(transactionHash(33, 2), receipt.getTransactionHash());
+        Assert.assertEquals("33", receipt.getBlockNumber());
+        Assert.assertNull(blockArchive.getTransactionReceipt(transactionHash(99, 0)));
+        Assert.assertEquals(3, blockArchive.getReadBlockCount());
+        blockArchive.close();
+
+        // reopen
+        blockArchive = new BlockArchive(directory.getPath(), SEGMENT_SIZE);
+        Assert.assertEquals(5, blockArchive.getFirstBlockNumber());
+        Assert.assertEquals(59, blockArchive.getLastBlockNumber());
+        Assert.assertNotNull(blockArchive.getTransactionReceipt(transactionHash(59, 0)));
+        Assert.assertTrue(blockArchive.append(block(60, 0, true), null));
+        Assert.assertNull(blockArchive.getReceipts(60));
+        blockArchive.close();
+    }
+
+    @Test
+    public void testDropBrokenRecords() throws Exception {
+        File directory = Files.createTempDirectory("block-archive").toFile();
+        archive(directory, 0, 49).close();
+        File[] segments = directory.listFiles();
+        Assert.assertNotNull(segments);
+        Arrays.sort(segments);
+        // break the first record of the middle segment
+        File brokenSegment = segments[segments.length / 2];
+        try (RandomAccessFile file = new RandomAccessFile(brokenSegment, "rw")) {
+            file.seek(40);
+            int value = file.read();
+            file.seek(40);
+            file.write(value ^ 0xff);
+        }
+
+        BlockArchive blockArchive = new BlockArchive(directory.getPath(), SEGMENT_SIZE);
+        long lastBlockNumber = blockArchive.getLastBlockNumber();
+        Assert.assertTrue(lastBlockNumber < 49);
+        Assert.assertEquals(segments.length / 2, blockArchive.getSegmentCount());
+        Assert.assertNull(blockArchive.getTransactionReceipt(transactionHash(49, 0)));
+        // appended after the dropped records
+        long nextBlockNumber = lastBlockNumber + 1;
+        Assert.assertTrue(
+                blockArchive.append(block(nextBlockNumber, 2, true), receipts(nextBlockNumber, 2)));
+        blockArchive.close();
+
+        blockArchive = new BlockArchive(directory.getPath(), SEGMENT_SIZE);
+        Assert.assertEquals(nextBlockNumber, blockArchive.getLastBlockNumber());
+        Assert.assertEquals(2, blockArchive.getReceipts(nextBlockNumber).size());
+        blockArchive.close();
+    }
+
+    @Test
+    public void testTransactionsOfSameIndexKey() throws Exception {
+        File directory = Files.createTempDirectory("block-archive").toFile();
+        BlockArchive blockArchive = new BlockArchive(directory.getPath(), SEGMENT_SIZE);
+        // the hashes are folded to the same index key
+        String[] transactionHashes = {
+            String.format("0x%048x%016x", 1, 0), String.format("0x%048x%016x", 0, 31)
+        };
+        for (int i = 0; i < transactionHashes.length; i++) {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(transactionHashes[i]);
+            receipt.setBlockNumber(String.valueOf(i));
+            Assert.assertTrue(blockArchive.append(block(i, 0, true), Arrays.asList(receipt)));
+        }
+        for (int i = 0; i < transactionHashes.length; i++) {
+            Assert.assertEquals(
+                    String.valueOf(i),
+                    blockArchive
+                            .getTransactionReceipt(transactionHashes[i])
+                            .getTransactionReceipt()
+                            .getBlockNumber());
+        }
+        // not archived, of the same key too
+        Assert.assertNull(
+                blockArchive.getTransactionReceipt(String.format("0x%032x%016x%016x", 0, 2, -31L)));
+        Assert.assertNull(blockArchive.getTransactionReceipt("0xxyz"));
+        // two arrays of 1024 longs
+        Assert.assertEquals(16 * 1024, blockArchive.getTransactionIndexBytes());
+        blockArchive.close();
+    }
+}
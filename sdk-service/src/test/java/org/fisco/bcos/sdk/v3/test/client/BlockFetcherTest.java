@@ -0,0 +1,220 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.test.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fisco.bcos.sdk.v3.client.BlockFetcher;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlockFetcherTest {
+    // block number => pending response
+    private final Map<Long, CompletableFuture<BcosBlock>> responses = new ConcurrentHashMap<>();
+
+    private Client mockClient() {
+        Client client = mock(Client.class);
+        when(client.getBlockByNumberAsync(any(BigInteger.class), anyBoolean(), anyBoolean()))
+                .then(
+                        invocation -> {
+                            BigInteger blockNumber = invocation.getArgument(0);
+                            CompletableFuture<BcosBlock> response = new CompletableFuture<>();
+                            responses.put(blockNumber.longValue(), response);
+                            return response;
+                        });
+        return client;
+    }
+
+    private static BcosBlock block(long blockNumber) {
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setNumber(blockNumber);
+        block.setTransactions(
+                Collections.singletonList(new BcosBlock.TransactionHash("0x" + blockNumber)));
+        BcosBlock bcosBlock = new BcosBlock();
+        bcosBlock.setResult(block);
+        return bcosBlock;
+    }
+
+    @Test
+    public void testDeliverInOrder() throws Exception {
+        BlockFetcher blockFetcher = new BlockFetcher(mockClient(), 3);
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> result =
+                blockFetcher.fetch(
+                        BigInteger.ONE,
+                        BigInteger.valueOf(5),
+                        fetchedBlock -> delivered.add(fetchedBlock.getBlock().getNumber()));
+
+        // only the window is requested
+        Assert.assertEquals(3, responses.size());
+        Assert.assertEquals(3, blockFetcher.getInflightCount());
+        responses.get(3L).complete(block(3));
+        responses.get(2L).complete(block(2));
+        Assert.assertTrue(delivered.isEmpty());
+        Assert.assertEquals(3, responses.size());
+
+        responses.get(1L).complete(block(1));
+        Assert.assertEquals(3, delivered.size());
+        Assert.assertEquals(5, responses.size());
+        responses.get(5L).complete(block(5));
+        responses.get(4L).complete(block(4));
+        result.get(5, TimeUnit.SECONDS);
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            expected.add(i);
+        }
+        Assert.assertEquals(expected, delivered);
+        Assert.assertEquals(5, blockFetcher.getDeliveredBlockCount());
+        Assert.assertEquals(0, blockFetcher.getInflightCount());
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        BlockFetcher blockFetcher = new BlockFetcher(mockClient(), 2);
+        blockFetcher.setRetryIntervalMs(1);
+        blockFetcher.setMaxRetries(1);
+        List<Long> delivered = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> result =
+                blockFetcher.fetch(
+                        BigInteger.ZERO,
+                        BigInteger.ONE,
+                        fetchedBlock -> delivered.add(fetchedBlock.getBlockNumber()));
+        responses.get(1L).complete(block(1));
+        CompletableFuture<BcosBlock> failed = responses.get(0L);
+        failed.completeExceptionally(new ClientException("failed"));
+        // wait for the retry
+        long deadline = System.currentTimeMillis() + 5000;
+        while (responses.get(0L) == failed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(1, blockFetcher.getRetryCount());
+        responses.get(0L).complete(block(0));
+        result.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(2, delivered.size());
+        Assert.assertEquals(Long.valueOf(0), delivered.get(0));
+
+        // fail after the retries are used up
+        result = blockFetcher.fetch(BigInteger.valueOf(2), BigInteger.valueOf(2), b -> {});
+        failed = responses.get(2L);
+        failed.completeExceptionally(new ClientException("failed"));
+        deadline = System.currentTimeMillis() + 5000;
+        while (responses.get(2L) == failed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        responses.get(2L).completeExceptionally(new ClientException("failed"));
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ClientException);
+        }
+        Assert.assertEquals(1, blockFetcher.getFailedCount());
+    }
+
+    @Test
+    public void testFetchReceipts() throws Exception {
+        Client client = mockClient();
+        AtomicInteger receiptRequests = new AtomicInteger();
+        when(client.getTransactionReceiptAsync(anyString(), anyBoolean()))
+                .then(
+                        invocation -> {
+                            receiptRequests.incrementAndGet();
+                            TransactionReceipt receipt = new TransactionReceipt();
+                            receipt.setTransactionHash(invocation.getArgument(0));
+                            BcosTransactionReceipt response = new BcosTransactionReceipt();
+                            response.setResult(receipt);
+                            return CompletableFuture.completedFuture(response);
+                        });
+        BlockFetcher blockFetcher = new BlockFetcher(client);
+        blockFetcher.setFetchReceipts(true);
+        List<BlockFetcher.FetchedBlock> delivered = new ArrayList<>();
+        CompletableFuture<Void> result =
+                blockFetcher.fetch(BigInteger.valueOf(7), BigInteger.valueOf(7), delivered::add);
+        responses.get(7L).complete(block(7));
+        result.get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, receiptRequests.get());
+        Assert.assertEquals(1, blockFetcher.getFetchedReceiptCount());
+        Assert.assertEquals(
+                "0x7", delivered.get(0).getReceipts().get(0).getTransactionHash());
+    }
+
+    @Test
+    public void testMaxInflightReceipts() throws Exception {
+        Client client = mockClient();
+        // transaction hash => pending receipt response
+        Map<String, CompletableFuture<BcosTransactionReceipt>> receiptResponses =
+                new ConcurrentHashMap<>();
+        when(client.getTransactionReceiptAsync(anyString(), anyBoolean()))
+                .then(
+                        invocation -> {
+                            CompletableFuture<BcosTransactionReceipt> response =
+                                    new CompletableFuture<>();
+                            receiptResponses.put(invocation.getArgument(0), response);
+                            return response;
+                        });
+        BlockFetcher blockFetcher = new BlockFetcher(client);
+        blockFetcher.setFetchReceipts(true);
+        blockFetcher.setMaxInflightReceipts(2);
+        List<BlockFetcher.FetchedBlock> delivered = new ArrayList<>();
+        CompletableFuture<Void> result =
+                blockFetcher.fetch(BigInteger.valueOf(1), BigInteger.valueOf(2), delivered::add);
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            transactions.add(new BcosBlock.TransactionHash("0x" + i));
+        }
+        for (long blockNumber = 1; blockNumber <= 2; blockNumber++) {
+            BcosBlock bcosBlock = block(blockNumber);
+            bcosBlock.getBlock().setTransactions(transactions);
+            responses.get(blockNumber).complete(bcosBlock);
+        }
+
+        // the ten receipt requests of the two blocks are sent two at a time
+        for (int sent = 2; sent <= 10; sent += 2) {
+            Assert.assertEquals(sent, blockFetcher.getReceiptWindow().getSentCount());
+            Assert.assertEquals(2, blockFetcher.getReceiptWindow().getInflightCount());
+            // a response releases a slot for the next request, complete the sent ones only
+            for (CompletableFuture<BcosTransactionReceipt> response :
+                    new ArrayList<>(receiptResponses.values())) {
+                BcosTransactionReceipt receipt = new BcosTransactionReceipt();
+                receipt.setResult(new TransactionReceipt());
+                response.complete(receipt);
+            }
+        }
+        result.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(2, delivered.size());
+        Assert.assertEquals(10, blockFetcher.getFetchedReceiptCount());
+        Assert.assertEquals(0, blockFetcher.getReceiptWindow().getInflightCount());
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.test.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.client.ChainDataCache;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlock;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.JsonRpcResponse;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChainDataCacheTest {
+    private static BcosBlock block(long blockNumber, int transactionCount) {
+        BcosBlock.Block block = new BcosBlock.Block();
+        block.setNumber(blockNumber);
+        block.setHash("0xb" + blockNumber);
+        List<BcosBlock.TransactionResult> transactions = new ArrayList<>();
+        for (int i = 0; i < transactionCount; i++) {
+            transactions.add(new BcosBlock.TransactionHash("0x" + blockNumber + i));
+        }
+        block.setTransactions(transactions);
+        BcosBlock bcosBlock = new BcosBlock();
+        bcosBlock.setResult(block);
+        return bcosBlock;
+    }
+
+    private static BcosTransactionReceipt receipt(String transactionHash) {
+        BcosTransactionReceipt bcosTransactionReceipt = new BcosTransactionReceipt();
+        if (transactionHash != null) {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(transactionHash);
+            bcosTransactionReceipt.setResult(receipt);
+        }
+        return bcosTransactionReceipt;
+    }
+
+    private static Client mockBlockClient() {
+        Client client = mock(Client.class);
+        when(client.getBlockByNumber(any(BigInteger.class), anyBoolean(), anyBoolean()))
+                .then(invocation -> block(invocation.<BigInteger>getArgument(0).longValue(), 1));
+        when(client.getBlockByHash(anyString(), anyBoolean(), anyBoolean()))
+                .then(
+                        invocation ->
+                                block(
+                                        Long.parseLong(
+                                                invocation.<String>getArgument(0).substring(3)),
+                                        1));
+        return client;
+    }
+
+    private static void verifyBlockRequests(Client client, int count) {
+        verify(client, times(count))
+                .getBlockByNumber(any(BigInteger.class), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void testReadThrough() {
+        Client client = mockBlockClient();
+        ChainDataCache cache = new ChainDataCache(client);
+        BcosBlock block = cache.getBlockByNumber(BigInteger.ONE, false, true);
+        Assert.assertSame(block, cache.getBlockByNumber(BigInteger.ONE, false, true));
+        // cached by the hash too
+        Assert.assertSame(block, cache.getBlockByHash("0xB1", false, true));
+        verifyBlockRequests(client, 1);
+
+        // another form of the block
+        cache.getBlockByNumber(BigInteger.ONE, true, true);
+        verifyBlockRequests(client, 2);
+
+        Assert.assertEquals(4, cache.size());
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testEviction() {
+        Client client = mockBlockClient();
+        // each block weighs 2 by the number, and 1 by the hash referring to the number
+        ChainDataCache cache = new ChainDataCache(client, 100, 6);
+        cache.getBlockByNumber(BigInteger.ONE, false, true);
+        Assert.assertEquals(3, cache.getWeight());
+        cache.getBlockByNumber(BigInteger.valueOf(2), false, true);
+        // block 1 is the most recently used
+        cache.getBlockByHash("0xb1", false, true);
+        cache.getBlockByNumber(BigInteger.ONE, false, true);
+        cache.getBlockByNumber(BigInteger.valueOf(3), false, true);
+        Assert.assertEquals(6, cache.getWeight());
+        Assert.assertEquals(2, cache.getEvictionCount());
+
+        cache.getBlockByNumber(BigInteger.ONE, false, true);
+        verifyBlockRequests(client, 3);
+        cache.getBlockByNumber(BigInteger.valueOf(2), false, true);
+        verifyBlockRequests(client, 4);
+
+        ChainDataCache sizeLimitedCache = new ChainDataCache(client, 3, 100);
+        sizeLimitedCache.getBlockByNumber(BigInteger.ONE, false, true);
+        sizeLimitedCache.getBlockByNumber(BigInteger.valueOf(2), false, true);
+        Assert.assertEquals(3, sizeLimitedCache.size());
+        // the hash of the evicted block is not found
+        BcosBlock block = sizeLimitedCache.getBlockByHash("0xb1", false, true);
+        Assert.assertEquals(1, block.getBlock().getNumber());
+        verify(client).getBlockByHash(anyString(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void testNegativeCache() throws Exception {
+        Client client = mock(Client.class);
+        List<String> minedTransactions = Collections.synchronizedList(new ArrayList<>());
+        when(client.getTransactionReceipt(anyString(), anyBoolean()))
+                .then(
+                        invocation -> {
+                            String transactionHash = invocation.getArgument(0);
+                            return receipt(
+                                    minedTransactions.contains(transactionHash)
+                                            ? transactionHash
+                                            : null);
+                        });
+        ChainDataCache cache = new ChainDataCache(client);
+        cache.setNegativeExpireTime(100);
+        Assert.assertNull(cache.getTransactionReceipt("0x01", false).getTransactionReceipt());
+        minedTransactions.add("0x01");
+        // not found until expired
+        Assert.assertNull(cache.getTransactionReceipt("0x01", false).getTransactionReceipt());
+        Assert.assertEquals(1, cache.getNegativeHitCount());
+        Thread.sleep(150);
+        Assert.assertEquals(
+                "0x01",
+                cache.getTransactionReceipt("0x01", false)
+                        .getTransactionReceipt()
+                        .getTransactionHash());
+        cache.getTransactionReceipt("0x01", false);
+        verify(client, times(2)).getTransactionReceipt(anyString(), anyBoolean());
+
+        // the error responses are not cached
+        BcosTransactionReceipt errorResponse = receipt(null);
+        errorResponse.setError(new JsonRpcResponse.Error(-1, "error"));
+        when(client.getTransactionReceipt(anyString(), anyBoolean())).thenReturn(errorResponse);
+        cache.getTransactionReceipt("0x02", false);
+        cache.getTransactionReceipt("0x02", false);
+        verify(client, times(4)).getTransactionReceipt(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void testAsyncShareRequest() throws Exception {
+        Client client = mock(Client.class);
+        CompletableFuture<BcosTransactionReceipt> response = new CompletableFuture<>();
+        when(client.getTransactionReceiptAsync(anyString(), anyBoolean())).thenReturn(response);
+        ChainDataCache cache = new ChainDataCache(client);
+        CompletableFuture<BcosTransactionReceipt> receipt0 =
+                cache.getTransactionReceiptAsync("0x01", false);
+        CompletableFuture<BcosTransactionReceipt> receipt1 =
+                cache.getTransactionReceiptAsync("0x01", false);
+        verify(client, times(1)).getTransactionReceiptAsync(anyString(), anyBoolean());
+        Assert.assertFalse(receipt0.isDone());
+
+        response.complete(receipt("0x01"));
+        Assert.assertEquals(
+                "0x01",
+                receipt0.get(5, TimeUnit.SECONDS).getTransactionReceipt().getTransactionHash());
+        Assert.assertSame(receipt0.get(), receipt1.get());
+        Assert.assertSame(receipt0.get(), cache.getTransactionReceiptAsync("0x01", false).get());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+}
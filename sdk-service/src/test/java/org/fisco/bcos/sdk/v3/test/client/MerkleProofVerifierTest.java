@@ -0,0 +1,296 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.test.client;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.fisco.bcos.sdk.v3.client.MerkleProofVerifier;
+import org.fisco.bcos.sdk.v3.client.protocol.model.JsonTransactionResponse;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosBlockHeader;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.MerkleProofUnit;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MerkleProofVerifierTest {
+    private static final int WIDTH = 16;
+
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+
+    private final List<String> leaves = new ArrayList<>();
+    // the RLP encoded index followed by the leaf, as the node builds the tree
+    private final List<String> leafNodes = new ArrayList<>();
+    // leaves[i] -> the path of the two levels tree
+    private final List<List<MerkleProofUnit>> proofs = new ArrayList<>();
+    // the interior nodes of the tree
+    private final List<String> parents = new ArrayList<>();
+    private String root;
+
+    public MerkleProofVerifierTest() {
+        Random random = new Random(25);
+        for (int i = 0; i < WIDTH * WIDTH; i++) {
+            byte[] leaf = new byte[32];
+            random.nextBytes(leaf);
+            this.leaves.add(Hex.toHexStringWithPrefix(leaf));
+            this.leafNodes.add(encodeIndex(i) + Hex.toHexString(leaf));
+        }
+        for (int i = 0; i < WIDTH; i++) {
+            this.parents.add(this.hashChildren(this.children(this.leafNodes, i)));
+        }
+        this.root = Hex.addPrefix(this.hashChildren(this.parents));
+        for (int i = 0; i < this.leaves.size(); i++) {
+            List<MerkleProofUnit> proof = new ArrayList<>();
+            proof.add(proofUnit(this.children(this.leafNodes, i / WIDTH), i % WIDTH));
+            proof.add(proofUnit(this.parents, i / WIDTH));
+            this.proofs.add(proof);
+        }
+    }
+
+    // RLP of the index, the indexes from 128 take two bytes
+    private static String encodeIndex(int index) {
+        if (index == 0) {
+            return "80";
+        }
+        return (index < 0x80 ? "" : "81") + String.format("%02x", index);
+    }
+
+    private List<String> children(List<String> nodes, int parentIndex) {
+        return nodes.subList(parentIndex * WIDTH, (parentIndex + 1) * WIDTH);
+    }
+
+    private String hashChildren(List<String> children) {
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        for (String child : children) {
+            byte[] childBytes = Hex.decode(child);
+            input.write(childBytes, 0, childBytes.length);
+        }
+        return Hex.toHexString(this.cryptoSuite.hash(input.toByteArray()));
+    }
+
+    private static MerkleProofUnit proofUnit(List<String> children, int index) {
+        MerkleProofUnit proofUnit = new MerkleProofUnit();
+        proofUnit.setLeft(trimPrefix(children.subList(0, index)));
+        proofUnit.setRight(trimPrefix(children.subList(index + 1, children.size())));
+        return proofUnit;
+    }
+
+    private static List<String> trimPrefix(List<String> hashes) {
+        List<String> trimmed = new ArrayList<>();
+        for (String hash : hashes) {
+            trimmed.add(Hex.trimPrefix(hash));
+        }
+        return trimmed;
+    }
+
+    // the transaction whose fields hash to the given hash, the hash is calculated by the jni
+    private static class HashedTransaction extends JsonTransactionResponse {
+        private final String calculatedHash;
+
+        private HashedTransaction(String hash, String calculatedHash) {
+            this.setHash(hash);
+            this.calculatedHash = calculatedHash;
+        }
+
+        @Override
+        public String calculateHash(CryptoSuite cryptoSuite) {
+            return this.calculatedHash;
+        }
+    }
+
+    @Test
+    public void testVerify() {
+        MerkleProofVerifier verifier = new MerkleProofVerifier(this.cryptoSuite);
+        Assert.assertTrue(verifier.verify(this.leaves.get(0), this.proofs.get(0), this.root));
+        Assert.assertTrue(
+                verifier.verify(
+                        this.leaves.get(37).toUpperCase().substring(2),
+                        this.proofs.get(37),
+                        this.root.toUpperCase()));
+        Assert.assertEquals(4, verifier.getHashCount());
+
+        // wrong leaf
+        Assert.assertFalse(verifier.verify(this.leaves.get(1), this.proofs.get(0), this.root));
+        // wrong root
+        Assert.assertFalse(
+                verifier.verify(this.leaves.get(0), this.proofs.get(0), this.leaves.get(1)));
+        // tampered proof
+        List<MerkleProofUnit> proof = new ArrayList<>(this.proofs.get(0));
+        MerkleProofUnit proofUnit = new MerkleProofUnit();
+        proofUnit.setLeft(proof.get(0).getLeft());
+        proofUnit.setRight(new ArrayList<>(proof.get(0).getRight()));
+        Collections.swap(proofUnit.getRight(), 0, 1);
+        proof.set(0, proofUnit);
+        Assert.assertFalse(verifier.verify(this.leaves.get(0), proof, this.root));
+        // invalid hex
+        proofUnit.getRight().set(0, "xyz");
+        Assert.assertFalse(verifier.verify(this.leaves.get(0), proof, this.root));
+        Assert.assertFalse(verifier.verify(this.leaves.get(0), null, this.root));
+        Assert.assertTrue(verifier.verify(this.root, null, this.root));
+
+        Assert.assertEquals(3, verifier.getVerifiedCount());
+        Assert.assertEquals(5, verifier.getFailedCount());
+    }
+
+    @Test
+    public void testVerifyTransactions() {
+        MerkleProofVerifier verifier = new MerkleProofVerifier(this.cryptoSuite);
+        BcosBlockHeader.BlockHeader blockHeader = new BcosBlockHeader.BlockHeader();
+        blockHeader.setTransactionsRoot(this.root);
+        List<JsonTransactionResponse> transactions = new ArrayList<>();
+        for (int i = 0; i < this.leaves.size(); i++) {
+            JsonTransactionResponse transaction =
+                    new HashedTransaction(this.leaves.get(i), this.leaves.get(i).substring(2));
+            transaction.setTransactionProof(this.proofs.get(i));
+            transactions.add(transaction);
+        }
+        String zeroHash = Hex.toHexStringWithPrefix(new byte[32]);
+        JsonTransactionResponse forgedTransaction = new HashedTransaction(zeroHash, zeroHash);
+        forgedTransaction.setTransactionProof(this.proofs.get(3));
+        transactions.add(forgedTransaction);
+        // the proven hash returned with the fields of another transaction
+        JsonTransactionResponse tamperedTransaction =
+                new HashedTransaction(this.leaves.get(4), zeroHash);
+        tamperedTransaction.setTransactionProof(this.proofs.get(4));
+        transactions.add(tamperedTransaction);
+
+        Assert.assertTrue(verifier.verifyTransaction(transactions.get(5), blockHeader));
+        Assert.assertEquals(2, verifier.getHashCount());
+        Assert.assertFalse(verifier.verifyTransaction(tamperedTransaction, blockHeader));
+        Assert.assertEquals(2, verifier.getHashCount());
+
+        List<JsonTransactionResponse> failedTransactions =
+                verifier.verifyTransactions(transactions, blockHeader);
+        Assert.assertEquals(
+                Arrays.asList(forgedTransaction, tamperedTransaction), failedTransactions);
+        // the upper level is hashed once for all, the lower once for each leaf
+        Assert.assertEquals(2 + WIDTH + WIDTH * WIDTH + 2, verifier.getHashCount());
+        Assert.assertEquals(WIDTH * WIDTH - WIDTH, verifier.getReusedNodeCount());
+    }
+
+    @Test
+    public void testVerifyReceipts() {
+        MerkleProofVerifier verifier = new MerkleProofVerifier(this.cryptoSuite);
+        BcosBlockHeader.BlockHeader blockHeader = new BcosBlockHeader.BlockHeader();
+        blockHeader.setReceiptsRoot(this.root);
+        List<TransactionReceipt> receipts = new ArrayList<>();
+        for (int i = 0; i < WIDTH; i++) {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setReceiptHash(this.leaves.get(i));
+            receipt.setReceiptProof(this.proofs.get(i));
+            receipts.add(receipt);
+        }
+        Assert.assertTrue(verifier.verifyReceipt(receipts.get(0), blockHeader));
+        Assert.assertTrue(verifier.verifyReceipts(receipts, blockHeader).isEmpty());
+        Assert.assertEquals(WIDTH + 1, verifier.getVerifiedCount());
+
+        // the interior nodes proved by the batch are not leaves
+        List<TransactionReceipt> forgedReceipts = new ArrayList<>(receipts);
+        for (List<MerkleProofUnit> proof :
+                Arrays.asList(null, Collections.<MerkleProofUnit>emptyList())) {
+            TransactionReceipt forgedReceipt = new TransactionReceipt();
+            forgedReceipt.setReceiptHash(this.parents.get(0));
+            forgedReceipt.setReceiptProof(proof);
+            forgedReceipts.add(forgedReceipt);
+        }
+        Assert.assertEquals(
+                forgedReceipts.subList(WIDTH, WIDTH + 2),
+                verifier.verifyReceipts(forgedReceipts, blockHeader));
+
+        // the leaf is not a node of the tree
+        blockHeader.setReceiptsRoot(this.leaves.get(0));
+        Assert.assertEquals(WIDTH, verifier.verifyReceipts(receipts, blockHeader).size());
+    }
+
+    private static MerkleProofUnit proofUnit(List<String> left, List<String> right) {
+        MerkleProofUnit proofUnit = new MerkleProofUnit();
+        proofUnit.setLeft(left);
+        proofUnit.setRight(right);
+        return proofUnit;
+    }
+
+    @Test
+    public void testNodeProof() {
+        // the receipt proof of the transaction 0x32 returned by the node, see ResponseTest
+        List<String> firstLeft =
+                Arrays.asList(
+                        "3088b5c8f9d92a3411a911f35ff0119a02e8f8f04852cf2fdfaa659843eac6a3ad",
+                        "31170ac8fd555dc50e59050841da0d96e4c4bc7e6266e1c6865c08c3b2391801dd");
+        List<String> firstRight =
+                Arrays.asList(
+                        "33c572c8f961e0c56689d641fcf274916857819769a74e6424c58659bf530e90e3",
+                        "341233933ea3d357b4fdd6b3d1ed732dcff15cfd54e527c93c15a4e0238585ed11",
+                        "351e7ba09965cce1cfb820aced1d37204b06d96a21c5c2cf36850ffc62cf1fc84c",
+                        "361f65633d9ae843d4d3679b255fd448546a7b531c0056e8161ea0adbf1af12c0f",
+                        "37744f6e0d320314536b230d28b2fd6ac90b0111fb1e3bf4a750689abc282d8589",
+                        "386e60d9daa0be9825019fcf3d08cdaf51a90dc62a22a6e11371f94a8e516679cc",
+                        "391ef2f2cee81f3561a9900d5333af18f59aa3cd14e70241b5e86305ba697bf5f2",
+                        "3ac9999d4f36d76c95c61761879eb9ec60b964a489527f5af844398ffaa8617f0d",
+                        "3b0039ce903e275170640f3a464ce2e1adc2a7caee41267c195469365074032401",
+                        "3ca53017502028a0cb5bbf6c47c4779f365138da6910ffcfebf9591b45b89abd48",
+                        "3de04fc8766a344bb73d3fe6360c61d036e2eeedfd9ecdb86a0498d7849ed591f0",
+                        "3e2fc73ee22c4986111423dd20e8db317a313c9df29fa5aa3090f27097ecc4e1a9",
+                        "3fa7d31ad5c6e7bba3f99f9efc03ed8dd97cb1504003c34ad6bde5a662481f00a0");
+        List<String> secondLeft =
+                Arrays.asList(
+                        "cd46118c0e99be585ffcf50423630348dbc486e54e9d9293a6a8754020a68a92",
+                        "3be78209b3e3c83af3668ec3192b5bf232531323ef66b66de80a11f386270132",
+                        "bd3a11d74a3fd79b1e1ea17e45b76eda4d25f6a5ec7fc5f067ea0d086b1ce70f");
+        List<String> secondRight =
+                Arrays.asList(
+                        "6a6cefef8b48e455287a8c8694b06f4f7cb7950017ab048d6e6bdd8029f9f8c9",
+                        "0a27c5ee02e618d919d228e6a754dc201d299c91c9e4420a48783bb6fcd09be5");
+        List<MerkleProofUnit> proof =
+                Arrays.asList(
+                        proofUnit(firstLeft, firstRight),
+                        proofUnit(secondLeft, secondRight),
+                        proofUnit(Collections.emptyList(), Collections.emptyList()));
+        // the index told by the proof is the transactionIndex returned with it
+        Assert.assertEquals(0x32, MerkleProofVerifier.getLeafIndex(proof));
+        // the leaf nodes of the first level are prefixed by their RLP encoded indexes
+        List<String> firstLevel = new ArrayList<>(proof.get(0).getLeft());
+        firstLevel.add(encodeIndex(0x32));
+        firstLevel.addAll(proof.get(0).getRight());
+        for (int i = 0; i < firstLevel.size(); i++) {
+            Assert.assertTrue(firstLevel.get(i).startsWith(encodeIndex(0x30 + i)));
+        }
+
+        // the root is folded from the proof under test, so the verification below is circular: it
+        // checks the index and the hashing of the verifier only, not against the root of a block
+        String leaf = "d2c12e211315ef09dbad53407bc820d062780232841534954f9c23ab11d8ab4c";
+        String node = encodeIndex(0x32) + leaf;
+        for (MerkleProofUnit proofUnit : proof) {
+            List<String> children = new ArrayList<>(proofUnit.getLeft());
+            children.add(node);
+            children.addAll(proofUnit.getRight());
+            node = this.hashChildren(children);
+        }
+        MerkleProofVerifier verifier = new MerkleProofVerifier(this.cryptoSuite);
+        Assert.assertTrue(verifier.verify(leaf, proof, node));
+        // the leaf of another index
+        List<MerkleProofUnit> movedProof = new ArrayList<>(proof);
+        List<String> left = new ArrayList<>(proof.get(0).getLeft());
+        List<String> right = new ArrayList<>(proof.get(0).getRight());
+        left.add(right.remove(0));
+        movedProof.set(0, proofUnit(left, right));
+        Assert.assertEquals(0x33, MerkleProofVerifier.getLeafIndex(movedProof));
+        Assert.assertFalse(verifier.verify(leaf, movedProof, node));
+    }
+}
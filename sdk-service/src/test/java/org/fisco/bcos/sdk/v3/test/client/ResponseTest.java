@@ -39,6 +39,7 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.Code;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.NodeVersion;
+import org.fisco.bcos.sdk.v3.utils.JsonResponseDecoder;
 import org.fisco.bcos.sdk.v3.utils.ObjectMapperFactory;
 import org.junit.Assert;
 import org.junit.Test;
@@ -251,6 +252,23 @@ public class ResponseTest {
         // check the transaction
         this.checkTransactionsForBlock(bcosBlock);
         this.checkEncodeDecode(bcosBlock);
+
+        // decode with the streaming decoder, the transactions are decoded lazily
+        JsonResponseDecoder responseDecoder = new JsonResponseDecoder();
+        responseDecoder.setLazyDecode(true);
+        BcosBlock lazyBlock = responseDecoder.decode(blockString.getBytes(), BcosBlock.class);
+        this.checkBlockHeader(lazyBlock);
+        Assert.assertTrue(
+                lazyBlock.getBlock().getTransactions()
+                        instanceof BcosBlock.LazyTransactionResultList);
+        Assert.assertFalse(
+                ((BcosBlock.LazyTransactionResultList) lazyBlock.getBlock().getTransactions())
+                        .isDecoded());
+        this.checkTransactionsForBlock(lazyBlock);
+        Assert.assertEquals(bcosBlock.getBlock(), lazyBlock.getBlock());
+        this.checkEncodeDecode(lazyBlock);
+        Assert.assertEquals(1, responseDecoder.getDecodedCount());
+        Assert.assertEquals(blockString.getBytes().length, responseDecoder.getDecodedBytes());
     }
 
     @Test
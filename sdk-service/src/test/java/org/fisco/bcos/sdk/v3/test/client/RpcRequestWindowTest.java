@@ -0,0 +1,208 @@
+/**
+ * Copyright 2014-2020 [fisco-dev]
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fisco.bcos.sdk.v3.test.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.fisco.bcos.sdk.v3.client.RpcRequestWindow;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RpcRequestWindowTest {
+    @Test
+    public void testRejectPolicy() throws Exception {
+        RpcRequestWindow window = new RpcRequestWindow(1, RpcRequestWindow.OverflowPolicy.REJECT);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = window.submit(() -> response, 0);
+        CompletableFuture<String> second = window.submit(() -> new CompletableFuture<>(), 0);
+
+        Assert.assertEquals(1, window.getInflightCount());
+        Assert.assertEquals(1, window.getRejectedCount());
+        Assert.assertEquals(
+                RpcRequestWindow.REQUEST_REJECTED, getClientException(second).getErrorCode());
+
+        response.complete("ok");
+        Assert.assertEquals("ok", first.get());
+        Assert.assertEquals(0, window.getInflightCount());
+
+        // the released slot could be used again
+        CompletableFuture<String> third =
+                window.submit(() -> CompletableFuture.completedFuture("again"), 0);
+        Assert.assertEquals("again", third.get());
+    }
+
+    @Test
+    public void testQueuePolicy() throws Exception {
+        RpcRequestWindow window = new RpcRequestWindow(2, RpcRequestWindow.OverflowPolicy.QUEUE);
+        CompletableFuture<Integer> response0 = new CompletableFuture<>();
+        CompletableFuture<Integer> response1 = new CompletableFuture<>();
+        CompletableFuture<Integer> first = window.submit(() -> response0, 0);
+        CompletableFuture<Integer> second = window.submit(() -> response1, 0);
+        CompletableFuture<Integer> third =
+                window.submit(() -> CompletableFuture.completedFuture(2), 0);
+
+        Assert.assertEquals(2, window.getInflightCount());
+        Assert.assertEquals(1, window.getPendingCount());
+        Assert.assertFalse(third.isDone());
+
+        response0.complete(0);
+        Assert.assertEquals(Integer.valueOf(0), first.get());
+        Assert.assertEquals(Integer.valueOf(2), third.get());
+        Assert.assertEquals(0, window.getPendingCount());
+
+        response1.complete(1);
+        Assert.assertEquals(Integer.valueOf(1), second.get());
+        Assert.assertEquals(0, window.getInflightCount());
+        Assert.assertEquals(3, window.getSentCount());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        RpcRequestWindow window = new RpcRequestWindow(1, RpcRequestWindow.OverflowPolicy.BLOCK);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> timeout = window.submit(() -> response, 50);
+        Assert.assertEquals(
+                RpcRequestWindow.REQUEST_TIMEOUT, getClientException(timeout).getErrorCode());
+        Assert.assertEquals(1, window.getTimeoutCount());
+
+        // the node is still working on the timeout request, the slot is kept
+        Assert.assertEquals(1, window.getInflightCount());
+        CompletableFuture<String> blocked =
+                window.submit(() -> CompletableFuture.completedFuture("blocked"), 50);
+        Assert.assertEquals(
+                RpcRequestWindow.REQUEST_TIMEOUT, getClientException(blocked).getErrorCode());
+        Assert.assertEquals(1, window.getSentCount());
+
+        // released by the late response
+        response.complete("late");
+        Assert.assertEquals(1, window.getLateResponseCount());
+        Assert.assertEquals(0, window.getInflightCount());
+        CompletableFuture<String> next =
+                window.submit(() -> CompletableFuture.completedFuture("next"), 50);
+        Assert.assertEquals("next", next.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBlockPolicy() throws Exception {
+        RpcRequestWindow window = new RpcRequestWindow(1, RpcRequestWindow.OverflowPolicy.BLOCK);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        window.submit(() -> response, 0);
+        CompletableFuture.runAsync(
+                () -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    response.complete("first");
+                });
+        // the caller is blocked until the first response releases the slot
+        CompletableFuture<String> second =
+                window.submit(() -> CompletableFuture.completedFuture("second"), 0);
+        Assert.assertTrue(response.isDone());
+        Assert.assertEquals("second", second.get());
+    }
+
+    @Test
+    public void testCallerRunsPolicy() throws Exception {
+        RpcRequestWindow window =
+                new RpcRequestWindow(1, RpcRequestWindow.OverflowPolicy.CALLER_RUNS);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        window.submit(() -> response, 0);
+        Thread caller = Thread.currentThread();
+        CompletableFuture<String> overflow = new CompletableFuture<>();
+        CompletableFuture<String> second =
+                window.submit(
+                        () -> {
+                            Assert.assertSame(caller, Thread.currentThread());
+                            return overflow;
+                        },
+                        0);
+        // sent at once out of the window
+        Assert.assertEquals(2, window.getInflightCount());
+        Assert.assertEquals(2, window.getSentCount());
+        Assert.assertEquals(1, window.getCallerRunsCount());
+
+        // the request sent out of the window releases no slot
+        overflow.complete("second");
+        Assert.assertEquals("second", second.get());
+        CompletableFuture<String> third =
+                window.submit(() -> CompletableFuture.completedFuture("third"), 0);
+        Assert.assertEquals("third", third.get());
+        Assert.assertEquals(2, window.getCallerRunsCount());
+
+        response.complete("first");
+        CompletableFuture<String> fourth =
+                window.submit(() -> CompletableFuture.completedFuture("fourth"), 0);
+        Assert.assertEquals("fourth", fourth.get());
+        Assert.assertEquals(2, window.getCallerRunsCount());
+        Assert.assertEquals(0, window.getInflightCount());
+    }
+
+    @Test
+    public void testDrainManyCompletedRequests() throws Exception {
+        RpcRequestWindow window = new RpcRequestWindow(1, RpcRequestWindow.OverflowPolicy.QUEUE);
+        CompletableFuture<Integer> response = new CompletableFuture<>();
+        window.submit(() -> response, 0);
+        int count = 100000;
+        CompletableFuture<?>[] results = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            Integer value = i;
+            results[i] = window.submit(() -> CompletableFuture.completedFuture(value), 0);
+        }
+        Assert.assertEquals(count, window.getPendingCount());
+
+        // the queued requests completed at once are drained in a loop, not recursively
+        response.complete(-1);
+        CompletableFuture.allOf(results).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(0, window.getPendingCount());
+        Assert.assertEquals(0, window.getInflightCount());
+        Assert.assertEquals(count + 1, window.getSentCount());
+    }
+
+    @Test
+    public void testParseOverflowPolicy() {
+        Assert.assertEquals(
+                RpcRequestWindow.OverflowPolicy.REJECT,
+                RpcRequestWindow.OverflowPolicy.fromString("reject"));
+        Assert.assertEquals(
+                RpcRequestWindow.OverflowPolicy.QUEUE,
+                RpcRequestWindow.OverflowPolicy.fromString("Queue"));
+        Assert.assertEquals(
+                RpcRequestWindow.OverflowPolicy.BLOCK,
+                RpcRequestWindow.OverflowPolicy.fromString("block"));
+        Assert.assertEquals(
+                RpcRequestWindow.OverflowPolicy.CALLER_RUNS,
+                RpcRequestWindow.OverflowPolicy.fromString("caller-runs"));
+        Assert.assertEquals(
+                RpcRequestWindow.OverflowPolicy.REJECT,
+                RpcRequestWindow.OverflowPolicy.fromString(null));
+    }
+
+    private static ClientException getClientException(CompletableFuture<?> future)
+            throws InterruptedException {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof ClientException);
+            return (ClientException) e.getCause();
+        } catch (Exception e) {
+            Assert.fail("unexpected exception: " + e);
+        }
+        Assert.fail("the future should be failed");
+        return null;
+    }
+}
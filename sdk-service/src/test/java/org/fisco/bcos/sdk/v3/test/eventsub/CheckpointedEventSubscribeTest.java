@@ -0,0 +1,208 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+
+package org.fisco.bcos.sdk.v3.test.eventsub;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.eventsub.CheckpointedEventSubCallback;
+import org.fisco.bcos.sdk.v3.eventsub.CheckpointedEventSubscribe;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubCheckpointStore;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubCallback;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubParams;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubStatus;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubscribe;
+import org.fisco.bcos.sdk.v3.eventsub.FileEventSubCheckpointStore;
+import org.fisco.bcos.sdk.v3.model.EventLog;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CheckpointedEventSubscribeTest {
+    private final List<EventSubCallback> callbacks = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<Integer> statuses = new ArrayList<>();
+
+    private EventSubscribe mockEventSubscribe() {
+        EventSubscribe eventSubscribe = mock(EventSubscribe.class);
+        when(eventSubscribe.subscribeEvent(any(EventSubParams.class), any()))
+                .then(
+                        invocation -> {
+                            callbacks.add(invocation.getArgument(1));
+                            return "eventSubId" + callbacks.size();
+                        });
+        return eventSubscribe;
+    }
+
+    private CheckpointedEventSubCallback callback() {
+        return new CheckpointedEventSubCallback() {
+            @Override
+            public void onReceiveLogs(String name, List<EventLog> logs) {
+                batchSizes.add(logs.size());
+            }
+
+            @Override
+            public void onStatus(String name, int status) {
+                statuses.add(status);
+            }
+        };
+    }
+
+    private static EventLog log(long blockNumber) {
+        EventLog eventLog = new EventLog();
+        eventLog.setBlockNumber("0x" + Long.toHexString(blockNumber));
+        return eventLog;
+    }
+
+    private static EventSubParams params() {
+        EventSubParams params = new EventSubParams();
+        params.setToBlock(BigInteger.valueOf(20));
+        return params;
+    }
+
+    private EventSubCallback lastCallback() {
+        return callbacks.get(callbacks.size() - 1);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        Path directory = Files.createTempDirectory("checkpoint");
+        EventSubscribe eventSubscribe = mockEventSubscribe();
+        CheckpointedEventSubscribe subscribe =
+                new CheckpointedEventSubscribe(
+                        eventSubscribe, new FileEventSubCheckpointStore(directory));
+        subscribe.setBatchSize(2);
+
+        Assert.assertEquals("eventSubId1", subscribe.subscribeEvent("sub", params(), callback()));
+        lastCallback().onReceiveLog("eventSubId1", 0, Arrays.asList(log(3), log(4), log(5)));
+        Assert.assertEquals(Arrays.asList(2, 1), batchSizes);
+        // the logs of block 5 may continue in the next push
+        Assert.assertEquals(BigInteger.valueOf(4), subscribe.getCheckpoint("sub"));
+        lastCallback().onReceiveLog("eventSubId1", 0, Arrays.asList(log(5), log(9)));
+        Assert.assertEquals(BigInteger.valueOf(8), subscribe.getCheckpoint("sub"));
+        Assert.assertEquals(5, subscribe.getDeliveredLogCount("sub"));
+
+        subscribe.unsubscribeEvent("sub");
+        verify(eventSubscribe).unsubscribeEvent("eventSubId1");
+        Assert.assertTrue(subscribe.getSubscriptions().isEmpty());
+
+        // restart with the same store
+        subscribe =
+                new CheckpointedEventSubscribe(
+                        eventSubscribe, new FileEventSubCheckpointStore(directory));
+        EventSubParams params = params();
+        subscribe.subscribeEvent("sub", params, callback());
+        Assert.assertEquals(BigInteger.valueOf(9), params.getFromBlock());
+        Assert.assertTrue(subscribe.getSubscriptions().contains("sub"));
+        lastCallback().onReceiveLog("eventSubId2", EventSubStatus.PUSH_COMPLETED.getStatus(), null);
+        Assert.assertEquals(BigInteger.valueOf(20), subscribe.getCheckpoint("sub"));
+        Assert.assertTrue(subscribe.getSubscriptions().isEmpty());
+
+        // all the logs have been delivered
+        Assert.assertEquals("", subscribe.subscribeEvent("sub", params(), callback()));
+        Assert.assertEquals(2, callbacks.size());
+        Assert.assertEquals(2, statuses.size());
+    }
+
+    @Test
+    public void testStopWhenDeliverFailed() throws Exception {
+        EventSubscribe eventSubscribe = mockEventSubscribe();
+        CheckpointedEventSubscribe subscribe =
+                new CheckpointedEventSubscribe(
+                        eventSubscribe,
+                        new FileEventSubCheckpointStore(Files.createTempDirectory("checkpoint")));
+        subscribe.subscribeEvent(
+                "sub",
+                new EventSubParams(),
+                new CheckpointedEventSubCallback() {
+                    @Override
+                    public void onReceiveLogs(String name, List<EventLog> logs)
+                            throws Exception {
+                        throw new Exception("consume failed");
+                    }
+
+                    @Override
+                    public void onStatus(String name, int status) {
+                        statuses.add(status);
+                    }
+                });
+        lastCallback().onReceiveLog("eventSubId1", 0, Arrays.asList(log(1), log(2)));
+        Assert.assertNull(subscribe.getCheckpoint("sub"));
+        Assert.assertEquals(
+                Arrays.asList(EventSubStatus.OTHER_ERROR.getStatus()), statuses);
+        verify(eventSubscribe).unsubscribeEvent("eventSubId1");
+
+        // the later logs are not delivered
+        lastCallback().onReceiveLog("eventSubId1", 0, Arrays.asList(log(3)));
+        Assert.assertNull(subscribe.getCheckpoint("sub"));
+    }
+
+    @Test
+    public void testNameReservedUntilSubscribed() throws Exception {
+        EventSubscribe eventSubscribe = mockEventSubscribe();
+        List<Exception> nestedErrors = new ArrayList<>();
+        boolean[] failLoad = {true};
+        CheckpointedEventSubscribe[] subscribe = new CheckpointedEventSubscribe[1];
+        subscribe[0] =
+                new CheckpointedEventSubscribe(
+                        eventSubscribe,
+                        new EventSubCheckpointStore() {
+                            @Override
+                            public BigInteger load(String name) throws IOException {
+                                // the name is taken while the checkpoint is loading
+                                try {
+                                    subscribe[0].subscribeEvent(name, params(), callback());
+                                } catch (IllegalStateException e) {
+                                    nestedErrors.add(e);
+                                }
+                                if (failLoad[0]) {
+                                    throw new IOException("load failed");
+                                }
+                                return null;
+                            }
+
+                            @Override
+                            public void save(String name, BigInteger blockNumber) {}
+
+                            @Override
+                            public void remove(String name) {}
+                        });
+
+        try {
+            subscribe[0].subscribeEvent("sub", params(), callback());
+            Assert.fail("the load should be failed");
+        } catch (IOException e) {
+            Assert.assertEquals("load failed", e.getMessage());
+        }
+        Assert.assertEquals(1, nestedErrors.size());
+        // the failed subscription releases the name
+        Assert.assertTrue(subscribe[0].getSubscriptions().isEmpty());
+
+        failLoad[0] = false;
+        Assert.assertEquals(
+                "eventSubId1", subscribe[0].subscribeEvent("sub", params(), callback()));
+        Assert.assertEquals(2, nestedErrors.size());
+        Assert.assertEquals(1, callbacks.size());
+    }
+}
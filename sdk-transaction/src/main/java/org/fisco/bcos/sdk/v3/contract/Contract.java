@@ -19,9 +19,16 @@ import static org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute.L
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.client.Client;
@@ -40,6 +47,11 @@ import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubCallback;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubParams;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubscribe;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.EventLog;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
@@ -48,6 +60,7 @@ import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessor;
 import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessorFactory;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.CallRequest;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+import org.fisco.bcos.sdk.v3.utils.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +84,10 @@ public class Contract {
     protected final CryptoSuite cryptoSuite;
     protected final EventEncoder eventEncoder;
     private boolean enableDAG = false;
+    // decode the subscribed event logs and call the typed callbacks
+    public static final int DEFAULT_MAX_PENDING_EVENT_PUSHES = 10000;
+    private static final Executor defaultEventExecutor = createEventExecutor();
+    private Executor eventExecutor = defaultEventExecutor;
 
     /**
      * Constructor
@@ -149,6 +166,40 @@ public class Contract {
         return this.credential.getAddress();
     }
 
+    private static Executor createEventExecutor() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(DEFAULT_MAX_PENDING_EVENT_PUSHES),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "contract-event-" + threadIndex.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        // back pressure: decode in the receiving thread when the queue is full,
+                        // dropping a push would break the order of the following ones
+                        new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public Executor getEventExecutor() {
+        return this.eventExecutor;
+    }
+
+    /** @param eventExecutor the executor to decode the subscribed events and call the callbacks */
+    public void setEventExecutor(Executor eventExecutor) {
+        this.eventExecutor = eventExecutor;
+    }
+
     public boolean isEnableDAG() {
         return enableDAG;
     }
@@ -228,20 +279,15 @@ public class Contract {
         return attribute;
     }
 
-    private List<Type> executeCall(Function function) throws ContractException {
-
-        byte[] encodedFunctionData = this.functionEncoder.encode(function);
+    private Call call(byte[] data, String funName) throws ContractException {
         CallRequest callRequest =
-                new CallRequest(
-                        this.credential.getAddress(), this.contractAddress, encodedFunctionData);
+                new CallRequest(this.credential.getAddress(), this.contractAddress, data);
         Call response = this.transactionProcessor.executeCall(callRequest);
-        // get value from the response
-        String callResult = response.getCallResult().getOutput();
         if (response.getCallResult().getStatus() != 0) {
             ContractException contractException =
                     new ContractException(
                             "execute "
-                                    + function.getName()
+                                    + funName
                                     + " failed for non-zero status "
                                     + response.getCallResult().getStatus(),
                             response.getCallResult());
@@ -251,6 +297,13 @@ public class Contract {
                     response.getCallResult());
             throw ReceiptParser.parseExceptionCall(contractException);
         }
+        return response;
+    }
+
+    private List<Type> executeCall(Function function) throws ContractException {
+        Call response = this.call(this.functionEncoder.encode(function), function.getName());
+        // get value from the response
+        String callResult = response.getCallResult().getOutput();
         try {
             return functionReturnDecoder.decode(callResult, function.getOutputParameters());
         } catch (Exception e) {
@@ -296,6 +349,49 @@ public class Contract {
         return this.executeCall(function);
     }
 
+    /**
+     * call the function with the encoded data, used by the wrappers generated with the direct codec
+     *
+     * @param data the call data encoded by the wrapper
+     * @param funName the name of the function
+     * @param headLength the length of the heads of the returned values
+     * @return the returned data, at least headLength bytes
+     * @throws ContractException if the call failed or the returned data is too short
+     */
+    protected byte[] executeCall(byte[] data, String funName, int headLength)
+            throws ContractException {
+        Call response = this.call(data, funName);
+        byte[] output = Hex.decode(response.getCallResult().getOutput());
+        if (output.length < headLength) {
+            throw new ContractException(
+                    "executeCall for function "
+                            + funName
+                            + " failed for empty returned value from the contract "
+                            + this.contractAddress,
+                    response.getCallResult());
+        }
+        return output;
+    }
+
+    /**
+     * allocate the buffer of the call data with the method id of the crypto type, used by the
+     * wrappers generated with the direct codec
+     *
+     * @param methodId the method id hashed by keccak256
+     * @param smMethodId the method id hashed by sm3
+     * @param parametersLength the length of the encoded parameters
+     * @return the buffer positioned after the method id
+     */
+    protected ByteBuffer newCallData(byte[] methodId, byte[] smMethodId, int parametersLength) {
+        byte[] selector =
+                this.cryptoSuite.getCryptoTypeConfig() == CryptoType.SM_TYPE
+                        ? smMethodId
+                        : methodId;
+        ByteBuffer buffer = ByteBuffer.allocate(selector.length + parametersLength);
+        buffer.put(selector);
+        return buffer;
+    }
+
     protected int generateTxAttributeWithDagFlag(String functionName, int dagAttribute) {
         int txAttribute = generateTransactionAttribute(functionName);
         int dagFlag = dagAttribute;
@@ -322,16 +418,18 @@ public class Contract {
                 function.getTransactionAttribute());
     }
 
-    protected TransactionReceipt executeTransaction(Function function) {
-        int txAttribute =
-                generateTxAttributeWithDagFlag(
-                        function.getName(), function.getTransactionAttribute());
-
+    protected TransactionReceipt executeTransaction(
+            byte[] data, String funName, int dagAttribute) {
+        int txAttribute = generateTxAttributeWithDagFlag(funName, dagAttribute);
         return this.transactionProcessor.sendTransactionAndGetReceipt(
-                this.contractAddress,
+                this.contractAddress, data, this.credential, txAttribute);
+    }
+
+    protected TransactionReceipt executeTransaction(Function function) {
+        return this.executeTransaction(
                 this.functionEncoder.encode(function),
-                this.credential,
-                txAttribute);
+                function.getName(),
+                function.getTransactionAttribute());
     }
 
     protected TransactionReceipt executeDeployTransaction(byte[] data, String abi) {
@@ -364,20 +462,22 @@ public class Contract {
         }
     }
 
-    protected String createSignedTransaction(Function function) {
-        int txAttribute =
-                generateTxAttributeWithDagFlag(
-                        function.getName(), function.getTransactionAttribute());
+    protected String createSignedTransaction(byte[] data, String funName, int dagAttribute) {
+        int txAttribute = generateTxAttributeWithDagFlag(funName, dagAttribute);
         TxPair txPair =
                 this.transactionProcessor.createSignedTransaction(
-                        this.contractAddress,
-                        this.functionEncoder.encode(function),
-                        this.credential,
-                        txAttribute);
+                        this.contractAddress, data, this.credential, txAttribute);
 
         return txPair.getSignedTx();
     }
 
+    protected String createSignedTransaction(Function function) {
+        return this.createSignedTransaction(
+                this.functionEncoder.encode(function),
+                function.getName(),
+                function.getTransactionAttribute());
+    }
+
     public static EventValues staticExtractEventParameters(
             EventEncoder eventEncoder,
             FunctionReturnDecoderInterface functionReturnDecoder,
@@ -438,6 +538,102 @@ public class Contract {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * subscribe the event emitted by this contract, the logs are decoded by the event definition
+     * on the event executor and delivered to the callback in the order of the pushes
+     *
+     * @param eventSubscribe the event subscribe service
+     * @param event the event definition
+     * @param params the params of the subscription, the address of this contract and the topic of
+     *     the event are added to a copy, the params are not changed
+     * @param converter convert the decoded values into the event response
+     * @param callback the callback of the decoded events
+     * @param <T> the event response type
+     * @return registerId of event
+     */
+    protected <T> String subscribeEvent(
+            EventSubscribe eventSubscribe,
+            Event event,
+            EventSubParams params,
+            java.util.function.Function<EventValuesWithLog, T> converter,
+            TypedEventSubCallback<T> callback) {
+        // the caller may reuse the params for another subscription
+        EventSubParams subParams = new EventSubParams(params);
+        if (this.contractAddress != null
+                && !subParams.getAddresses().contains(this.contractAddress)) {
+            subParams.addAddress(this.contractAddress);
+        }
+        subParams.addTopic(0, this.eventEncoder.encode(event));
+        return eventSubscribe.subscribeEvent(
+                subParams,
+                new TypedEventDispatcher<>(event, converter, callback, this.eventExecutor));
+    }
+
+    private class TypedEventDispatcher<T> implements EventSubCallback {
+        private final Event event;
+        private final java.util.function.Function<EventValuesWithLog, T> converter;
+        private final TypedEventSubCallback<T> callback;
+        private final Executor executor;
+        // the last dispatched push, guarded by this, never completed exceptionally
+        private CompletableFuture<Void> lastDispatch = CompletableFuture.completedFuture(null);
+
+        private TypedEventDispatcher(
+                Event event,
+                java.util.function.Function<EventValuesWithLog, T> converter,
+                TypedEventSubCallback<T> callback,
+                Executor executor) {
+            this.event = event;
+            this.converter = converter;
+            this.callback = callback;
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void onReceiveLog(String eventSubId, int status, List<EventLog> logs) {
+            // keep the order of the pushes, and release the thread receiving the pushes, a push
+            // rejected by the executor is dropped without breaking the chain of the later ones
+            this.lastDispatch =
+                    this.lastDispatch
+                            .thenRunAsync(
+                                    () -> this.dispatch(eventSubId, status, logs), this.executor)
+                            .exceptionally(
+                                    e -> {
+                                        logger.error(
+                                                "dispatch the event push failed, id: {}, e: ",
+                                                eventSubId,
+                                                e);
+                                        return null;
+                                    });
+        }
+
+        private void dispatch(String eventSubId, int status, List<EventLog> logs) {
+            List<T> events = new ArrayList<>(logs == null ? 0 : logs.size());
+            if (logs != null) {
+                for (EventLog eventLog : logs) {
+                    try {
+                        EventValuesWithLog eventValues =
+                                extractEventParametersWithLog(
+                                        this.event, TransactionReceipt.Logs.fromEventLog(eventLog));
+                        if (eventValues != null) {
+                            events.add(this.converter.apply(eventValues));
+                        }
+                    } catch (Exception e) {
+                        logger.warn(
+                                "decode event log failed, event: {}, log: {}, e: ",
+                                this.event.getName(),
+                                eventLog,
+                                e);
+                    }
+                }
+            }
+            try {
+                this.callback.onReceiveEvents(eventSubId, status, events);
+            } catch (Exception e) {
+                logger.error("typed event callback failed, eventSubId: {}, e: ", eventSubId, e);
+            }
+        }
+    }
+
     public static <S extends Type, T> List<T> convertToNative(List<S> arr) {
         List<T> out = new ArrayList<T>();
         for (S s : arr) {
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.contract;
+
+import java.util.List;
+
+/**
+ * Callback of the event subscription of the contract wrappers, the logs are decoded into the typed
+ * event responses before delivered.
+ *
+ * @param <T> the event response type generated for the event
+ */
+public interface TypedEventSubCallback<T> {
+
+    /**
+     * onReceiveEvents called with the decoded events of each push of the subscription, in the
+     * order of the pushes.
+     *
+     * @param eventSubId the event sub task id.
+     * @param status the status that peer response to sdk.
+     * @param events the decoded events, empty if no logs in the push.
+     */
+    void onReceiveEvents(String eventSubId, int status, List<T> events);
+}
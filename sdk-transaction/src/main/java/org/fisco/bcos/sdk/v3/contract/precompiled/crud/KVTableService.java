@@ -37,6 +37,8 @@ import org.slf4j.LoggerFactory;
 public class KVTableService {
     private final Client client;
     private final TableManagerPrecompiled tableManagerPrecompiled;
+    private final TableHandleCache<KVTablePrecompiled> tableHandleCache =
+            new TableHandleCache<>();
     private final Logger logger = LoggerFactory.getLogger(KVTableService.class);
 
     public KVTableService(Client client, CryptoKeyPair credential) {
@@ -145,15 +147,33 @@ public class KVTableService {
     }
 
     private KVTablePrecompiled loadKVTablePrecompiled(String tableName) throws ContractException {
+        String fullTableName = getTableName(tableName);
+        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
+        TableHandleCache.TableHandle<KVTablePrecompiled> tableHandle =
+                tableHandleCache.get(fullTableName, cryptoKeyPair);
+        if (tableHandle != null) {
+            return tableHandle.getPrecompiled();
+        }
         String address =
-                client.isWASM()
-                        ? getTableName(tableName)
-                        : tableManagerPrecompiled.openTable(tableName);
+                client.isWASM() ? fullTableName : tableManagerPrecompiled.openTable(tableName);
         if (StringUtils.isEmpty(address)) {
             logger.error("Empty address when loadKVTablePrecompiled, tableName: {}", tableName);
             throw new ContractException(
                     "Empty address when loadKVTablePrecompiled, tableName: " + tableName);
         }
-        return KVTablePrecompiled.load(address, client, client.getCryptoSuite().getCryptoKeyPair());
+        KVTablePrecompiled kvTablePrecompiled =
+                KVTablePrecompiled.load(address, client, cryptoKeyPair);
+        tableHandleCache.put(fullTableName, address, kvTablePrecompiled, cryptoKeyPair);
+        return kvTablePrecompiled;
+    }
+
+    /**
+     * get the cache of the opened tables, the table address is cached for {@link
+     * TableHandleCache#getExpireTime()} milliseconds
+     *
+     * @return the table handle cache of this service
+     */
+    public TableHandleCache<KVTablePrecompiled> getTableHandleCache() {
+        return tableHandleCache;
     }
 }
@@ -44,6 +44,7 @@ import org.slf4j.LoggerFactory;
 public class TableCRUDService {
     private final Client client;
     private final TableManagerPrecompiled tableManagerPrecompiled;
+    private final TableHandleCache<TablePrecompiled> tableHandleCache = new TableHandleCache<>();
     private final Logger logger = LoggerFactory.getLogger(TableCRUDService.class);
 
     public TableCRUDService(Client client, CryptoKeyPair credential) {
@@ -115,6 +116,7 @@ public class TableCRUDService {
     public RetCode appendColumns(String tableName, List<String> newColumns)
             throws ContractException {
         TransactionReceipt receipt = tableManagerPrecompiled.appendColumns(tableName, newColumns);
+        this.tableHandleCache.invalidate(getTableName(tableName));
         return ReceiptParser.parseTransactionReceipt(
                 receipt, tr -> tableManagerPrecompiled.getAppendColumnsOutput(tr).getValue1());
     }
@@ -133,7 +135,10 @@ public class TableCRUDService {
                 tableName,
                 newColumns,
                 createTransactionCallback(
-                        callback,
+                        retCode -> {
+                            this.tableHandleCache.invalidate(getTableName(tableName));
+                            callback.onResponse(retCode);
+                        },
                         transactionReceipt ->
                                 tableManagerPrecompiled
                                         .getAppendColumnsOutput(transactionReceipt)
@@ -150,12 +155,18 @@ public class TableCRUDService {
      */
     public List<Map<String, String>> select(String tableName, Condition condition)
             throws ContractException {
-        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
-
-        TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
+        TableHandleCache.TableHandle<TablePrecompiled> tableHandle = openTable(tableName);
+        TablePrecompiled tablePrecompiled = tableHandle.getPrecompiled();
+        TableManagerPrecompiled.TableInfo tableInfo = getTableInfo(tableName, tableHandle);
 
         List<TablePrecompiled.Entry> selectEntry =
                 tablePrecompiled.select(condition.getTableConditions(), condition.getLimit());
+        for (TablePrecompiled.Entry entry : selectEntry) {
+            if (entry.fields.size() > tableInfo.valueColumns.size()) {
+                tableInfo = refreshTableInfo(tableName, tableHandle);
+                break;
+            }
+        }
         List<Map<String, String>> result = new ArrayList<>();
         for (TablePrecompiled.Entry entry : selectEntry) {
             Map<String, String> kvs = new HashMap<>();
@@ -206,15 +217,18 @@ public class TableCRUDService {
      * @throws ContractException throw when contract exec exception
      */
     public Map<String, String> select(String tableName, String key) throws ContractException {
-        TablePrecompiled tablePrecompiled = loadTablePrecompiled(tableName);
-
-        TableManagerPrecompiled.TableInfo tableInfo = tableManagerPrecompiled.desc(tableName);
+        TableHandleCache.TableHandle<TablePrecompiled> tableHandle = openTable(tableName);
+        TablePrecompiled tablePrecompiled = tableHandle.getPrecompiled();
+        TableManagerPrecompiled.TableInfo tableInfo = getTableInfo(tableName, tableHandle);
 
         TablePrecompiled.Entry selectEntry = tablePrecompiled.select(key);
         Map<String, String> result = new HashMap<>();
         if (selectEntry.fields.isEmpty()) {
             return result;
         }
+        if (selectEntry.fields.size() > tableInfo.valueColumns.size()) {
+            tableInfo = refreshTableInfo(tableName, tableHandle);
+        }
         result.put(tableInfo.keyColumn, selectEntry.key);
         for (int i = 0; i < selectEntry.fields.size(); i++) {
             result.put(tableInfo.valueColumns.get(i), selectEntry.fields.get(i));
@@ -579,15 +593,61 @@ public class TableCRUDService {
     }
 
     private TablePrecompiled loadTablePrecompiled(String tableName) throws ContractException {
+        return openTable(tableName).getPrecompiled();
+    }
+
+    private TableHandleCache.TableHandle<TablePrecompiled> openTable(String tableName)
+            throws ContractException {
+        String fullTableName = getTableName(tableName);
+        CryptoKeyPair cryptoKeyPair = client.getCryptoSuite().getCryptoKeyPair();
+        TableHandleCache.TableHandle<TablePrecompiled> tableHandle =
+                tableHandleCache.get(fullTableName, cryptoKeyPair);
+        if (tableHandle != null) {
+            return tableHandle;
+        }
         String address =
-                client.isWASM()
-                        ? getTableName(tableName)
-                        : tableManagerPrecompiled.openTable(tableName);
+                client.isWASM() ? fullTableName : tableManagerPrecompiled.openTable(tableName);
         if (StringUtils.isEmpty(address)) {
             logger.error("Empty address when loadTablePrecompiled, tableName: {}", tableName);
             throw new ContractException(
                     "Empty address when loadTablePrecompiled, tableName: " + tableName);
         }
-        return TablePrecompiled.load(address, client, client.getCryptoSuite().getCryptoKeyPair());
+        return tableHandleCache.put(
+                fullTableName,
+                address,
+                TablePrecompiled.load(address, client, cryptoKeyPair),
+                cryptoKeyPair);
+    }
+
+    private TableManagerPrecompiled.TableInfo getTableInfo(
+            String tableName, TableHandleCache.TableHandle<TablePrecompiled> tableHandle)
+            throws ContractException {
+        TableManagerPrecompiled.TableInfo tableInfo = tableHandle.getTableInfo();
+        if (tableInfo == null) {
+            tableInfo = tableManagerPrecompiled.desc(tableName);
+            if (!tableInfo.keyColumn.isEmpty()) {
+                tableHandle.setTableInfo(tableInfo);
+            }
+        }
+        return tableInfo;
+    }
+
+    // the cached desc is stale if the columns are appended by others
+    private TableManagerPrecompiled.TableInfo refreshTableInfo(
+            String tableName, TableHandleCache.TableHandle<TablePrecompiled> tableHandle)
+            throws ContractException {
+        tableHandle.setTableInfo(null);
+        return getTableInfo(tableName, tableHandle);
+    }
+
+    /**
+     * get the cache of the opened tables, the table address and desc are cached for {@link
+     * TableHandleCache#getExpireTime()} milliseconds, and invalidated when appending columns by
+     * this service
+     *
+     * @return the table handle cache of this service
+     */
+    public TableHandleCache<TablePrecompiled> getTableHandleCache() {
+        return tableHandleCache;
     }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.contract.precompiled.crud;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+
+/**
+ * Cache of the opened tables, keyed by the table name with the /tables/ prefix. A handle keeps the
+ * table address resolved by openTable, the loaded precompiled wrapper and the table desc, so that
+ * the reads and writes on a cached table only cost the RPC of the operation itself.
+ *
+ * <p>The handles expire after the expire time, or are invalidated explicitly when the table columns
+ * are changed.
+ */
+public class TableHandleCache<T> {
+    public static final long DEFAULT_EXPIRE_TIME = 60 * 1000;
+
+    private final Map<String, TableHandle<T>> tableNameToHandle = new ConcurrentHashMap<>();
+    private volatile long expireTime = DEFAULT_EXPIRE_TIME;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * get the cached handle of the table
+     *
+     * @param tableName the table name with the /tables/ prefix
+     * @param cryptoKeyPair the key pair the precompiled wrapper should be loaded with
+     * @return the cached handle, null if not cached, expired, or loaded with another key pair
+     */
+    public TableHandle<T> get(String tableName, CryptoKeyPair cryptoKeyPair) {
+        TableHandle<T> tableHandle = this.tableNameToHandle.get(tableName);
+        if (tableHandle == null) {
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        if (tableHandle.expireAt <= System.currentTimeMillis()) {
+            this.tableNameToHandle.remove(tableName, tableHandle);
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        if (tableHandle.cryptoKeyPair != cryptoKeyPair) {
+            this.missCount.incrementAndGet();
+            return null;
+        }
+        this.hitCount.incrementAndGet();
+        return tableHandle;
+    }
+
+    /**
+     * cache the handle of the opened table, nothing is cached if the expire time is not positive
+     *
+     * @param tableName the table name with the /tables/ prefix
+     * @param address the table address
+     * @param precompiled the precompiled wrapper loaded with the address
+     * @param cryptoKeyPair the key pair the precompiled wrapper loaded with
+     * @return the new handle
+     */
+    public TableHandle<T> put(
+            String tableName, String address, T precompiled, CryptoKeyPair cryptoKeyPair) {
+        long now = System.currentTimeMillis();
+        long currentExpireTime = this.expireTime;
+        TableHandle<T> tableHandle =
+                new TableHandle<>(
+                        address,
+                        precompiled,
+                        cryptoKeyPair,
+                        currentExpireTime > Long.MAX_VALUE - now
+                                ? Long.MAX_VALUE
+                                : now + currentExpireTime);
+        if (currentExpireTime > 0) {
+            this.tableNameToHandle.put(tableName, tableHandle);
+        }
+        return tableHandle;
+    }
+
+    /**
+     * remove the cached handle of the table
+     *
+     * @param tableName the table name with the /tables/ prefix
+     */
+    public void invalidate(String tableName) {
+        this.tableNameToHandle.remove(tableName);
+    }
+
+    public void clear() {
+        this.tableNameToHandle.clear();
+    }
+
+    public int size() {
+        return this.tableNameToHandle.size();
+    }
+
+    public long getExpireTime() {
+        return this.expireTime;
+    }
+
+    /**
+     * set how long the handles are cached, the cache is disabled if not positive
+     *
+     * @param expireTime the expire time in milliseconds
+     */
+    public void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+        if (expireTime <= 0) {
+            this.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TableHandleCache{"
+                + "size="
+                + this.size()
+                + ", expireTime="
+                + this.expireTime
+                + ", hitCount="
+                + this.hitCount
+                + ", missCount="
+                + this.missCount
+                + '}';
+    }
+
+    public static class TableHandle<T> {
+        private final String address;
+        private final T precompiled;
+        private final CryptoKeyPair cryptoKeyPair;
+        private final long expireAt;
+        // loaded lazily by the first select
+        private volatile TableManagerPrecompiled.TableInfo tableInfo;
+
+        private TableHandle(
+                String address, T precompiled, CryptoKeyPair cryptoKeyPair, long expireAt) {
+            this.address = address;
+            this.precompiled = precompiled;
+            this.cryptoKeyPair = cryptoKeyPair;
+            this.expireAt = expireAt;
+        }
+
+        public String getAddress() {
+            return this.address;
+        }
+
+        public T getPrecompiled() {
+            return this.precompiled;
+        }
+
+        public TableManagerPrecompiled.TableInfo getTableInfo() {
+            return this.tableInfo;
+        }
+
+        public void setTableInfo(TableManagerPrecompiled.TableInfo tableInfo) {
+            this.tableInfo = tableInfo;
+        }
+    }
+}
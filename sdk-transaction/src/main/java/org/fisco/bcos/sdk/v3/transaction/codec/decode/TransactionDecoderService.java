@@ -19,21 +19,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.fisco.bcos.sdk.v3.codec.ContractCodec;
 import org.fisco.bcos.sdk.v3.codec.ContractCodecException;
-import org.fisco.bcos.sdk.v3.codec.EventEncoder;
 import org.fisco.bcos.sdk.v3.codec.FunctionReturnDecoderInterface;
 import org.fisco.bcos.sdk.v3.codec.Utils;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition.NamedType;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinitionFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
-import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObjectFactory;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinitionCache;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.model.RetCode;
@@ -49,9 +46,12 @@ import org.slf4j.LoggerFactory;
 public class TransactionDecoderService implements TransactionDecoderInterface {
     protected static Logger logger = LoggerFactory.getLogger(TransactionDecoderService.class);
 
+    // decode the logs of the receipts or blocks carrying a large number of logs in parallel
+    public static final int DEFAULT_PARALLEL_DECODE_THRESHOLD = 1000;
+
     private CryptoSuite cryptoSuite;
     private final ContractCodec contractCodec;
-    private final EventEncoder eventEncoder;
+    private int parallelDecodeThreshold = DEFAULT_PARALLEL_DECODE_THRESHOLD;
 
     /**
      * create TransactionDecoderService
@@ -63,7 +63,6 @@ public class TransactionDecoderService implements TransactionDecoderInterface {
         super();
         this.cryptoSuite = cryptoSuite;
         this.contractCodec = new ContractCodec(cryptoSuite, isWasm);
-        this.eventEncoder = new EventEncoder(cryptoSuite);
     }
 
     @Override
@@ -133,58 +132,115 @@ public class TransactionDecoderService implements TransactionDecoderInterface {
 
     @Override
     public Map<String, List<List<Object>>> decodeEvents(String abi, List<Logs> logs) {
-        ABIDefinitionFactory abiDefinitionFactory = new ABIDefinitionFactory(cryptoSuite);
-        ContractABIDefinition contractABIDefinition = abiDefinitionFactory.loadABI(abi);
-        Map<String, List<ABIDefinition>> eventsMap = contractABIDefinition.getEvents();
+        return this.decodeEvents(abi, logs, false);
+    }
+
+    /**
+     * parse the transaction events from receipt logs, with the indexed inputs decoded from the
+     * topics
+     *
+     * @param abi contract abi
+     * @param logs logs in the transaction receipt
+     * @return Map(K,V), K is event name, V is list of the event inputs in the declared order. The
+     *     indexed inputs of static value types are decoded, the others are the topic hashes
+     */
+    public Map<String, List<List<Object>>> decodeEventsWithIndexed(String abi, List<Logs> logs) {
+        return this.decodeEvents(abi, logs, true);
+    }
+
+    private Map<String, List<List<Object>>> decodeEvents(
+            String abi, List<Logs> logs, boolean withIndexed) {
         Map<String, List<List<Object>>> result = new HashMap<>();
-        if (logs == null) {
+        if (logs == null || logs.isEmpty()) {
             return result;
         }
-        eventsMap.forEach(
-                (name, events) -> {
-                    for (ABIDefinition abiDefinition : events) {
-                        ABIObject outputObject =
-                                ABIObjectFactory.createEventInputObject(abiDefinition);
-                        for (Logs log : logs) {
-                            String eventSignature =
-                                    eventEncoder.buildEventSignature(
-                                            decodeMethodSign(abiDefinition));
-                            if (log.getTopics().isEmpty()
-                                    || !log.getTopics().contains(eventSignature)) {
-                                continue;
-                            }
-                            try {
-                                List<Object> list =
-                                        ContractCodecTools.decodeJavaObject(
-                                                outputObject,
-                                                log.getData(),
-                                                this.contractCodec.isWasm());
-                                if (result.containsKey(name)) {
-                                    result.get(name).add(list);
-                                } else {
-                                    List<List<Object>> l = new ArrayList<>();
-                                    l.add(list);
-                                    result.put(name, l);
-                                }
-                            } catch (Exception e) {
-                                logger.error(" exception in decodeEventToObject: ", e);
-                            }
-                        }
+        ContractABIDefinition contractABIDefinition =
+                ContractABIDefinitionCache.getInstance(cryptoSuite).loadABI(abi);
+        // dispatch each log by the first topic, which is the topic of the event
+        Logs[] logArray = logs.toArray(new Logs[0]);
+        ABIDefinition[] events = new ABIDefinition[logArray.length];
+        Object[] decodedEvents = new Object[logArray.length];
+        IntStream indexes = IntStream.range(0, logArray.length);
+        if (this.parallelDecodeThreshold > 0 && logArray.length >= this.parallelDecodeThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(
+                i -> {
+                    Logs log = logArray[i];
+                    if (log.getTopics() == null || log.getTopics().isEmpty()) {
+                        return;
                     }
+                    ABIDefinition event =
+                            contractABIDefinition.getEventByTopic(log.getTopics().get(0));
+                    if (event == null) {
+                        return;
+                    }
+                    events[i] = event;
+                    decodedEvents[i] =
+                            this.decodeLog(contractABIDefinition, event, log, withIndexed);
                 });
+        // merge in the order of the logs
+        for (int i = 0; i < logArray.length; i++) {
+            if (decodedEvents[i] == null) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            List<Object> decodedEvent = (List<Object>) decodedEvents[i];
+            result.computeIfAbsent(events[i].getName(), name -> new ArrayList<>())
+                    .add(decodedEvent);
+        }
         return result;
     }
 
-    private String decodeMethodSign(ABIDefinition abiDefinition) {
-        List<NamedType> inputTypes = abiDefinition.getInputs();
-        StringBuilder methodSign = new StringBuilder();
-        methodSign.append(abiDefinition.getName());
-        methodSign.append("(");
-        String params =
-                inputTypes.stream().map(NamedType::getType).collect(Collectors.joining(","));
-        methodSign.append(params);
-        methodSign.append(")");
-        return methodSign.toString();
+    private List<Object> decodeLog(
+            ContractABIDefinition contractABIDefinition,
+            ABIDefinition event,
+            Logs log,
+            boolean withIndexed) {
+        try {
+            List<Object> params =
+                    ContractCodecTools.decodeJavaObject(
+                            contractABIDefinition.getEventInputObject(event),
+                            log.getData(),
+                            this.contractCodec.isWasm());
+            if (!withIndexed) {
+                return params;
+            }
+            List<ABIObject> topicObjects = contractABIDefinition.getEventTopicObjects(event);
+            List<Object> inputs = new ArrayList<>(event.getInputs().size());
+            int paramIdx = 0;
+            int topicIdx = 0;
+            for (ABIDefinition.NamedType namedType : event.getInputs()) {
+                if (!namedType.isIndexed()) {
+                    inputs.add(params.get(paramIdx++));
+                    continue;
+                }
+                ABIObject topicObject = topicObjects.get(topicIdx);
+                // the first topic is the event topic
+                String topic = log.getTopics().get(++topicIdx);
+                if (topicObject == null || this.contractCodec.isWasm()) {
+                    inputs.add(topic);
+                } else {
+                    List<Object> value =
+                            ContractCodecTools.decodeJavaObject(topicObject, topic, false);
+                    inputs.add(value.get(0));
+                }
+            }
+            return inputs;
+        } catch (Exception e) {
+            logger.error(" exception in decodeEventToObject: ", e);
+            return null;
+        }
+    }
+
+    /** @return the min count of the logs to decode in parallel, 0 if never */
+    public int getParallelDecodeThreshold() {
+        return this.parallelDecodeThreshold;
+    }
+
+    /** @param parallelDecodeThreshold the min count of the logs to decode in parallel */
+    public void setParallelDecodeThreshold(int parallelDecodeThreshold) {
+        this.parallelDecodeThreshold = parallelDecodeThreshold;
     }
 
     /** @return the cryptoSuite */
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.codec.encode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writer of the TARS encoded data, the same as the TarsOutputStream of TarsCpp: the integers are
+ * written big-endian in the smallest type holding the value.
+ */
+class TarsOutputStream {
+    static final byte CHAR = 0;
+    static final byte SHORT = 1;
+    static final byte INT32 = 2;
+    static final byte INT64 = 3;
+    static final byte STRING1 = 6;
+    static final byte STRING4 = 7;
+    static final byte STRUCT_BEGIN = 10;
+    static final byte STRUCT_END = 11;
+    static final byte ZERO_TAG = 12;
+    static final byte SIMPLE_LIST = 13;
+
+    private byte[] buffer;
+    private int size;
+
+    TarsOutputStream(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    private void ensureCapacity(int length) {
+        if (this.buffer.length - this.size >= length) {
+            return;
+        }
+        this.buffer =
+                Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.size + length));
+    }
+
+    void writeHead(byte type, int tag) {
+        ensureCapacity(2);
+        if (tag < 15) {
+            this.buffer[this.size++] = (byte) ((tag << 4) | type);
+        } else {
+            this.buffer[this.size++] = (byte) (0xf0 | type);
+            this.buffer[this.size++] = (byte) tag;
+        }
+    }
+
+    private void writeBigEndian(long value, int length) {
+        ensureCapacity(length);
+        for (int i = length - 1; i >= 0; i--) {
+            this.buffer[this.size++] = (byte) (value >> (i * 8));
+        }
+    }
+
+    void write(long value, int tag) {
+        if (value == 0) {
+            writeHead(ZERO_TAG, tag);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            writeHead(CHAR, tag);
+            writeBigEndian(value, 1);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            writeHead(SHORT, tag);
+            writeBigEndian(value, 2);
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            writeHead(INT32, tag);
+            writeBigEndian(value, 4);
+        } else {
+            writeHead(INT64, tag);
+            writeBigEndian(value, 8);
+        }
+    }
+
+    void write(String value, int tag) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 255) {
+            writeHead(STRING4, tag);
+            writeBigEndian(bytes.length, 4);
+        } else {
+            writeHead(STRING1, tag);
+            writeBigEndian(bytes.length, 1);
+        }
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    /** write the vector&lt;byte&gt; as the simple list */
+    void write(byte[] value, int tag) {
+        writeHead(SIMPLE_LIST, tag);
+        writeHead(CHAR, 0);
+        write(value.length, 0);
+        writeRaw(value, 0, value.length);
+    }
+
+    /**
+     * write the struct of the encoded fields
+     *
+     * @param encodedFields the fields of the struct encoded without the struct head
+     * @param tag the tag of the struct
+     */
+    void writeStruct(byte[] encodedFields, int tag) {
+        writeHead(STRUCT_BEGIN, tag);
+        writeRaw(encodedFields, 0, encodedFields.length);
+        writeHead(STRUCT_END, 0);
+    }
+
+    void writeRaw(byte[] value, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(value, offset, this.buffer, this.size, length);
+        this.size += length;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.size);
+    }
+}
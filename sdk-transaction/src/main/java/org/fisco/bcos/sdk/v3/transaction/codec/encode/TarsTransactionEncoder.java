@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.codec.encode;
+
+/**
+ * Tars encoder of the v3 transaction in java, produces the same bytes as TransactionBuilderJniObj
+ * from the byte array inputs without the hex copies of the input, hash and signature.
+ *
+ * <p>The fields of the TransactionData and Transaction tars structs, the optional fields with the
+ * default value are omitted as TarsCpp does.
+ */
+public class TarsTransactionEncoder {
+    // TransactionData
+    private static final int TAG_VERSION = 1;
+    private static final int TAG_CHAIN_ID = 2;
+    private static final int TAG_GROUP_ID = 3;
+    private static final int TAG_BLOCK_LIMIT = 4;
+    private static final int TAG_NONCE = 5;
+    private static final int TAG_TO = 6;
+    private static final int TAG_INPUT = 7;
+    private static final int TAG_ABI = 8;
+    // Transaction
+    private static final int TAG_DATA = 1;
+    private static final int TAG_DATA_HASH = 2;
+    private static final int TAG_SIGNATURE = 3;
+    private static final int TAG_ATTRIBUTE = 5;
+
+    private TarsTransactionEncoder() {}
+
+    /**
+     * encode the transaction data, the hash of the encoded data is the transaction hash
+     *
+     * @param transactionData the transaction data
+     * @return the encoded transaction data
+     */
+    public static byte[] encodeTransactionData(TransactionData transactionData) {
+        TarsOutputStream out =
+                new TarsOutputStream(
+                        transactionData.getInput().length
+                                + transactionData.getAbi().length()
+                                + 160);
+        if (transactionData.getVersion() != 0) {
+            out.write(transactionData.getVersion(), TAG_VERSION);
+        }
+        writeString(out, transactionData.getChainId(), TAG_CHAIN_ID);
+        writeString(out, transactionData.getGroupId(), TAG_GROUP_ID);
+        if (transactionData.getBlockLimit() != 0) {
+            out.write(transactionData.getBlockLimit(), TAG_BLOCK_LIMIT);
+        }
+        writeString(out, transactionData.getNonce(), TAG_NONCE);
+        writeString(out, transactionData.getTo(), TAG_TO);
+        writeBytes(out, transactionData.getInput(), TAG_INPUT);
+        writeString(out, transactionData.getAbi(), TAG_ABI);
+        return out.toByteArray();
+    }
+
+    /**
+     * encode the signed transaction
+     *
+     * @param encodedTransactionData the transaction data encoded by {@link
+     *     #encodeTransactionData(TransactionData)}
+     * @param dataHash the hash of the encoded transaction data
+     * @param signature the encoded signature of the hash
+     * @param attribute transaction attribute, see more in {@link
+     *     org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute}
+     * @return the encoded signed transaction
+     */
+    public static byte[] encodeTransaction(
+            byte[] encodedTransactionData, byte[] dataHash, byte[] signature, int attribute) {
+        TarsOutputStream out =
+                new TarsOutputStream(
+                        encodedTransactionData.length + dataHash.length + signature.length + 16);
+        out.writeStruct(encodedTransactionData, TAG_DATA);
+        writeBytes(out, dataHash, TAG_DATA_HASH);
+        writeBytes(out, signature, TAG_SIGNATURE);
+        if (attribute != 0) {
+            out.write(attribute, TAG_ATTRIBUTE);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeString(TarsOutputStream out, String value, int tag) {
+        if (!value.isEmpty()) {
+            out.write(value, tag);
+        }
+    }
+
+    private static void writeBytes(TarsOutputStream out, byte[] value, int tag) {
+        if (value.length > 0) {
+            out.write(value, tag);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.codec.encode;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Objects;
+
+/**
+ * The data of the v3 transaction to be signed, the java counterpart of the transaction data created
+ * by TransactionBuilderJniObj.createTransactionData, encoded by {@link TarsTransactionEncoder}.
+ */
+public class TransactionData {
+    private static final SecureRandom NONCE_RANDOM = new SecureRandom();
+
+    private final int version;
+    private final String chainId;
+    private final String groupId;
+    private final long blockLimit;
+    private final String nonce;
+    private final String to;
+    private final byte[] input;
+    private final String abi;
+
+    /**
+     * create the transaction data with a random nonce
+     *
+     * @param groupId the group id
+     * @param chainId the chain id
+     * @param to target contract address, empty for deploy transaction
+     * @param input ABI encoded input, not copied
+     * @param abi ABI, empty if not deploy transaction
+     * @param blockLimit the block limit of the transaction
+     */
+    public TransactionData(
+            String groupId, String chainId, String to, byte[] input, String abi, long blockLimit) {
+        this(0, chainId, groupId, blockLimit, generateNonce(), to, input, abi);
+    }
+
+    public TransactionData(
+            int version,
+            String chainId,
+            String groupId,
+            long blockLimit,
+            String nonce,
+            String to,
+            byte[] input,
+            String abi) {
+        this.version = version;
+        this.chainId = Objects.nonNull(chainId) ? chainId : "";
+        this.groupId = Objects.nonNull(groupId) ? groupId : "";
+        this.blockLimit = blockLimit;
+        this.nonce = Objects.nonNull(nonce) ? nonce : "";
+        this.to = Objects.nonNull(to) ? to : "";
+        this.input = Objects.nonNull(input) ? input : new byte[0];
+        this.abi = Objects.nonNull(abi) ? abi : "";
+    }
+
+    /** @return the random u256 nonce in decimal, the same as the nonce generated by the jni */
+    public static String generateNonce() {
+        return new BigInteger(256, NONCE_RANDOM).toString();
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public String getChainId() {
+        return this.chainId;
+    }
+
+    public String getGroupId() {
+        return this.groupId;
+    }
+
+    public long getBlockLimit() {
+        return this.blockLimit;
+    }
+
+    public String getNonce() {
+        return this.nonce;
+    }
+
+    public String getTo() {
+        return this.to;
+    }
+
+    public byte[] getInput() {
+        return this.input;
+    }
+
+    public String getAbi() {
+        return this.abi;
+    }
+}
@@ -15,8 +15,11 @@
 package org.fisco.bcos.sdk.v3.transaction.codec.encode;
 
 import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.utils.Hex;
 
 /**
  * TransactionEncoderInterface @Description: TransactionEncoderInterface
@@ -33,6 +36,52 @@ public interface TransactionEncoderInterface {
      * @throws JniException throw when encode transaction error
      */
     byte[] encode(long transactionData) throws JniException;
+
+    /**
+     * Tars encode based on TransactionData, the default implementation creates the transaction
+     * data by the jni with the nonce generated by the jni
+     *
+     * @param transactionData transaction data
+     * @return encoded transaction data
+     * @throws JniException throw when encode transaction error
+     */
+    default byte[] encode(TransactionData transactionData) throws JniException {
+        return encode(
+                TransactionBuilderJniObj.createTransactionData(
+                        transactionData.getGroupId(),
+                        transactionData.getChainId(),
+                        transactionData.getTo(),
+                        Hex.toHexString(transactionData.getInput()),
+                        transactionData.getAbi(),
+                        transactionData.getBlockLimit()));
+    }
+
+    /**
+     * Tars encode, hash and sign the TransactionData, the default implementation encodes and signs
+     * by the jni with the nonce generated by the jni, override it to skip the hex copies of the
+     * input
+     *
+     * @param transactionData data to be encoded
+     * @param cryptoKeyPair keypair to sign the transaction locally
+     * @param attribute transaction attribute, see more in {@link
+     *     org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute}
+     * @return the hash and the hexed signed transaction
+     * @throws JniException throw when encode transaction error
+     */
+    default TxPair createSignedTransaction(
+            TransactionData transactionData, CryptoKeyPair cryptoKeyPair, int attribute)
+            throws JniException {
+        return TransactionBuilderJniObj.createSignedTransaction(
+                cryptoKeyPair.getJniKeyPair(),
+                transactionData.getGroupId(),
+                transactionData.getChainId(),
+                transactionData.getTo(),
+                Hex.toHexString(transactionData.getInput()),
+                transactionData.getAbi(),
+                transactionData.getBlockLimit(),
+                attribute);
+    }
+
     /**
      * Tars encode and sign based on TransactionData
      *
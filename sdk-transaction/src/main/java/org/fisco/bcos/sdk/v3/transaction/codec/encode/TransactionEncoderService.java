@@ -16,6 +16,7 @@ package org.fisco.bcos.sdk.v3.transaction.codec.encode;
 
 import org.fisco.bcos.sdk.jni.common.JniException;
 import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.crypto.signature.Signature;
@@ -59,6 +60,11 @@ public class TransactionEncoderService implements TransactionEncoderInterface {
         return Hex.decode(encodedTransactionData);
     }
 
+    @Override
+    public byte[] encode(TransactionData transactionData) {
+        return TarsTransactionEncoder.encodeTransactionData(transactionData);
+    }
+
     @Override
     public String encodeAndSign(long transactionData, CryptoKeyPair cryptoKeyPair, int attribute)
             throws JniException {
@@ -83,14 +89,8 @@ public class TransactionEncoderService implements TransactionEncoderInterface {
     public byte[] encodeToTransactionBytes(
             long transactionData, byte[] hash, SignatureResult result, int attribute)
             throws JniException {
-
-        String signedTransaction =
-                TransactionBuilderJniObj.createSignedTransaction(
-                        transactionData,
-                        Hex.toHexString(result.encode()),
-                        Hex.toHexString(hash),
-                        attribute);
-        return Hex.decode(signedTransaction);
+        return TarsTransactionEncoder.encodeTransaction(
+                encode(transactionData), hash, result.encode(), attribute);
     }
 
     @Override
@@ -100,6 +100,19 @@ public class TransactionEncoderService implements TransactionEncoderInterface {
         return encodeToTransactionBytes(transactionData, hash, result, attribute);
     }
 
+    @Override
+    public TxPair createSignedTransaction(
+            TransactionData transactionData, CryptoKeyPair cryptoKeyPair, int attribute) {
+        byte[] encodedTransactionData = encode(transactionData);
+        byte[] hash = this.cryptoSuite.hash(encodedTransactionData);
+        // signed by the key pair locally as the jni does, even with the remote sign provider
+        SignatureResult result = this.signature.sign(hash, cryptoKeyPair);
+        byte[] signedTransaction =
+                TarsTransactionEncoder.encodeTransaction(
+                        encodedTransactionData, hash, result.encode(), attribute);
+        return new TxPair(Hex.toHexStringWithPrefix(hash), Hex.toHexString(signedTransaction));
+    }
+
     /** @return the signature */
     public Signature getSignature() {
         return this.signature;
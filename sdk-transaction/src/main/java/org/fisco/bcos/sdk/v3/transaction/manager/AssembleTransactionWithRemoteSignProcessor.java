@@ -17,14 +17,16 @@ import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderService;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionResponse;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.NoSuchTransactionFileException;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.TransactionBaseException;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignBatcher;
 import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignCallbackInterface;
 import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignProviderInterface;
 import org.fisco.bcos.sdk.v3.transaction.signer.TransactionSignerService;
 import org.fisco.bcos.sdk.v3.transaction.tools.ContractLoader;
 
 public class AssembleTransactionWithRemoteSignProcessor extends AssembleTransactionProcessor
-        implements AssembleTransactionWithRemoteSignProviderInterface {
+        implements AssembleTransactionWithRemoteSignProviderInterface, AutoCloseable {
     private final RemoteSignProviderInterface transactionSignProvider;
+    private volatile RemoteSignBatcher signBatcher;
 
     public AssembleTransactionWithRemoteSignProcessor(
             Client client,
@@ -169,11 +171,8 @@ public class AssembleTransactionWithRemoteSignProcessor extends AssembleTransact
     @Override
     public CompletableFuture<TransactionReceipt> signAndPush(
             long transactionData, byte[] rawTxHash, int txAttribute) {
-        CompletableFuture<SignatureResult> future =
-                CompletableFuture.supplyAsync(
-                        () ->
-                                this.transactionSignProvider.requestForSign(
-                                        rawTxHash, this.cryptoSuite.getCryptoTypeConfig()));
+        // the hashes signed in a short window are sent to the remote sign service in one batch
+        CompletableFuture<SignatureResult> future = this.getSignBatcher().sign(rawTxHash);
         future.exceptionally(
                 e -> {
                     log.error("Request remote sign Error: {}", e.getMessage());
@@ -197,4 +196,48 @@ public class AssembleTransactionWithRemoteSignProcessor extends AssembleTransact
         log.info("Sign and push over, wait for callback...");
         return cr;
     }
+
+    /**
+     * @return the batcher of the remote sign requests, created on the first use and closed by
+     *     {@link #close()}
+     */
+    public RemoteSignBatcher getSignBatcher() {
+        RemoteSignBatcher batcher = this.signBatcher;
+        if (batcher == null) {
+            synchronized (this) {
+                batcher = this.signBatcher;
+                if (batcher == null) {
+                    batcher =
+                            new RemoteSignBatcher(
+                                    this.transactionSignProvider,
+                                    this.cryptoSuite.getCryptoTypeConfig());
+                    this.signBatcher = batcher;
+                }
+            }
+        }
+        return batcher;
+    }
+
+    /**
+     * replace the batcher of the remote sign requests, e.g. to tune the batch size and window, the
+     * previous batcher is closed
+     *
+     * @param signBatcher the batcher signing by the same remote sign service
+     */
+    public void setSignBatcher(RemoteSignBatcher signBatcher) {
+        RemoteSignBatcher previous;
+        synchronized (this) {
+            previous = this.signBatcher;
+            this.signBatcher = signBatcher;
+        }
+        if (previous != null && previous != signBatcher) {
+            previous.close();
+        }
+    }
+
+    /** close the batcher of the remote sign requests, the pending hashes are signed first */
+    @Override
+    public void close() {
+        this.setSignBatcher(null);
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.manager;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor of the blocking deploy transactions sent by the default implementation of {@link
+ * TransactionProcessorInterface#sendTransactionsAsync}, which keeps them off the common pool.
+ */
+final class DeployExecutor {
+    static final String THREAD_NAME_PREFIX = "transaction-deploy-";
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService executor = createExecutor();
+
+    private DeployExecutor() {}
+
+    static ExecutorService getExecutor() {
+        return executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor threadPool =
+                new ThreadPoolExecutor(
+                        POOL_SIZE,
+                        POOL_SIZE,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            THREAD_NAME_PREFIX + threadIndex.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        threadPool.allowCoreThreadTimeOut(true);
+        return threadPool;
+    }
+}
@@ -14,21 +14,31 @@
  */
 package org.fisco.bcos.sdk.v3.transaction.manager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.fisco.bcos.sdk.jni.common.JniException;
-import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
 import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.RpcRequestWindow;
 import org.fisco.bcos.sdk.v3.client.protocol.request.Transaction;
 import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionData;
 import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderInterface;
 import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderService;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.CallRequest;
-import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionRequest;
 import org.fisco.bcos.sdk.v3.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +52,16 @@ public class TransactionProcessor implements TransactionProcessorInterface {
     protected final String chainId;
     protected TransactionEncoderInterface transactionEncoder;
 
+    // the max count of the in-flight transactions sent by sendTransactionsAsync
+    public static final int DEFAULT_MAX_INFLIGHT_TRANSACTIONS = 1000;
+    private static final int SIGN_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService signExecutor = createSignExecutor();
+
+    private volatile RpcRequestWindow transactionWindow =
+            new RpcRequestWindow(
+                    DEFAULT_MAX_INFLIGHT_TRANSACTIONS, RpcRequestWindow.OverflowPolicy.QUEUE);
+    private volatile long batchTransactionTimeout = TransactionCallback.DEFAULT_TRANS_TIMEOUT;
+
     public TransactionProcessor(
             Client client, CryptoKeyPair cryptoKeyPair, String groupId, String chainId) {
         this.cryptoSuite = client.getCryptoSuite();
@@ -116,15 +136,8 @@ public class TransactionProcessor implements TransactionProcessorInterface {
                         txAttribute);
             }
 
-            return TransactionBuilderJniObj.createSignedTransaction(
-                    cryptoKeyPair.getJniKeyPair(),
-                    this.groupId,
-                    this.chainId,
-                    Objects.nonNull(to) ? to : "",
-                    Hex.toHexString(data),
-                    Objects.nonNull(abi) ? abi : "",
-                    client.getBlockLimit().longValue(),
-                    txAttribute);
+            return this.createSignedTransaction(
+                    to, data, abi, cryptoKeyPair, txAttribute, client.getBlockLimit().longValue());
         } catch (JniException e) {
             log.error("jni e: ", e);
             return null;
@@ -140,18 +153,203 @@ public class TransactionProcessor implements TransactionProcessorInterface {
                 log.debug("createSignedTransaction to: {}, attr: {}", to, txAttribute);
             }
 
-            return TransactionBuilderJniObj.createSignedTransaction(
-                    cryptoKeyPair.getJniKeyPair(),
-                    this.groupId,
-                    this.chainId,
-                    Objects.nonNull(to) ? to : "",
-                    Hex.toHexString(data),
-                    "",
-                    client.getBlockLimit().longValue(),
-                    txAttribute);
+            return this.createSignedTransaction(
+                    to, data, "", cryptoKeyPair, txAttribute, client.getBlockLimit().longValue());
         } catch (JniException e) {
             log.error("jni e: ", e);
             return null;
         }
     }
+
+    @Override
+    public List<CompletableFuture<TransactionReceipt>> sendTransactionsAsync(
+            List<TransactionRequest> transactionRequests) {
+        List<CompletableFuture<TransactionReceipt>> receiptFutures =
+                new ArrayList<>(transactionRequests.size());
+        if (transactionRequests.isEmpty()) {
+            return receiptFutures;
+        }
+        for (int i = 0; i < transactionRequests.size(); i++) {
+            receiptFutures.add(new CompletableFuture<>());
+        }
+        RpcRequestWindow window = this.transactionWindow;
+        long timeout = this.batchTransactionTimeout;
+        // the block limit is valid for BLOCK_LIMIT_RANGE blocks, fetch it once for the batch and
+        // off the calling thread
+        Runnable fetchTask =
+                () -> {
+                    long blockLimit;
+                    try {
+                        blockLimit = this.client.getBlockLimit().longValue();
+                    } catch (Exception e) {
+                        log.error("get block limit failed, e: ", e);
+                        receiptFutures.forEach(future -> future.completeExceptionally(e));
+                        return;
+                    }
+                    this.signAndSendChunks(
+                            transactionRequests, blockLimit, window, timeout, receiptFutures);
+                };
+        try {
+            signExecutor.execute(fetchTask);
+        } catch (RejectedExecutionException e) {
+            fetchTask.run();
+        }
+        return receiptFutures;
+    }
+
+    private void signAndSendChunks(
+            List<TransactionRequest> transactionRequests,
+            long blockLimit,
+            RpcRequestWindow window,
+            long timeout,
+            List<CompletableFuture<TransactionReceipt>> receiptFutures) {
+        // sign the transactions in parallel, each task signs a contiguous chunk and sends the
+        // signed transactions into the window in order
+        int chunkSize =
+                (transactionRequests.size() + SIGN_PARALLELISM - 1) / SIGN_PARALLELISM;
+        for (int start = 0; start < transactionRequests.size(); start += chunkSize) {
+            int begin = start;
+            int end = Math.min(start + chunkSize, transactionRequests.size());
+            Runnable signTask =
+                    () -> {
+                        for (int i = begin; i < end; i++) {
+                            this.signAndSend(
+                                    transactionRequests.get(i),
+                                    blockLimit,
+                                    window,
+                                    timeout,
+                                    receiptFutures.get(i));
+                        }
+                    };
+            try {
+                signExecutor.execute(signTask);
+            } catch (RejectedExecutionException e) {
+                signTask.run();
+            }
+        }
+    }
+
+    private void signAndSend(
+            TransactionRequest transactionRequest,
+            long blockLimit,
+            RpcRequestWindow window,
+            long timeout,
+            CompletableFuture<TransactionReceipt> receiptFuture) {
+        TxPair txPair;
+        try {
+            CryptoKeyPair keyPair =
+                    Objects.nonNull(transactionRequest.getCryptoKeyPair())
+                            ? transactionRequest.getCryptoKeyPair()
+                            : this.cryptoKeyPair;
+            txPair =
+                    this.createSignedTransaction(
+                            transactionRequest.getTo(),
+                            transactionRequest.getData(),
+                            transactionRequest.getAbi(),
+                            keyPair,
+                            transactionRequest.getTxAttribute(),
+                            blockLimit);
+        } catch (Exception e) {
+            log.error("sign transaction failed, to: {}, e: ", transactionRequest.getTo(), e);
+            receiptFuture.completeExceptionally(e);
+            return;
+        }
+        window.submit(() -> this.client.sendTransactionAsync(txPair.getSignedTx(), false), timeout)
+                .whenComplete(
+                        (transactionReceipt, e) -> {
+                            if (e != null) {
+                                receiptFuture.completeExceptionally(e);
+                                return;
+                            }
+                            if (Objects.nonNull(transactionReceipt)
+                                    && StringUtils.isEmpty(
+                                            transactionReceipt.getTransactionHash())) {
+                                transactionReceipt.setTransactionHash(txPair.getTxHash());
+                            }
+                            receiptFuture.complete(transactionReceipt);
+                        });
+    }
+
+    /**
+     * create signed transaction with the given block limit
+     *
+     * @param to target contract address
+     * @param data ABI encoded transaction data
+     * @param abi ABI, empty if not deploy transaction
+     * @param cryptoKeyPair key pair
+     * @param txAttribute transaction attribute
+     * @param blockLimit the block limit of the transaction
+     * @return hexed data of signed transaction
+     * @throws JniException throw when jni encode transaction error
+     */
+    protected TxPair createSignedTransaction(
+            String to,
+            byte[] data,
+            String abi,
+            CryptoKeyPair cryptoKeyPair,
+            int txAttribute,
+            long blockLimit)
+            throws JniException {
+        // encode and sign in java, the input is not copied to hex
+        return this.transactionEncoder.createSignedTransaction(
+                new TransactionData(this.groupId, this.chainId, to, data, abi, blockLimit),
+                cryptoKeyPair,
+                txAttribute);
+    }
+
+    private static ExecutorService createSignExecutor() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        SIGN_PARALLELISM,
+                        SIGN_PARALLELISM,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "transaction-sign-" + threadIndex.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * set the max count of the in-flight transactions sent by sendTransactionsAsync, the
+     * transactions exceeding the window are queued until the receipts of the former returned
+     *
+     * @param maxInflightTransactions the max count, no limit if not positive
+     */
+    public void setMaxInflightTransactions(int maxInflightTransactions) {
+        this.transactionWindow =
+                new RpcRequestWindow(
+                        maxInflightTransactions, RpcRequestWindow.OverflowPolicy.QUEUE);
+    }
+
+    @Override
+    public CryptoKeyPair getCryptoKeyPair() {
+        return this.cryptoKeyPair;
+    }
+
+    public RpcRequestWindow getTransactionWindow() {
+        return this.transactionWindow;
+    }
+
+    public long getBatchTransactionTimeout() {
+        return this.batchTransactionTimeout;
+    }
+
+    /**
+     * set the deadline of each transaction sent by sendTransactionsAsync, including the time
+     * waiting in the window
+     *
+     * @param batchTransactionTimeout the deadline in milliseconds, no deadline if not positive
+     */
+    public void setBatchTransactionTimeout(long batchTransactionTimeout) {
+        this.batchTransactionTimeout = batchTransactionTimeout;
+    }
 }
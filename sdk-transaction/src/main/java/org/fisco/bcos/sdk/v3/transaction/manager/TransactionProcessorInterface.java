@@ -14,6 +14,10 @@
  */
 package org.fisco.bcos.sdk.v3.transaction.manager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.fisco.bcos.sdk.jni.common.JniException;
 import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
 import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
@@ -21,6 +25,7 @@ import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.dto.CallRequest;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionRequest;
 
 /**
  * TransactionManagerInterface @Description: TransactionManagerInterface
@@ -78,6 +83,72 @@ public interface TransactionProcessorInterface {
             int txAttribute,
             TransactionCallback callback);
 
+    /**
+     * sign and send a batch of transactions asynchronously, the transactions are signed in
+     * parallel with one block limit, and sent through a bounded in-flight window.
+     *
+     * <p>The default implementation sends the transactions one by one with sendTransactionAsync,
+     * and the deploy transactions with deployAndGetReceipt in a dedicated executor. The requests
+     * without key pair are signed by getCryptoKeyPair.
+     *
+     * @param transactionRequests the transactions to send
+     * @return the futures of the transaction receipts, in the same order of the requests
+     */
+    default List<CompletableFuture<TransactionReceipt>> sendTransactionsAsync(
+            List<TransactionRequest> transactionRequests) {
+        List<CompletableFuture<TransactionReceipt>> receiptFutures =
+                new ArrayList<>(transactionRequests.size());
+        for (TransactionRequest transactionRequest : transactionRequests) {
+            CryptoKeyPair cryptoKeyPair =
+                    transactionRequest.getCryptoKeyPair() != null
+                            ? transactionRequest.getCryptoKeyPair()
+                            : this.getCryptoKeyPair();
+            if (transactionRequest.getAbi() != null && !transactionRequest.getAbi().isEmpty()) {
+                receiptFutures.add(
+                        CompletableFuture.supplyAsync(
+                                () -> {
+                                    try {
+                                        return this.deployAndGetReceipt(
+                                                transactionRequest.getTo(),
+                                                transactionRequest.getData(),
+                                                transactionRequest.getAbi(),
+                                                cryptoKeyPair,
+                                                transactionRequest.getTxAttribute());
+                                    } catch (JniException e) {
+                                        throw new CompletionException(e);
+                                    }
+                                },
+                                DeployExecutor.getExecutor()));
+                continue;
+            }
+            CompletableFuture<TransactionReceipt> receiptFuture = new CompletableFuture<>();
+            receiptFutures.add(receiptFuture);
+            try {
+                this.sendTransactionAsync(
+                        transactionRequest.getTo(),
+                        transactionRequest.getData(),
+                        cryptoKeyPair,
+                        transactionRequest.getTxAttribute(),
+                        new TransactionCallback() {
+                            @Override
+                            public void onResponse(TransactionReceipt receipt) {
+                                receiptFuture.complete(receipt);
+                            }
+                        });
+            } catch (Exception e) {
+                receiptFuture.completeExceptionally(e);
+            }
+        }
+        return receiptFutures;
+    }
+
+    /**
+     * get the default key pair of the processor
+     *
+     * @return the key pair signing the transactions without their own key pair
+     */
+    CryptoKeyPair getCryptoKeyPair();
+
     /**
      * send call to fisco bcos node and receive call response.
      *
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.model.dto;
+
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+
+/** TransactionRequest @Description: the transaction to be signed and sent in batch */
+public class TransactionRequest {
+    private String to;
+    private byte[] data;
+    private String abi;
+    private CryptoKeyPair cryptoKeyPair;
+    private int txAttribute;
+
+    /**
+     * @param to the contract address, empty when deploy contract
+     * @param data the ABI encoded transaction data
+     */
+    public TransactionRequest(String to, byte[] data) {
+        this.to = to;
+        this.data = data;
+    }
+
+    /**
+     * @param to the contract address, empty when deploy contract
+     * @param data the ABI encoded transaction data
+     * @param abi the ABI of the deployed contract, only used when deploy contract
+     * @param cryptoKeyPair the key pair to sign the transaction, use the key pair of the processor
+     *     if null
+     * @param txAttribute transaction attribute, see more in {@link
+     *     org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute}
+     */
+    public TransactionRequest(
+            String to, byte[] data, String abi, CryptoKeyPair cryptoKeyPair, int txAttribute) {
+        this(to, data);
+        this.abi = abi;
+        this.cryptoKeyPair = cryptoKeyPair;
+        this.txAttribute = txAttribute;
+    }
+
+    /** @return the to */
+    public String getTo() {
+        return this.to;
+    }
+
+    /** @param to the to to set */
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    /** @return the data */
+    public byte[] getData() {
+        return this.data;
+    }
+
+    /** @param data the data to set */
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    /** @return the abi */
+    public String getAbi() {
+        return this.abi;
+    }
+
+    /** @param abi the abi to set */
+    public void setAbi(String abi) {
+        this.abi = abi;
+    }
+
+    /** @return the cryptoKeyPair */
+    public CryptoKeyPair getCryptoKeyPair() {
+        return this.cryptoKeyPair;
+    }
+
+    /** @param cryptoKeyPair the cryptoKeyPair to set */
+    public void setCryptoKeyPair(CryptoKeyPair cryptoKeyPair) {
+        this.cryptoKeyPair = cryptoKeyPair;
+    }
+
+    /** @return the txAttribute */
+    public int getTxAttribute() {
+        return this.txAttribute;
+    }
+
+    /** @param txAttribute the txAttribute to set */
+    public void setTxAttribute(int txAttribute) {
+        this.txAttribute = txAttribute;
+    }
+}
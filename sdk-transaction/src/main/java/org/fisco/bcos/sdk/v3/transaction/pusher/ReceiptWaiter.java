@@ -0,0 +1,341 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.pusher;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.fisco.bcos.sdk.v3.BcosSDK;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wait the receipts of many pending transactions without blocking a thread for each of them. The
+ * pending transaction hashes are kept in a concurrent index, and resolved by polling the receipts
+ * in batches when a new block is notified, or periodically as a fallback.
+ *
+ * <p>The polling rounds run one at a time on the scheduler thread. A round owns the receipts it
+ * drained from the poll queue until their queries respond, and only the owner puts a receipt back
+ * into the queue, so a stale round superseded by a newer one never queries or re-queues the
+ * receipts owned by the newer round.
+ */
+public class ReceiptWaiter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptWaiter.class);
+
+    public static final long DEFAULT_POLL_INTERVAL = 1000;
+    public static final int DEFAULT_POLL_BATCH_SIZE = 500;
+
+    private final Client client;
+    private final long pollInterval;
+    private final int pollBatchSize;
+    private volatile long defaultTimeout = TransactionCallback.DEFAULT_TRANS_TIMEOUT;
+
+    private final Map<String, PendingReceipt> pendingReceipts = new ConcurrentHashMap<>();
+    // the hashes to poll in round-robin order
+    private final Queue<String> pollQueue = new ConcurrentLinkedQueue<>();
+    // the last polling round, only accessed by the scheduler thread
+    private PollRound pollRound;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile BigInteger latestBlockNumber = BigInteger.ZERO;
+    private final AtomicLong resolvedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong pollCount = new AtomicLong();
+    private final AtomicLong queryCount = new AtomicLong();
+
+    public ReceiptWaiter(Client client) {
+        this(client, DEFAULT_POLL_INTERVAL, DEFAULT_POLL_BATCH_SIZE);
+    }
+
+    /**
+     * create the ReceiptWaiter
+     *
+     * @param client the client to query the receipts
+     * @param pollInterval the interval in milliseconds of the fallback polling
+     * @param pollBatchSize the max count of the receipts queried in one polling round
+     */
+    public ReceiptWaiter(Client client, long pollInterval, int pollBatchSize) {
+        this.client = client;
+        this.pollInterval = pollInterval;
+        this.pollBatchSize = pollBatchSize;
+        ScheduledThreadPoolExecutor executor =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "receipt-waiter");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+        this.scheduler.scheduleWithFixedDelay(
+                this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * poll the pending receipts when the new block of the client group is notified
+     *
+     * @param bcosSDK the sdk to register the block notifier
+     */
+    public void registerBlockNotifier(BcosSDK bcosSDK) {
+        bcosSDK.registerBlockNotifier(
+                this.client.getGroup(), (groupId, blockNumber) -> this.onBlock(blockNumber));
+    }
+
+    /**
+     * notify the new block, the pending receipts are polled asynchronously
+     *
+     * @param blockNumber the number of the new block
+     */
+    public void onBlock(BigInteger blockNumber) {
+        if (blockNumber.compareTo(this.latestBlockNumber) <= 0) {
+            return;
+        }
+        this.latestBlockNumber = blockNumber;
+        if (!this.pendingReceipts.isEmpty()) {
+            this.scheduler.execute(this::poll);
+        }
+    }
+
+    /**
+     * wait the receipt of the transaction with the default timeout
+     *
+     * @param transactionHash the hash of the sent transaction
+     * @return the future of the receipt, the receipt status is TimeOut if timeout
+     */
+    public CompletableFuture<TransactionReceipt> waitForReceipt(String transactionHash) {
+        return this.waitForReceipt(transactionHash, this.defaultTimeout);
+    }
+
+    /**
+     * wait the receipt of the transaction
+     *
+     * @param transactionHash the hash of the sent transaction
+     * @param timeout the timeout in milliseconds, no timeout if not positive
+     * @return the future of the receipt, the receipt status is TimeOut if timeout
+     */
+    public CompletableFuture<TransactionReceipt> waitForReceipt(
+            String transactionHash, long timeout) {
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+        PendingReceipt newReceipt = new PendingReceipt(transactionHash, deadline);
+        PendingReceipt pendingReceipt =
+                this.pendingReceipts.putIfAbsent(transactionHash, newReceipt);
+        if (pendingReceipt == null) {
+            pendingReceipt = newReceipt;
+            this.pollQueue.offer(transactionHash);
+        }
+        return pendingReceipt.future;
+    }
+
+    private void poll() {
+        PollRound lastRound = this.pollRound;
+        if (lastRound != null && !lastRound.isFinished()) {
+            // the queries of the last round may never respond, start a new round after a while
+            long stalePollTime = Math.max(this.pollInterval * 10, this.defaultTimeout);
+            if (System.currentTimeMillis() - lastRound.startTime < stalePollTime) {
+                return;
+            }
+            logger.warn("the last polling round does not finish in {} ms", stalePollTime);
+            this.abandon(lastRound);
+        }
+        PollRound round = new PollRound(System.currentTimeMillis());
+        this.pollRound = round;
+        try {
+            this.pollCount.incrementAndGet();
+            this.expire();
+            for (int i = 0; i < this.pollBatchSize; i++) {
+                String transactionHash = this.pollQueue.poll();
+                if (transactionHash == null) {
+                    break;
+                }
+                PendingReceipt pendingReceipt = this.pendingReceipts.get(transactionHash);
+                // skip the resolved receipts and the ones queued twice
+                if (pendingReceipt != null && pendingReceipt.owner.compareAndSet(null, round)) {
+                    round.receipts.add(pendingReceipt);
+                }
+            }
+            // count all the queries before sending any, the round finishes with the last response
+            round.remaining.set(round.receipts.size());
+            for (PendingReceipt pendingReceipt : round.receipts) {
+                this.query(pendingReceipt, round);
+            }
+        } catch (Exception e) {
+            logger.error("poll the pending receipts failed, e: ", e);
+            this.abandon(round);
+            round.remaining.set(0);
+        }
+    }
+
+    private void query(PendingReceipt pendingReceipt, PollRound round) {
+        this.queryCount.incrementAndGet();
+        CompletableFuture<BcosTransactionReceipt> response;
+        try {
+            response =
+                    this.client.getTransactionReceiptAsync(pendingReceipt.transactionHash, false);
+        } catch (Exception e) {
+            logger.error("query the receipt failed, e: ", e);
+            this.onQueried(pendingReceipt, round, null);
+            return;
+        }
+        response.whenComplete(
+                (bcosTransactionReceipt, e) ->
+                        this.onQueried(
+                                pendingReceipt,
+                                round,
+                                (e == null && bcosTransactionReceipt != null)
+                                        ? bcosTransactionReceipt.getTransactionReceipt()
+                                        : null));
+    }
+
+    private void onQueried(
+            PendingReceipt pendingReceipt, PollRound round, TransactionReceipt receipt) {
+        if (receipt != null) {
+            this.resolve(pendingReceipt, receipt);
+        } else {
+            // not on chain yet, query it in the later rounds unless a newer round took it over
+            this.release(pendingReceipt, round);
+        }
+        round.remaining.decrementAndGet();
+    }
+
+    private void abandon(PollRound round) {
+        // the receipts still queried by the stale round are polled again by the newer rounds
+        for (PendingReceipt pendingReceipt : round.receipts) {
+            this.release(pendingReceipt, round);
+        }
+    }
+
+    private void release(PendingReceipt pendingReceipt, PollRound round) {
+        if (pendingReceipt.owner.compareAndSet(round, null)
+                && this.pendingReceipts.get(pendingReceipt.transactionHash) == pendingReceipt) {
+            this.pollQueue.offer(pendingReceipt.transactionHash);
+        }
+    }
+
+    private void resolve(PendingReceipt pendingReceipt, TransactionReceipt receipt) {
+        // the one removed the pending receipt from the index completes it
+        if (this.pendingReceipts.remove(pendingReceipt.transactionHash, pendingReceipt)) {
+            this.resolvedCount.incrementAndGet();
+            pendingReceipt.future.complete(receipt);
+        }
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        for (PendingReceipt pendingReceipt : this.pendingReceipts.values()) {
+            if (pendingReceipt.deadline > now
+                    || !this.pendingReceipts.remove(
+                            pendingReceipt.transactionHash, pendingReceipt)) {
+                continue;
+            }
+            this.timeoutCount.incrementAndGet();
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTransactionHash(pendingReceipt.transactionHash);
+            receipt.setStatus(TransactionReceiptStatus.TimeOut.getCode());
+            receipt.setMessage(TransactionReceiptStatus.TimeOut.getMessage());
+            pendingReceipt.future.complete(receipt);
+        }
+    }
+
+    public long getDefaultTimeout() {
+        return this.defaultTimeout;
+    }
+
+    public void setDefaultTimeout(long defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public long getPollInterval() {
+        return this.pollInterval;
+    }
+
+    public int getPollBatchSize() {
+        return this.pollBatchSize;
+    }
+
+    public BigInteger getLatestBlockNumber() {
+        return this.latestBlockNumber;
+    }
+
+    public int getPendingCount() {
+        return this.pendingReceipts.size();
+    }
+
+    public long getResolvedCount() {
+        return this.resolvedCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount.get();
+    }
+
+    public long getPollCount() {
+        return this.pollCount.get();
+    }
+
+    public long getQueryCount() {
+        return this.queryCount.get();
+    }
+
+    /** stop polling, the pending receipts are left uncompleted */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    private static class PendingReceipt {
+        private final String transactionHash;
+        private final long deadline;
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        // the polling round querying the receipt, null if waiting in the poll queue
+        private final AtomicReference<PollRound> owner = new AtomicReference<>();
+
+        private PendingReceipt(String transactionHash, long deadline) {
+            this.transactionHash = transactionHash;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class PollRound {
+        private final long startTime;
+        private final List<PendingReceipt> receipts = new ArrayList<>();
+        private final AtomicInteger remaining = new AtomicInteger();
+
+        private PollRound(long startTime) {
+            this.startTime = startTime;
+        }
+
+        private boolean isFinished() {
+            // the late responses of a failed round count below zero
+            return this.remaining.get() <= 0;
+        }
+    }
+}
@@ -58,7 +58,7 @@ public class TransactionPusherService implements TransactionPusherInterface {
 
     @Override
     public CompletableFuture<TransactionReceipt> pushAsync(String signedTransaction) {
-        return CompletableFuture.supplyAsync(() -> this.push(signedTransaction));
+        return this.client.sendTransactionAsync(signedTransaction, false);
     }
 
     /** @return the client */
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.scheduler;
+
+import java.util.Objects;
+
+/**
+ * The state a transaction may access in a contract, derived from the conflict fields of the
+ * function ABI. Two transactions to the same contract conflict if any of their keys conflict.
+ *
+ * <ul>
+ *   <li>{@link #ALL} conflicts with every key
+ *   <li>a slot key without value conflicts with every key of the same slot
+ *   <li>a slot key with value only conflicts with the keys of the same slot and value
+ * </ul>
+ */
+public final class ConflictKey {
+    /** the transaction may access any state of the contract */
+    public static final ConflictKey ALL = new ConflictKey(null, null);
+
+    private final String slot;
+    private final String value;
+
+    private ConflictKey(String slot, String value) {
+        this.slot = slot;
+        this.value = value;
+    }
+
+    /**
+     * create the key of the whole slot
+     *
+     * @param slot the storage slot of the state variable
+     * @return the key conflicts with every key of the slot
+     */
+    public static ConflictKey of(String slot) {
+        return new ConflictKey(Objects.requireNonNull(slot), null);
+    }
+
+    /**
+     * create the key of a value in the slot
+     *
+     * @param slot the storage slot of the state variable
+     * @param value the key of the accessed entry, such as the hex encoded mapping key
+     * @return the key conflicts with the keys of the same slot and value
+     */
+    public static ConflictKey of(String slot, String value) {
+        return new ConflictKey(Objects.requireNonNull(slot), Objects.requireNonNull(value));
+    }
+
+    public boolean isAll() {
+        return this.slot == null;
+    }
+
+    public String getSlot() {
+        return this.slot;
+    }
+
+    /** @return the value in the slot, null if the whole slot is accessed */
+    public String getValue() {
+        return this.value;
+    }
+
+    public boolean conflictsWith(ConflictKey other) {
+        if (this.isAll() || other.isAll()) {
+            return true;
+        }
+        if (!this.slot.equals(other.slot)) {
+            return false;
+        }
+        return this.value == null || other.value == null || this.value.equals(other.value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConflictKey that = (ConflictKey) o;
+        return Objects.equals(this.slot, that.slot) && Objects.equals(this.value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.slot, this.value);
+    }
+
+    @Override
+    public String toString() {
+        if (this.isAll()) {
+            return "ConflictKey{ALL}";
+        }
+        return "ConflictKey{" + "slot='" + this.slot + '\'' + ", value='" + this.value + '\'' + '}';
+    }
+}
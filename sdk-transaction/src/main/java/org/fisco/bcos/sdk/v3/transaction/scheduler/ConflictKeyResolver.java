@@ -0,0 +1,241 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIObject;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinitionCache;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractCodecTools;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Derive the conflict keys of a transaction from the conflict fields of the called function, which
+ * are generated by the compiler for the parallel contracts, and the arguments decoded from the
+ * transaction data.
+ *
+ * <p>The resolving is conservative, {@link ConflictKey#ALL} is returned if the function has no
+ * conflict fields, or the arguments can not be decoded.
+ */
+public class ConflictKeyResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ConflictKeyResolver.class);
+
+    // the kinds of the conflict fields
+    public static final int KIND_ALL = 0;
+    public static final int KIND_LEN = 1;
+    public static final int KIND_ENV = 2;
+    public static final int KIND_PARAMS = 3;
+    public static final int KIND_CONST = 4;
+    public static final int KIND_NONE = 5;
+
+    // the env values of the KIND_ENV conflict fields which depend on the transaction sender
+    public static final int ENV_CALLER = 0;
+    public static final int ENV_ORIGIN = 1;
+
+    private static final int METHOD_ID_LENGTH = 4;
+    // the slot of the conflict fields generated without slot
+    private static final String UNKNOWN_SLOT = "";
+
+    private final ContractABIDefinitionCache abiDefinitionCache;
+    private final boolean isWasm;
+
+    public ConflictKeyResolver(CryptoSuite cryptoSuite, boolean isWasm) {
+        this.abiDefinitionCache = ContractABIDefinitionCache.getInstance(cryptoSuite);
+        this.isWasm = isWasm;
+    }
+
+    public boolean isWasm() {
+        return this.isWasm;
+    }
+
+    /**
+     * find the called function of the transaction data
+     *
+     * @param abi the abi of the called contract
+     * @param data the encoded transaction data
+     * @return the function definition, null if not found
+     */
+    public ABIDefinition getFunction(String abi, byte[] data) {
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
+        if (contractABIDefinition == null || data == null || data.length < METHOD_ID_LENGTH) {
+            return null;
+        }
+        return contractABIDefinition.getABIDefinitionByMethodId(
+                Arrays.copyOf(data, METHOD_ID_LENGTH));
+    }
+
+    /**
+     * resolve the conflict keys of the transaction
+     *
+     * @param abi the abi of the called contract
+     * @param data the encoded transaction data
+     * @param sender the address of the transaction sender
+     * @return the conflict keys, [ALL] if can not be resolved
+     */
+    public List<ConflictKey> resolve(String abi, byte[] data, String sender) {
+        ContractABIDefinition contractABIDefinition = this.abiDefinitionCache.loadABI(abi);
+        if (contractABIDefinition == null || data == null || data.length < METHOD_ID_LENGTH) {
+            return Collections.singletonList(ConflictKey.ALL);
+        }
+        ABIDefinition function =
+                contractABIDefinition.getABIDefinitionByMethodId(
+                        Arrays.copyOf(data, METHOD_ID_LENGTH));
+        if (function == null) {
+            return Collections.singletonList(ConflictKey.ALL);
+        }
+        return this.resolve(contractABIDefinition, function, data, sender);
+    }
+
+    /**
+     * resolve the conflict keys of the transaction
+     *
+     * @param contractABIDefinition the definition of the called contract
+     * @param function the called function
+     * @param data the encoded transaction data, with the method id
+     * @param sender the address of the transaction sender
+     * @return the conflict keys, [ALL] if can not be resolved
+     */
+    public List<ConflictKey> resolve(
+            ContractABIDefinition contractABIDefinition,
+            ABIDefinition function,
+            byte[] data,
+            String sender) {
+        List<ABIDefinition.ConflictField> conflictFields = function.getConflictFields();
+        if (conflictFields == null || conflictFields.isEmpty()) {
+            return Collections.singletonList(ConflictKey.ALL);
+        }
+        List<ConflictKey> conflictKeys = new ArrayList<>(conflictFields.size());
+        // decode the arguments lazily, only the KIND_PARAMS fields need them
+        ABIObject arguments = null;
+        for (ABIDefinition.ConflictField conflictField : conflictFields) {
+            int kind = conflictField.getKind() == null ? KIND_ALL : conflictField.getKind();
+            String slot = conflictField.getSlot() == null ? UNKNOWN_SLOT : conflictField.getSlot();
+            List<Integer> value =
+                    conflictField.getValue() == null
+                            ? Collections.emptyList()
+                            : conflictField.getValue();
+            switch (kind) {
+                case KIND_NONE:
+                    break;
+                case KIND_LEN:
+                    conflictKeys.add(ConflictKey.of(slot));
+                    break;
+                case KIND_ENV:
+                    Integer env = value.isEmpty() ? null : value.get(0);
+                    if (env == null) {
+                        conflictKeys.add(ConflictKey.of(slot));
+                    } else if (env == ENV_CALLER || env == ENV_ORIGIN) {
+                        conflictKeys.add(ConflictKey.of(slot, "sender:" + sender));
+                    } else {
+                        // the same value for all the transactions, such as the block number
+                        conflictKeys.add(ConflictKey.of(slot, "env:" + env));
+                    }
+                    break;
+                case KIND_PARAMS:
+                    if (arguments == null) {
+                        arguments = this.decodeArguments(contractABIDefinition, function, data);
+                        if (arguments == null) {
+                            return Collections.singletonList(ConflictKey.ALL);
+                        }
+                    }
+                    String argument = this.encodeArgument(arguments, value);
+                    conflictKeys.add(
+                            argument == null
+                                    ? ConflictKey.of(slot)
+                                    : ConflictKey.of(slot, "params:" + argument));
+                    break;
+                case KIND_CONST:
+                    conflictKeys.add(ConflictKey.of(slot, "const:" + value));
+                    break;
+                case KIND_ALL:
+                default:
+                    return Collections.singletonList(ConflictKey.ALL);
+            }
+        }
+        return conflictKeys;
+    }
+
+    /**
+     * whether the function can be executed in parallel by the node, the same rule as the generated
+     * contract wrappers
+     *
+     * @param function the function definition
+     * @return true if the transaction should be sent with the DAG attribute
+     */
+    public static boolean isParallel(ABIDefinition function) {
+        List<ABIDefinition.ConflictField> conflictFields = function.getConflictFields();
+        if (conflictFields == null || conflictFields.isEmpty()) {
+            return false;
+        }
+        for (ABIDefinition.ConflictField conflictField : conflictFields) {
+            Integer kind = conflictField.getKind();
+            if (kind == null || kind == KIND_ALL || kind == KIND_LEN || kind == KIND_CONST) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ABIObject decodeArguments(
+            ContractABIDefinition contractABIDefinition, ABIDefinition function, byte[] data) {
+        try {
+            return ContractCodecTools.decode(
+                    contractABIDefinition.getInputObject(function),
+                    Arrays.copyOfRange(data, METHOD_ID_LENGTH, data.length),
+                    this.isWasm);
+        } catch (Exception e) {
+            logger.warn(
+                    "decode the arguments of {} failed, e: {}",
+                    function.getMethodSignatureAsString(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    // encode the argument at the path, null if the path is invalid
+    private String encodeArgument(ABIObject arguments, List<Integer> path) {
+        if (path.isEmpty()) {
+            return null;
+        }
+        ABIObject argument = arguments;
+        for (Integer index : path) {
+            List<ABIObject> children;
+            if (argument.getType() == ABIObject.ObjectType.STRUCT) {
+                children = argument.getStructFields();
+            } else if (argument.getType() == ABIObject.ObjectType.LIST) {
+                children = argument.getListValues();
+            } else {
+                return null;
+            }
+            if (index == null || index < 0 || index >= children.size()) {
+                return null;
+            }
+            argument = children.get(index);
+        }
+        try {
+            return Hex.toHexString(ContractCodecTools.encode(argument, this.isWasm));
+        } catch (Exception e) {
+            logger.warn("encode the conflict argument failed, e: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessor;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionRequest;
+import org.fisco.bcos.sdk.v3.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Send the transactions to the contracts in parallel as much as possible, while keeping the order
+ * of the conflicting ones.
+ *
+ * <p>The conflict keys of each transaction are resolved from the conflict fields of the function
+ * ABI. A transaction is sent at once if it does not conflict with any earlier transaction still
+ * waiting for the receipt, otherwise it is sent after the receipts of the conflicting ones
+ * returned. The transactions of the functions can be executed in parallel are sent with the DAG
+ * attribute.
+ *
+ * <p>The keys are locked in three levels: the contract, the slot and the value in the slot. {@link
+ * ConflictKey#ALL} locks the contract exclusively, a slot key locks the slot exclusively, a value
+ * key locks the value exclusively, and all of them lock the upper levels shared. Each lock waits
+ * for the last exclusive holder, and an exclusive lock also waits for the shared holders after it.
+ */
+public class TransactionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionScheduler.class);
+
+    private final TransactionProcessor transactionProcessor;
+    private final ConflictKeyResolver conflictKeyResolver;
+
+    // [contract], [contract, slot] or [contract, slot, value] => lock, guarded by itself
+    private final Map<List<String>, Lock> locks = new HashMap<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong parallelCount = new AtomicLong();
+    private final AtomicLong serializedCount = new AtomicLong();
+
+    public TransactionScheduler(Client client, TransactionProcessor transactionProcessor) {
+        this(
+                transactionProcessor,
+                new ConflictKeyResolver(client.getCryptoSuite(), client.isWASM()));
+    }
+
+    public TransactionScheduler(
+            TransactionProcessor transactionProcessor, ConflictKeyResolver conflictKeyResolver) {
+        this.transactionProcessor = transactionProcessor;
+        this.conflictKeyResolver = conflictKeyResolver;
+    }
+
+    /**
+     * schedule and send the transaction
+     *
+     * @param abi the abi of the called contract
+     * @param transactionRequest the transaction to send
+     * @return the future of the receipt
+     */
+    public CompletableFuture<TransactionReceipt> sendTransactionAsync(
+            String abi, TransactionRequest transactionRequest) {
+        return this.sendTransactionsAsync(abi, Collections.singletonList(transactionRequest))
+                .get(0);
+    }
+
+    /**
+     * schedule and send the transactions to the contracts with the same abi, the conflicting
+     * transactions are executed in the order of the list
+     *
+     * @param abi the abi of the called contracts
+     * @param transactionRequests the transactions to send
+     * @return the futures of the receipts, in the same order with the requests
+     */
+    public List<CompletableFuture<TransactionReceipt>> sendTransactionsAsync(
+            String abi, List<TransactionRequest> transactionRequests) {
+        List<CompletableFuture<TransactionReceipt>> receiptFutures =
+                new ArrayList<>(transactionRequests.size());
+        List<ScheduledTransaction> readyTransactions = new ArrayList<>();
+        for (TransactionRequest transactionRequest : transactionRequests) {
+            ScheduledTransaction scheduledTransaction = this.schedule(abi, transactionRequest);
+            receiptFutures.add(scheduledTransaction.receiptFuture);
+            if (scheduledTransaction.dependencies.isEmpty()) {
+                this.parallelCount.incrementAndGet();
+                readyTransactions.add(scheduledTransaction);
+                continue;
+            }
+            this.serializedCount.incrementAndGet();
+            CompletableFuture.allOf(
+                            scheduledTransaction.dependencies.stream()
+                                    .map(dependency -> dependency.finished)
+                                    .toArray(CompletableFuture[]::new))
+                    .whenComplete(
+                            (result, e) ->
+                                    this.send(Collections.singletonList(scheduledTransaction)));
+        }
+        // send the ready ones in batch
+        this.send(readyTransactions);
+        return receiptFutures;
+    }
+
+    private ScheduledTransaction schedule(String abi, TransactionRequest transactionRequest) {
+        CryptoKeyPair cryptoKeyPair =
+                Objects.nonNull(transactionRequest.getCryptoKeyPair())
+                        ? transactionRequest.getCryptoKeyPair()
+                        : this.transactionProcessor.getCryptoKeyPair();
+        int txAttribute = transactionRequest.getTxAttribute();
+        ABIDefinition function =
+                this.conflictKeyResolver.getFunction(abi, transactionRequest.getData());
+        if (function != null && ConflictKeyResolver.isParallel(function)) {
+            txAttribute |= TransactionAttribute.DAG;
+        }
+        ScheduledTransaction scheduledTransaction =
+                new ScheduledTransaction(
+                        new TransactionRequest(
+                                transactionRequest.getTo(),
+                                transactionRequest.getData(),
+                                transactionRequest.getAbi(),
+                                cryptoKeyPair,
+                                txAttribute));
+        this.pendingCount.incrementAndGet();
+        // the deploy transactions do not conflict with others
+        if (StringUtils.isEmpty(transactionRequest.getTo())) {
+            return scheduledTransaction;
+        }
+        List<ConflictKey> conflictKeys =
+                this.conflictKeyResolver.resolve(
+                        abi, transactionRequest.getData(), cryptoKeyPair.getAddress());
+        if (logger.isTraceEnabled()) {
+            logger.trace(
+                    "schedule transaction, to: {}, conflictKeys: {}",
+                    transactionRequest.getTo(),
+                    conflictKeys);
+        }
+        this.lock(transactionRequest.getTo().toLowerCase(), conflictKeys, scheduledTransaction);
+        return scheduledTransaction;
+    }
+
+    private void lock(
+            String contract, List<ConflictKey> conflictKeys, ScheduledTransaction transaction) {
+        boolean lockContract = false;
+        // slot => whether lock the whole slot
+        Map<String, Boolean> slots = new LinkedHashMap<>();
+        Set<List<String>> values = new LinkedHashSet<>();
+        for (ConflictKey conflictKey : conflictKeys) {
+            if (conflictKey.isAll()) {
+                lockContract = true;
+                break;
+            }
+            slots.merge(conflictKey.getSlot(), conflictKey.getValue() == null, Boolean::logicalOr);
+            if (conflictKey.getValue() != null) {
+                values.add(
+                        Arrays.asList(contract, conflictKey.getSlot(), conflictKey.getValue()));
+            }
+        }
+        synchronized (this.locks) {
+            this.lock(Collections.singletonList(contract), lockContract, transaction);
+            if (lockContract) {
+                return;
+            }
+            for (Map.Entry<String, Boolean> slot : slots.entrySet()) {
+                this.lock(Arrays.asList(contract, slot.getKey()), slot.getValue(), transaction);
+            }
+            for (List<String> value : values) {
+                this.lock(value, true, transaction);
+            }
+        }
+    }
+
+    private void lock(List<String> key, boolean exclusive, ScheduledTransaction transaction) {
+        Lock lock = this.locks.computeIfAbsent(key, k -> new Lock());
+        if (lock.exclusiveHolder != null) {
+            transaction.dependencies.add(lock.exclusiveHolder);
+        }
+        if (exclusive) {
+            // the later ones wait for this one, which waits for all the current holders
+            transaction.dependencies.addAll(lock.sharedHolders);
+            lock.sharedHolders.clear();
+            lock.exclusiveHolder = transaction;
+        } else {
+            lock.sharedHolders.add(transaction);
+        }
+        transaction.lockKeys.add(key);
+    }
+
+    private void unlock(ScheduledTransaction transaction) {
+        synchronized (this.locks) {
+            for (List<String> key : transaction.lockKeys) {
+                Lock lock = this.locks.get(key);
+                if (lock == null) {
+                    continue;
+                }
+                if (lock.exclusiveHolder == transaction) {
+                    lock.exclusiveHolder = null;
+                }
+                lock.sharedHolders.remove(transaction);
+                if (lock.exclusiveHolder == null && lock.sharedHolders.isEmpty()) {
+                    this.locks.remove(key);
+                }
+            }
+        }
+    }
+
+    private void send(List<ScheduledTransaction> scheduledTransactions) {
+        if (scheduledTransactions.isEmpty()) {
+            return;
+        }
+        List<TransactionRequest> transactionRequests =
+                new ArrayList<>(scheduledTransactions.size());
+        for (ScheduledTransaction scheduledTransaction : scheduledTransactions) {
+            transactionRequests.add(scheduledTransaction.transactionRequest);
+        }
+        List<CompletableFuture<TransactionReceipt>> receiptFutures;
+        try {
+            receiptFutures = this.transactionProcessor.sendTransactionsAsync(transactionRequests);
+        } catch (Exception e) {
+            logger.error("send the scheduled transactions failed, e: ", e);
+            for (ScheduledTransaction scheduledTransaction : scheduledTransactions) {
+                this.finish(scheduledTransaction, null, e);
+            }
+            return;
+        }
+        for (int i = 0; i < scheduledTransactions.size(); i++) {
+            ScheduledTransaction scheduledTransaction = scheduledTransactions.get(i);
+            receiptFutures
+                    .get(i)
+                    .whenComplete(
+                            (receipt, e) -> this.finish(scheduledTransaction, receipt, e));
+        }
+    }
+
+    private void finish(
+            ScheduledTransaction scheduledTransaction, TransactionReceipt receipt, Throwable e) {
+        this.unlock(scheduledTransaction);
+        this.pendingCount.decrementAndGet();
+        // the failed transactions do not block the later ones
+        scheduledTransaction.finished.complete(null);
+        if (e != null) {
+            scheduledTransaction.receiptFuture.completeExceptionally(e);
+        } else {
+            scheduledTransaction.receiptFuture.complete(receipt);
+        }
+    }
+
+    public ConflictKeyResolver getConflictKeyResolver() {
+        return this.conflictKeyResolver;
+    }
+
+    /** @return the count of the scheduled transactions waiting for the receipts */
+    public int getPendingCount() {
+        return this.pendingCount.get();
+    }
+
+    /** @return the count of the transactions sent without waiting for others */
+    public long getParallelCount() {
+        return this.parallelCount.get();
+    }
+
+    /** @return the count of the transactions waited for the conflicting ones */
+    public long getSerializedCount() {
+        return this.serializedCount.get();
+    }
+
+    private static class Lock {
+        private ScheduledTransaction exclusiveHolder;
+        private final Set<ScheduledTransaction> sharedHolders = new LinkedHashSet<>();
+    }
+
+    private static class ScheduledTransaction {
+        private final TransactionRequest transactionRequest;
+        private final List<List<String>> lockKeys = new ArrayList<>();
+        private final Set<ScheduledTransaction> dependencies = new LinkedHashSet<>();
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private final CompletableFuture<TransactionReceipt> receiptFuture =
+                new CompletableFuture<>();
+
+        private ScheduledTransaction(TransactionRequest transactionRequest) {
+            this.transactionRequest = transactionRequest;
+        }
+    }
+}
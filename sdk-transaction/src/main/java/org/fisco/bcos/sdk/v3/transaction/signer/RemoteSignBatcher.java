@@ -0,0 +1,319 @@
+/*
+ * Copyright 2014-2020  [fisco-dev]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ */
+package org.fisco.bcos.sdk.v3.transaction.signer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesce the hashes to sign by the remote sign service into batches. The hashes requested within
+ * the batch window, or until the batch is full, are signed by one {@link
+ * RemoteSignProviderInterface#requestForSignBatch(List, int)} call on the bounded signing executor.
+ * The caller signs the batch itself when all the signing threads are busy and the queue of the
+ * batches is full.
+ */
+public class RemoteSignBatcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSignBatcher.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    public static final long DEFAULT_BATCH_WINDOW = 2;
+    public static final int DEFAULT_MAX_PENDING_BATCHES = 256;
+
+    private final RemoteSignProviderInterface signProvider;
+    private final int cryptoType;
+    private final int maxBatchSize;
+    private final long batchWindow;
+    private final ScheduledThreadPoolExecutor collector;
+    private final ThreadPoolExecutor signExecutor;
+
+    private final Object lock = new Object();
+    private List<SignRequest> pendingRequests = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+    private volatile boolean closed = false;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong signedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong signTimeNanos = new AtomicLong();
+    private final AtomicInteger largestBatchSize = new AtomicInteger();
+
+    public RemoteSignBatcher(RemoteSignProviderInterface signProvider, int cryptoType) {
+        this(
+                signProvider,
+                cryptoType,
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_BATCH_WINDOW,
+                Runtime.getRuntime().availableProcessors(),
+                DEFAULT_MAX_PENDING_BATCHES);
+    }
+
+    /**
+     * create the RemoteSignBatcher
+     *
+     * @param signProvider the remote sign service
+     * @param cryptoType ECDSA=0,SM=1, or self defined
+     * @param maxBatchSize the max count of the hashes signed in one batch
+     * @param batchWindow the time in milliseconds to wait for more hashes after the first hash of
+     *     a batch is requested
+     * @param signThreads the count of the threads requesting the remote sign service
+     * @param maxPendingBatches the max count of the batches waiting for the signing threads
+     */
+    public RemoteSignBatcher(
+            RemoteSignProviderInterface signProvider,
+            int cryptoType,
+            int maxBatchSize,
+            long batchWindow,
+            int signThreads,
+            int maxPendingBatches) {
+        if (maxBatchSize <= 0 || signThreads <= 0 || maxPendingBatches <= 0) {
+            throw new IllegalArgumentException(
+                    "maxBatchSize, signThreads and maxPendingBatches must be positive");
+        }
+        this.signProvider = signProvider;
+        this.cryptoType = cryptoType;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindow = batchWindow;
+        this.collector =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "remote-sign-collector");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.collector.setRemoveOnCancelPolicy(true);
+        // an idle batcher holds no thread, even if it is never closed
+        this.collector.setKeepAliveTime(60, TimeUnit.SECONDS);
+        this.collector.allowCoreThreadTimeOut(true);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.signExecutor =
+                new ThreadPoolExecutor(
+                        signThreads,
+                        signThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(maxPendingBatches),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "remote-sign-" + threadIndex.getAndIncrement());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        (runnable, executor) -> {
+                            // back pressure: sign in the caller thread when the queue is full
+                            if (executor.isShutdown()) {
+                                throw new RejectedExecutionException("RemoteSignBatcher closed");
+                            }
+                            runnable.run();
+                        });
+        this.signExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * sign the hash in the next batch
+     *
+     * @param hash the hash to sign
+     * @return the future of the signature
+     */
+    public CompletableFuture<SignatureResult> sign(byte[] hash) {
+        SignRequest request = new SignRequest(hash);
+        List<SignRequest> batch = null;
+        synchronized (this.lock) {
+            if (this.closed) {
+                request.future.completeExceptionally(
+                        new RejectedExecutionException("RemoteSignBatcher closed"));
+                return request.future;
+            }
+            this.pendingRequests.add(request);
+            if (this.pendingRequests.size() >= this.maxBatchSize) {
+                batch = this.takePendingRequests();
+            } else if (this.pendingRequests.size() == 1) {
+                this.flushTask =
+                        this.collector.schedule(
+                                this::flush, this.batchWindow, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            this.submit(batch);
+        }
+        return request.future;
+    }
+
+    /** sign the pending hashes without waiting for the batch window */
+    public void flush() {
+        List<SignRequest> batch;
+        synchronized (this.lock) {
+            if (this.pendingRequests.isEmpty()) {
+                return;
+            }
+            batch = this.takePendingRequests();
+        }
+        this.submit(batch);
+    }
+
+    private List<SignRequest> takePendingRequests() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+            this.flushTask = null;
+        }
+        List<SignRequest> batch = this.pendingRequests;
+        this.pendingRequests = new ArrayList<>(batch.size());
+        return batch;
+    }
+
+    private void submit(List<SignRequest> batch) {
+        try {
+            this.signExecutor.execute(() -> this.signBatch(batch));
+        } catch (RejectedExecutionException e) {
+            for (SignRequest request : batch) {
+                request.future.completeExceptionally(e);
+            }
+            this.failedCount.addAndGet(batch.size());
+        }
+    }
+
+    private void signBatch(List<SignRequest> batch) {
+        long startTime = System.nanoTime();
+        List<byte[]> hashes = new ArrayList<>(batch.size());
+        for (SignRequest request : batch) {
+            hashes.add(request.hash);
+        }
+        try {
+            List<SignatureResult> signatureResults =
+                    this.signProvider.requestForSignBatch(hashes, this.cryptoType);
+            if (signatureResults == null || signatureResults.size() != batch.size()) {
+                throw new IllegalStateException(
+                        "the count of the signatures mismatch, expected: "
+                                + batch.size()
+                                + ", actual: "
+                                + (signatureResults == null ? 0 : signatureResults.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(signatureResults.get(i));
+            }
+            this.signedCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            logger.warn("sign batch of {} hashes failed, error: {}", batch.size(), e.getMessage());
+            for (SignRequest request : batch) {
+                request.future.completeExceptionally(e);
+            }
+            this.failedCount.addAndGet(batch.size());
+        } finally {
+            long signTime = System.nanoTime() - startTime;
+            this.batchCount.incrementAndGet();
+            this.signTimeNanos.addAndGet(signTime);
+            this.largestBatchSize.accumulateAndGet(batch.size(), Math::max);
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "sign batch, size: {}, time: {}us",
+                        batch.size(),
+                        TimeUnit.NANOSECONDS.toMicros(signTime));
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (this.lock) {
+            return this.pendingRequests.size();
+        }
+    }
+
+    public long getBatchCount() {
+        return this.batchCount.get();
+    }
+
+    public long getSignedCount() {
+        return this.signedCount.get();
+    }
+
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /** @return the total time in nanoseconds spent in the remote sign service */
+    public long getSignTimeNanos() {
+        return this.signTimeNanos.get();
+    }
+
+    public int getLargestBatchSize() {
+        return this.largestBatchSize.get();
+    }
+
+    /** @return the average count of the hashes signed in one batch */
+    public double getAverageBatchSize() {
+        long batches = this.batchCount.get();
+        return batches == 0
+                ? 0
+                : (double) (this.signedCount.get() + this.failedCount.get()) / batches;
+    }
+
+    public void resetMetrics() {
+        this.batchCount.set(0);
+        this.signedCount.set(0);
+        this.failedCount.set(0);
+        this.signTimeNanos.set(0);
+        this.largestBatchSize.set(0);
+    }
+
+    /** sign the pending hashes and stop, the hashes requested later fail */
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            this.closed = true;
+        }
+        this.flush();
+        this.collector.shutdownNow();
+        this.signExecutor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteSignBatcher{"
+                + "batchCount="
+                + this.batchCount
+                + ", signedCount="
+                + this.signedCount
+                + ", failedCount="
+                + this.failedCount
+                + ", signTimeNanos="
+                + this.signTimeNanos
+                + ", largestBatchSize="
+                + this.largestBatchSize
+                + '}';
+    }
+
+    private static class SignRequest {
+        private final byte[] hash;
+        private final CompletableFuture<SignatureResult> future = new CompletableFuture<>();
+
+        private SignRequest(byte[] hash) {
+            this.hash = hash;
+        }
+    }
+}
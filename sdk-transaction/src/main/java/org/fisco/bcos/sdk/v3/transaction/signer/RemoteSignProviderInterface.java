@@ -1,5 +1,7 @@
 package org.fisco.bcos.sdk.v3.transaction.signer;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
 
 public interface RemoteSignProviderInterface {
@@ -12,6 +14,22 @@ public interface RemoteSignProviderInterface {
      */
     SignatureResult requestForSign(byte[] dataToSign, int cryptoType);
 
+    /**
+     * request for signature provider service to sign many hashes in one round trip, override it if
+     * the service supports the batch signing, e.g. the HSM or KMS backed services
+     *
+     * @param dataToSign the list of the data to be signed
+     * @param cryptoType ECDSA=0,SM=1, or self defined
+     * @return the signature results in the order of the data
+     */
+    default List<SignatureResult> requestForSignBatch(List<byte[]> dataToSign, int cryptoType) {
+        List<SignatureResult> signatureResults = new ArrayList<>(dataToSign.size());
+        for (byte[] data : dataToSign) {
+            signatureResults.add(this.requestForSign(data, cryptoType));
+        }
+        return signatureResults;
+    }
+
     /**
      * request for signature provider service asynchronously
      *
@@ -26,6 +26,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.fisco.bcos.sdk.v3.codec.abi.tools.ContractAbiUtil;
 import org.fisco.bcos.sdk.v3.codec.wrapper.ABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinition;
+import org.fisco.bcos.sdk.v3.codec.wrapper.ContractABIDefinitionCache;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
 import org.fisco.bcos.sdk.v3.transaction.model.CommonConstant;
 import org.fisco.bcos.sdk.v3.transaction.model.bo.AbiInfo;
 import org.fisco.bcos.sdk.v3.transaction.model.bo.BinInfo;
@@ -301,4 +304,19 @@ public class ContractLoader {
         }
         return contractFuncAbis.get(contractName);
     }
+
+    /**
+     * get the compiled contract abi definition by contract name, which is shared with the codecs
+     * using the same crypto type.
+     *
+     * @param contractName contract name.
+     * @param cryptoSuite the crypto suite used to calculate method ids and event topics.
+     * @return the compiled contract abi definition.
+     * @throws NoSuchTransactionFileException throw when loader not contains contract name
+     */
+    public ContractABIDefinition getContractABIDefinitionByContractName(
+            String contractName, CryptoSuite cryptoSuite) throws NoSuchTransactionFileException {
+        return ContractABIDefinitionCache.getInstance(cryptoSuite)
+                .loadABI(getABIByContractName(contractName));
+    }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
 import org.fisco.bcos.sdk.v3.codec.FunctionReturnDecoderInterface;
 import org.fisco.bcos.sdk.v3.codec.Utils;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
 import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
@@ -25,8 +26,11 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class TransactionDecodeTest {
     private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
@@ -135,4 +139,58 @@ public class TransactionDecodeTest {
         });
         Assert.assertEquals(-255, retCode2.getCode());
     }
+
+    @Test
+    public void decodeEventsTest() {
+        String abi =
+                "[{\"anonymous\":false,\"inputs\":[{\"indexed\":true,\"internalType\":\"address\",\"name\":\"from\",\"type\":\"address\"},{\"indexed\":true,\"internalType\":\"string\",\"name\":\"memo\",\"type\":\"string\"},{\"indexed\":false,\"internalType\":\"uint256\",\"name\":\"value\",\"type\":\"uint256\"}],\"name\":\"Transfer\",\"type\":\"event\"},"
+                        + "{\"anonymous\":false,\"inputs\":[{\"indexed\":false,\"internalType\":\"uint256\",\"name\":\"value\",\"type\":\"uint256\"}],\"name\":\"Deposit\",\"type\":\"event\"}]";
+        EventEncoder eventEncoder = new EventEncoder(cryptoSuite);
+        String transferTopic = eventEncoder.buildEventSignature("Transfer(address,string,uint256)");
+        String depositTopic = eventEncoder.buildEventSignature("Deposit(uint256)");
+        String from = "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6";
+        String fromTopic = "0x0000000000000000000000008e72f7411887bdd218487437d3af29ce6fb5f3e6";
+        String memoTopic = Hex.toHexStringWithPrefix(cryptoSuite.hash("memo".getBytes()));
+
+        List<TransactionReceipt.Logs> logs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String data = String.format("0x%064x", i);
+            TransactionReceipt.Logs log = new TransactionReceipt.Logs();
+            log.setData(data);
+            log.setTopics(
+                    i % 2 == 0
+                            ? Arrays.asList(transferTopic, fromTopic, memoTopic)
+                            : Collections.singletonList(depositTopic));
+            logs.add(log);
+        }
+        // the logs of unknown events are skipped
+        TransactionReceipt.Logs unknownLog = new TransactionReceipt.Logs();
+        unknownLog.setData("0x");
+        unknownLog.setTopics(Collections.singletonList(memoTopic));
+        logs.add(unknownLog);
+        TransactionReceipt.Logs emptyLog = new TransactionReceipt.Logs();
+        emptyLog.setData("0x");
+        emptyLog.setTopics(Collections.emptyList());
+        logs.add(emptyLog);
+
+        Map<String, List<List<Object>>> events = transactionDecoderService.decodeEvents(abi, logs);
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(5, events.get("Transfer").size());
+        Assert.assertEquals(
+                Collections.singletonList(BigInteger.valueOf(2)), events.get("Transfer").get(1));
+        Assert.assertEquals(
+                Collections.singletonList(BigInteger.valueOf(3)), events.get("Deposit").get(1));
+
+        Map<String, List<List<Object>>> eventsWithIndexed =
+                transactionDecoderService.decodeEventsWithIndexed(abi, logs);
+        Assert.assertEquals(
+                Arrays.asList(from, memoTopic, BigInteger.valueOf(4)),
+                eventsWithIndexed.get("Transfer").get(2));
+
+        // the same result in parallel, in the order of the logs
+        TransactionDecoderService parallelDecoder = new TransactionDecoderService(cryptoSuite, false);
+        parallelDecoder.setParallelDecodeThreshold(1);
+        Assert.assertEquals(events, parallelDecoder.decodeEvents(abi, logs));
+        Assert.assertEquals(eventsWithIndexed, parallelDecoder.decodeEventsWithIndexed(abi, logs));
+    }
 }
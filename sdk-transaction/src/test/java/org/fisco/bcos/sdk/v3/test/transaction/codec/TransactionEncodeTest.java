@@ -0,0 +1,215 @@
+package org.fisco.bcos.sdk.v3.test.transaction.codec;
+
+import org.fisco.bcos.sdk.jni.common.JniException;
+import org.fisco.bcos.sdk.jni.utilities.tx.TransactionBuilderJniObj;
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TarsTransactionEncoder;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionData;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderInterface;
+import org.fisco.bcos.sdk.v3.transaction.codec.encode.TransactionEncoderService;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TransactionEncodeTest {
+    private static final String GROUP = "group0";
+    private static final String CHAIN = "chain0";
+    private static final String TO = "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6";
+
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+    private final CryptoSuite smCryptoSuite = new CryptoSuite(CryptoType.SM_TYPE);
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String longAbi() {
+        char[] abi = new char[300];
+        Arrays.fill(abi, 'a');
+        return new String(abi);
+    }
+
+    // the nonce of the jni transaction data is random, read it from the encoded data
+    private static String readNonce(byte[] encoded, long blockLimit) {
+        byte[] prefix =
+                TarsTransactionEncoder.encodeTransactionData(
+                        new TransactionData(0, CHAIN, GROUP, blockLimit, "", "", null, ""));
+        Assert.assertArrayEquals(prefix, Arrays.copyOf(encoded, prefix.length));
+        // head of the string of tag 5, and the length
+        Assert.assertEquals(0x56, encoded[prefix.length]);
+        int length = encoded[prefix.length + 1] & 0xff;
+        return new String(encoded, prefix.length + 2, length, StandardCharsets.UTF_8);
+    }
+
+    private void checkTransaction(
+            CryptoSuite cryptoSuite,
+            String to,
+            byte[] input,
+            String abi,
+            long blockLimit,
+            int attribute)
+            throws Exception {
+        long jniTransactionData =
+                TransactionBuilderJniObj.createTransactionData(
+                        GROUP, CHAIN, to, Hex.toHexString(input), abi, blockLimit);
+        byte[] expectedData =
+                Hex.decode(TransactionBuilderJniObj.encodeTransactionData(jniTransactionData));
+        String nonce = readNonce(expectedData, blockLimit);
+        TransactionData transactionData =
+                new TransactionData(0, CHAIN, GROUP, blockLimit, nonce, to, input, abi);
+        byte[] encodedData = TarsTransactionEncoder.encodeTransactionData(transactionData);
+        Assert.assertArrayEquals(expectedData, encodedData);
+
+        byte[] hash = cryptoSuite.hash(encodedData);
+        SignatureResult signatureResult = cryptoSuite.sign(hash, cryptoSuite.getCryptoKeyPair());
+        String expectedTransaction =
+                TransactionBuilderJniObj.createSignedTransaction(
+                        jniTransactionData,
+                        Hex.toHexString(signatureResult.encode()),
+                        Hex.toHexString(hash),
+                        attribute);
+        byte[] encodedTransaction =
+                TarsTransactionEncoder.encodeTransaction(
+                        encodedData, hash, signatureResult.encode(), attribute);
+        Assert.assertEquals(expectedTransaction, Hex.toHexString(encodedTransaction));
+
+        // the jni transaction data encoded in java
+        TransactionEncoderService encoderService = new TransactionEncoderService(cryptoSuite);
+        Assert.assertArrayEquals(
+                encodedTransaction,
+                encoderService.encodeToTransactionBytes(
+                        jniTransactionData, hash, signatureResult, attribute));
+    }
+
+    @Test
+    public void testEncodeTransaction() throws Exception {
+        checkTransaction(
+                cryptoSuite, TO, randomBytes(68), "", 500, TransactionAttribute.EVM_ABI_CODEC);
+        checkTransaction(cryptoSuite, TO, randomBytes(1), "", 1, 0);
+        checkTransaction(smCryptoSuite, TO, randomBytes(100000), "", 1L << 40, 0);
+        // deploy transaction with the long abi
+        checkTransaction(
+                smCryptoSuite,
+                "",
+                randomBytes(300),
+                longAbi(),
+                70000,
+                TransactionAttribute.LIQUID_SCALE_CODEC | TransactionAttribute.LIQUID_CREATE);
+    }
+
+    @Test
+    public void testCreateSignedTransaction() throws Exception {
+        TransactionEncoderService encoderService = new TransactionEncoderService(cryptoSuite);
+        TransactionData transactionData =
+                new TransactionData(GROUP, CHAIN, TO, randomBytes(68), null, 500);
+        Assert.assertEquals(0, transactionData.getVersion());
+        Assert.assertEquals("", transactionData.getAbi());
+        Assert.assertNotEquals(
+                transactionData.getNonce(),
+                new TransactionData(GROUP, CHAIN, TO, null, null, 500).getNonce());
+
+        TxPair txPair =
+                encoderService.createSignedTransaction(
+                        transactionData, cryptoSuite.getCryptoKeyPair(), 0);
+        byte[] encodedData = encoderService.encode(transactionData);
+        byte[] hash = cryptoSuite.hash(encodedData);
+        Assert.assertEquals(Hex.toHexStringWithPrefix(hash), txPair.getTxHash());
+
+        byte[] signedTransaction = Hex.decode(txPair.getSignedTx());
+        // the transaction data struct is followed by the hash and the signature
+        Assert.assertEquals(0x1a, signedTransaction[0]);
+        Assert.assertArrayEquals(
+                encodedData, Arrays.copyOfRange(signedTransaction, 1, encodedData.length + 1));
+        byte[] tail =
+                Arrays.copyOfRange(
+                        signedTransaction, encodedData.length + 2, signedTransaction.length);
+        // head of the simple list of tag 2, the element type, the length and the hash
+        Assert.assertEquals(0x2d, tail[0]);
+        Assert.assertArrayEquals(hash, Arrays.copyOfRange(tail, 4, 4 + hash.length));
+    }
+
+    // an encoder implementing the jni methods only, as the implementations before the java encoder
+    private static TransactionEncoderInterface jniEncoder(TransactionEncoderService encoderService) {
+        return new TransactionEncoderInterface() {
+            @Override
+            public byte[] encode(long transactionData) throws JniException {
+                return encoderService.encode(transactionData);
+            }
+
+            @Override
+            public byte[] encodeAndSignBytes(
+                    long transactionData, CryptoKeyPair cryptoKeyPair, int attribute)
+                    throws JniException {
+                return encoderService.encodeAndSignBytes(transactionData, cryptoKeyPair, attribute);
+            }
+
+            @Override
+            public String encodeAndSign(
+                    long transactionData, CryptoKeyPair cryptoKeyPair, int attribute)
+                    throws JniException {
+                return encoderService.encodeAndSign(transactionData, cryptoKeyPair, attribute);
+            }
+
+            @Override
+            public byte[] encodeAndHashBytes(long transactionData) throws JniException {
+                return encoderService.encodeAndHashBytes(transactionData);
+            }
+
+            @Override
+            public byte[] encodeToTransactionBytes(
+                    long transactionData, byte[] hash, SignatureResult result, int attribute)
+                    throws JniException {
+                return encoderService.encodeToTransactionBytes(
+                        transactionData, hash, result, attribute);
+            }
+
+            @Override
+            public byte[] encodeToTransactionBytes(
+                    long transactionData, SignatureResult result, int attribute)
+                    throws JniException {
+                return encoderService.encodeToTransactionBytes(transactionData, result, attribute);
+            }
+        };
+    }
+
+    @Test
+    public void testDefaultEncodeByJni() throws Exception {
+        TransactionEncoderInterface encoder =
+                jniEncoder(new TransactionEncoderService(cryptoSuite));
+        byte[] input = randomBytes(68);
+        TransactionData transactionData = new TransactionData(GROUP, CHAIN, TO, input, null, 500);
+
+        // the nonce is generated by the jni
+        byte[] encodedData = encoder.encode(transactionData);
+        String nonce = readNonce(encodedData, 500);
+        Assert.assertArrayEquals(
+                TarsTransactionEncoder.encodeTransactionData(
+                        new TransactionData(0, CHAIN, GROUP, 500, nonce, TO, input, "")),
+                encodedData);
+
+        TxPair txPair =
+                encoder.createSignedTransaction(transactionData, cryptoSuite.getCryptoKeyPair(), 0);
+        byte[] signedTransaction = Hex.decode(txPair.getSignedTx());
+        Assert.assertEquals(0x1a, signedTransaction[0]);
+        byte[] signedData =
+                Arrays.copyOfRange(signedTransaction, 1, signedTransaction.length);
+        nonce = readNonce(signedData, 500);
+        encodedData =
+                TarsTransactionEncoder.encodeTransactionData(
+                        new TransactionData(0, CHAIN, GROUP, 500, nonce, TO, input, ""));
+        Assert.assertArrayEquals(encodedData, Arrays.copyOf(signedData, encodedData.length));
+        Assert.assertEquals(
+                Hex.toHexStringWithPrefix(cryptoSuite.hash(encodedData)), txPair.getTxHash());
+    }
+}
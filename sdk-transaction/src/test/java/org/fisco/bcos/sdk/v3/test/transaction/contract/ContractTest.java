@@ -3,11 +3,19 @@ package org.fisco.bcos.sdk.v3.test.transaction.contract;
 import org.fisco.bcos.sdk.v3.client.Client;
 import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
 import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+import org.fisco.bcos.sdk.v3.codec.EventEncoder;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Address;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Event;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
 import org.fisco.bcos.sdk.v3.codec.datatypes.TypeReference;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
+import org.fisco.bcos.sdk.v3.codec.datatypes.generated.Uint256;
+import org.fisco.bcos.sdk.v3.contract.Contract;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubCallback;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubParams;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubscribe;
+import org.fisco.bcos.sdk.v3.model.EventLog;
 import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
@@ -15,12 +23,18 @@ import org.fisco.bcos.sdk.v3.test.transaction.mock.MockContract;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.Mockito.*;
 import org.mockito.stubbing.Answer;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.Mockito.*;
 
@@ -150,4 +164,113 @@ public class ContractTest {
         Assert.assertThrows(ContractException.class, () -> mockDeploy("", 12, "0x123", false));
         Assert.assertThrows(ContractException.class, () -> mockDeploy("", 12, "/hello", true));
     }
+
+    @Test
+    public void subscribeEventTest() {
+        String address = "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6";
+        MockContract contract = MockContract.load(address, mockClient, cryptoSuite.getCryptoKeyPair());
+        // decode in the receiving thread
+        contract.setEventExecutor(Runnable::run);
+        Event event =
+                new Event(
+                        "Notify",
+                        Arrays.asList(new TypeReference<Uint256>() {}, new TypeReference<Uint256>() {}));
+        String topic = new EventEncoder(cryptoSuite).encode(event);
+
+        EventSubscribe eventSubscribe = mock(EventSubscribe.class);
+        ArgumentCaptor<EventSubParams> params = ArgumentCaptor.forClass(EventSubParams.class);
+        ArgumentCaptor<EventSubCallback> callback = ArgumentCaptor.forClass(EventSubCallback.class);
+        when(eventSubscribe.subscribeEvent(params.capture(), callback.capture())).thenReturn("sub0");
+
+        List<BigInteger> received = new ArrayList<>();
+        List<Integer> statuses = new ArrayList<>();
+        List<TransactionReceipt.Logs> decodedLogs = new ArrayList<>();
+        EventSubParams eventSubParams = new EventSubParams();
+        String eventSubId =
+                contract.subscribeEvent(
+                        eventSubscribe,
+                        event,
+                        eventSubParams,
+                        (Contract.EventValuesWithLog eventValues) -> {
+                            decodedLogs.add(eventValues.getLog());
+                            return (BigInteger) eventValues.getNonIndexedValues().get(0).getValue();
+                        },
+                        (id, status, events) -> {
+                            statuses.add(status);
+                            received.addAll(events);
+                        });
+        Assert.assertEquals("sub0", eventSubId);
+        Assert.assertEquals(Collections.singletonList(address), params.getValue().getAddresses());
+        Assert.assertEquals(Collections.singletonList(topic), params.getValue().getTopics().get(0));
+
+        EventLog eventLog =
+                new EventLog(
+                        "0x0000000000000000000000000000000000000000000000000000000000000007"
+                                + "0000000000000000000000000000000000000000000000000000000000000008",
+                        Collections.singletonList(topic));
+        eventLog.setAddress(address);
+        eventLog.setBlockNumber("0x1");
+        eventLog.setTransactionHash("0x0a");
+        eventLog.setTransactionIndex("0x2");
+        eventLog.setLogIndex("0x3");
+        // the log of another event is skipped
+        EventLog otherLog = new EventLog("0x", Collections.singletonList("0x01"));
+        callback.getValue().onReceiveLog("sub0", 0, Arrays.asList(eventLog, otherLog));
+        callback.getValue().onReceiveLog("sub0", 1, null);
+        Assert.assertEquals(Collections.singletonList(BigInteger.valueOf(7)), received);
+        Assert.assertEquals(Arrays.asList(0, 1), statuses);
+        // the position of the log is kept to identify the log pushed again
+        Assert.assertEquals("0x0a", decodedLogs.get(0).getTransactionHash());
+        Assert.assertEquals("0x2", decodedLogs.get(0).getTransactionIndex());
+        Assert.assertEquals("0x3", decodedLogs.get(0).getLogIndex());
+        Assert.assertEquals("0x1", decodedLogs.get(0).getBlockNumber());
+
+        // the params of the caller are not changed, and can be reused
+        Assert.assertTrue(eventSubParams.getAddresses().isEmpty());
+        Assert.assertNull(eventSubParams.getTopics().get(0));
+        contract.subscribeEvent(
+                eventSubscribe,
+                event,
+                eventSubParams,
+                eventValues -> eventValues,
+                (id, status, events) -> {});
+        Assert.assertEquals(Collections.singletonList(topic), params.getValue().getTopics().get(0));
+    }
+
+    @Test
+    public void subscribeEventRejectedTest() {
+        MockContract contract =
+                MockContract.load(
+                        "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6",
+                        mockClient,
+                        cryptoSuite.getCryptoKeyPair());
+        // reject the first push, e.g. the queue of the executor is full
+        AtomicBoolean rejected = new AtomicBoolean();
+        contract.setEventExecutor(
+                runnable -> {
+                    if (rejected.compareAndSet(false, true)) {
+                        throw new RejectedExecutionException("rejected");
+                    }
+                    runnable.run();
+                });
+        Event event =
+                new Event("Notify", Collections.singletonList(new TypeReference<Uint256>() {}));
+        EventSubscribe eventSubscribe = mock(EventSubscribe.class);
+        ArgumentCaptor<EventSubParams> params = ArgumentCaptor.forClass(EventSubParams.class);
+        ArgumentCaptor<EventSubCallback> callback = ArgumentCaptor.forClass(EventSubCallback.class);
+        when(eventSubscribe.subscribeEvent(params.capture(), callback.capture())).thenReturn("sub0");
+
+        List<Integer> statuses = new ArrayList<>();
+        contract.subscribeEvent(
+                eventSubscribe,
+                event,
+                new EventSubParams(),
+                eventValues -> eventValues,
+                (id, status, events) -> statuses.add(status));
+        callback.getValue().onReceiveLog("sub0", 0, null);
+        // the later pushes are still delivered
+        callback.getValue().onReceiveLog("sub0", 1, null);
+        callback.getValue().onReceiveLog("sub0", 2, null);
+        Assert.assertEquals(Arrays.asList(1, 2), statuses);
+    }
 }
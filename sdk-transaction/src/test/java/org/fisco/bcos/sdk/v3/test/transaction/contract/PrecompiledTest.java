@@ -6,12 +6,19 @@ import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
 import org.fisco.bcos.sdk.v3.client.protocol.response.GroupPeers;
 import org.fisco.bcos.sdk.v3.client.protocol.response.ObserverList;
 import org.fisco.bcos.sdk.v3.client.protocol.response.SealerList;
+import org.fisco.bcos.sdk.v3.codec.abi.FunctionEncoder;
+import org.fisco.bcos.sdk.v3.codec.datatypes.DynamicArray;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Utf8String;
 import org.fisco.bcos.sdk.v3.contract.auth.manager.AuthManager;
 import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSPrecompiled;
 import org.fisco.bcos.sdk.v3.contract.precompiled.bfs.BFSService;
 import org.fisco.bcos.sdk.v3.contract.precompiled.consensus.ConsensusService;
 import org.fisco.bcos.sdk.v3.contract.precompiled.crud.KVTableService;
 import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableCRUDService;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TableManagerPrecompiled;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.TablePrecompiled;
+import org.fisco.bcos.sdk.v3.contract.precompiled.crud.common.Condition;
 import org.fisco.bcos.sdk.v3.contract.precompiled.model.PrecompiledAddress;
 import org.fisco.bcos.sdk.v3.contract.precompiled.sysconfig.SystemConfigService;
 import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
@@ -19,7 +26,9 @@ import org.fisco.bcos.sdk.v3.model.CryptoType;
 import org.fisco.bcos.sdk.v3.model.PrecompiledRetCode;
 import org.fisco.bcos.sdk.v3.model.RetCode;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
+import org.fisco.bcos.sdk.v3.utils.Hex;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.stubbing.Answer;
@@ -27,10 +36,17 @@ import org.mockito.stubbing.Answer;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -202,4 +218,151 @@ public class PrecompiledTest {
         Assert.assertEquals(BigInteger.ONE, errorKey);
     }
 
+    @Test
+    public void kvTableHandleCacheTest() throws ContractException {
+        AtomicInteger callCount = new AtomicInteger();
+        String openTableOutput = "0x000000000000000000000000be5422d15f39373eb0a97ff8c10fbd0e40e29338";
+        // (true, "v")
+        String getOutput = "0x0000000000000000000000000000000000000000000000000000000000000001000000000000000000000000000000000000000000000000000000000000004000000000000000000000000000000000000000000000000000000000000000017600000000000000000000000000000000000000000000000000000000000000";
+        when(mockClient.call(any())).then((Answer<Call>) invocation -> {
+            Call call = new Call();
+            Call.CallOutput callOutput = new Call.CallOutput();
+            callOutput.setOutput(callCount.getAndIncrement() == 0 ? openTableOutput : getOutput);
+            callOutput.setStatus(0);
+            call.setResult(callOutput);
+            return call;
+        });
+        Assert.assertEquals("v", kvTableService.get("t_test", "key"));
+        // the same table with prefix, opened only once
+        Assert.assertEquals("v", kvTableService.get("/tables/t_test", "key"));
+        Assert.assertEquals(3, callCount.get());
+        Assert.assertEquals(1, kvTableService.getTableHandleCache().size());
+        Assert.assertEquals(1, kvTableService.getTableHandleCache().getHitCount());
+
+        // open again when the cache is disabled
+        kvTableService.getTableHandleCache().setExpireTime(0);
+        Assert.assertEquals(0, kvTableService.getTableHandleCache().size());
+        callCount.set(0);
+        Assert.assertEquals("v", kvTableService.get("t_test", "key"));
+        Assert.assertEquals(2, callCount.get());
+        Assert.assertEquals(0, kvTableService.getTableHandleCache().size());
+    }
+
+    // the call outputs in order, the count of the calls is returned
+    private AtomicInteger mockCallRequests(String... outputs) {
+        AtomicInteger callCount = new AtomicInteger();
+        when(mockClient.call(any())).then((Answer<Call>) invocation -> {
+            Call call = new Call();
+            Call.CallOutput callOutput = new Call.CallOutput();
+            callOutput.setOutput(outputs[Math.min(callCount.getAndIncrement(), outputs.length - 1)]);
+            callOutput.setStatus(0);
+            call.setResult(callOutput);
+            return call;
+        });
+        return callCount;
+    }
+
+    private static String encodeOutput(Type output) {
+        return "0x" + Hex.toHexString(FunctionEncoder.encodeConstructor(Collections.singletonList(output)));
+    }
+
+    private static DynamicArray<Utf8String> utf8Strings(String... values) {
+        List<Utf8String> utf8Strings = new ArrayList<>();
+        for (String value : values) {
+            utf8Strings.add(new Utf8String(value));
+        }
+        return new DynamicArray<>(Utf8String.class, utf8Strings);
+    }
+
+    private static String descOutput(String... valueColumns) {
+        return encodeOutput(new TableManagerPrecompiled.TableInfo(new Utf8String("id"), utf8Strings(valueColumns)));
+    }
+
+    private static String selectOutput(String... fields) {
+        return encodeOutput(new TablePrecompiled.Entry(new Utf8String("k"), utf8Strings(fields)));
+    }
+
+    private static Map<String, String> row(String... kvs) {
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < kvs.length; i += 2) {
+            row.put(kvs[i], kvs[i + 1]);
+        }
+        return row;
+    }
+
+    @Test
+    public void tableCRUDHandleCacheTest() throws ContractException {
+        String openTableOutput = "0x000000000000000000000000be5422d15f39373eb0a97ff8c10fbd0e40e29338";
+        // openTable, desc and select on the first read
+        AtomicInteger callCount = mockCallRequests(openTableOutput, descOutput("name"), selectOutput("v"));
+        Assert.assertEquals(row("id", "k", "name", "v"), tableCRUDService.select("t_test", "k"));
+        Assert.assertEquals(3, callCount.get());
+
+        // the address and the desc are cached, the same table with prefix only selects
+        callCount = mockCallRequests(selectOutput("v"));
+        Assert.assertEquals(row("id", "k", "name", "v"), tableCRUDService.select("/tables/t_test", "k"));
+        Assert.assertEquals(1, callCount.get());
+        Assert.assertEquals(1, tableCRUDService.getTableHandleCache().size());
+        Assert.assertEquals(1, tableCRUDService.getTableHandleCache().getHitCount());
+
+        // the select with condition uses the cached desc too
+        callCount = mockCallRequests(
+                encodeOutput(new DynamicArray<>(TablePrecompiled.Entry.class,
+                        new TablePrecompiled.Entry(new Utf8String("k"), utf8Strings("v")))));
+        Condition condition = new Condition();
+        condition.EQ("k");
+        Assert.assertEquals(Collections.singletonList(row("id", "k", "name", "v")),
+                tableCRUDService.select("t_test", condition));
+        Assert.assertEquals(1, callCount.get());
+
+        // the desc is stale if the columns are appended by others, it is fetched again
+        callCount = mockCallRequests(selectOutput("v", "18"), descOutput("name", "age"));
+        Assert.assertEquals(row("id", "k", "name", "v", "age", "18"), tableCRUDService.select("t_test", "k"));
+        Assert.assertEquals(2, callCount.get());
+        callCount = mockCallRequests(selectOutput("v", "18"));
+        Assert.assertEquals(row("id", "k", "name", "v", "age", "18"), tableCRUDService.select("t_test", "k"));
+        Assert.assertEquals(1, callCount.get());
+        callCount = mockCallRequests(
+                encodeOutput(new DynamicArray<>(TablePrecompiled.Entry.class,
+                        new TablePrecompiled.Entry(new Utf8String("k"), utf8Strings("v", "18", "sz")))),
+                descOutput("name", "age", "city"));
+        Assert.assertEquals(Collections.singletonList(row("id", "k", "name", "v", "age", "18", "city", "sz")),
+                tableCRUDService.select("t_test", condition));
+        Assert.assertEquals(2, callCount.get());
+    }
+
+    @Test
+    public void tableCRUDAppendColumnsTest() throws Exception {
+        String openTableOutput = "0x000000000000000000000000be5422d15f39373eb0a97ff8c10fbd0e40e29338";
+        String successOutput = "0x0000000000000000000000000000000000000000000000000000000000000000";
+        mockCallRequests(openTableOutput, descOutput("name"), selectOutput("v"));
+        tableCRUDService.select("t_test", "k");
+        Assert.assertEquals(1, tableCRUDService.getTableHandleCache().size());
+
+        // appending columns by this service invalidates the cached table
+        mockSendTxRequest(successOutput, PrecompiledAddress.TABLE_MANAGER_PRECOMPILED_ADDRESS, 0);
+        RetCode retCode = tableCRUDService.appendColumns("t_test", Collections.singletonList("age"));
+        Assert.assertEquals(PrecompiledRetCode.CODE_SUCCESS.code, retCode.getCode());
+        Assert.assertEquals(0, tableCRUDService.getTableHandleCache().size());
+
+        AtomicInteger callCount = mockCallRequests(openTableOutput, descOutput("name", "age"), selectOutput("v", "18"));
+        Assert.assertEquals(row("id", "k", "name", "v", "age", "18"), tableCRUDService.select("t_test", "k"));
+        Assert.assertEquals(3, callCount.get());
+        Assert.assertEquals(1, tableCRUDService.getTableHandleCache().size());
+
+        // the async append invalidates the cached table before the callback
+        doAnswer(invocation -> {
+            TransactionReceipt receipt = new TransactionReceipt();
+            receipt.setTo(PrecompiledAddress.TABLE_MANAGER_PRECOMPILED_ADDRESS);
+            receipt.setOutput(successOutput);
+            receipt.setStatus(0);
+            receipt.setLogEntries(new ArrayList<>());
+            ((TransactionCallback) invocation.getArgument(2)).onResponse(receipt);
+            return null;
+        }).when(mockClient).sendTransactionAsync(any(), anyBoolean(), any(TransactionCallback.class));
+        CompletableFuture<Integer> cacheSize = new CompletableFuture<>();
+        tableCRUDService.asyncAppendColumns("t_test", Collections.singletonList("city"),
+                response -> cacheSize.complete(tableCRUDService.getTableHandleCache().size()));
+        Assert.assertEquals(0, cacheSize.get(5, TimeUnit.SECONDS).intValue());
+    }
 }
@@ -0,0 +1,319 @@
+package org.fisco.bcos.sdk.v3.test.transaction.manager;
+
+import org.fisco.bcos.sdk.jni.utilities.tx.TxPair;
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.RpcRequestWindow;
+import org.fisco.bcos.sdk.v3.client.exceptions.ClientException;
+import org.fisco.bcos.sdk.v3.client.protocol.response.Call;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
+import org.fisco.bcos.sdk.v3.transaction.manager.AssembleTransactionWithRemoteSignProcessor;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessor;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessorInterface;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.CallRequest;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionRequest;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignBatcher;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignCallbackInterface;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignProviderInterface;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionProcessorTest {
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+    // signed transaction => the response of the node
+    private final Map<String, CompletableFuture<TransactionReceipt>> sentTransactions =
+            new ConcurrentHashMap<>();
+    private volatile Thread blockLimitThread;
+
+    private Client mockClient() {
+        Client mockClient = mock(Client.class);
+        when(mockClient.getCryptoSuite()).thenReturn(cryptoSuite);
+        when(mockClient.getBlockLimit()).then(
+                invocation -> {
+                    blockLimitThread = Thread.currentThread();
+                    return BigInteger.valueOf(600);
+                });
+        when(mockClient.sendTransactionAsync(anyString(), anyBoolean())).then(
+                invocation -> {
+                    CompletableFuture<TransactionReceipt> response = new CompletableFuture<>();
+                    sentTransactions.put(invocation.getArgument(0), response);
+                    return response;
+                });
+        return mockClient;
+    }
+
+    // sign nothing, the signed transaction is the hex data
+    private TransactionProcessor newTransactionProcessor() {
+        return new TransactionProcessor(
+                mockClient(), cryptoSuite.getCryptoKeyPair(), "group0", "chain0") {
+            @Override
+            protected TxPair createSignedTransaction(
+                    String to,
+                    byte[] data,
+                    String abi,
+                    CryptoKeyPair cryptoKeyPair,
+                    int txAttribute,
+                    long blockLimit) {
+                Assert.assertEquals(600, blockLimit);
+                return new TxPair("0x" + Hex.toHexString(data), Hex.toHexString(data));
+            }
+        };
+    }
+
+    private static List<TransactionRequest> transactionRequests(int count) {
+        List<TransactionRequest> transactionRequests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactionRequests.add(new TransactionRequest("0x01", new byte[] {(byte) i}));
+        }
+        return transactionRequests;
+    }
+
+    private static String signedTransaction(int index) {
+        return Hex.toHexString(new byte[] {(byte) index});
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitSent(int count) throws InterruptedException {
+        waitFor(() -> sentTransactions.size() >= count);
+        Assert.assertEquals(count, sentTransactions.size());
+    }
+
+    private void completeSent() {
+        for (CompletableFuture<TransactionReceipt> response : sentTransactions.values()) {
+            response.complete(new TransactionReceipt());
+        }
+    }
+
+    @Test
+    public void testReceiptsInRequestOrder() throws Exception {
+        TransactionProcessor transactionProcessor = newTransactionProcessor();
+        int count = 50;
+        List<CompletableFuture<TransactionReceipt>> receipts =
+                transactionProcessor.sendTransactionsAsync(transactionRequests(count));
+        Assert.assertEquals(count, receipts.size());
+        waitSent(count);
+        Assert.assertNotSame(Thread.currentThread(), blockLimitThread);
+
+        // respond in the reverse order
+        for (int i = count - 1; i >= 0; i--) {
+            sentTransactions.get(signedTransaction(i)).complete(new TransactionReceipt());
+        }
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(
+                    "0x" + signedTransaction(i),
+                    receipts.get(i).get(5, TimeUnit.SECONDS).getTransactionHash());
+        }
+    }
+
+    @Test
+    public void testMaxInflightTransactions() throws Exception {
+        TransactionProcessor transactionProcessor = newTransactionProcessor();
+        transactionProcessor.setMaxInflightTransactions(2);
+        List<CompletableFuture<TransactionReceipt>> receipts =
+                transactionProcessor.sendTransactionsAsync(transactionRequests(5));
+        waitSent(2);
+        RpcRequestWindow window = transactionProcessor.getTransactionWindow();
+        // the transactions are signed and queued off the caller thread
+        waitFor(() -> window.getPendingCount() == 3);
+        Assert.assertEquals(2, window.getInflightCount());
+        Assert.assertEquals(3, window.getPendingCount());
+
+        // a receipt releases a slot for the next transaction
+        sentTransactions.values().iterator().next().complete(new TransactionReceipt());
+        waitSent(3);
+        Assert.assertEquals(2, window.getInflightCount());
+
+        // the two in-flight receipts release the slots for the last two transactions
+        completeSent();
+        waitSent(5);
+        completeSent();
+        CompletableFuture.allOf(receipts.toArray(new CompletableFuture[0]))
+                .get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(0, window.getInflightCount());
+        Assert.assertEquals(5, window.getSentCount());
+    }
+
+    @Test
+    public void testTransactionTimeout() throws Exception {
+        TransactionProcessor transactionProcessor = newTransactionProcessor();
+        transactionProcessor.setBatchTransactionTimeout(50);
+        List<CompletableFuture<TransactionReceipt>> receipts =
+                transactionProcessor.sendTransactionsAsync(transactionRequests(3));
+        // the node never responds
+        for (CompletableFuture<TransactionReceipt> receipt : receipts) {
+            try {
+                receipt.get(5, TimeUnit.SECONDS);
+                Assert.fail("the transaction should be timeout");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof ClientException);
+                Assert.assertEquals(
+                        RpcRequestWindow.REQUEST_TIMEOUT,
+                        ((ClientException) e.getCause()).getErrorCode());
+            }
+        }
+        Assert.assertEquals(3, transactionProcessor.getTransactionWindow().getTimeoutCount());
+    }
+
+    @Test
+    public void testDefaultSendTransactionsAsync() throws Exception {
+        CryptoKeyPair defaultKeyPair = cryptoSuite.getCryptoKeyPair();
+        CryptoKeyPair requestKeyPair = cryptoSuite.generateRandomKeyPair();
+        // the key pair and the thread sending each transaction, by the transaction data
+        Map<Byte, CryptoKeyPair> keyPairs = new ConcurrentHashMap<>();
+        Map<Byte, Thread> threads = new ConcurrentHashMap<>();
+        TransactionProcessorInterface transactionProcessor =
+                new DefaultBatchProcessor(defaultKeyPair) {
+                    @Override
+                    public TransactionReceipt deployAndGetReceipt(
+                            String to,
+                            byte[] data,
+                            String abi,
+                            CryptoKeyPair cryptoKeyPair,
+                            int txAttribute) {
+                        keyPairs.put(data[0], cryptoKeyPair);
+                        threads.put(data[0], Thread.currentThread());
+                        return new TransactionReceipt();
+                    }
+
+                    @Override
+                    public String sendTransactionAsync(
+                            String to,
+                            byte[] data,
+                            CryptoKeyPair cryptoKeyPair,
+                            int txAttribute,
+                            TransactionCallback callback) {
+                        keyPairs.put(data[0], cryptoKeyPair);
+                        threads.put(data[0], Thread.currentThread());
+                        callback.onResponse(new TransactionReceipt());
+                        return signedTransaction(data[0]);
+                    }
+                };
+        List<TransactionRequest> transactionRequests = transactionRequests(4);
+        transactionRequests.get(1).setCryptoKeyPair(requestKeyPair);
+        transactionRequests.get(2).setAbi("[]");
+        transactionRequests.get(3).setAbi("[]");
+        transactionRequests.get(3).setCryptoKeyPair(requestKeyPair);
+
+        List<CompletableFuture<TransactionReceipt>> receipts =
+                transactionProcessor.sendTransactionsAsync(transactionRequests);
+        CompletableFuture.allOf(receipts.toArray(new CompletableFuture[0]))
+                .get(5, TimeUnit.SECONDS);
+        // the requests without key pair are signed by the default one
+        Assert.assertSame(defaultKeyPair, keyPairs.get((byte) 0));
+        Assert.assertSame(requestKeyPair, keyPairs.get((byte) 1));
+        Assert.assertSame(defaultKeyPair, keyPairs.get((byte) 2));
+        Assert.assertSame(requestKeyPair, keyPairs.get((byte) 3));
+        // the blocking deploy transactions are sent off the common pool
+        for (byte i = 2; i < 4; i++) {
+            Assert.assertTrue(threads.get(i).getName().startsWith("transaction-deploy-"));
+        }
+    }
+
+    @Test
+    public void testRemoteSignProcessorClose() {
+        RemoteSignProviderInterface signProvider =
+                new RemoteSignProviderInterface() {
+                    @Override
+                    public SignatureResult requestForSign(byte[] dataToSign, int cryptoType) {
+                        return cryptoSuite.sign(dataToSign, cryptoSuite.getCryptoKeyPair());
+                    }
+
+                    @Override
+                    public void requestForSignAsync(
+                            byte[] dataToSign,
+                            int cryptoType,
+                            RemoteSignCallbackInterface callback) {
+                        callback.handleSignedTransaction(requestForSign(dataToSign, cryptoType));
+                    }
+                };
+        Client mockClient = mockClient();
+        when(mockClient.isWASM()).thenReturn(false);
+        AssembleTransactionWithRemoteSignProcessor processor =
+                new AssembleTransactionWithRemoteSignProcessor(
+                        mockClient,
+                        cryptoSuite.getCryptoKeyPair(),
+                        "group0",
+                        "chain0",
+                        "HelloWorld",
+                        signProvider);
+        RemoteSignBatcher batcher = processor.getSignBatcher();
+        Assert.assertSame(batcher, processor.getSignBatcher());
+
+        // the batcher created by the processor is closed with it, and created again on use
+        processor.close();
+        Assert.assertTrue(
+                batcher.sign(cryptoSuite.hash(new byte[] {1})).isCompletedExceptionally());
+        RemoteSignBatcher nextBatcher = processor.getSignBatcher();
+        Assert.assertNotSame(batcher, nextBatcher);
+        processor.close();
+        Assert.assertTrue(
+                nextBatcher.sign(cryptoSuite.hash(new byte[] {1})).isCompletedExceptionally());
+    }
+
+    private abstract static class DefaultBatchProcessor implements TransactionProcessorInterface {
+        private final CryptoKeyPair cryptoKeyPair;
+
+        private DefaultBatchProcessor(CryptoKeyPair cryptoKeyPair) {
+            this.cryptoKeyPair = cryptoKeyPair;
+        }
+
+        @Override
+        public CryptoKeyPair getCryptoKeyPair() {
+            return this.cryptoKeyPair;
+        }
+
+        @Override
+        public TransactionReceipt sendTransactionAndGetReceipt(
+                String to, byte[] data, CryptoKeyPair cryptoKeyPair, int txAttribute) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Call executeCall(CallRequest callRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Call executeCall(String from, String to, byte[] encodedFunction) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TxPair createDeploySignedTransaction(
+                String to, byte[] data, String abi, CryptoKeyPair cryptoKeyPair, int txAttribute) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TxPair createSignedTransaction(
+                String to, byte[] data, CryptoKeyPair cryptoKeyPair, int txAttribute) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
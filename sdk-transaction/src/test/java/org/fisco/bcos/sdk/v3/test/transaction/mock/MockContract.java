@@ -1,10 +1,14 @@
 package org.fisco.bcos.sdk.v3.test.transaction.mock;
 
 import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.codec.datatypes.Event;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Function;
 import org.fisco.bcos.sdk.v3.codec.datatypes.Type;
 import org.fisco.bcos.sdk.v3.contract.Contract;
+import org.fisco.bcos.sdk.v3.contract.TypedEventSubCallback;
 import org.fisco.bcos.sdk.v3.crypto.keypair.CryptoKeyPair;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubParams;
+import org.fisco.bcos.sdk.v3.eventsub.EventSubscribe;
 import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
 import org.fisco.bcos.sdk.v3.model.callback.TransactionCallback;
 import org.fisco.bcos.sdk.v3.transaction.model.exception.ContractException;
@@ -41,6 +45,10 @@ public class MockContract extends Contract {
         return super.executeDeployTransaction(data, abi);
     }
 
+    public <T> String subscribeEvent(EventSubscribe eventSubscribe, Event event, EventSubParams params, java.util.function.Function<EventValuesWithLog, T> converter, TypedEventSubCallback<T> callback) {
+        return super.subscribeEvent(eventSubscribe, event, params, converter, callback);
+    }
+
     public static MockContract load(
             String contractAddress, Client client, CryptoKeyPair credential) {
         return new MockContract(contractAddress, client, credential);
@@ -0,0 +1,124 @@
+package org.fisco.bcos.sdk.v3.test.transaction.pusher;
+
+import org.fisco.bcos.sdk.v3.client.Client;
+import org.fisco.bcos.sdk.v3.client.protocol.response.BcosTransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.model.TransactionReceiptStatus;
+import org.fisco.bcos.sdk.v3.transaction.pusher.ReceiptWaiter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+public class ReceiptWaiterTest {
+    private final Set<String> committedTransactions = ConcurrentHashMap.newKeySet();
+
+    private Client mockClient() {
+        Client mockClient = mock(Client.class);
+        when(mockClient.getGroup()).thenReturn("group0");
+        when(mockClient.getTransactionReceiptAsync(anyString(), anyBoolean())).then(
+                invocation -> {
+                    String transactionHash = invocation.getArgument(0);
+                    BcosTransactionReceipt bcosTransactionReceipt = new BcosTransactionReceipt();
+                    if (committedTransactions.contains(transactionHash)) {
+                        TransactionReceipt receipt = new TransactionReceipt();
+                        receipt.setTransactionHash(transactionHash);
+                        receipt.setStatus(0);
+                        bcosTransactionReceipt.setResult(receipt);
+                    }
+                    return CompletableFuture.completedFuture(bcosTransactionReceipt);
+                });
+        return mockClient;
+    }
+
+    @Test
+    public void testResolveOnBlock() throws Exception {
+        try (ReceiptWaiter receiptWaiter = new ReceiptWaiter(mockClient(), 60000, 2)) {
+            CompletableFuture<TransactionReceipt> receipt0 = receiptWaiter.waitForReceipt("0x00");
+            CompletableFuture<TransactionReceipt> receipt1 = receiptWaiter.waitForReceipt("0x01");
+            CompletableFuture<TransactionReceipt> receipt2 = receiptWaiter.waitForReceipt("0x02");
+            // wait the same transaction twice
+            Assert.assertSame(receipt0, receiptWaiter.waitForReceipt("0x00"));
+            Assert.assertEquals(3, receiptWaiter.getPendingCount());
+
+            committedTransactions.add("0x00");
+            committedTransactions.add("0x02");
+            receiptWaiter.onBlock(BigInteger.ONE);
+            Assert.assertEquals("0x00", receipt0.get(5, TimeUnit.SECONDS).getTransactionHash());
+            // 0x02 is out of the first batch, resolved by the next block
+            receiptWaiter.onBlock(BigInteger.valueOf(2));
+            Assert.assertEquals("0x02", receipt2.get(5, TimeUnit.SECONDS).getTransactionHash());
+
+            Assert.assertFalse(receipt1.isDone());
+            Assert.assertEquals(1, receiptWaiter.getPendingCount());
+            Assert.assertEquals(2, receiptWaiter.getResolvedCount());
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        try (ReceiptWaiter receiptWaiter = new ReceiptWaiter(mockClient(), 20, 10)) {
+            CompletableFuture<TransactionReceipt> receipt = receiptWaiter.waitForReceipt("0x10", 50);
+            TransactionReceipt timeoutReceipt = receipt.get(5, TimeUnit.SECONDS);
+            Assert.assertEquals(TransactionReceiptStatus.TimeOut.getCode(), timeoutReceipt.getStatus());
+            Assert.assertEquals("0x10", timeoutReceipt.getTransactionHash());
+            Assert.assertEquals(1, receiptWaiter.getTimeoutCount());
+            Assert.assertEquals(0, receiptWaiter.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testStaleRound() throws Exception {
+        // the responses of the first query, never completed until the end
+        List<CompletableFuture<BcosTransactionReceipt>> heldResponses =
+                new CopyOnWriteArrayList<>();
+        Client mockClient = mock(Client.class);
+        when(mockClient.getTransactionReceiptAsync(anyString(), anyBoolean())).then(
+                invocation -> {
+                    if (heldResponses.isEmpty()) {
+                        CompletableFuture<BcosTransactionReceipt> response =
+                                new CompletableFuture<>();
+                        heldResponses.add(response);
+                        return response;
+                    }
+                    BcosTransactionReceipt bcosTransactionReceipt = new BcosTransactionReceipt();
+                    if (committedTransactions.contains(invocation.getArgument(0))) {
+                        TransactionReceipt receipt = new TransactionReceipt();
+                        receipt.setTransactionHash(invocation.getArgument(0));
+                        bcosTransactionReceipt.setResult(receipt);
+                    }
+                    return CompletableFuture.completedFuture(bcosTransactionReceipt);
+                });
+        try (ReceiptWaiter receiptWaiter = new ReceiptWaiter(mockClient, 10, 10)) {
+            // the round is stale after 100 ms
+            receiptWaiter.setDefaultTimeout(50);
+            CompletableFuture<TransactionReceipt> receipt = receiptWaiter.waitForReceipt("0x20", 0);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (heldResponses.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            Assert.assertEquals(1, heldResponses.size());
+
+            // the receipt drained by the stale round is polled again by the newer rounds
+            committedTransactions.add("0x20");
+            Assert.assertEquals("0x20", receipt.get(5, TimeUnit.SECONDS).getTransactionHash());
+            Assert.assertEquals(2, receiptWaiter.getQueryCount());
+
+            // the late response of the stale round changes nothing
+            CompletableFuture<TransactionReceipt> next = receiptWaiter.waitForReceipt("0x21", 0);
+            heldResponses.get(0).complete(new BcosTransactionReceipt());
+            committedTransactions.add("0x21");
+            Assert.assertEquals("0x21", next.get(5, TimeUnit.SECONDS).getTransactionHash());
+            Assert.assertEquals(0, receiptWaiter.getPendingCount());
+            Assert.assertEquals(2, receiptWaiter.getResolvedCount());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.fisco.bcos.sdk.v3.test.transaction.scheduler;
+
+import org.fisco.bcos.sdk.v3.client.protocol.model.TransactionAttribute;
+import org.fisco.bcos.sdk.v3.codec.ContractCodec;
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.model.TransactionReceipt;
+import org.fisco.bcos.sdk.v3.transaction.manager.TransactionProcessor;
+import org.fisco.bcos.sdk.v3.transaction.model.dto.TransactionRequest;
+import org.fisco.bcos.sdk.v3.transaction.scheduler.ConflictKey;
+import org.fisco.bcos.sdk.v3.transaction.scheduler.ConflictKeyResolver;
+import org.fisco.bcos.sdk.v3.transaction.scheduler.TransactionScheduler;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionSchedulerTest {
+    private static final String ABI =
+            "[{\"conflictFields\":[{\"kind\":3,\"slot\":0,\"value\":[0]},{\"kind\":3,\"slot\":0,\"value\":[1]}],\"inputs\":[{\"internalType\":\"string\",\"name\":\"from\",\"type\":\"string\"},{\"internalType\":\"string\",\"name\":\"to\",\"type\":\"string\"},{\"internalType\":\"uint256\",\"name\":\"amount\",\"type\":\"uint256\"}],\"name\":\"transfer\",\"outputs\":[],\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"conflictFields\":[{\"kind\":2,\"slot\":1,\"value\":[0]}],\"inputs\":[{\"internalType\":\"uint256\",\"name\":\"amount\",\"type\":\"uint256\"}],\"name\":\"deposit\",\"outputs\":[],\"stateMutability\":\"nonpayable\",\"type\":\"function\"},"
+                    + "{\"inputs\":[{\"internalType\":\"uint256\",\"name\":\"rate\",\"type\":\"uint256\"}],\"name\":\"setRate\",\"outputs\":[],\"stateMutability\":\"nonpayable\",\"type\":\"function\"}]";
+    private static final String TO = "0x8e72f7411887bdd218487437d3af29ce6fb5f3e6";
+
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+    private final ContractCodec contractCodec = new ContractCodec(cryptoSuite, false);
+    // the requests and the receipt futures of each sendTransactionsAsync call
+    private final List<List<TransactionRequest>> sentRequests = new ArrayList<>();
+    private final List<List<CompletableFuture<TransactionReceipt>>> sentReceipts =
+            new ArrayList<>();
+
+    private TransactionProcessor mockTransactionProcessor() {
+        TransactionProcessor mockProcessor = mock(TransactionProcessor.class);
+        when(mockProcessor.getCryptoKeyPair()).thenReturn(cryptoSuite.getCryptoKeyPair());
+        when(mockProcessor.sendTransactionsAsync(anyList())).then(
+                invocation -> {
+                    List<TransactionRequest> requests = new ArrayList<>(invocation.getArgument(0));
+                    List<CompletableFuture<TransactionReceipt>> receipts = new ArrayList<>();
+                    for (int i = 0; i < requests.size(); i++) {
+                        receipts.add(new CompletableFuture<>());
+                    }
+                    synchronized (sentRequests) {
+                        sentRequests.add(requests);
+                        sentReceipts.add(receipts);
+                    }
+                    return receipts;
+                });
+        return mockProcessor;
+    }
+
+    private TransactionRequest transfer(String from, String to) throws Exception {
+        byte[] data =
+                contractCodec.encodeMethod(
+                        ABI, "transfer", Arrays.asList(from, to, BigInteger.ONE));
+        return new TransactionRequest(TO, data);
+    }
+
+    private TransactionRequest setRate() throws Exception {
+        byte[] data =
+                contractCodec.encodeMethod(
+                        ABI, "setRate", Collections.singletonList(BigInteger.TEN));
+        return new TransactionRequest(TO, data);
+    }
+
+    @Test
+    public void testResolveConflictKeys() throws Exception {
+        ConflictKeyResolver resolver = new ConflictKeyResolver(cryptoSuite, false);
+        List<ConflictKey> keys = resolver.resolve(ABI, transfer("a", "b").getData(), "0x01");
+        Assert.assertEquals(2, keys.size());
+        Assert.assertEquals("0", keys.get(0).getSlot());
+        Assert.assertFalse(keys.get(0).conflictsWith(keys.get(1)));
+        List<ConflictKey> otherKeys =
+                resolver.resolve(ABI, transfer("b", "c").getData(), "0x01");
+        Assert.assertTrue(keys.get(1).conflictsWith(otherKeys.get(0)));
+        Assert.assertTrue(ConflictKey.of("0").conflictsWith(keys.get(0)));
+        Assert.assertFalse(ConflictKey.of("1").conflictsWith(keys.get(0)));
+
+        // the caller env
+        byte[] deposit =
+                contractCodec.encodeMethod(
+                        ABI, "deposit", Collections.singletonList(BigInteger.ONE));
+        Assert.assertNotEquals(
+                resolver.resolve(ABI, deposit, "0x01"), resolver.resolve(ABI, deposit, "0x02"));
+        Assert.assertEquals(
+                resolver.resolve(ABI, deposit, "0x01"), resolver.resolve(ABI, deposit, "0x01"));
+
+        // no conflict fields
+        Assert.assertEquals(
+                Collections.singletonList(ConflictKey.ALL),
+                resolver.resolve(ABI, setRate().getData(), "0x01"));
+        Assert.assertTrue(
+                ConflictKeyResolver.isParallel(
+                        resolver.getFunction(ABI, transfer("a", "b").getData())));
+        Assert.assertFalse(
+                ConflictKeyResolver.isParallel(resolver.getFunction(ABI, setRate().getData())));
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        TransactionScheduler scheduler =
+                new TransactionScheduler(
+                        mockTransactionProcessor(), new ConflictKeyResolver(cryptoSuite, false));
+        List<CompletableFuture<TransactionReceipt>> receipts =
+                scheduler.sendTransactionsAsync(
+                        ABI,
+                        Arrays.asList(
+                                transfer("a", "b"),
+                                transfer("c", "d"),
+                                transfer("b", "e"),
+                                setRate()));
+        // the first two are sent in parallel with the DAG attribute
+        Assert.assertEquals(1, sentRequests.size());
+        Assert.assertEquals(2, sentRequests.get(0).size());
+        Assert.assertEquals(
+                TransactionAttribute.DAG,
+                sentRequests.get(0).get(0).getTxAttribute() & TransactionAttribute.DAG);
+        Assert.assertEquals(2, scheduler.getParallelCount());
+        Assert.assertEquals(2, scheduler.getSerializedCount());
+        Assert.assertEquals(4, scheduler.getPendingCount());
+
+        // transfer(b, e) is sent after transfer(a, b)
+        TransactionReceipt receipt = new TransactionReceipt();
+        sentReceipts.get(0).get(0).complete(receipt);
+        Assert.assertSame(receipt, receipts.get(0).get());
+        Assert.assertEquals(2, sentRequests.size());
+        Assert.assertArrayEquals(
+                transfer("b", "e").getData(), sentRequests.get(1).get(0).getData());
+
+        // setRate is sent after all the others, even if failed
+        sentReceipts.get(0).get(1).completeExceptionally(new RuntimeException("failed"));
+        Assert.assertTrue(receipts.get(1).isCompletedExceptionally());
+        Assert.assertEquals(2, sentRequests.size());
+        sentReceipts.get(1).get(0).complete(new TransactionReceipt());
+        Assert.assertEquals(3, sentRequests.size());
+        Assert.assertEquals(0, sentRequests.get(2).get(0).getTxAttribute());
+        sentReceipts.get(2).get(0).complete(new TransactionReceipt());
+        Assert.assertTrue(receipts.get(3).isDone());
+        Assert.assertEquals(0, scheduler.getPendingCount());
+    }
+}
@@ -0,0 +1,144 @@
+package org.fisco.bcos.sdk.v3.test.transaction.signer;
+
+import org.fisco.bcos.sdk.v3.crypto.CryptoSuite;
+import org.fisco.bcos.sdk.v3.crypto.signature.SignatureResult;
+import org.fisco.bcos.sdk.v3.model.CryptoType;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignBatcher;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignCallbackInterface;
+import org.fisco.bcos.sdk.v3.transaction.signer.RemoteSignProviderInterface;
+import org.fisco.bcos.sdk.v3.utils.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class RemoteSignBatcherTest {
+    private final CryptoSuite cryptoSuite = new CryptoSuite(CryptoType.ECDSA_TYPE);
+
+    private class MockSignProvider implements RemoteSignProviderInterface {
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean failed = false;
+
+        @Override
+        public SignatureResult requestForSign(byte[] dataToSign, int cryptoType) {
+            return cryptoSuite.sign(dataToSign, cryptoSuite.getCryptoKeyPair());
+        }
+
+        @Override
+        public List<SignatureResult> requestForSignBatch(List<byte[]> dataToSign, int cryptoType) {
+            batchSizes.add(dataToSign.size());
+            if (failed) {
+                throw new IllegalStateException("remote sign service unavailable");
+            }
+            return RemoteSignProviderInterface.super.requestForSignBatch(dataToSign, cryptoType);
+        }
+
+        @Override
+        public void requestForSignAsync(
+                byte[] dataToSign, int cryptoType, RemoteSignCallbackInterface callback) {
+            callback.handleSignedTransaction(requestForSign(dataToSign, cryptoType));
+        }
+    }
+
+    private List<byte[]> hashes(int count) {
+        List<byte[]> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hashes.add(cryptoSuite.hash(("tx" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return hashes;
+    }
+
+    private void verify(byte[] hash, SignatureResult signatureResult) {
+        Assert.assertTrue(
+                cryptoSuite.verify(
+                        cryptoSuite.getCryptoKeyPair().getHexPublicKey(),
+                        Hex.toHexString(hash),
+                        signatureResult.convertToString()));
+    }
+
+    @Test
+    public void testCoalesceInWindow() throws Exception {
+        MockSignProvider signProvider = new MockSignProvider();
+        try (RemoteSignBatcher batcher =
+                new RemoteSignBatcher(
+                        signProvider, cryptoSuite.getCryptoTypeConfig(), 64, 200, 2, 16)) {
+            List<byte[]> hashes = hashes(10);
+            List<CompletableFuture<SignatureResult>> signatures = new ArrayList<>();
+            for (byte[] hash : hashes) {
+                signatures.add(batcher.sign(hash));
+            }
+            for (int i = 0; i < hashes.size(); i++) {
+                verify(hashes.get(i), signatures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            // signed in one batch after the window
+            Assert.assertEquals(Collections.singletonList(10), signProvider.batchSizes);
+            Assert.assertEquals(1, batcher.getBatchCount());
+            Assert.assertEquals(10, batcher.getSignedCount());
+            Assert.assertEquals(0, batcher.getFailedCount());
+            Assert.assertEquals(10, batcher.getLargestBatchSize());
+            Assert.assertEquals(0, batcher.getPendingCount());
+        }
+    }
+
+    @Test
+    public void testFlushFullBatch() throws Exception {
+        MockSignProvider signProvider = new MockSignProvider();
+        try (RemoteSignBatcher batcher =
+                new RemoteSignBatcher(
+                        signProvider, cryptoSuite.getCryptoTypeConfig(), 4, 60000, 2, 16)) {
+            List<byte[]> hashes = hashes(9);
+            List<CompletableFuture<SignatureResult>> signatures = new ArrayList<>();
+            for (byte[] hash : hashes) {
+                signatures.add(batcher.sign(hash));
+            }
+            // the full batches are signed without waiting for the window
+            for (int i = 0; i < 8; i++) {
+                verify(hashes.get(i), signatures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            Assert.assertFalse(signatures.get(8).isDone());
+            Assert.assertEquals(1, batcher.getPendingCount());
+
+            batcher.flush();
+            verify(hashes.get(8), signatures.get(8).get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, batcher.getBatchCount());
+            Assert.assertEquals(4, batcher.getLargestBatchSize());
+            Assert.assertEquals(3.0, batcher.getAverageBatchSize(), 0.001);
+        }
+    }
+
+    @Test
+    public void testFailedBatch() throws Exception {
+        MockSignProvider signProvider = new MockSignProvider();
+        signProvider.failed = true;
+        RemoteSignBatcher batcher =
+                new RemoteSignBatcher(
+                        signProvider, cryptoSuite.getCryptoTypeConfig(), 2, 60000, 1, 16);
+        List<byte[]> hashes = hashes(2);
+        CompletableFuture<SignatureResult> signature0 = batcher.sign(hashes.get(0));
+        CompletableFuture<SignatureResult> signature1 = batcher.sign(hashes.get(1));
+        for (CompletableFuture<SignatureResult> signature : Arrays.asList(signature0, signature1)) {
+            try {
+                signature.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+        Assert.assertEquals(2, batcher.getFailedCount());
+        Assert.assertEquals(0, batcher.getSignedCount());
+
+        // the pending hashes are signed when closed, the later ones are rejected
+        signProvider.failed = false;
+        CompletableFuture<SignatureResult> signature2 = batcher.sign(hashes.get(0));
+        batcher.close();
+        verify(hashes.get(0), signature2.get(5, TimeUnit.SECONDS));
+        Assert.assertTrue(batcher.sign(hashes.get(1)).isCompletedExceptionally());
+    }
+}